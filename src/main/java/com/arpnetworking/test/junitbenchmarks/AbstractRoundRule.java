@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Base class for rules which measure each benchmark round of a test and
+ * write the measurements with its result. A recording is created for each
+ * test when the rule is applied and ends when the result of the test is
+ * accepted by the {@link JsonBenchmarkConsumer}, where the measurements are
+ * written under the name of the rule's collector. The recording of a test
+ * whose result was never accepted is closed when the rule is applied to
+ * the next test.
+ * <p>
+ * Rules extending this class must be applied inside the
+ * {@code BenchmarkRule} so that they are evaluated once per round on the
+ * thread executing the round, and since they register themselves with the
+ * consumer they must be created once per test class. The number of warmup
+ * rounds is resolved from the {@code BenchmarkOptions} annotation and the
+ * {@code jub.*} system properties in the same way as the benchmark itself
+ * or is decided by the {@link SteadyStateBenchmarkRule}. With concurrent
+ * benchmarks warmup and benchmark rounds overlap, in which case the first
+ * rounds to start are treated as warmup.
+ * <p>
+ * The time the rules spend around each round is measured by the benchmark
+ * as part of the round. Most of the rules read a {@code ThreadMXBean} or
+ * the {@code GarbageCollectorMXBean}s at the start and the end of each
+ * round, which costs from hundreds of nanoseconds to a few microseconds, so
+ * stacking several of them inflates the {@code roundAverage} of short
+ * rounds. Apply only the rules whose measurements are needed, or measure
+ * the round time without them.
+ *
+ * @param <R> the type of the recording of one test
+ *
+ * @author agent (agent at local)
+ */
+abstract class AbstractRoundRule<R extends AbstractRoundRule.Recording> implements TestRule {
+
+    @Nullable
+    private R _recording;
+
+    /**
+     * Protected constructor.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the measurements with
+     * @param name the name of the measurements in the JSON output
+     */
+    @SuppressWarnings("this-escape")
+    protected AbstractRoundRule(final JsonBenchmarkConsumer consumer, final String name) {
+        consumer.addCollector(new RoundCollector(name));
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new RoundStatement(base, startRecording(description));
+    }
+
+    /**
+     * Start the recording of a test, closing the recording of the previous
+     * test if its result was not accepted.
+     *
+     * @param description the {@code Description} of the test
+     * @return the recording of the test
+     */
+    synchronized R startRecording(final Description description) {
+        final R previous = _recording;
+        if (previous != null) {
+            previous.close();
+        }
+        final R recording = createRecording(description, WarmupRounds.resolve(description));
+        _recording = recording;
+        return recording;
+    }
+
+    /**
+     * The recording of the current test.
+     *
+     * @return the recording of the current test or {@code null} if there is none
+     */
+    @Nullable
+    synchronized R getRecording() {
+        return _recording;
+    }
+
+    /**
+     * The name of a file written for a test, which is the name of its class
+     * and method followed by the output qualifier of the consumer, if any,
+     * and the extension, with characters unsafe in file names replaced.
+     *
+     * @param description the {@code Description} of the test
+     * @param qualifier the output qualifier of the consumer or an empty string
+     * @param extension the extension of the file
+     * @return the name of the file
+     */
+    static String getFileName(final Description description, final String qualifier, final String extension) {
+        final String name = description.getClassName() + "." + description.getMethodName()
+                + (qualifier.isEmpty() ? "" : "." + qualifier);
+        return name.replaceAll("[^A-Za-z0-9._$-]", "_") + "." + extension;
+    }
+
+    /**
+     * Create the recording of a test.
+     *
+     * @param description the {@code Description} of the test
+     * @param warmupRounds the resolved number of warmup rounds of the test
+     * @return the recording of the test
+     */
+    abstract R createRecording(Description description, int warmupRounds);
+
+    // CHECKSTYLE.OFF: IllegalThrows - Statement evaluation throws Throwable
+    /**
+     * Evaluate and measure one round of a test.
+     *
+     * @param base the {@code Statement} evaluating the round
+     * @param recording the recording of the test
+     * @param round the index of the round in the order the rounds started
+     * @throws Throwable if the round fails
+     */
+    @SuppressFBWarnings(value = "THROWS_METHOD_THROWS_CLAUSE_THROWABLE", justification = "Statement evaluation throws Throwable")
+    abstract void evaluateRound(Statement base, R recording, long round) throws Throwable;
+    // CHECKSTYLE.ON: IllegalThrows
+
+    /**
+     * End the recording of a test when its result is accepted.
+     *
+     * @param recording the recording of the test
+     * @param result the {@code Result} of the test
+     * @return {@code Optional} measurements of the test
+     */
+    abstract Optional<?> end(R recording, Result result);
+
+    private synchronized Optional<R> takeRecording() {
+        final R recording = _recording;
+        _recording = null;
+        return Optional.ofNullable(recording);
+    }
+
+    /**
+     * The recording of one test.
+     */
+    abstract static class Recording {
+
+        /**
+         * Protected constructor.
+         *
+         * @param description the {@code Description} of the test
+         * @param warmupRounds the resolved number of warmup rounds of the test
+         */
+        protected Recording(final Description description, final int warmupRounds) {
+            _description = description;
+            _warmupRounds = warmupRounds;
+        }
+
+        Description getDescription() {
+            return _description;
+        }
+
+        int getWarmupRounds() {
+            return WarmupRounds.get(_description, _warmupRounds);
+        }
+
+        boolean isWarmup(final long round) {
+            return round < getWarmupRounds();
+        }
+
+        long nextRound() {
+            return _rounds.getAndIncrement();
+        }
+
+        /**
+         * Release the resources of the recording. The recording of a test
+         * whose result was not accepted is closed when the next test starts.
+         */
+        void close() {
+            // Recordings without resources have nothing to release
+        }
+
+        private final Description _description;
+        private final int _warmupRounds;
+        private final AtomicLong _rounds = new AtomicLong();
+    }
+
+    /**
+     * Measures each evaluation of the wrapped statement.
+     */
+    private final class RoundStatement extends Statement {
+
+        RoundStatement(final Statement base, final R recording) {
+            _base = base;
+            _recording = recording;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            evaluateRound(_base, _recording, _recording.nextRound());
+        }
+
+        private final Statement _base;
+        private final R _recording;
+    }
+
+    /**
+     * Writes the measurements of the test with its result.
+     */
+    private final class RoundCollector implements ResultCollector {
+
+        RoundCollector(final String name) {
+            _name = name;
+        }
+
+        @Override
+        public String getName() {
+            return _name;
+        }
+
+        @Override
+        public void begin() {
+            // Recording begins when the rule is applied to the next test
+        }
+
+        @Override
+        public Optional<?> end(final Result result) {
+            final Optional<R> recording = takeRecording();
+            if (!recording.isPresent()) {
+                return Optional.empty();
+            }
+            return AbstractRoundRule.this.end(recording.get(), result);
+        }
+
+        private final String _name;
+    }
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptionsSystemProperties;
+import com.carrotsearch.junitbenchmarks.GCSnapshot;
+import com.carrotsearch.junitbenchmarks.Result;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which replaces the {@code BenchmarkRule} and runs benchmark rounds
+ * until the 95% confidence interval of the mean round time, or of a
+ * percentile of the round times, is within a target relative error instead
+ * of for a fixed number of rounds. Stable tests therefore finish after few
+ * rounds while noisy tests run for as many rounds as they need, but never
+ * fewer than the minimum, more than the maximum or for longer than the time
+ * budget. The budget applies to the benchmark rounds and takes precedence
+ * over the minimum number of rounds.
+ * <p>
+ * The confidence interval of the mean uses the normal approximation and
+ * that of a percentile is the distribution free interval between the order
+ * statistics whose ranks bound the binomial variation of the percentile
+ * rank. The interval is checked once the minimum number of rounds has run
+ * and then after every tenth more rounds, which bounds the checking cost
+ * while overshooting the required number of rounds by at most ten percent.
+ * <p>
+ * The result accepted by the consumer reports the number of rounds run and
+ * the achieved interval is also written with each result by the
+ * {@link JsonBenchmarkConsumer} as {@code adaptiveMeasurement}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = new AdaptiveBenchmarkRule(CONSUMER, 99, 0.05, 20, 10000, Duration.ofSeconds(30));
+ * </pre>
+ * The warmup rounds and {@code callgc} option are taken from the
+ * {@code BenchmarkOptions} as for the {@code BenchmarkRule} while the
+ * {@code benchmarkRounds} option is ignored. All rounds are run sequentially
+ * on the test thread regardless of the {@code concurrency} option. Rules which
+ * observe individual rounds, such as the {@link RoundLatencyRule}, may be
+ * chained inside this rule.
+ *
+ * @author agent (agent at local)
+ */
+public final class AdaptiveBenchmarkRule implements TestRule {
+
+    private static final double DEFAULT_TARGET_RELATIVE_ERROR = 0.02;
+    private static final int DEFAULT_MIN_ROUNDS = 10;
+    private static final int DEFAULT_MAX_ROUNDS = 10000;
+    private static final Duration DEFAULT_BUDGET = Duration.ofSeconds(10);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double Z_95 = 1.959964;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveBenchmarkRule.class);
+
+    private final JsonBenchmarkConsumer _consumer;
+    @Nullable
+    private final Double _percentile;
+    private final double _targetRelativeError;
+    private final int _minRounds;
+    private final int _maxRounds;
+    private final long _budgetNanos;
+    private final ThreadMXBean _threadMXBean = ManagementFactory.getThreadMXBean();
+    @Nullable
+    private volatile AdaptiveMeasurement _measurement;
+
+    /**
+     * Public constructor. Runs between {@code 10} and {@code 10000} rounds
+     * for at most {@code 10} seconds until the relative error of the mean
+     * is at most {@code 0.02}.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the results with
+     */
+    public AdaptiveBenchmarkRule(final JsonBenchmarkConsumer consumer) {
+        this(consumer, DEFAULT_TARGET_RELATIVE_ERROR, DEFAULT_MIN_ROUNDS, DEFAULT_MAX_ROUNDS, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Public constructor for a target relative error of the mean.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the results with
+     * @param targetRelativeError the relative error of the mean at which to stop
+     * @param minRounds the minimum number of benchmark rounds
+     * @param maxRounds the maximum number of benchmark rounds
+     * @param budget the maximum duration of the benchmark rounds
+     */
+    public AdaptiveBenchmarkRule(
+            final JsonBenchmarkConsumer consumer,
+            final double targetRelativeError,
+            final int minRounds,
+            final int maxRounds,
+            final Duration budget) {
+        this(consumer, null, targetRelativeError, minRounds, maxRounds, budget);
+    }
+
+    /**
+     * Public constructor for a target relative error of a percentile.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the results with
+     * @param percentile the percentile from {@code 0} to {@code 100} exclusive
+     * @param targetRelativeError the relative error of the percentile at which to stop
+     * @param minRounds the minimum number of benchmark rounds
+     * @param maxRounds the maximum number of benchmark rounds
+     * @param budget the maximum duration of the benchmark rounds
+     */
+    public AdaptiveBenchmarkRule(
+            final JsonBenchmarkConsumer consumer,
+            final double percentile,
+            final double targetRelativeError,
+            final int minRounds,
+            final int maxRounds,
+            final Duration budget) {
+        this(consumer, Double.valueOf(percentile), targetRelativeError, minRounds, maxRounds, budget);
+    }
+
+    @SuppressWarnings("this-escape")
+    private AdaptiveBenchmarkRule(
+            final JsonBenchmarkConsumer consumer,
+            @Nullable final Double percentile,
+            final double targetRelativeError,
+            final int minRounds,
+            final int maxRounds,
+            final Duration budget) {
+        if (percentile != null && !(percentile > 0 && percentile < 100)) {
+            throw new IllegalArgumentException(String.format("Percentile must be between 0 and 100; percentile=%f", percentile));
+        }
+        if (!(targetRelativeError > 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "Target relative error must be positive; targetRelativeError=%f",
+                    targetRelativeError));
+        }
+        if (minRounds < 2 || maxRounds < minRounds) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid benchmark round bounds; min=%d, max=%d",
+                    minRounds,
+                    maxRounds));
+        }
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException(String.format("Budget must be positive; budget=%s", budget));
+        }
+        _consumer = consumer;
+        _percentile = percentile;
+        _targetRelativeError = targetRelativeError;
+        _minRounds = minRounds;
+        _maxRounds = maxRounds;
+        _budgetNanos = budget.toNanos();
+        _consumer.addCollector(new AdaptiveMeasurementCollector());
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new AdaptiveStatement(base, description);
+    }
+
+    /**
+     * The 95% confidence interval of the mean of the first {@code count}
+     * values using the normal approximation.
+     *
+     * @param values the values
+     * @param count the number of values to consider
+     * @return the {@code Interval}
+     */
+    static Interval meanInterval(final long[] values, final int count) {
+        if (count < 2) {
+            return new Interval(Double.NaN, Double.NaN, Double.NaN);
+        }
+        double sum = 0;
+        for (int i = 0; i < count; ++i) {
+            sum += values[i];
+        }
+        final double mean = sum / count;
+        double squares = 0;
+        for (int i = 0; i < count; ++i) {
+            squares += (values[i] - mean) * (values[i] - mean);
+        }
+        final double halfWidth = Z_95 * Math.sqrt(squares / (count - 1) / count);
+        return new Interval(mean, mean - halfWidth, mean + halfWidth);
+    }
+
+    /**
+     * The distribution free 95% confidence interval of a percentile of the
+     * first {@code count} values. The bounds are {@code NaN} if there are
+     * too few values to bound the percentile.
+     *
+     * @param values the values
+     * @param count the number of values to consider
+     * @param percentile the percentile from {@code 0} to {@code 100} exclusive
+     * @return the {@code Interval}
+     */
+    static Interval percentileInterval(final long[] values, final int count, final double percentile) {
+        if (count < 1) {
+            return new Interval(Double.NaN, Double.NaN, Double.NaN);
+        }
+        final long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        final double fraction = percentile / 100;
+        final double rank = count * fraction;
+        final double spread = Z_95 * Math.sqrt(rank * (1 - fraction));
+        final int estimateRank = Math.max(1, Math.min(count, (int) Math.ceil(rank)));
+        final int lowerRank = (int) Math.floor(rank - spread);
+        final int upperRank = (int) Math.ceil(rank + spread);
+        final double estimate = sorted[estimateRank - 1];
+        if (lowerRank < 1 || upperRank > count) {
+            return new Interval(estimate, Double.NaN, Double.NaN);
+        }
+        return new Interval(estimate, sorted[lowerRank - 1], sorted[upperRank - 1]);
+    }
+
+    static String statisticName(@Nullable final Double percentile) {
+        if (percentile == null) {
+            return "mean";
+        }
+        return "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+    }
+
+    private Interval interval(final long[] values, final int count) {
+        return _percentile == null ? meanInterval(values, count) : percentileInterval(values, count, _percentile);
+    }
+
+    @Nullable
+    private static BenchmarkOptions options(final Description description) {
+        if (Boolean.getBoolean(BenchmarkOptionsSystemProperties.IGNORE_ANNOTATION_OPTIONS_PROPERTY)) {
+            return null;
+        }
+        return WarmupRounds.findOptions(description);
+    }
+
+    private static double average(final long[] values, final int count) {
+        double sum = 0;
+        for (int i = 0; i < count; ++i) {
+            sum += values[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * The 95% confidence interval of a statistic.
+     */
+    static final class Interval {
+
+        Interval(final double estimate, final double lowerBound, final double upperBound) {
+            _estimate = estimate;
+            _lowerBound = lowerBound;
+            _upperBound = upperBound;
+        }
+
+        double getEstimate() {
+            return _estimate;
+        }
+
+        double getLowerBound() {
+            return _lowerBound;
+        }
+
+        double getUpperBound() {
+            return _upperBound;
+        }
+
+        /**
+         * The larger distance from the estimate to a bound relative to the
+         * estimate, or positive infinity if the interval is unbounded.
+         *
+         * @return the relative error
+         */
+        double getRelativeError() {
+            if (Double.isNaN(_lowerBound) || Double.isNaN(_upperBound)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            final double error = Math.max(_estimate - _lowerBound, _upperBound - _estimate);
+            if (error == 0) {
+                return 0;
+            }
+            return _estimate > 0 ? error / _estimate : Double.POSITIVE_INFINITY;
+        }
+
+        private final double _estimate;
+        private final double _lowerBound;
+        private final double _upperBound;
+    }
+
+    /**
+     * Runs the warmup rounds followed by the benchmark rounds.
+     */
+    private final class AdaptiveStatement extends Statement {
+
+        AdaptiveStatement(final Statement base, final Description description) {
+            _base = base;
+            _description = description;
+            final BenchmarkOptions options = options(description);
+            _callGc = options != null && options.callgc();
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            final int warmupRounds = WarmupRounds.resolve(_description);
+            final long warmupStart = System.currentTimeMillis();
+            for (int i = 0; i < warmupRounds; ++i) {
+                if (_callGc) {
+                    System.gc();
+                }
+                _base.evaluate();
+            }
+            final long warmupTime = System.currentTimeMillis() - warmupStart;
+
+            // Collections during warmup are excluded as in junit-benchmarks
+            final GCSnapshot gcSnapshot = BenchmarkResults.gcSnapshot();
+            final Measurement measurement = measure();
+            final AdaptiveMeasurement adaptiveMeasurement = measurement.toAdaptiveMeasurement();
+            if (!adaptiveMeasurement.isConverged()) {
+                LOGGER.warn(String.format(
+                        "Confidence interval of %s did not reach target in %d rounds; relativeError=%f, target=%f",
+                        _description.getDisplayName(),
+                        adaptiveMeasurement.getRounds(),
+                        adaptiveMeasurement.getRelativeError(),
+                        _targetRelativeError));
+            }
+            _measurement = adaptiveMeasurement;
+            accept(measurement, warmupRounds, warmupTime, gcSnapshot);
+        }
+
+        // CHECKSTYLE.OFF: IllegalThrows - Statement evaluation throws Throwable
+        private Measurement measure() throws Throwable {
+            // CHECKSTYLE.ON: IllegalThrows
+            final Measurement measurement = new Measurement(Math.min(_maxRounds, INITIAL_CAPACITY));
+            final boolean blockedTimeEnabled = _threadMXBean.isThreadContentionMonitoringSupported()
+                    && _threadMXBean.isThreadContentionMonitoringEnabled();
+            final long start = System.nanoTime();
+            int nextCheck = _minRounds;
+            while (measurement._count < _maxRounds) {
+                round(measurement, blockedTimeEnabled);
+                if (measurement._count >= nextCheck) {
+                    nextCheck = measurement._count + Math.max(1, measurement._count / 10);
+                    if (interval(measurement._roundTimes, measurement._count).getRelativeError() <= _targetRelativeError) {
+                        measurement._converged = true;
+                        break;
+                    }
+                }
+                if (measurement._count >= 2 && System.nanoTime() - start >= _budgetNanos) {
+                    break;
+                }
+            }
+            measurement._benchmarkTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return measurement;
+        }
+
+        // CHECKSTYLE.OFF: IllegalThrows - Statement evaluation throws Throwable
+        private void round(final Measurement measurement, final boolean blockedTimeEnabled) throws Throwable {
+            // CHECKSTYLE.ON: IllegalThrows
+            long gcTime = 0;
+            if (_callGc) {
+                final long gcStart = System.nanoTime();
+                System.gc();
+                gcTime = System.nanoTime() - gcStart;
+            }
+            final long blockedStart = blockedTimeEnabled ? blockedTime() : 0;
+            final long roundStart = System.nanoTime();
+            _base.evaluate();
+            final long roundTime = System.nanoTime() - roundStart;
+            measurement.add(roundTime, gcTime, blockedTimeEnabled ? blockedTime() - blockedStart : 0);
+        }
+
+        private long blockedTime() {
+            @Nullable final ThreadInfo info = _threadMXBean.getThreadInfo(Thread.currentThread().getId());
+            return info == null ? 0 : info.getBlockedTime();
+        }
+
+        private void accept(
+                final Measurement measurement,
+                final int warmupRounds,
+                final long warmupTime,
+                final GCSnapshot gcSnapshot) {
+            final int count = measurement._count;
+            final long[] roundTimes = measurement._roundTimes;
+            final Interval mean = meanInterval(roundTimes, count);
+            double squares = 0;
+            for (int i = 0; i < count; ++i) {
+                squares += (roundTimes[i] - mean.getEstimate()) * (roundTimes[i] - mean.getEstimate());
+            }
+            _consumer.accept(new Result(
+                    _description,
+                    count,
+                    warmupRounds,
+                    warmupTime,
+                    measurement._benchmarkTime,
+                    BenchmarkResults.average(
+                            mean.getEstimate() / NANOS_PER_SECOND,
+                            Math.sqrt(squares / count) / NANOS_PER_SECOND),
+                    BenchmarkResults.average(average(measurement._blockedTimes, count) / MILLIS_PER_SECOND, 0),
+                    BenchmarkResults.average(average(measurement._gcTimes, count) / NANOS_PER_SECOND, 0),
+                    gcSnapshot,
+                    BenchmarkOptions.CONCURRENCY_SEQUENTIAL));
+        }
+
+        private final Statement _base;
+        private final Description _description;
+        private final boolean _callGc;
+    }
+
+    /**
+     * The benchmark rounds of a test.
+     */
+    private final class Measurement {
+
+        Measurement(final int capacity) {
+            _roundTimes = new long[capacity];
+            _gcTimes = new long[capacity];
+            _blockedTimes = new long[capacity];
+        }
+
+        void add(final long roundTime, final long gcTime, final long blockedTime) {
+            if (_count == _roundTimes.length) {
+                final int capacity = (int) Math.min(_maxRounds, 2L * _count);
+                _roundTimes = Arrays.copyOf(_roundTimes, capacity);
+                _gcTimes = Arrays.copyOf(_gcTimes, capacity);
+                _blockedTimes = Arrays.copyOf(_blockedTimes, capacity);
+            }
+            _roundTimes[_count] = roundTime;
+            _gcTimes[_count] = gcTime;
+            _blockedTimes[_count] = blockedTime;
+            ++_count;
+        }
+
+        AdaptiveMeasurement toAdaptiveMeasurement() {
+            final Interval interval = interval(_roundTimes, _count);
+            return new AdaptiveMeasurement(
+                    statisticName(_percentile),
+                    _count,
+                    _converged,
+                    interval.getEstimate(),
+                    interval.getLowerBound(),
+                    interval.getUpperBound(),
+                    interval.getRelativeError(),
+                    _targetRelativeError);
+        }
+
+        private long[] _roundTimes;
+        private long[] _gcTimes;
+        private long[] _blockedTimes;
+        private int _count;
+        private boolean _converged;
+        private long _benchmarkTime;
+    }
+
+    /**
+     * Writes the measurement of the test with its result.
+     */
+    private final class AdaptiveMeasurementCollector implements ResultCollector {
+
+        @Override
+        public String getName() {
+            return "adaptiveMeasurement";
+        }
+
+        @Override
+        public void begin() {
+            // The measurement is taken when the next test runs
+        }
+
+        @Override
+        public Optional<AdaptiveMeasurement> end(final Result result) {
+            final AdaptiveMeasurement measurement = _measurement;
+            _measurement = null;
+            return Optional.ofNullable(measurement);
+        }
+    }
+}
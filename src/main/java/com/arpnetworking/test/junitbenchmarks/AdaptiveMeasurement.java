@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+/**
+ * The measurement of a test by the {@link AdaptiveBenchmarkRule}. The
+ * estimate and the bounds of its 95% confidence interval are round times
+ * in nanoseconds and the relative error is the half width of the interval
+ * divided by the estimate.
+ *
+ * @author agent (agent at local)
+ */
+public final class AdaptiveMeasurement {
+
+    public String getStatistic() {
+        return _statistic;
+    }
+
+    public int getRounds() {
+        return _rounds;
+    }
+
+    public boolean isConverged() {
+        return _converged;
+    }
+
+    public double getEstimate() {
+        return _estimate;
+    }
+
+    public double getLowerBound() {
+        return _lowerBound;
+    }
+
+    public double getUpperBound() {
+        return _upperBound;
+    }
+
+    public double getRelativeError() {
+        return _relativeError;
+    }
+
+    public double getTargetRelativeError() {
+        return _targetRelativeError;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    AdaptiveMeasurement(
+            final String statistic,
+            final int rounds,
+            final boolean converged,
+            final double estimate,
+            final double lowerBound,
+            final double upperBound,
+            final double relativeError,
+            final double targetRelativeError) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _statistic = statistic;
+        _rounds = rounds;
+        _converged = converged;
+        _estimate = estimate;
+        _lowerBound = lowerBound;
+        _upperBound = upperBound;
+        _relativeError = relativeError;
+        _targetRelativeError = targetRelativeError;
+    }
+
+    private final String _statistic;
+    private final int _rounds;
+    private final boolean _converged;
+    private final double _estimate;
+    private final double _lowerBound;
+    private final double _upperBound;
+    private final double _relativeError;
+    private final double _targetRelativeError;
+}
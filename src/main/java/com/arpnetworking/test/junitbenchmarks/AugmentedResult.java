@@ -16,8 +16,11 @@
 package com.arpnetworking.test.junitbenchmarks;
 
 import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.google.common.collect.ImmutableMap;
 
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -35,6 +38,11 @@ final class AugmentedResult {
         return _profileFile;
     }
 
+    @JsonAnyGetter
+    public Map<String, Object> getAugmentations() {
+        return _augmentations;
+    }
+
     /**
      * Constructor for creating an augmented result.
      *
@@ -42,8 +50,20 @@ final class AugmentedResult {
      * @param profileFile the profile data file
      */
     AugmentedResult(final Result result, final Path profileFile) {
+        this(result, profileFile, ImmutableMap.of());
+    }
+
+    /**
+     * Constructor for creating an augmented result.
+     *
+     * @param result the {@code Result} to extend
+     * @param profileFile the profile data file
+     * @param augmentations the additional data collected for the result by name
+     */
+    AugmentedResult(final Result result, final Path profileFile, final Map<String, Object> augmentations) {
         _result = result;
         _profileFile = Optional.of(profileFile);
+        _augmentations = ImmutableMap.copyOf(augmentations);
     }
 
     /**
@@ -52,11 +72,23 @@ final class AugmentedResult {
      * @param result the {@code Result} to extend
      */
     AugmentedResult(final Result result) {
+        this(result, ImmutableMap.of());
+    }
+
+    /**
+     * Constructor for creating an augmented result.
+     *
+     * @param result the {@code Result} to extend
+     * @param augmentations the additional data collected for the result by name
+     */
+    AugmentedResult(final Result result, final Map<String, Object> augmentations) {
         _result = result;
         _profileFile = Optional.empty();
+        _augmentations = ImmutableMap.copyOf(augmentations);
     }
 
     private final Result _result;
     private final Optional<Path> _profileFile;
+    private final ImmutableMap<String, Object> _augmentations;
 
 }
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the round times of the tests in a run against a baseline run,
+ * both as written by the {@link JsonBenchmarkConsumer} with the
+ * {@link RoundStatisticsRule}. For each test the raw round times are
+ * compared with either the Welch t-test or the Mann-Whitney U test and a
+ * test is considered improved or regressed only if the difference is
+ * significant at the chosen level and its relative size is at least the
+ * minimum effect size. Results files written in append mode are accepted
+ * with the last result of each test used.
+ * <p>
+ * The comparator can be run from the command line, for example from a
+ * build after the performance tests, where it exits with status
+ * {@code 1} if any test regressed, {@code 2} if the arguments are invalid,
+ * {@code 3} if either results file cannot be read and {@code 4} if no test
+ * could be compared or a test of the baseline has no round times, which
+ * are only written by a {@link RoundStatisticsRule} created with round
+ * times enabled:
+ * <pre>
+ * java com.arpnetworking.test.junitbenchmarks.BaselineComparator \
+ *     [--test=MANN_WHITNEY_U|WELCH_T] [--alpha=0.01] [--min-effect=0.05] \
+ *     baseline.json current.json [verdict.json]
+ * </pre>
+ * The {@link BaselineComparison} is written as JSON to the verdict path or
+ * to standard out. The p-values of the Mann-Whitney U test use the normal
+ * approximation with a correction for ties, which requires about twenty
+ * rounds per test.
+ *
+ * @author agent (agent at local)
+ */
+public final class BaselineComparator {
+
+    private static final StatisticalTest DEFAULT_STATISTICAL_TEST = StatisticalTest.MANN_WHITNEY_U;
+    private static final double DEFAULT_ALPHA = 0.01;
+    private static final double DEFAULT_MIN_EFFECT_SIZE = 0.05;
+    private static final int EXIT_REGRESSED = 1;
+    private static final int EXIT_INVALID = 2;
+    private static final int EXIT_UNREADABLE = 3;
+    private static final int EXIT_INCOMPARABLE = 4;
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createInstance();
+
+    private static final double[] LANCZOS_COEFFICIENTS = {
+        76.18009172947146,
+        -86.50532032941677,
+        24.01409824083091,
+        -1.231739572450155,
+        0.1208650973866179e-2,
+        -0.5395239384953e-5,
+    };
+    private static final int MAX_ITERATIONS = 300;
+    private static final double EPSILON = 3e-16;
+    private static final double MIN_FLOAT = 1e-300;
+
+    private final StatisticalTest _statisticalTest;
+    private final double _alpha;
+    private final double _minEffectSize;
+
+    /**
+     * Entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        final int status = run(args, System.out);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Public constructor. Compares with the Mann-Whitney U test at a
+     * significance level of {@code 0.01} and a minimum effect size of
+     * {@code 0.05}.
+     */
+    public BaselineComparator() {
+        this(DEFAULT_STATISTICAL_TEST, DEFAULT_ALPHA, DEFAULT_MIN_EFFECT_SIZE);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param statisticalTest the statistical test of the round times
+     * @param alpha the significance level, between zero and one
+     * @param minEffectSize the minimum relative change of the location of the round times to report
+     */
+    public BaselineComparator(final StatisticalTest statisticalTest, final double alpha, final double minEffectSize) {
+        if (!(alpha > 0 && alpha < 1)) {
+            throw new IllegalArgumentException(String.format("Alpha must be between zero and one; alpha=%s", alpha));
+        }
+        if (!(minEffectSize >= 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "Minimum effect size must not be negative; minEffectSize=%s",
+                    minEffectSize));
+        }
+        _statisticalTest = statisticalTest;
+        _alpha = alpha;
+        _minEffectSize = minEffectSize;
+    }
+
+    /**
+     * Compare the round times of a run against a baseline run.
+     *
+     * @param baseline the results file of the baseline run
+     * @param current the results file of the current run
+     * @return the {@code BaselineComparison}
+     * @throws IOException if either file cannot be read
+     */
+    public BaselineComparison compare(final Path baseline, final Path current) throws IOException {
+        final Map<String, long[]> baselineRoundTimes = readRoundTimes(baseline);
+        final Map<String, long[]> currentRoundTimes = readRoundTimes(current);
+        final List<BaselineComparison.TestComparison> tests = Lists.newArrayList();
+        final List<String> unmatched = Lists.newArrayList();
+        final List<String> missingRoundTimes = Lists.newArrayList();
+        for (final Map.Entry<String, long[]> entry : baselineRoundTimes.entrySet()) {
+            final long[] currentTimes = currentRoundTimes.get(entry.getKey());
+            if (currentTimes == null) {
+                unmatched.add(entry.getKey());
+            } else if (entry.getValue().length == 0 || currentTimes.length == 0) {
+                missingRoundTimes.add(entry.getKey());
+            } else {
+                tests.add(compare(entry.getKey(), entry.getValue(), currentTimes));
+            }
+        }
+        for (final String name : currentRoundTimes.keySet()) {
+            if (!baselineRoundTimes.containsKey(name)) {
+                unmatched.add(name);
+            }
+        }
+        return new BaselineComparison(_statisticalTest, _alpha, _minEffectSize, tests, unmatched, missingRoundTimes);
+    }
+
+    /**
+     * Compare the round times of one test against its baseline round times.
+     *
+     * @param name the name of the test
+     * @param baseline the baseline round times
+     * @param current the current round times
+     * @return the {@code TestComparison}
+     */
+    BaselineComparison.TestComparison compare(final String name, final long[] baseline, final long[] current) {
+        final double baselineLocation;
+        final double currentLocation;
+        final double pValue;
+        if (_statisticalTest == StatisticalTest.WELCH_T) {
+            baselineLocation = mean(baseline);
+            currentLocation = mean(current);
+            pValue = welchTTest(baseline, current);
+        } else {
+            baselineLocation = median(baseline);
+            currentLocation = median(current);
+            pValue = mannWhitneyUTest(baseline, current);
+        }
+        final double change;
+        if (Double.compare(baselineLocation, currentLocation) == 0) {
+            change = 0;
+        } else if (baselineLocation == 0) {
+            change = Math.signum(currentLocation) * Double.POSITIVE_INFINITY;
+        } else {
+            change = (currentLocation - baselineLocation) / Math.abs(baselineLocation);
+        }
+        BaselineComparison.Verdict verdict = BaselineComparison.Verdict.UNCHANGED;
+        if (pValue < _alpha && Math.abs(change) >= _minEffectSize) {
+            verdict = change > 0 ? BaselineComparison.Verdict.REGRESSED : BaselineComparison.Verdict.IMPROVED;
+        }
+        return new BaselineComparison.TestComparison(
+                name,
+                verdict,
+                baseline.length,
+                current.length,
+                baselineLocation,
+                currentLocation,
+                change,
+                pValue);
+    }
+
+    /**
+     * Run the comparator with command line arguments.
+     *
+     * @param args command line arguments
+     * @param out the stream to write the comparison or summary to
+     * @return the exit status
+     */
+    static int run(final String[] args, final PrintStream out) {
+        StatisticalTest statisticalTest = DEFAULT_STATISTICAL_TEST;
+        double alpha = DEFAULT_ALPHA;
+        double minEffectSize = DEFAULT_MIN_EFFECT_SIZE;
+        final List<Path> paths = Lists.newArrayList();
+        try {
+            for (final String arg : args) {
+                if (arg.startsWith("--test=")) {
+                    statisticalTest = StatisticalTest.valueOf(arg.substring("--test=".length()));
+                } else if (arg.startsWith("--alpha=")) {
+                    alpha = Double.parseDouble(arg.substring("--alpha=".length()));
+                } else if (arg.startsWith("--min-effect=")) {
+                    minEffectSize = Double.parseDouble(arg.substring("--min-effect=".length()));
+                } else {
+                    paths.add(Paths.get(arg));
+                }
+            }
+            if (paths.size() < 2 || paths.size() > 3) {
+                throw new IllegalArgumentException("Expected a baseline path, a current path and an optional verdict path");
+            }
+            final BaselineComparison comparison = new BaselineComparator(statisticalTest, alpha, minEffectSize)
+                    .compare(paths.get(0), paths.get(1));
+            if (paths.size() > 2) {
+                OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(paths.get(2).toFile(), comparison);
+                for (final BaselineComparison.TestComparison test : comparison.getTests()) {
+                    out.println(String.format(
+                            "%s %s %+.2f%% (p=%.4f)",
+                            test.getVerdict(),
+                            test.getName(),
+                            100 * test.getChange(),
+                            test.getPValue()));
+                }
+            } else {
+                out.println(OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(comparison));
+            }
+            return getStatus(comparison);
+        } catch (final IOException e) {
+            System.err.println("Unable to read results: " + e.getMessage());
+            return EXIT_UNREADABLE;
+        } catch (final IllegalArgumentException e) {
+            System.err.println("Invalid program arguments: " + e.getMessage());
+            System.err.println("- Options are --test=MANN_WHITNEY_U|WELCH_T, --alpha=<level> and --min-effect=<relative change>");
+            System.err.println("- First argument must be the baseline results path");
+            System.err.println("- Second argument must be the current results path");
+            System.err.println("- Third argument is optional verdict path");
+            return EXIT_INVALID;
+        }
+    }
+
+    /**
+     * The two-sided p-value of the Welch t-test of the difference of the
+     * means of two samples.
+     *
+     * @param first the first sample
+     * @param second the second sample
+     * @return the p-value
+     */
+    static double welchTTest(final long[] first, final long[] second) {
+        if (first.length < 2 || second.length < 2) {
+            return 1;
+        }
+        final double firstMean = mean(first);
+        final double secondMean = mean(second);
+        final double firstError = variance(first, firstMean) / first.length;
+        final double secondError = variance(second, secondMean) / second.length;
+        final double error = firstError + secondError;
+        if (error == 0) {
+            return Double.compare(firstMean, secondMean) == 0 ? 1 : 0;
+        }
+        final double t = (secondMean - firstMean) / Math.sqrt(error);
+        final double degreesOfFreedom = error * error
+                / (firstError * firstError / (first.length - 1) + secondError * secondError / (second.length - 1));
+        return regularizedIncompleteBeta(degreesOfFreedom / 2, 0.5, degreesOfFreedom / (degreesOfFreedom + t * t));
+    }
+
+    /**
+     * The two-sided p-value of the Mann-Whitney U test of two samples by the
+     * normal approximation with continuity and tie corrections.
+     *
+     * @param first the first sample
+     * @param second the second sample
+     * @return the p-value
+     */
+    static double mannWhitneyUTest(final long[] first, final long[] second) {
+        final int count = first.length + second.length;
+        final long[] values = Arrays.copyOf(first, count);
+        System.arraycopy(second, 0, values, first.length, second.length);
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(values[a], values[b]));
+        double firstRankSum = 0;
+        double ties = 0;
+        for (int i = 0; i < count;) {
+            int j = i;
+            while (j + 1 < count && values[order[j + 1]] == values[order[i]]) {
+                ++j;
+            }
+            final double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; ++k) {
+                if (order[k] < first.length) {
+                    firstRankSum += rank;
+                }
+            }
+            final double tied = j - i + 1;
+            ties += tied * tied * tied - tied;
+            i = j + 1;
+        }
+        final double u = firstRankSum - first.length * (first.length + 1.0) / 2;
+        final double product = (double) first.length * second.length;
+        final double variance = count < 2 ? 0 : product / 12 * (count + 1 - ties / ((double) count * (count - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = Math.max(0, Math.abs(u - product / 2) - 0.5) / Math.sqrt(variance);
+        return complementaryErrorFunction(z / Math.sqrt(2));
+    }
+
+    /**
+     * The regularized incomplete beta function.
+     *
+     * @param a the first shape parameter
+     * @param b the second shape parameter
+     * @param x the upper limit of integration, between zero and one
+     * @return the value of the function
+     */
+    static double regularizedIncompleteBeta(final double a, final double b, final double x) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        final double front = Math.exp(
+                logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaContinuedFraction(a, b, x) / a;
+        }
+        return 1 - front * betaContinuedFraction(b, a, 1 - x) / b;
+    }
+
+    /**
+     * The natural logarithm of the gamma function by the Lanczos
+     * approximation.
+     *
+     * @param x the positive argument
+     * @return the value of the function
+     */
+    static double logGamma(final double x) {
+        double denominator = x;
+        double series = 1.000000000190015;
+        for (final double coefficient : LANCZOS_COEFFICIENTS) {
+            series += coefficient / ++denominator;
+        }
+        final double shifted = x + 5.5;
+        return (x + 0.5) * Math.log(shifted) - shifted + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * The complementary error function with a fractional error below
+     * {@code 1.2e-7}.
+     *
+     * @param x the argument
+     * @return the value of the function
+     */
+    static double complementaryErrorFunction(final double x) {
+        final double z = Math.abs(x);
+        final double t = 1 / (1 + 0.5 * z);
+        final double value = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? value : 2 - value;
+    }
+
+    private static double betaContinuedFraction(final double a, final double b, final double x) {
+        // Modified Lentz's method
+        double c = 1;
+        double d = nonZero(1 - (a + b) * x / (a + 1));
+        d = 1 / d;
+        double fraction = d;
+        for (int m = 1; m <= MAX_ITERATIONS; ++m) {
+            final double even = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+            d = 1 / nonZero(1 + even * d);
+            c = nonZero(1 + even / c);
+            fraction *= d * c;
+            final double odd = -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+            d = 1 / nonZero(1 + odd * d);
+            c = nonZero(1 + odd / c);
+            final double delta = d * c;
+            fraction *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return fraction;
+    }
+
+    private static double nonZero(final double value) {
+        return Math.abs(value) < MIN_FLOAT ? MIN_FLOAT : value;
+    }
+
+    private static double mean(final long[] values) {
+        double sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(final long[] values, final double mean) {
+        double sum = 0;
+        for (final long value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    private static double median(final long[] values) {
+        final double[] sorted = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            sorted[i] = values[i];
+        }
+        Arrays.sort(sorted);
+        return RoundStatisticsRule.quantile(sorted, 0.5);
+    }
+
+    private static Map<String, long[]> readRoundTimes(final Path path) throws IOException {
+        final Map<String, long[]> roundTimes = Maps.newLinkedHashMap();
+        ResultsFiles.forEach(path, augmentedResult -> {
+            final String name = ResultsFiles.getTestName(augmentedResult);
+            final JsonNode times = augmentedResult.path("roundStatistics").path("roundTimes");
+            final long[] values = new long[times.size()];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = times.get(i).asLong();
+            }
+            // The last result of each test is used
+            roundTimes.remove(name);
+            roundTimes.put(name, values);
+        });
+        return roundTimes;
+    }
+
+    private static int getStatus(final BaselineComparison comparison) {
+        if (!comparison.getMissingRoundTimes().isEmpty()) {
+            System.err.println(String.format(
+                    "Tests without round times: %s; round times are written by a RoundStatisticsRule created with"
+                            + " round times enabled",
+                    comparison.getMissingRoundTimes()));
+            return EXIT_INCOMPARABLE;
+        }
+        if (comparison.getTests().isEmpty()) {
+            System.err.println("No test could be compared; the baseline and current results have no test in common");
+            return EXIT_INCOMPARABLE;
+        }
+        return comparison.getVerdict() == BaselineComparison.Verdict.REGRESSED ? EXIT_REGRESSED : 0;
+    }
+
+    /**
+     * The statistical test of the round times.
+     */
+    public enum StatisticalTest {
+        /**
+         * Welch's unequal variances t-test of the mean round times.
+         */
+        WELCH_T,
+        /**
+         * The Mann-Whitney U rank sum test, which is robust to the skew and
+         * outliers typical of round times; the location is the median.
+         */
+        MANN_WHITNEY_U
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The comparison of the round times of a run against a baseline by the
+ * {@link BaselineComparator}. The verdict of the run is regressed if any
+ * test regressed, otherwise improved if any test improved and otherwise
+ * unchanged. Tests in only one of the runs are listed as unmatched and
+ * tests of the baseline without round times in either run are listed as
+ * missing round times; neither affects the verdict.
+ *
+ * @author agent (agent at local)
+ */
+public final class BaselineComparison {
+
+    public Verdict getVerdict() {
+        return _verdict;
+    }
+
+    public BaselineComparator.StatisticalTest getStatisticalTest() {
+        return _statisticalTest;
+    }
+
+    public double getAlpha() {
+        return _alpha;
+    }
+
+    public double getMinEffectSize() {
+        return _minEffectSize;
+    }
+
+    public List<TestComparison> getTests() {
+        return _tests;
+    }
+
+    public List<String> getUnmatched() {
+        return _unmatched;
+    }
+
+    public List<String> getMissingRoundTimes() {
+        return _missingRoundTimes;
+    }
+
+    BaselineComparison(
+            final BaselineComparator.StatisticalTest statisticalTest,
+            final double alpha,
+            final double minEffectSize,
+            final List<TestComparison> tests,
+            final List<String> unmatched,
+            final List<String> missingRoundTimes) {
+        Verdict verdict = Verdict.UNCHANGED;
+        for (final TestComparison test : tests) {
+            if (test.getVerdict() == Verdict.REGRESSED) {
+                verdict = Verdict.REGRESSED;
+                break;
+            } else if (test.getVerdict() == Verdict.IMPROVED) {
+                verdict = Verdict.IMPROVED;
+            }
+        }
+        _verdict = verdict;
+        _statisticalTest = statisticalTest;
+        _alpha = alpha;
+        _minEffectSize = minEffectSize;
+        _tests = ImmutableList.copyOf(tests);
+        _unmatched = ImmutableList.copyOf(unmatched);
+        _missingRoundTimes = ImmutableList.copyOf(missingRoundTimes);
+    }
+
+    private final Verdict _verdict;
+    private final BaselineComparator.StatisticalTest _statisticalTest;
+    private final double _alpha;
+    private final double _minEffectSize;
+    private final ImmutableList<TestComparison> _tests;
+    private final ImmutableList<String> _unmatched;
+    private final ImmutableList<String> _missingRoundTimes;
+
+    /**
+     * The verdict of a comparison.
+     */
+    public enum Verdict {
+        /**
+         * The round times are significantly and materially shorter.
+         */
+        IMPROVED,
+        /**
+         * The round times are significantly and materially longer.
+         */
+        REGRESSED,
+        /**
+         * The difference is not significant or smaller than the minimum
+         * effect size.
+         */
+        UNCHANGED
+    }
+
+    /**
+     * The comparison of one test. The location is the mean round time for
+     * the Welch t-test and the median round time for the Mann-Whitney U
+     * test in nanoseconds, and the change is the difference of the current
+     * location from the baseline location relative to the baseline location.
+     */
+    public static final class TestComparison {
+
+        public String getName() {
+            return _name;
+        }
+
+        public Verdict getVerdict() {
+            return _verdict;
+        }
+
+        public int getBaselineRounds() {
+            return _baselineRounds;
+        }
+
+        public int getCurrentRounds() {
+            return _currentRounds;
+        }
+
+        public double getBaselineLocation() {
+            return _baselineLocation;
+        }
+
+        public double getCurrentLocation() {
+            return _currentLocation;
+        }
+
+        public double getChange() {
+            return _change;
+        }
+
+        public double getPValue() {
+            return _pValue;
+        }
+
+        // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+        TestComparison(
+                final String name,
+                final Verdict verdict,
+                final int baselineRounds,
+                final int currentRounds,
+                final double baselineLocation,
+                final double currentLocation,
+                final double change,
+                final double pValue) {
+            // CHECKSTYLE.ON: ParameterNumber
+            _name = name;
+            _verdict = verdict;
+            _baselineRounds = baselineRounds;
+            _currentRounds = currentRounds;
+            _baselineLocation = baselineLocation;
+            _currentLocation = currentLocation;
+            _change = change;
+            _pValue = pValue;
+        }
+
+        private final String _name;
+        private final Verdict _verdict;
+        private final int _baselineRounds;
+        private final int _currentRounds;
+        private final double _baselineLocation;
+        private final double _currentLocation;
+        private final double _change;
+        private final double _pValue;
+    }
+}
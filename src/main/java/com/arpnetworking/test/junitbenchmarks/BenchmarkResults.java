@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Average;
+import com.carrotsearch.junitbenchmarks.GCSnapshot;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Creates the parts of a {@code Result} which junit-benchmarks does not
+ * expose constructors for. This is required by rules which run the
+ * benchmark rounds themselves instead of through the {@code BenchmarkRule}.
+ *
+ * @author agent (agent at local)
+ */
+final class BenchmarkResults {
+
+    private static final Constructor<Average> AVERAGE_CONSTRUCTOR = getConstructor(Average.class, double.class, double.class);
+    private static final Constructor<GCSnapshot> GC_SNAPSHOT_CONSTRUCTOR = getConstructor(GCSnapshot.class);
+
+    private BenchmarkResults() {}
+
+    /**
+     * Create an {@code Average}.
+     *
+     * @param average the average in seconds
+     * @param stddev the standard deviation in seconds
+     * @return new {@code Average}
+     */
+    static Average average(final double average, final double stddev) {
+        return newInstance(AVERAGE_CONSTRUCTOR, average, stddev);
+    }
+
+    /**
+     * Create a {@code GCSnapshot} of the garbage collections so far.
+     *
+     * @return new {@code GCSnapshot}
+     */
+    static GCSnapshot gcSnapshot() {
+        return newInstance(GC_SNAPSHOT_CONSTRUCTOR);
+    }
+
+    private static <T> Constructor<T> getConstructor(final Class<T> clazz, final Class<?>... parameterTypes) {
+        try {
+            final Constructor<T> constructor = clazz.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (final ReflectiveOperationException | SecurityException e) {
+            throw new IllegalStateException(String.format("Unsupported junit-benchmarks version; class=%s", clazz), e);
+        }
+    }
+
+    private static <T> T newInstance(final Constructor<T> constructor, final Object... arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    String.format("Unable to create %s", constructor.getDeclaringClass().getSimpleName()),
+                    e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which records the just-in-time compilation activity of the JVM during
+ * the warmup and the measured rounds of each test. The activity is written
+ * with each result by the {@link JsonBenchmarkConsumer} as
+ * {@code compilation}. A warning is logged for tests where code was compiled
+ * or deoptimized while the measured rounds ran, since such results were
+ * likely measured before the test reached steady state.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule} so that it can
+ * observe where warmup ends. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final CompilationRule COMPILATION = new CompilationRule(CONSUMER, true);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(COMPILATION);
+ * </pre>
+ * The compilation time is always recorded from the {@code CompilationMXBean}.
+ * Optionally, the compilation, deoptimization and code cache full events
+ * are streamed from an in-process Flight Recorder recording for each test.
+ * Since the stream is flushed about once per second this adds up to a
+ * second to each test.
+ *
+ * @author agent (agent at local)
+ */
+public final class CompilationRule extends AbstractRoundRule<CompilationRule.Recording> {
+
+    private static final int MAX_METHODS = 20;
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(5);
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompilationRule.class);
+
+    private final boolean _flightRecorder;
+
+    /**
+     * Records only the compilation time.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the activity with
+     */
+    public CompilationRule(final JsonBenchmarkConsumer consumer) {
+        this(consumer, false);
+    }
+
+    /**
+     * Records the compilation time and optionally the compilation events
+     * with Flight Recorder.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the activity with
+     * @param flightRecorder whether to record compilation events with Flight Recorder
+     */
+    public CompilationRule(final JsonBenchmarkConsumer consumer, final boolean flightRecorder) {
+        super(consumer, "compilation");
+        _flightRecorder = flightRecorder && isFlightRecorderAvailable();
+    }
+
+    static long getTotalCompilationTime() {
+        final CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+        if (bean == null || !bean.isCompilationTimeMonitoringSupported()) {
+            return 0;
+        }
+        return bean.getTotalCompilationTime();
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        if (!FlightRecorder.isAvailable()) {
+            LOGGER.warn("Flight Recorder is not available; recording compilation time only");
+            return false;
+        }
+        return true;
+    }
+
+    private static RecordingStream startStream() {
+        final RecordingStream stream = new RecordingStream();
+        stream.enable("jdk.Compilation").withThreshold(Duration.ZERO);
+        stream.enable("jdk.Deoptimization");
+        stream.enable("jdk.CodeCacheFull");
+        return stream;
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds, _flightRecorder ? startStream() : null);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        recording.beginRound(round);
+        base.evaluate();
+    }
+
+    @Override
+    Optional<CompilationStatistics> end(final Recording recording, final Result result) {
+        final Optional<CompilationStatistics> statistics = recording.end();
+        if (statistics.isPresent() && statistics.get().isCompilingDuringMeasurement()) {
+            LOGGER.warn(String.format(
+                    "Compilation during measured rounds of %s.%s; consider more warmup rounds",
+                    result.getTestClassName(),
+                    result.getTestMethodName()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Records the compilation activity of one test.
+     */
+    static final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds, @Nullable final RecordingStream stream) {
+            super(description, warmupRounds);
+            _stream = stream;
+            _startCompilationTime = getTotalCompilationTime();
+            if (stream != null) {
+                stream.onEvent("jdk.Compilation", this::onCompilation);
+                stream.onEvent("jdk.Deoptimization", this::onDeoptimization);
+                stream.onEvent("jdk.CodeCacheFull", this::onCodeCacheFull);
+                stream.onFlush(this::onFlush);
+                stream.startAsync();
+            }
+        }
+
+        void beginRound(final long round) {
+            if (round == getWarmupRounds()) {
+                _measurementCompilationTime = getTotalCompilationTime();
+                _measurementStart = Instant.now();
+            }
+        }
+
+        Optional<CompilationStatistics> end() {
+            final long endCompilationTime = getTotalCompilationTime();
+            final Instant measurementStart = _measurementStart;
+            if (measurementStart == null) {
+                close();
+                return Optional.empty();
+            }
+            final boolean streamed = awaitFlush(Instant.now());
+            close();
+            synchronized (this) {
+                return Optional.of(new CompilationStatistics(
+                        _measurementCompilationTime - _startCompilationTime,
+                        endCompilationTime - _measurementCompilationTime,
+                        streamed ? Optional.of(_warmup.toPhase()) : Optional.empty(),
+                        streamed ? Optional.of(_measurement.toPhase()) : Optional.empty()));
+            }
+        }
+
+        @Override
+        void close() {
+            if (_stream != null) {
+                _stream.close();
+            }
+        }
+
+        private synchronized void onCompilation(final RecordedEvent event) {
+            final PhaseCounters phase = getPhase(event);
+            ++phase._compilations;
+            if (event.hasField("isOsr") && event.getBoolean("isOsr")) {
+                ++phase._osrCompilations;
+            }
+            phase._compilationDuration += event.getDuration().toNanos();
+            final RecordedMethod method = event.hasField("method") ? event.getValue("method") : null;
+            if (method != null) {
+                if (phase._methods.size() == MAX_METHODS) {
+                    phase._methods.removeFirst();
+                }
+                phase._methods.addLast(method.getType().getName() + "." + method.getName());
+            }
+        }
+
+        private synchronized void onDeoptimization(final RecordedEvent event) {
+            ++getPhase(event)._deoptimizations;
+        }
+
+        private synchronized void onCodeCacheFull(final RecordedEvent event) {
+            ++getPhase(event)._codeCacheFull;
+        }
+
+        private synchronized PhaseCounters getPhase(final RecordedEvent event) {
+            final Instant measurementStart = _measurementStart;
+            return measurementStart != null && !event.getStartTime().isBefore(measurementStart) ? _measurement : _warmup;
+        }
+
+        private synchronized void onFlush() {
+            _lastFlush = Instant.now();
+            notifyAll();
+        }
+
+        private synchronized boolean awaitFlush(final Instant end) {
+            if (_stream == null) {
+                return false;
+            }
+            final long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+            while (_lastFlush == null || !_lastFlush.isAfter(end)) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    LOGGER.warn("Timed out waiting for Flight Recorder compilation events");
+                    return false;
+                }
+                try {
+                    wait(Math.max(1, remaining / 1000000));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        private final RecordingStream _stream;
+        private final long _startCompilationTime;
+        private final PhaseCounters _warmup = new PhaseCounters();
+        private final PhaseCounters _measurement = new PhaseCounters();
+        private volatile long _measurementCompilationTime;
+        @Nullable
+        private volatile Instant _measurementStart;
+        @Nullable
+        private Instant _lastFlush;
+    }
+
+    /**
+     * Counts the compilation events of one phase.
+     */
+    private static final class PhaseCounters {
+
+        CompilationStatistics.Phase toPhase() {
+            return new CompilationStatistics.Phase(
+                    _compilations,
+                    _osrCompilations,
+                    _compilationDuration / 1000000.0,
+                    _deoptimizations,
+                    _codeCacheFull,
+                    Lists.newArrayList(_methods));
+        }
+
+        private long _compilations;
+        private long _osrCompilations;
+        private long _compilationDuration;
+        private long _deoptimizations;
+        private long _codeCacheFull;
+        private final Deque<String> _methods = Lists.newLinkedList();
+    }
+}
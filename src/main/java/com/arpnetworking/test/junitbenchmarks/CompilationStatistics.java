@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Just-in-time compilation activity of the JVM during the warmup and the
+ * measured rounds of a test. The compilation times are the deltas of the
+ * total compilation time reported by the {@code CompilationMXBean} which
+ * is accumulated across all compiler threads. The per phase activity is
+ * only available if Flight Recorder events were recorded.
+ *
+ * @author agent (agent at local)
+ */
+public final class CompilationStatistics {
+
+    public long getCompilationTimeMillis() {
+        return _warmupCompilationTimeMillis + _measurementCompilationTimeMillis;
+    }
+
+    public long getWarmupCompilationTimeMillis() {
+        return _warmupCompilationTimeMillis;
+    }
+
+    public long getMeasurementCompilationTimeMillis() {
+        return _measurementCompilationTimeMillis;
+    }
+
+    /**
+     * Whether the JVM compiled or deoptimized code while the measured
+     * rounds ran; if so the test likely did not reach steady state before
+     * measurement began.
+     *
+     * @return whether compilation happened during measurement
+     */
+    public boolean isCompilingDuringMeasurement() {
+        return _measurementCompilationTimeMillis > 0
+                || _measurement.map(phase -> phase.getCompilations() + phase.getDeoptimizations() > 0).orElse(false);
+    }
+
+    public Optional<Phase> getWarmup() {
+        return _warmup;
+    }
+
+    public Optional<Phase> getMeasurement() {
+        return _measurement;
+    }
+
+    CompilationStatistics(
+            final long warmupCompilationTimeMillis,
+            final long measurementCompilationTimeMillis,
+            final Optional<Phase> warmup,
+            final Optional<Phase> measurement) {
+        _warmupCompilationTimeMillis = warmupCompilationTimeMillis;
+        _measurementCompilationTimeMillis = measurementCompilationTimeMillis;
+        _warmup = warmup;
+        _measurement = measurement;
+    }
+
+    private final long _warmupCompilationTimeMillis;
+    private final long _measurementCompilationTimeMillis;
+    private final Optional<Phase> _warmup;
+    private final Optional<Phase> _measurement;
+
+    /**
+     * Compilation events recorded by Flight Recorder during one phase of a
+     * test. The methods are the most recently compiled methods up to a
+     * limit.
+     */
+    public static final class Phase {
+
+        public long getCompilations() {
+            return _compilations;
+        }
+
+        public long getOsrCompilations() {
+            return _osrCompilations;
+        }
+
+        public double getCompilationDurationMillis() {
+            return _compilationDurationMillis;
+        }
+
+        public long getDeoptimizations() {
+            return _deoptimizations;
+        }
+
+        public long getCodeCacheFull() {
+            return _codeCacheFull;
+        }
+
+        public List<String> getMethods() {
+            return _methods;
+        }
+
+        Phase(
+                final long compilations,
+                final long osrCompilations,
+                final double compilationDurationMillis,
+                final long deoptimizations,
+                final long codeCacheFull,
+                final List<String> methods) {
+            _compilations = compilations;
+            _osrCompilations = osrCompilations;
+            _compilationDurationMillis = compilationDurationMillis;
+            _deoptimizations = deoptimizations;
+            _codeCacheFull = codeCacheFull;
+            _methods = ImmutableList.copyOf(methods);
+        }
+
+        private final long _compilations;
+        private final long _osrCompilations;
+        private final double _compilationDurationMillis;
+        private final long _deoptimizations;
+        private final long _codeCacheFull;
+        private final ImmutableList<String> _methods;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.command.InspectExecResponse;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Frame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes commands inside Docker containers.
+ *
+ * @author agent (agent at local)
+ */
+final class ContainerCommand {
+
+    /**
+     * Execute a command inside a container and wait for it to complete.
+     *
+     * @param dockerClient the {@code DockerClient} instance
+     * @param container the container to execute the command in
+     * @param timeout the maximum time to wait for the command to complete
+     * @param command the command and its arguments
+     * @return the combined standard output and standard error of the command
+     * @throws IOException if the command cannot be executed or exits abnormally
+     */
+    static String execute(
+            final DockerClient dockerClient,
+            final Container container,
+            final Duration timeout,
+            final String... command) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            final ExecCreateCmdResponse execution = dockerClient.execCreateCmd(container.getId())
+                    .withAttachStdout(true)
+                    .withAttachStderr(true)
+                    .withCmd(command)
+                    .exec();
+
+            final ResultCallback.Adapter<Frame> callback = dockerClient.execStartCmd(execution.getId())
+                    .exec(new ResultCallback.Adapter<Frame>() {
+                        @Override
+                        public void onNext(final Frame frame) {
+                            output.writeBytes(frame.getPayload());
+                        }
+                    });
+            if (!callback.awaitCompletion(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException(
+                        String.format(
+                                "Timed out executing command in container: %s",
+                                Arrays.toString(command)));
+            }
+
+            final InspectExecResponse result = dockerClient.inspectExecCmd(execution.getId()).exec();
+            final Long exitCode = result.getExitCodeLong();
+            if (exitCode == null || exitCode != 0) {
+                throw new IOException(
+                        String.format(
+                                "Command in container exited with %s: %s; output=%s",
+                                exitCode,
+                                Arrays.toString(command),
+                                output.toString(StandardCharsets.UTF_8)));
+            }
+        } catch (final DockerException e) {
+            throw new IOException(
+                    String.format(
+                            "Docker client failed to execute command in container: %s",
+                            Arrays.toString(command)),
+                    e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(
+                    String.format(
+                            "Interrupted executing command in container: %s",
+                            Arrays.toString(command)),
+                    e);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private ContainerCommand() {}
+}
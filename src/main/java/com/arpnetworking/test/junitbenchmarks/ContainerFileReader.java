@@ -47,10 +47,19 @@ class ContainerFileReader extends InputStreamReader {
             final DockerClient dockerClient,
             final Container container,
             final Path file) throws IOException {
-        super(createReader(dockerClient, container, file), StandardCharsets.UTF_8);
+        super(openStream(dockerClient, container, file), StandardCharsets.UTF_8);
     }
 
-    private static InputStream createReader(
+    /**
+     * Open a binary stream over a file inside a Docker container.
+     *
+     * @param dockerClient the {@code DockerClient} instance
+     * @param container the container to read the file from
+     * @param file the path to the file inside the container
+     * @return {@code InputStream} over the contents of the file
+     * @throws IOException if the stream cannot be opened
+     */
+    static InputStream openStream(
             final DockerClient dockerClient,
             final Container container,
             final Path file) throws IOException {
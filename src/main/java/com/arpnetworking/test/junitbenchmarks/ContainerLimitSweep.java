@@ -0,0 +1,338 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.UpdateContainerCmd;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.HostConfig;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Class rule which runs a test class once for each of a list of
+ * {@link ContainerLimits} applied to the container targeted by a
+ * {@link DockerJsonBenchmarkConsumer}. Each result written by the consumer
+ * records the limits it ran under as {@code containerLimits} and when the
+ * sweep completes a scaling curve is written to the specified file. The
+ * files written for each test, such as the extracted profile data, are
+ * qualified by the limits (e.g. {@code cpus_2.0_memory_512m}) so the runs
+ * under each of the limits do not overwrite each other. A failure under one
+ * of the limits does not prevent running under the remaining limits; the
+ * failures, including limits which could not be applied, are reported once
+ * the sweep completes. The original limits of the container are restored
+ * after the sweep; since Docker cannot remove a limit by updating a
+ * container, a limit the container did not originally have is left in
+ * place and logged.
+ * <p>
+ * For example:
+ * <pre>
+ * private static final DockerJsonBenchmarkConsumer CONSUMER = new DockerJsonBenchmarkConsumer(...);
+ *
+ * &#64;ClassRule
+ * public static final ContainerLimitSweep SWEEP = new ContainerLimitSweep(
+ *         CONSUMER,
+ *         Paths.get("target/perf/scaling.json"),
+ *         ImmutableList.of(ContainerLimits.cpus(1), ContainerLimits.cpus(2), ContainerLimits.cpus(4)));
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = new BenchmarkRule(CONSUMER);
+ * </pre>
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerLimitSweep implements TestRule {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerLimitSweep.class);
+
+    private final DockerJsonBenchmarkConsumer _consumer;
+    private final Path _curveFile;
+    private final ImmutableList<ContainerLimits> _limits;
+    private final Map<String, List<ScalingPoint>> _curves = Maps.newLinkedHashMap();
+    @Nullable
+    private ContainerLimits _currentLimits;
+
+    /**
+     * Public constructor.
+     *
+     * @param consumer the {@code DockerJsonBenchmarkConsumer} targeting the container to limit
+     * @param curveFile the {@code Path} of the scaling curve file to write
+     * @param limits the {@code ContainerLimits} to run the test class under in order
+     */
+    @SuppressWarnings("this-escape")
+    public ContainerLimitSweep(
+            final DockerJsonBenchmarkConsumer consumer,
+            final Path curveFile,
+            final List<ContainerLimits> limits) {
+        if (limits.isEmpty()) {
+            throw new IllegalArgumentException("At least one container limit is required");
+        }
+        _consumer = consumer;
+        _curveFile = curveFile;
+        _limits = ImmutableList.copyOf(limits);
+        _consumer.addCollector(new LimitsCollector());
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new SweepStatement(base, description);
+    }
+
+    /**
+     * The scaling curves recorded so far by test name.
+     *
+     * @return the scaling curves by test name
+     */
+    synchronized Map<String, List<ScalingPoint>> getCurves() {
+        return Maps.newLinkedHashMap(_curves);
+    }
+
+    static String getQualifier(final ContainerLimits limits) {
+        return limits.getLabel().replaceAll("[^A-Za-z0-9.-]", "_");
+    }
+
+    private static void update(final DockerClient dockerClient, final String containerId, final ContainerLimits limits) {
+        final UpdateContainerCmd command = dockerClient.updateContainerCmd(containerId);
+        limits.getCpuPeriod().ifPresent(command::withCpuPeriod);
+        limits.getCpuQuota().ifPresent(command::withCpuQuota);
+        limits.getMemoryBytes().ifPresent(memory -> command.withMemory(memory).withMemorySwap(memory));
+        command.exec();
+    }
+
+    private void restore(final DockerClient dockerClient, final String containerId, @Nullable final HostConfig original) {
+        if (original == null) {
+            LOGGER.warn(String.format("Cannot restore container limits; original limits unknown: %s", containerId));
+            return;
+        }
+        // Docker ignores zero values on update and not every daemon accepts
+        // negative values, so a limit the container did not have cannot be
+        // removed and only the original values which were set are restored
+        final UpdateContainerCmd command = dockerClient.updateContainerCmd(containerId)
+                .withCpuPeriod(isSet(original.getCpuPeriod()) ? original.getCpuPeriod() : ContainerLimits.DEFAULT_CPU_PERIOD);
+        final List<String> unrestored = Lists.newArrayList();
+        if (isSet(original.getCpuQuota())) {
+            command.withCpuQuota(original.getCpuQuota());
+        } else if (_limits.stream().anyMatch(limits -> limits.getCpuQuota().isPresent())) {
+            unrestored.add("cpuQuota");
+        }
+        if (isSet(original.getMemory())) {
+            command.withMemory(original.getMemory());
+            if (original.getMemorySwap() != null && original.getMemorySwap() != 0) {
+                command.withMemorySwap(original.getMemorySwap());
+            }
+        } else if (_limits.stream().anyMatch(limits -> limits.getMemoryBytes().isPresent())) {
+            unrestored.add("memory");
+        }
+        try {
+            command.exec();
+        } catch (final DockerException e) {
+            LOGGER.warn(String.format("Unable to restore container limits: %s", containerId), e);
+        }
+        if (!unrestored.isEmpty()) {
+            LOGGER.warn(String.format(
+                    "Cannot remove container limits not set originally; recreate the container to remove them: %s, limits=%s",
+                    containerId,
+                    unrestored));
+        }
+    }
+
+    private static boolean isSet(@Nullable final Long value) {
+        return value != null && value > 0;
+    }
+
+    private synchronized void writeCurves() throws IOException {
+        final Path parent = _curveFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ObjectMapperFactory.getInstance().writerWithDefaultPrettyPrinter().writeValue(_curveFile.toFile(), _curves);
+        LOGGER.info(String.format("Wrote container limit scaling curves; file=%s", _curveFile));
+    }
+
+    private synchronized Optional<ContainerLimits> record(final Result result) {
+        if (_currentLimits == null) {
+            return Optional.empty();
+        }
+        final String name = result.getTestClassName() + "." + result.getTestMethodName();
+        final List<ScalingPoint> curve = _curves.computeIfAbsent(name, k -> Lists.newArrayList());
+        final double roundsPerSecond = result.roundAverage.avg > 0
+                ? result.getThreadCount() / result.roundAverage.avg
+                : 0;
+        final ScalingPoint baseline = curve.isEmpty() ? null : curve.get(0);
+        curve.add(new ScalingPoint(_currentLimits, result.roundAverage.avg, roundsPerSecond, baseline));
+        return Optional.of(_currentLimits);
+    }
+
+    /**
+     * Runs the wrapped statement once for each of the container limits.
+     */
+    private final class SweepStatement extends Statement {
+
+        SweepStatement(final Statement base, final Description description) {
+            _base = base;
+            _description = description;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            final DockerClient dockerClient = _consumer.getDockerClient();
+            final Optional<Container> container = _consumer.getTargetContainer();
+            if (!container.isPresent()) {
+                LOGGER.error(String.format("Cannot sweep container limits for %s; container not found", _description));
+                _base.evaluate();
+                return;
+            }
+            final String containerId = container.get().getId();
+            final HostConfig original = dockerClient.inspectContainerCmd(containerId).exec().getHostConfig();
+
+            final List<Throwable> failures = Lists.newArrayList();
+            try {
+                for (final ContainerLimits limits : _limits) {
+                    LOGGER.info(String.format("Running %s with container limits %s", _description, limits));
+                    try {
+                        update(dockerClient, containerId, limits);
+                    } catch (final DockerException e) {
+                        LOGGER.error(String.format("Unable to apply container limits %s for %s", limits, _description), e);
+                        failures.add(e);
+                        continue;
+                    }
+                    synchronized (ContainerLimitSweep.this) {
+                        _currentLimits = limits;
+                    }
+                    _consumer.qualifyOutputs(getQualifier(limits));
+                    try {
+                        _base.evaluate();
+                        // CHECKSTYLE.OFF: IllegalCatch - Statements may throw anything
+                    } catch (final Throwable t) {
+                        // CHECKSTYLE.ON: IllegalCatch
+                        LOGGER.error(String.format("Failed %s with container limits %s", _description, limits), t);
+                        failures.add(t);
+                    }
+                }
+            } finally {
+                synchronized (ContainerLimitSweep.this) {
+                    _currentLimits = null;
+                }
+                _consumer.qualifyOutputs("");
+                restore(dockerClient, containerId, original);
+                try {
+                    writeCurves();
+                } catch (final IOException e) {
+                    // Reported with the failures of the sweep instead of masking them
+                    LOGGER.error(String.format("Unable to write container limit scaling curves; file=%s", _curveFile), e);
+                    failures.add(e);
+                }
+            }
+            MultipleFailureException.assertEmpty(failures);
+        }
+
+        private final Statement _base;
+        private final Description _description;
+    }
+
+    /**
+     * Records the current limits with each result.
+     */
+    private final class LimitsCollector implements ResultCollector {
+
+        @Override
+        public String getName() {
+            return "containerLimits";
+        }
+
+        @Override
+        public void begin() {
+            // Limits are applied by the sweep
+        }
+
+        @Override
+        public Optional<ContainerLimits> end(final Result result) {
+            return record(result);
+        }
+    }
+
+    /**
+     * The throughput of a test under a set of container limits. The speed-up
+     * is relative to the first limits in the sweep and the scaling efficiency
+     * is the speed-up divided by the increase in CPUs; an efficiency well
+     * below one indicates the test has stopped scaling with CPU.
+     */
+    public static final class ScalingPoint {
+
+        public ContainerLimits getLimits() {
+            return _limits;
+        }
+
+        public double getRoundAverage() {
+            return _roundAverage;
+        }
+
+        public double getRoundsPerSecond() {
+            return _roundsPerSecond;
+        }
+
+        public double getSpeedup() {
+            return _speedup;
+        }
+
+        public Optional<Double> getScalingEfficiency() {
+            return _scalingEfficiency;
+        }
+
+        ScalingPoint(
+                final ContainerLimits limits,
+                final double roundAverage,
+                final double roundsPerSecond,
+                @Nullable final ScalingPoint baseline) {
+            _limits = limits;
+            _roundAverage = roundAverage;
+            _roundsPerSecond = roundsPerSecond;
+            if (baseline == null) {
+                _speedup = 1.0;
+                _scalingEfficiency = limits.getCpus().map(cpus -> 1.0);
+            } else {
+                _speedup = baseline._roundsPerSecond > 0 ? roundsPerSecond / baseline._roundsPerSecond : 0;
+                final Optional<Double> baselineCpus = baseline._limits.getCpus();
+                _scalingEfficiency = limits.getCpus()
+                        .flatMap(cpus -> baselineCpus.map(baseCpus -> _speedup / (cpus / baseCpus)));
+            }
+        }
+
+        private final ContainerLimits _limits;
+        private final double _roundAverage;
+        private final double _roundsPerSecond;
+        private final double _speedup;
+        private final Optional<Double> _scalingEfficiency;
+    }
+}
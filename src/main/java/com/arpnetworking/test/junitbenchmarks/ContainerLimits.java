@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * CPU and memory limits applied to a Docker container by a
+ * {@link ContainerLimitSweep}. The CPU limit is expressed as a CFS quota over
+ * a period; for example, a quota of {@code 150000} over a period of
+ * {@code 100000} microseconds allows the container one and a half CPUs.
+ * Unset limits are left unchanged on the container.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerLimits {
+
+    /**
+     * The default CFS period in microseconds.
+     */
+    public static final long DEFAULT_CPU_PERIOD = 100000;
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    /**
+     * Create limits allowing the specified number of CPUs.
+     *
+     * @param cpus the number of CPUs; may be fractional
+     * @return new {@code ContainerLimits}
+     */
+    public static ContainerLimits cpus(final double cpus) {
+        return new ContainerLimits(null, null, null).withCpus(cpus);
+    }
+
+    /**
+     * Create limits allowing the specified CFS quota over the specified period.
+     *
+     * @param cpuQuota the CFS quota in microseconds
+     * @param cpuPeriod the CFS period in microseconds
+     * @return new {@code ContainerLimits}
+     */
+    public static ContainerLimits cpuQuota(final long cpuQuota, final long cpuPeriod) {
+        return new ContainerLimits(cpuQuota, cpuPeriod, null);
+    }
+
+    /**
+     * Create limits allowing the specified amount of memory.
+     *
+     * @param memoryBytes the memory limit in bytes
+     * @return new {@code ContainerLimits}
+     */
+    public static ContainerLimits memory(final long memoryBytes) {
+        return new ContainerLimits(null, null, memoryBytes);
+    }
+
+    /**
+     * Create a copy of these limits allowing the specified number of CPUs.
+     *
+     * @param cpus the number of CPUs; may be fractional
+     * @return new {@code ContainerLimits}
+     */
+    public ContainerLimits withCpus(final double cpus) {
+        if (cpus <= 0) {
+            throw new IllegalArgumentException(String.format("CPUs must be positive: %s", cpus));
+        }
+        return new ContainerLimits(Math.round(cpus * DEFAULT_CPU_PERIOD), DEFAULT_CPU_PERIOD, _memoryBytes);
+    }
+
+    /**
+     * Create a copy of these limits allowing the specified amount of memory.
+     *
+     * @param memoryBytes the memory limit in bytes
+     * @return new {@code ContainerLimits}
+     */
+    public ContainerLimits withMemory(final long memoryBytes) {
+        return new ContainerLimits(_cpuQuota, _cpuPeriod, memoryBytes);
+    }
+
+    public Optional<Long> getCpuQuota() {
+        return Optional.ofNullable(_cpuQuota);
+    }
+
+    public Optional<Long> getCpuPeriod() {
+        return Optional.ofNullable(_cpuPeriod);
+    }
+
+    /**
+     * The number of CPUs allowed by the CFS quota and period.
+     *
+     * @return {@code Optional} number of CPUs
+     */
+    public Optional<Double> getCpus() {
+        if (_cpuQuota == null || _cpuPeriod == null) {
+            return Optional.empty();
+        }
+        return Optional.of((double) _cpuQuota / _cpuPeriod);
+    }
+
+    public Optional<Long> getMemoryBytes() {
+        return Optional.ofNullable(_memoryBytes);
+    }
+
+    /**
+     * A short label for the limits; for example {@code cpus=1.5,memory=512m}.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+        final StringBuilder label = new StringBuilder();
+        getCpus().ifPresent(cpus -> label.append("cpus=").append(cpus));
+        if (_memoryBytes != null) {
+            if (label.length() > 0) {
+                label.append(',');
+            }
+            label.append("memory=");
+            if (_memoryBytes % MEGABYTE == 0) {
+                label.append(_memoryBytes / MEGABYTE).append('m');
+            } else {
+                label.append(_memoryBytes);
+            }
+        }
+        return label.length() > 0 ? label.toString() : "unchanged";
+    }
+
+    @Override
+    public boolean equals(@CheckForNull final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ContainerLimits)) {
+            return false;
+        }
+        final ContainerLimits otherLimits = (ContainerLimits) other;
+        return Objects.equals(_cpuQuota, otherLimits._cpuQuota)
+                && Objects.equals(_cpuPeriod, otherLimits._cpuPeriod)
+                && Objects.equals(_memoryBytes, otherLimits._memoryBytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(_cpuQuota, _cpuPeriod, _memoryBytes);
+    }
+
+    @Override
+    public String toString() {
+        return getLabel();
+    }
+
+    private ContainerLimits(
+            @Nullable final Long cpuQuota,
+            @Nullable final Long cpuPeriod,
+            @Nullable final Long memoryBytes) {
+        _cpuQuota = cpuQuota;
+        _cpuPeriod = cpuPeriod;
+        _memoryBytes = memoryBytes;
+    }
+
+    @Nullable
+    private final Long _cpuQuota;
+    @Nullable
+    private final Long _cpuPeriod;
+    @Nullable
+    private final Long _memoryBytes;
+}
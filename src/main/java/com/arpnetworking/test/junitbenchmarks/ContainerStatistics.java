@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+/**
+ * Resource usage of a Docker container over the duration of a test. The
+ * cumulative counters are the difference between the first and last samples
+ * received from the Docker daemon while the test ran; the memory values are
+ * computed over all samples.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerStatistics {
+
+    public long getSamples() {
+        return _samples;
+    }
+
+    public long getCpuTimeNanos() {
+        return _cpuTimeNanos;
+    }
+
+    public long getCpuTimeNanosPerRound() {
+        return _cpuTimeNanosPerRound;
+    }
+
+    public long getThrottledPeriods() {
+        return _throttledPeriods;
+    }
+
+    public long getThrottledTimeNanos() {
+        return _throttledTimeNanos;
+    }
+
+    public long getPeakMemoryBytes() {
+        return _peakMemoryBytes;
+    }
+
+    public long getAverageMemoryBytes() {
+        return _averageMemoryBytes;
+    }
+
+    public long getNetworkReceivedBytes() {
+        return _networkReceivedBytes;
+    }
+
+    public long getNetworkTransmittedBytes() {
+        return _networkTransmittedBytes;
+    }
+
+    public long getBlockReadBytes() {
+        return _blockReadBytes;
+    }
+
+    public long getBlockWrittenBytes() {
+        return _blockWrittenBytes;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    ContainerStatistics(
+            final long samples,
+            final long cpuTimeNanos,
+            final long cpuTimeNanosPerRound,
+            final long throttledPeriods,
+            final long throttledTimeNanos,
+            final long peakMemoryBytes,
+            final long averageMemoryBytes,
+            final long networkReceivedBytes,
+            final long networkTransmittedBytes,
+            final long blockReadBytes,
+            final long blockWrittenBytes) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _samples = samples;
+        _cpuTimeNanos = cpuTimeNanos;
+        _cpuTimeNanosPerRound = cpuTimeNanosPerRound;
+        _throttledPeriods = throttledPeriods;
+        _throttledTimeNanos = throttledTimeNanos;
+        _peakMemoryBytes = peakMemoryBytes;
+        _averageMemoryBytes = averageMemoryBytes;
+        _networkReceivedBytes = networkReceivedBytes;
+        _networkTransmittedBytes = networkTransmittedBytes;
+        _blockReadBytes = blockReadBytes;
+        _blockWrittenBytes = blockWrittenBytes;
+    }
+
+    private final long _samples;
+    private final long _cpuTimeNanos;
+    private final long _cpuTimeNanosPerRound;
+    private final long _throttledPeriods;
+    private final long _throttledTimeNanos;
+    private final long _peakMemoryBytes;
+    private final long _averageMemoryBytes;
+    private final long _networkReceivedBytes;
+    private final long _networkTransmittedBytes;
+    private final long _blockReadBytes;
+    private final long _blockWrittenBytes;
+}
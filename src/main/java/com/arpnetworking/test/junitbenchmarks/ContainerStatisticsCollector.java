@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.BlkioStatsConfig;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.CpuStatsConfig;
+import com.github.dockerjava.api.model.CpuUsageConfig;
+import com.github.dockerjava.api.model.MemoryStatsConfig;
+import com.github.dockerjava.api.model.StatisticNetworksConfig;
+import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.ThrottlingDataConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Samples the resource usage of a Docker container with the Docker daemon's
+ * statistics stream while each test runs and produces a
+ * {@link ContainerStatistics} for the test. The daemon publishes a sample
+ * about once per second, so tests shorter than that yield few or no deltas.
+ * <p>
+ * Sampling is opt-in; register the collector with the Docker consumer
+ * whose target container to sample. For example:
+ * <pre>
+ * private static final DockerJsonBenchmarkConsumer CONSUMER = new DockerJsonBenchmarkConsumer(...);
+ *
+ * static {
+ *     CONSUMER.addCollector(new ContainerStatisticsCollector(CONSUMER));
+ * }
+ * </pre>
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerStatisticsCollector implements ResultCollector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerStatisticsCollector.class);
+
+    private final DockerClient _dockerClient;
+    private final Pattern _targetImageName;
+    @Nullable
+    private StatisticsCallback _callback;
+
+    /**
+     * Public constructor.
+     *
+     * @param consumer the {@code DockerJsonBenchmarkConsumer} whose target container to sample
+     */
+    public ContainerStatisticsCollector(final DockerJsonBenchmarkConsumer consumer) {
+        this(consumer.getDockerClient(), consumer.getTargetImageName());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dockerClient the {@code DockerClient} instance
+     * @param targetImageName the {@code Pattern} for matching the name of the Docker image to sample
+     */
+    ContainerStatisticsCollector(final DockerClient dockerClient, final Pattern targetImageName) {
+        _dockerClient = dockerClient;
+        _targetImageName = targetImageName;
+    }
+
+    @Override
+    public String getName() {
+        return "containerStatistics";
+    }
+
+    @Override
+    public synchronized void begin() {
+        stop();
+
+        final Optional<Container> container = DockerJsonBenchmarkConsumer.getContainer(_dockerClient, _targetImageName);
+        if (!container.isPresent()) {
+            LOGGER.warn("Cannot sample container statistics; container not found");
+            return;
+        }
+
+        try {
+            _callback = _dockerClient.statsCmd(container.get().getId()).exec(new StatisticsCallback());
+        } catch (final DockerException e) {
+            LOGGER.error(
+                    String.format(
+                            "Docker client failed to sample container statistics: %s",
+                            container.get().getId()),
+                    e);
+        }
+    }
+
+    @Override
+    public synchronized Optional<ContainerStatistics> end(final Result result) {
+        final StatisticsCallback callback = _callback;
+        stop();
+        if (callback == null) {
+            return Optional.empty();
+        }
+        return callback.summarize(result.benchmarkRounds + result.warmupRounds);
+    }
+
+    private void stop() {
+        if (_callback != null) {
+            try {
+                _callback.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close container statistics stream", e);
+            }
+            _callback = null;
+        }
+    }
+
+    static long valueOf(@Nullable final Long value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Accumulates samples from the Docker statistics stream. Samples arrive
+     * on a Docker client thread.
+     */
+    private static final class StatisticsCallback extends ResultCallback.Adapter<Statistics> {
+
+        @Override
+        public synchronized void onNext(final Statistics statistics) {
+            final Counters counters = new Counters(statistics);
+            if (_first == null) {
+                _first = counters;
+            }
+            _last = counters;
+
+            final MemoryStatsConfig memoryStats = statistics.getMemoryStats();
+            final Long usage = memoryStats == null ? null : memoryStats.getUsage();
+            if (usage != null) {
+                _peakMemory = Math.max(_peakMemory, usage);
+                _totalMemory += usage;
+                ++_memorySamples;
+            }
+            ++_samples;
+        }
+
+        synchronized Optional<ContainerStatistics> summarize(final int rounds) {
+            if (_first == null || _last == null) {
+                return Optional.empty();
+            }
+            final long cpuTime = _last._cpuTime - _first._cpuTime;
+            return Optional.of(new ContainerStatistics(
+                    _samples,
+                    cpuTime,
+                    rounds > 0 ? cpuTime / rounds : 0,
+                    _last._throttledPeriods - _first._throttledPeriods,
+                    _last._throttledTime - _first._throttledTime,
+                    _peakMemory,
+                    _memorySamples > 0 ? _totalMemory / _memorySamples : 0,
+                    _last._networkReceived - _first._networkReceived,
+                    _last._networkTransmitted - _first._networkTransmitted,
+                    _last._blockRead - _first._blockRead,
+                    _last._blockWritten - _first._blockWritten));
+        }
+
+        @Nullable
+        private Counters _first;
+        @Nullable
+        private Counters _last;
+        private long _samples;
+        private long _peakMemory;
+        private long _totalMemory;
+        private long _memorySamples;
+    }
+
+    /**
+     * The cumulative counters of a single statistics sample.
+     */
+    private static final class Counters {
+
+        Counters(final Statistics statistics) {
+            final CpuStatsConfig cpuStats = statistics.getCpuStats();
+            final CpuUsageConfig cpuUsage = cpuStats == null ? null : cpuStats.getCpuUsage();
+            if (cpuUsage != null) {
+                _cpuTime = valueOf(cpuUsage.getTotalUsage());
+            }
+            final ThrottlingDataConfig throttlingData = cpuStats == null ? null : cpuStats.getThrottlingData();
+            if (throttlingData != null) {
+                _throttledPeriods = valueOf(throttlingData.getThrottledPeriods());
+                _throttledTime = valueOf(throttlingData.getThrottledTime());
+            }
+
+            final Map<String, StatisticNetworksConfig> networks = statistics.getNetworks();
+            if (networks != null) {
+                for (final StatisticNetworksConfig network : networks.values()) {
+                    _networkReceived += valueOf(network.getRxBytes());
+                    _networkTransmitted += valueOf(network.getTxBytes());
+                }
+            }
+
+            final BlkioStatsConfig blkioStats = statistics.getBlkioStats();
+            final List<BlkioStatEntry> entries = blkioStats == null ? null : blkioStats.getIoServiceBytesRecursive();
+            if (entries != null) {
+                for (final BlkioStatEntry entry : entries) {
+                    if ("read".equalsIgnoreCase(entry.getOp())) {
+                        _blockRead += valueOf(entry.getValue());
+                    } else if ("write".equalsIgnoreCase(entry.getOp())) {
+                        _blockWritten += valueOf(entry.getValue());
+                    }
+                }
+            }
+        }
+
+        private long _cpuTime;
+        private long _throttledPeriods;
+        private long _throttledTime;
+        private long _networkReceived;
+        private long _networkTransmitted;
+        private long _blockRead;
+        private long _blockWritten;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Specialization of {@link DockerJsonBenchmarkConsumer} which profiles Java
+ * applications inside a Docker container with Java Flight Recorder. At each
+ * test boundary the consumer uses {@code jcmd} inside the container to stop
+ * and dump the current recording and to start a new one. The per-test
+ * recordings are copied out of the container when the consumer is closed and
+ * summarized on the host. The recording started after the last test is
+ * stopped and discarded when the consumer is closed.
+ * <p>
+ * The requirements for your Docker container are:
+ * <ul>
+ * <li>The container must run a JDK 11 or newer with {@code jcmd} on the path.</li>
+ * <li>The target JVM must be attachable by {@code jcmd} as the exec user.</li>
+ * </ul>
+ * <p>
+ * By default the target JVM is process {@code 1} in the container which is
+ * the case when {@code exec} is used to launch the JVM.
+ *
+ * @author agent (agent at local)
+ */
+@SuppressFBWarnings(
+        value = "DMI_HARDCODED_ABSOLUTE_FILENAME",
+        justification = "The default recording directory is a path inside the container")
+public class DockerJfrJsonBenchmarkConsumer extends DockerJsonBenchmarkConsumer {
+
+    private static final AtomicInteger NEXT_PROFILE_INDEX = new AtomicInteger(0);
+    private static final AtomicInteger NEXT_RECORDING_ID = new AtomicInteger(0);
+    private static final String DEFAULT_DOCKER_DAEMON_ADDRESS = "unix:///var/run/docker.sock";
+    private static final String DEFAULT_JVM_TARGET = "1";
+    private static final Path DEFAULT_RECORDING_DIRECTORY = Paths.get("/tmp");
+    private static final String DEFAULT_SETTINGS = "profile";
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(30);
+    private static final Logger LOGGER = LoggerFactory.getLogger(DockerJfrJsonBenchmarkConsumer.class);
+
+    private final String _jvmTarget;
+    private final Path _recordingDirectory;
+    private final String _settings;
+    private final String _recordingName = "performance-test-" + NEXT_RECORDING_ID.getAndIncrement();
+    private boolean _recording = false;
+
+    /**
+     * Public constructor. Overwrites the file by default.
+     *
+     * @param path {@code Path} of the file to write
+     * @param targetImageName the {@code Pattern} for matching the name of the Docker image being profiled
+     */
+    public DockerJfrJsonBenchmarkConsumer(
+            final Path path,
+            final Pattern targetImageName) {
+        this(
+                path,
+                false,
+                targetImageName,
+                DEFAULT_DOCKER_DAEMON_ADDRESS,
+                DEFAULT_JVM_TARGET,
+                DEFAULT_RECORDING_DIRECTORY,
+                DEFAULT_SETTINGS);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param path {@code Path} of the file to write
+     * @param append whether to append to the file or overwrite
+     * @param targetImageName the {@code Pattern} for matching the name of the Docker image being profiled
+     * @param dockerDaemonAddress the address of the Docker daemon
+     * @param jvmTarget the process id or main class of the JVM inside the container
+     * @param recordingDirectory the directory inside the container to dump recordings to
+     * @param settings the JFR settings to record with (e.g. {@code profile} or {@code default})
+     */
+    public DockerJfrJsonBenchmarkConsumer(
+            final Path path,
+            final boolean append,
+            final Pattern targetImageName,
+            final String dockerDaemonAddress,
+            final String jvmTarget,
+            final Path recordingDirectory,
+            final String settings) {
+        super(path, append, targetImageName, dockerDaemonAddress);
+        _jvmTarget = jvmTarget;
+        _recordingDirectory = recordingDirectory;
+        _settings = settings;
+    }
+
+    DockerJfrJsonBenchmarkConsumer(
+            final Path path,
+            final Pattern targetImageName,
+            final DockerClient dockerClient,
+            final String jvmTarget,
+            final Path recordingDirectory) {
+        super(path, targetImageName, dockerClient);
+        _jvmTarget = jvmTarget;
+        _recordingDirectory = recordingDirectory;
+        _settings = DEFAULT_SETTINGS;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            stopRecording();
+        } finally {
+            super.close();
+        }
+    }
+
+    @Override
+    protected Optional<Path> getProfileFile() {
+        return Optional.of(_recordingDirectory.resolve(_recordingName + ".jfr"));
+    }
+
+    @Override
+    protected String getProfileExtension() {
+        return "jfr";
+    }
+
+    @Override
+    protected void filterProfileData(final Path pathIn, final Path pathOut, final int index) throws IOException {
+        // Fetch the docker container
+        final Optional<Container> container = getTargetContainer();
+        if (!container.isPresent()) {
+            LOGGER.error("Cannot filter profile data; container not found");
+            return;
+        }
+
+        // Copy the recording for the test out of the container
+        final Path recording = getRecordingFile(pathIn, index);
+        final InputStream inputStream = ContainerFileReader.openStream(getDockerClient(), container.get(), recording);
+        try {
+            Files.copy(inputStream, pathOut, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (final IOException e) {
+                // Ignore spurious close exceptions from Docker Java client streams
+            }
+        }
+
+        // Remove the recording from the container
+        try {
+            ContainerCommand.execute(getDockerClient(), container.get(), COMMAND_TIMEOUT, "rm", "-f", recording.toString());
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("Unable to remove recording from container: %s", recording), e);
+        }
+
+        // Summarize the recording on the host
+        new JfrFilter().run(pathOut, Optional.empty());
+    }
+
+    @Override
+    protected int dumpProfileData(final Path profileFile) {
+        // Fetch the docker container
+        final Optional<Container> container = getTargetContainer();
+        if (!container.isPresent()) {
+            LOGGER.error("Cannot dump profile data; container not found");
+            return -1;
+        }
+
+        synchronized (this) {
+            int index = -1;
+            try {
+                // Stop and dump the recording covering the previous test
+                if (_recording) {
+                    _recording = false;
+                    index = NEXT_PROFILE_INDEX.getAndIncrement();
+                    jcmd(
+                            container.get(),
+                            "JFR.stop",
+                            "name=" + _recordingName,
+                            "filename=" + getRecordingFile(profileFile, index));
+                }
+
+                // Start the recording for the next test
+                jcmd(
+                        container.get(),
+                        "JFR.start",
+                        "name=" + _recordingName,
+                        "settings=" + _settings);
+                _recording = true;
+            } catch (final IOException e) {
+                LOGGER.error("Unable to dump profile data", e);
+                return -1;
+            }
+
+            LOGGER.info(String.format(
+                    "Dumped profile data %d",
+                    index));
+
+            return index;
+        }
+    }
+
+    private synchronized void stopRecording() {
+        if (_recording) {
+            // Discard the recording started after the last test
+            _recording = false;
+            final Optional<Container> container = getTargetContainer();
+            if (!container.isPresent()) {
+                LOGGER.warn("Cannot stop recording; container not found");
+                return;
+            }
+            try {
+                jcmd(container.get(), "JFR.stop", "name=" + _recordingName);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to stop recording in container", e);
+            }
+        }
+    }
+
+    private void jcmd(final Container container, final String... arguments) throws IOException {
+        final String[] command = new String[arguments.length + 2];
+        command[0] = "jcmd";
+        command[1] = _jvmTarget;
+        System.arraycopy(arguments, 0, command, 2, arguments.length);
+        final String output = ContainerCommand.execute(getDockerClient(), container, COMMAND_TIMEOUT, command);
+        LOGGER.debug(String.format("Executed %s; output=%s", String.join(" ", command), output));
+    }
+
+    private static Path getRecordingFile(final Path profileFile, final int index) {
+        final String nameWithoutExtension = com.google.common.io.Files.getNameWithoutExtension(profileFile.toString());
+        return profileFile.resolveSibling(nameWithoutExtension + "." + index + ".jfr");
+    }
+}
@@ -54,6 +54,11 @@ import java.util.regex.Pattern;
  * the JVM via {@code docker run} and use {@code exec} when launching your process
  * to ensure that the JVM is the root process in the container and thus will
  * receive the signal.
+ * <p>
+ * The resource usage of the container can also be sampled from the Docker
+ * daemon while each test runs and written with the test's result as
+ * {@code containerStatistics} by registering a
+ * {@link ContainerStatisticsCollector}; see {@link ContainerStatistics}.
  *
  * @author Ville Koskela (ville dot koskela at inscopemetrics dot com)
  */
@@ -234,6 +239,28 @@ public class DockerJsonBenchmarkConsumer extends JsonBenchmarkConsumer {
         }
     }
 
+    /**
+     * Retrieve the Docker client used to communicate with the daemon.
+     *
+     * @return the {@code DockerClient} instance
+     */
+    protected DockerClient getDockerClient() {
+        return _dockerClient;
+    }
+
+    /**
+     * Retrieve the running container under profile.
+     *
+     * @return {@code Optional} container matching the target image name
+     */
+    protected Optional<Container> getTargetContainer() {
+        return getContainer(_dockerClient, _targetImageName);
+    }
+
+    Pattern getTargetImageName() {
+        return _targetImageName;
+    }
+
     static Optional<Container> getContainer(
             final DockerClient dockerClient,
             final Pattern targetImagePattern) {
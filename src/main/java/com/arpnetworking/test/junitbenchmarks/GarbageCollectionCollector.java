@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Records the garbage collections of this JVM while each test runs from the
+ * notifications published by the garbage collector beans and produces a
+ * {@link GarbageCollectionStatistics} for the test. Unlike the accumulated
+ * totals in the result's {@code gcInfo} this distinguishes many short young
+ * collections from a single long full collection. Add it to the consumer
+ * with {@link JsonBenchmarkConsumer#addCollector(ResultCollector)}; the data
+ * is written as {@code garbageCollection}.
+ * <p>
+ * Notifications are delivered asynchronously so at the end of each test
+ * the collector waits briefly for notifications of collections the beans
+ * have already counted. Collections which started before the test are
+ * ignored.
+ *
+ * @author agent (agent at local)
+ */
+public final class GarbageCollectionCollector implements ResultCollector {
+
+    private static final int DEFAULT_MAX_EVENTS = 1000;
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofSeconds(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(GarbageCollectionCollector.class);
+
+    private final int _maxEvents;
+    private final NotificationListener _listener = this::handleNotification;
+    @Nullable
+    private volatile Window _window;
+
+    /**
+     * Public constructor. Records up to {@code 1000} individual collections
+     * per test.
+     */
+    public GarbageCollectionCollector() {
+        this(DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param maxEvents the maximum number of individual collections to record per test
+     */
+    public GarbageCollectionCollector(final int maxEvents) {
+        _maxEvents = maxEvents;
+    }
+
+    @Override
+    public String getName() {
+        return "garbageCollection";
+    }
+
+    @Override
+    public synchronized void begin() {
+        stop();
+        _window = new Window(
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                getCollectionCount(),
+                getHeapPools(),
+                _maxEvents);
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                ((NotificationEmitter) bean).addNotificationListener(_listener, null, null);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Optional<GarbageCollectionStatistics> end(final Result result) {
+        final Window window = _window;
+        if (window == null) {
+            return Optional.empty();
+        }
+        final long expected = getCollectionCount() - window._collectionCount;
+        final boolean complete = window.await(expected, NOTIFICATION_TIMEOUT);
+        stop();
+        if (!complete) {
+            LOGGER.warn(String.format(
+                    "Missing garbage collection notifications for %s.%s",
+                    result.getTestClassName(),
+                    result.getTestMethodName()));
+        }
+        return Optional.of(window.summarize());
+    }
+
+    private void stop() {
+        if (_window != null) {
+            for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (bean instanceof NotificationEmitter) {
+                    try {
+                        ((NotificationEmitter) bean).removeNotificationListener(_listener);
+                    } catch (final ListenerNotFoundException e) {
+                        LOGGER.debug(String.format("Listener not registered with %s", bean.getName()), e);
+                    }
+                }
+            }
+            _window = null;
+        }
+    }
+
+    private void handleNotification(final Notification notification, @Nullable final Object handback) {
+        final Window window = _window;
+        if (window != null
+                && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            window.record(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+        }
+    }
+
+    private static long getCollectionCount() {
+        long count = 0;
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static Set<String> getHeapPools() {
+        final ImmutableSet.Builder<String> pools = ImmutableSet.builder();
+        for (final MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (bean.getType() == MemoryType.HEAP) {
+                pools.add(bean.getName());
+            }
+        }
+        return pools.build();
+    }
+
+    static boolean isConcurrent(final String collector) {
+        return collector.contains("Cycles") || collector.contains("Concurrent");
+    }
+
+    static boolean isOldPool(final String pool) {
+        return pool.contains("Old") || pool.contains("Tenured");
+    }
+
+    /**
+     * Accumulates the collections of one test. Notifications arrive on a
+     * JMX notification thread.
+     */
+    private static final class Window {
+
+        Window(final long startTime, final long collectionCount, final Set<String> heapPools, final int maxEvents) {
+            _startTime = startTime;
+            _collectionCount = collectionCount;
+            _heapPools = heapPools;
+            _maxEvents = maxEvents;
+        }
+
+        synchronized void record(final GarbageCollectionNotificationInfo info) {
+            final GcInfo gcInfo = info.getGcInfo();
+            if (gcInfo.getStartTime() < _startTime) {
+                return;
+            }
+            ++_received;
+
+            final String collector = info.getGcName();
+            final String action = info.getGcAction();
+            final long duration = gcInfo.getDuration();
+            final boolean young = action.contains("minor");
+            final Map<String, MemoryUsage> before = gcInfo.getMemoryUsageBeforeGc();
+            final Map<String, MemoryUsage> after = gcInfo.getMemoryUsageAfterGc();
+            final long heapBefore = sumUsed(before, false);
+            final long heapAfter = sumUsed(after, false);
+            final long promoted = young ? Math.max(0, sumUsed(after, true) - sumUsed(before, true)) : 0;
+
+            if (isConcurrent(collector)) {
+                ++_concurrentCount;
+            } else {
+                if (young) {
+                    ++_youngCount;
+                } else if (action.contains("major")) {
+                    ++_oldCount;
+                }
+                _pauseTime += duration;
+                _pauses.record(duration);
+            }
+            _promoted += promoted;
+            _reclaimed += Math.max(0, heapBefore - heapAfter);
+
+            final long[] summary = _collectors.computeIfAbsent(collector, k -> new long[3]);
+            ++summary[0];
+            summary[1] += duration;
+            summary[2] = Math.max(summary[2], duration);
+
+            if (_events.size() < _maxEvents) {
+                _events.add(new GarbageCollectionStatistics.Event(
+                        collector,
+                        action,
+                        info.getGcCause(),
+                        gcInfo.getStartTime(),
+                        duration,
+                        heapBefore,
+                        heapAfter,
+                        promoted));
+            } else {
+                ++_droppedEvents;
+            }
+            notifyAll();
+        }
+
+        synchronized boolean await(final long expected, final Duration timeout) {
+            final long deadline = System.nanoTime() + timeout.toNanos();
+            long remaining = timeout.toNanos();
+            while (_received < expected && remaining > 0) {
+                try {
+                    wait(Math.max(1, remaining / 1000000));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            return _received >= expected;
+        }
+
+        synchronized GarbageCollectionStatistics summarize() {
+            final Map<String, GarbageCollectionStatistics.CollectorSummary> collectors = Maps.newTreeMap();
+            for (final Map.Entry<String, long[]> entry : _collectors.entrySet()) {
+                collectors.put(
+                        entry.getKey(),
+                        new GarbageCollectionStatistics.CollectorSummary(
+                                entry.getValue()[0],
+                                entry.getValue()[1],
+                                entry.getValue()[2]));
+            }
+            return new GarbageCollectionStatistics(
+                    _youngCount,
+                    _oldCount,
+                    _concurrentCount,
+                    _pauseTime,
+                    _pauses.copy(),
+                    _promoted,
+                    _reclaimed,
+                    collectors,
+                    _events,
+                    _droppedEvents);
+        }
+
+        private long sumUsed(final Map<String, MemoryUsage> usages, final boolean oldOnly) {
+            long used = 0;
+            for (final Map.Entry<String, MemoryUsage> entry : usages.entrySet()) {
+                if (_heapPools.contains(entry.getKey()) && (!oldOnly || isOldPool(entry.getKey()))) {
+                    used += entry.getValue().getUsed();
+                }
+            }
+            return used;
+        }
+
+        private final long _startTime;
+        private final long _collectionCount;
+        private final Set<String> _heapPools;
+        private final int _maxEvents;
+        private final LatencyHistogram _pauses = new LatencyHistogram();
+        private final Map<String, long[]> _collectors = Maps.newHashMap();
+        private final List<GarbageCollectionStatistics.Event> _events = Lists.newArrayList();
+        private long _received;
+        private long _youngCount;
+        private long _oldCount;
+        private long _concurrentCount;
+        private long _pauseTime;
+        private long _promoted;
+        private long _reclaimed;
+        private long _droppedEvents;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Garbage collections performed by the JVM over the duration of a test as
+ * reported by garbage collection notifications. Young and old collections
+ * are classified by the collection action reported by the collector and
+ * collections by concurrent collectors, such as the cycles of ZGC, are
+ * counted separately since their duration is not a pause. All durations
+ * are in milliseconds.
+ *
+ * @author agent (agent at local)
+ */
+public final class GarbageCollectionStatistics {
+
+    public long getYoungCount() {
+        return _youngCount;
+    }
+
+    public long getOldCount() {
+        return _oldCount;
+    }
+
+    public long getConcurrentCount() {
+        return _concurrentCount;
+    }
+
+    public long getPauseTimeMillis() {
+        return _pauseTimeMillis;
+    }
+
+    public LatencyHistogram getPauseMillis() {
+        return _pauseMillis;
+    }
+
+    public long getPromotedBytes() {
+        return _promotedBytes;
+    }
+
+    public long getReclaimedBytes() {
+        return _reclaimedBytes;
+    }
+
+    public Map<String, CollectorSummary> getCollectors() {
+        return _collectors;
+    }
+
+    public List<Event> getEvents() {
+        return _events;
+    }
+
+    public long getDroppedEvents() {
+        return _droppedEvents;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    GarbageCollectionStatistics(
+            final long youngCount,
+            final long oldCount,
+            final long concurrentCount,
+            final long pauseTimeMillis,
+            final LatencyHistogram pauseMillis,
+            final long promotedBytes,
+            final long reclaimedBytes,
+            final Map<String, CollectorSummary> collectors,
+            final List<Event> events,
+            final long droppedEvents) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _youngCount = youngCount;
+        _oldCount = oldCount;
+        _concurrentCount = concurrentCount;
+        _pauseTimeMillis = pauseTimeMillis;
+        _pauseMillis = pauseMillis;
+        _promotedBytes = promotedBytes;
+        _reclaimedBytes = reclaimedBytes;
+        _collectors = ImmutableMap.copyOf(collectors);
+        _events = ImmutableList.copyOf(events);
+        _droppedEvents = droppedEvents;
+    }
+
+    private final long _youngCount;
+    private final long _oldCount;
+    private final long _concurrentCount;
+    private final long _pauseTimeMillis;
+    private final LatencyHistogram _pauseMillis;
+    private final long _promotedBytes;
+    private final long _reclaimedBytes;
+    private final ImmutableMap<String, CollectorSummary> _collectors;
+    private final ImmutableList<Event> _events;
+    private final long _droppedEvents;
+
+    /**
+     * The collections performed by one garbage collector.
+     */
+    public static final class CollectorSummary {
+
+        public long getCount() {
+            return _count;
+        }
+
+        public long getTotalTimeMillis() {
+            return _totalTimeMillis;
+        }
+
+        public long getMaxTimeMillis() {
+            return _maxTimeMillis;
+        }
+
+        CollectorSummary(final long count, final long totalTimeMillis, final long maxTimeMillis) {
+            _count = count;
+            _totalTimeMillis = totalTimeMillis;
+            _maxTimeMillis = maxTimeMillis;
+        }
+
+        private final long _count;
+        private final long _totalTimeMillis;
+        private final long _maxTimeMillis;
+    }
+
+    /**
+     * A single garbage collection. The start time is relative to the start
+     * of the JVM. The heap usage is the sum over all heap memory pools and
+     * the promoted bytes is the growth of the old generation pools during a
+     * young collection.
+     */
+    public static final class Event {
+
+        public String getCollector() {
+            return _collector;
+        }
+
+        public String getAction() {
+            return _action;
+        }
+
+        public String getCause() {
+            return _cause;
+        }
+
+        public long getStartTimeMillis() {
+            return _startTimeMillis;
+        }
+
+        public long getDurationMillis() {
+            return _durationMillis;
+        }
+
+        public long getHeapBeforeBytes() {
+            return _heapBeforeBytes;
+        }
+
+        public long getHeapAfterBytes() {
+            return _heapAfterBytes;
+        }
+
+        public long getPromotedBytes() {
+            return _promotedBytes;
+        }
+
+        // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+        Event(
+                final String collector,
+                final String action,
+                final String cause,
+                final long startTimeMillis,
+                final long durationMillis,
+                final long heapBeforeBytes,
+                final long heapAfterBytes,
+                final long promotedBytes) {
+            // CHECKSTYLE.ON: ParameterNumber
+            _collector = collector;
+            _action = action;
+            _cause = cause;
+            _startTimeMillis = startTimeMillis;
+            _durationMillis = durationMillis;
+            _heapBeforeBytes = heapBeforeBytes;
+            _heapAfterBytes = heapAfterBytes;
+            _promotedBytes = promotedBytes;
+        }
+
+        private final String _collector;
+        private final String _action;
+        private final String _cause;
+        private final long _startTimeMillis;
+        private final long _durationMillis;
+        private final long _heapBeforeBytes;
+        private final long _heapAfterBytes;
+        private final long _promotedBytes;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Change in the heap footprint of this JVM across a test. The class
+ * histograms taken at the test boundaries are compared and the classes with
+ * the largest changes in bytes and in instances are listed. If the
+ * histograms were taken after a full collection they count only live
+ * objects and the heap growth is the growth of the retained heap.
+ *
+ * @author agent (agent at local)
+ */
+public final class HeapFootprint {
+
+    public boolean isFullGc() {
+        return _fullGc;
+    }
+
+    public long getHeapUsedBytes() {
+        return _heapUsedBytes;
+    }
+
+    public long getHeapGrowthBytes() {
+        return _heapGrowthBytes;
+    }
+
+    public long getHistogramBytes() {
+        return _histogramBytes;
+    }
+
+    public long getHistogramGrowthBytes() {
+        return _histogramGrowthBytes;
+    }
+
+    public long getHistogramGrowthInstances() {
+        return _histogramGrowthInstances;
+    }
+
+    public List<ClassDelta> getTopClassesByBytes() {
+        return _topClassesByBytes;
+    }
+
+    public List<ClassDelta> getTopClassesByInstances() {
+        return _topClassesByInstances;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    HeapFootprint(
+            final boolean fullGc,
+            final long heapUsedBytes,
+            final long heapGrowthBytes,
+            final long histogramBytes,
+            final long histogramGrowthBytes,
+            final long histogramGrowthInstances,
+            final List<ClassDelta> topClassesByBytes,
+            final List<ClassDelta> topClassesByInstances) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _fullGc = fullGc;
+        _heapUsedBytes = heapUsedBytes;
+        _heapGrowthBytes = heapGrowthBytes;
+        _histogramBytes = histogramBytes;
+        _histogramGrowthBytes = histogramGrowthBytes;
+        _histogramGrowthInstances = histogramGrowthInstances;
+        _topClassesByBytes = ImmutableList.copyOf(topClassesByBytes);
+        _topClassesByInstances = ImmutableList.copyOf(topClassesByInstances);
+    }
+
+    private final boolean _fullGc;
+    private final long _heapUsedBytes;
+    private final long _heapGrowthBytes;
+    private final long _histogramBytes;
+    private final long _histogramGrowthBytes;
+    private final long _histogramGrowthInstances;
+    private final ImmutableList<ClassDelta> _topClassesByBytes;
+    private final ImmutableList<ClassDelta> _topClassesByInstances;
+
+    /**
+     * The change in the instances of a class and the bytes they occupy,
+     * along with the totals at the end of the test.
+     */
+    public static final class ClassDelta {
+
+        public String getName() {
+            return _name;
+        }
+
+        public long getInstances() {
+            return _instances;
+        }
+
+        public long getBytes() {
+            return _bytes;
+        }
+
+        public long getInstancesDelta() {
+            return _instancesDelta;
+        }
+
+        public long getBytesDelta() {
+            return _bytesDelta;
+        }
+
+        ClassDelta(
+                final String name,
+                final long instances,
+                final long bytes,
+                final long instancesDelta,
+                final long bytesDelta) {
+            _name = name;
+            _instances = instances;
+            _bytes = bytes;
+            _instancesDelta = instancesDelta;
+            _bytesDelta = bytesDelta;
+        }
+
+        private final String _name;
+        private final long _instances;
+        private final long _bytes;
+        private final long _instancesDelta;
+        private final long _bytesDelta;
+    }
+}
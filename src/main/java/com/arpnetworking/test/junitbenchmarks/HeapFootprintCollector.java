@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Compares class histograms of this JVM taken at the test boundaries and
+ * produces a {@link HeapFootprint} for each test. The histograms are taken
+ * with the {@code GC.class_histogram} diagnostic command through the
+ * {@code DiagnosticCommand} MBean at
+ * {@link JsonBenchmarkConsumer#prepareClass()} and whenever a result is
+ * accepted; the histogram taken at the end of one test is the start of the
+ * next. Add it to the consumer with
+ * {@link JsonBenchmarkConsumer#addCollector(ResultCollector)}; the data is
+ * written as {@code heapFootprint}.
+ * <p>
+ * By default each histogram forces a full collection so that it counts only
+ * live objects and the heap used after it is the retained heap. This finds
+ * fixtures and caches which leak or grow between tests, but a full
+ * collection at each boundary also changes the garbage collection activity
+ * attributed to the tests. Without the full collection the histograms
+ * include unreachable objects and the deltas mostly reflect allocation.
+ * Either way a histogram walks the whole heap, so this is a mode for
+ * memory focused runs rather than for timing.
+ *
+ * @author agent (agent at local)
+ */
+public final class HeapFootprintCollector implements ResultCollector {
+
+    private static final int DEFAULT_MAX_CLASSES = 20;
+    private static final String DIAGNOSTIC_COMMAND_NAME = "com.sun.management:type=DiagnosticCommand";
+    private static final String[] DIAGNOSTIC_COMMAND_SIGNATURE = {String[].class.getName()};
+    private static final Pattern HISTOGRAM_LINE_PATTERN = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+).*$");
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeapFootprintCollector.class);
+
+    private final boolean _fullGc;
+    private final int _maxClasses;
+    @Nullable
+    private Snapshot _start;
+    @Nullable
+    private Snapshot _last;
+
+    /**
+     * Public constructor. Forces a full collection for each histogram and
+     * lists the {@code 20} classes with the largest changes.
+     */
+    public HeapFootprintCollector() {
+        this(true, DEFAULT_MAX_CLASSES);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param fullGc whether to force a full collection and count only live objects
+     * @param maxClasses the maximum number of classes to list by bytes and by instances
+     */
+    public HeapFootprintCollector(final boolean fullGc, final int maxClasses) {
+        _fullGc = fullGc;
+        _maxClasses = maxClasses;
+    }
+
+    @Override
+    public String getName() {
+        return "heapFootprint";
+    }
+
+    @Override
+    public synchronized void begin() {
+        // The consumer begins right after it ends each test; reuse the histogram taken at the end
+        _start = _last != null ? _last : snapshot().orElse(null);
+        _last = null;
+    }
+
+    @Override
+    public synchronized Optional<HeapFootprint> end(final Result result) {
+        final Snapshot start = _start;
+        _start = null;
+        if (start == null) {
+            return Optional.empty();
+        }
+        final Optional<Snapshot> end = snapshot();
+        if (!end.isPresent()) {
+            return Optional.empty();
+        }
+        _last = end.get();
+        return Optional.of(compare(start, end.get()));
+    }
+
+    HeapFootprint compare(final Snapshot start, final Snapshot end) {
+        final Set<String> classes = Sets.union(start._classes.keySet(), end._classes.keySet());
+        final List<HeapFootprint.ClassDelta> deltas = Lists.newArrayListWithExpectedSize(classes.size());
+        for (final String name : classes) {
+            final long[] before = start._classes.getOrDefault(name, new long[2]);
+            final long[] after = end._classes.getOrDefault(name, new long[2]);
+            deltas.add(new HeapFootprint.ClassDelta(name, after[0], after[1], after[0] - before[0], after[1] - before[1]));
+        }
+        return new HeapFootprint(
+                _fullGc,
+                end._heapUsed,
+                end._heapUsed - start._heapUsed,
+                end.getTotal(1),
+                end.getTotal(1) - start.getTotal(1),
+                end.getTotal(0) - start.getTotal(0),
+                top(deltas, HeapFootprint.ClassDelta::getBytesDelta, _maxClasses),
+                top(deltas, HeapFootprint.ClassDelta::getInstancesDelta, _maxClasses));
+    }
+
+    /**
+     * Parse the output of the {@code GC.class_histogram} diagnostic command.
+     *
+     * @param histogram the output of the command
+     * @return the instances and bytes of each class by class name
+     */
+    static Map<String, long[]> parseHistogram(final String histogram) {
+        final Map<String, long[]> classes = Maps.newHashMap();
+        for (final String line : histogram.split("\\R")) {
+            final Matcher matcher = HISTOGRAM_LINE_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                // Classes loaded by different loaders have the same name
+                final long[] values = classes.computeIfAbsent(matcher.group(3), name -> new long[2]);
+                values[0] += Long.parseLong(matcher.group(1));
+                values[1] += Long.parseLong(matcher.group(2));
+            }
+        }
+        return classes;
+    }
+
+    static List<HeapFootprint.ClassDelta> top(
+            final List<HeapFootprint.ClassDelta> deltas,
+            final ToLongFunction<HeapFootprint.ClassDelta> delta,
+            final int limit) {
+        return deltas.stream()
+                .filter(d -> delta.applyAsLong(d) != 0)
+                .sorted(Comparator.comparingLong((HeapFootprint.ClassDelta d) -> Math.abs(delta.applyAsLong(d)))
+                        .reversed()
+                        .thenComparing(HeapFootprint.ClassDelta::getName))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<Snapshot> snapshot() {
+        try {
+            final Object output = ManagementFactory.getPlatformMBeanServer().invoke(
+                    ObjectName.getInstance(DIAGNOSTIC_COMMAND_NAME),
+                    "gcClassHistogram",
+                    new Object[]{_fullGc ? new String[0] : new String[]{"-all"}},
+                    DIAGNOSTIC_COMMAND_SIGNATURE);
+            final long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            return Optional.of(new Snapshot(parseHistogram(output == null ? "" : output.toString()), heapUsed));
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to take class histogram", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A class histogram and the heap used when it was taken.
+     */
+    static final class Snapshot {
+
+        Snapshot(final Map<String, long[]> classes, final long heapUsed) {
+            _classes = classes;
+            _heapUsed = heapUsed;
+        }
+
+        long getTotal(final int index) {
+            return _classes.values().stream().mapToLong(values -> values[index]).sum();
+        }
+
+        private final Map<String, long[]> _classes;
+        private final long _heapUsed;
+    }
+}
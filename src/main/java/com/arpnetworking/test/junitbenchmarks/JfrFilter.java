@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * A class to summarize Java Flight Recorder recordings into a text report
+ * similar to the filtered hprof output.
+ *
+ * @author agent (agent at local)
+ */
+public final class JfrFilter {
+
+    private static final String EXECUTION_SAMPLE_EVENT = "jdk.ExecutionSample";
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrFilter.class);
+
+    /**
+     * Entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        if (args.length == 0 || args.length > 2) {
+            System.out.println("Invalid program arguments");
+            System.out.println("- First argument must be the recording path");
+            System.out.println("- Second argument is optional summary path");
+            return;
+        }
+        final Path recording = Paths.get(args[0]);
+        final Optional<Path> result = Optional.ofNullable(args.length > 1 ? Paths.get(args[1]) : null);
+        try {
+            new JfrFilter().run(recording, result);
+        } catch (final IOException e) {
+            System.err.println("IO Exception: " + e);
+        }
+    }
+
+    JfrFilter() {
+    }
+
+    void run(final Path recording, final Optional<Path> result) throws IOException {
+        final Path actualResult = result.orElseGet(
+                () -> recording.toAbsolutePath().normalize().resolveSibling(recording.getFileName() + ".txt"));
+
+        LOGGER.info(String.format("Recording file %s", recording));
+        LOGGER.info(String.format("Result file is %s", actualResult));
+
+        final Summary summary = new Summary();
+        try (RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                summary.addEvent(recordingFile.readEvent());
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(actualResult, StandardCharsets.UTF_8)) {
+            writer.write(String.format("JFR RECORDING %s", recording.getFileName()));
+            writer.newLine();
+            summary.emit(writer);
+        }
+    }
+
+    static String formatMethod(@Nullable final RecordedMethod method) {
+        if (method == null) {
+            return "<unknown>";
+        }
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static void emitSamples(
+            final BufferedWriter writer,
+            final String section,
+            final Map<String, Long> counts,
+            final long samples,
+            final boolean accumulate) throws IOException {
+        writer.write(String.format("%s BEGIN (total = %d)", section, samples));
+        writer.newLine();
+        writer.write(accumulate ? "rank   self  accum   count method" : "rank  total   count method");
+        writer.newLine();
+
+        final List<Map.Entry<String, Long>> sorted = counts.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toList());
+        int rank = 1;
+        double accum = 0;
+        for (final Map.Entry<String, Long> entry : sorted) {
+            final double perc = (double) entry.getValue() / samples * 100;
+            if (accumulate) {
+                accum += perc;
+                writer.write(String.format("%4d %5.2f%% %5.2f%% %7d %s", rank, perc, accum, entry.getValue(), entry.getKey()));
+            } else {
+                writer.write(String.format("%4d %5.2f%% %7d %s", rank, perc, entry.getValue(), entry.getKey()));
+            }
+            writer.newLine();
+            ++rank;
+        }
+
+        writer.write(section + " END");
+        writer.newLine();
+    }
+
+    private static final class Summary {
+
+        private final Map<String, Long> _eventCounts = Maps.newTreeMap();
+        private final Map<String, Long> _selfSamples = Maps.newHashMap();
+        private final Map<String, Long> _totalSamples = Maps.newHashMap();
+        private long _samples = 0;
+
+        public void addEvent(final RecordedEvent event) {
+            _eventCounts.merge(event.getEventType().getName(), 1L, Long::sum);
+            if (!EXECUTION_SAMPLE_EVENT.equals(event.getEventType().getName())) {
+                return;
+            }
+            @Nullable final RecordedStackTrace stackTrace = event.getStackTrace();
+            if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+                return;
+            }
+            ++_samples;
+            final List<RecordedFrame> frames = stackTrace.getFrames();
+            _selfSamples.merge(formatMethod(frames.get(0).getMethod()), 1L, Long::sum);
+            final Set<String> methods = Sets.newHashSet();
+            for (final RecordedFrame frame : frames) {
+                methods.add(formatMethod(frame.getMethod()));
+            }
+            for (final String method : methods) {
+                _totalSamples.merge(method, 1L, Long::sum);
+            }
+        }
+
+        public void emit(final BufferedWriter writer) throws IOException {
+            writer.write(String.format("EVENTS BEGIN (total = %d)", _eventCounts.values().stream().mapToLong(Long::longValue).sum()));
+            writer.newLine();
+            for (final Map.Entry<String, Long> entry : _eventCounts.entrySet()) {
+                writer.write(String.format("%9d %s", entry.getValue(), entry.getKey()));
+                writer.newLine();
+            }
+            writer.write("EVENTS END");
+            writer.newLine();
+            emitSamples(writer, "CPU SAMPLES", _selfSamples, _samples, true);
+            emitSamples(writer, "CPU TOTAL SAMPLES", _totalSamples, _samples, false);
+        }
+    }
+}
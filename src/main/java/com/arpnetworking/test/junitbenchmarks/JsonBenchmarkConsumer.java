@@ -20,6 +20,7 @@ import com.arpnetworking.commons.java.util.function.SingletonSupplier;
 import com.carrotsearch.junitbenchmarks.AutocloseConsumer;
 import com.carrotsearch.junitbenchmarks.GCSnapshot;
 import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.AnnotatedType;
 import java.nio.charset.StandardCharsets;
@@ -43,11 +45,11 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Writes a JSON file with benchmarking results.
@@ -78,12 +80,18 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
         return Long.valueOf(processName.split("@")[0]);
     });
 
-    private final List<Result> _resultsWithoutProfileData = Lists.newArrayList();
-    private final Map<Integer, Result> _resultsWithProfileData = Maps.newHashMap();
+    private final List<AugmentedResult> _resultsWithoutProfileData = Lists.newArrayList();
+    private final Map<Integer, AugmentedResult> _resultsWithProfileData = Maps.newHashMap();
+    private final Map<Integer, String> _profileDataNames = Maps.newHashMap();
+    private final List<ResultCollector> _collectors = new CopyOnWriteArrayList<>();
     private final Path _path;
     private final boolean _append;
 
     private volatile boolean _closed = false;
+    private volatile boolean _streaming = false;
+    private volatile String _outputQualifier = "";
+    private FileOutputStream _outputStream;
+    private JsonGenerator _generator;
 
     /**
      * Public constructor. Overwrites the file by default.
@@ -107,11 +115,44 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
         addAutoclose(this);
     }
 
+    /**
+     * Add a {@link ResultCollector} whose data is written with each result.
+     * Collection begins at the next test boundary; that is either
+     * {@link #prepareClass()} or the acceptance of the next result.
+     *
+     * @param collector the {@code ResultCollector} to add
+     * @return this {@code JsonBenchmarkConsumer}
+     */
+    public final JsonBenchmarkConsumer addCollector(final ResultCollector collector) {
+        _collectors.add(collector);
+        return this;
+    }
+
+    /**
+     * Write each result as a single line of compact JSON as soon as it is
+     * available instead of writing an array of all results on close. A
+     * result without profile data is written when it is accepted and one
+     * with profile data once its profile data has been extracted. Results
+     * written before a fork crashes or is killed are therefore not lost and
+     * a file appended to by several runs remains parseable as a sequence of
+     * JSON values. Streaming must be enabled before any result is accepted.
+     *
+     * @return this {@code JsonBenchmarkConsumer}
+     */
+    public final synchronized JsonBenchmarkConsumer enableStreaming() {
+        if (_closed || _generator != null || !_resultsWithoutProfileData.isEmpty() || !_resultsWithProfileData.isEmpty()) {
+            throw new IllegalStateException("Streaming must be enabled before results are accepted");
+        }
+        _streaming = true;
+        return this;
+    }
+
     @Override
     public void accept(final Result result) {
         if (_closed) {
             throw new IllegalStateException("Consumer is already closed");
         }
+        final Map<String, Object> augmentations = endCollection(result);
         final Optional<Path> profileDataFile = getProfileFile();
         if (profileDataFile.isPresent()) {
             // Dump the profile data for the test and store the result
@@ -122,7 +163,13 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
                     result.getTestMethodName(),
                     profileDataFile.get(),
                     index));
-            _resultsWithProfileData.put(index, result);
+            if (_streaming) {
+                final String outputName = getOutputName(result);
+                stream(() -> extractProfileData(index, new AugmentedResult(result, augmentations), outputName));
+            } else {
+                _resultsWithProfileData.put(index, new AugmentedResult(result, augmentations));
+                _profileDataNames.put(index, getOutputName(result));
+            }
 
         } else {
             // Augment results without profile file
@@ -130,50 +177,39 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
                     "Accepted non-profiled results for %s.%s",
                     result.getTestClassName(),
                     result.getTestMethodName()));
-            _resultsWithoutProfileData.add(result);
+            if (_streaming) {
+                stream(() -> new AugmentedResult(result, augmentations));
+            } else {
+                _resultsWithoutProfileData.add(new AugmentedResult(result, augmentations));
+            }
         }
+        beginCollection();
     }
 
     @Override
     public void close() throws IOException {
         if (!_closed) {
-
+            if (_streaming) {
+                // Results were written as they were accepted
+                LOGGER.info(String.format("Closing; file=%s", _path));
+                closeStream();
+            } else {
                 // Create the output path
-                final Path outputDirectory = _path.getParent();
-                final String nameWithoutExtension = com.google.common.io.Files.getNameWithoutExtension(_path.toString());
                 ensurePathExists();
 
                 // Merge the results
                 final List<AugmentedResult> augmentedResults = Lists.newArrayListWithExpectedSize(
                         _resultsWithoutProfileData.size() + _resultsWithProfileData.size());
 
-                // Simply wrap the results without profile data
-                augmentedResults.addAll(_resultsWithoutProfileData.stream().map(AugmentedResult::new).collect(Collectors.toList()));
+                // Results without profile data are already augmented
+                augmentedResults.addAll(_resultsWithoutProfileData);
 
                 // For results with profile data extract the data and pair it with the result
-                for (final Map.Entry<Integer, Result> entry : _resultsWithProfileData.entrySet()) {
-                    final int index = entry.getKey();
-                    final Result result = entry.getValue();
-
-                    final Optional<Path> profileDataFile = getProfileFile();
-                    if (profileDataFile.isPresent() && index >= 0) {
-                        LOGGER.info(String.format(
-                                "Filtering profile for %s.%s in %s at %d",
-                                result.getTestClassName(),
-                                result.getTestMethodName(),
-                                profileDataFile.get(),
-                                index));
-
-                        final Path extractedProfileDataFile = outputDirectory.resolve(
-                                nameWithoutExtension + "." + result.getTestMethodName() + ".hprof");
-
-                        filterProfileData(profileDataFile.get(), extractedProfileDataFile, index);
-
-                        augmentedResults.add(new AugmentedResult(result, extractedProfileDataFile));
-                    } else {
-                        LOGGER.warn("Profile data file lost between accept and close");
-                        augmentedResults.add(new AugmentedResult(result));
-                    }
+                for (final Map.Entry<Integer, AugmentedResult> entry : _resultsWithProfileData.entrySet()) {
+                    augmentedResults.add(extractProfileData(
+                            entry.getKey(),
+                            entry.getValue(),
+                            _profileDataNames.get(entry.getKey())));
                 }
 
                 // Output the test performance results
@@ -184,7 +220,7 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
                     outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
                     outputStream.flush();
                 }
-
+            }
             _closed = true;
         } else {
             LOGGER.error("JsonBenchmarkConsumer closed multiple times");
@@ -207,6 +243,7 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
             LOGGER.info(String.format("Resetting profile data; file=%s", profileDataFile.get()));
             dumpProfileData(profileDataFile.get());
         }
+        beginCollection();
     }
 
     /**
@@ -222,6 +259,15 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
         new HProfFilter().run(pathIn, Optional.of(pathOut), Optional.of(index));
     }
 
+    /**
+     * The file extension for extracted per-test profile data.
+     *
+     * @return the file extension without the leading period
+     */
+    protected String getProfileExtension() {
+        return "hprof";
+    }
+
     /**
      * Retrieve the profile data file if set.
      *
@@ -343,10 +389,127 @@ public class JsonBenchmarkConsumer extends AutocloseConsumer implements Closeabl
         return _processIdProvider.get();
     }
 
+    /**
+     * Qualify the names of the files written for each subsequent test so
+     * that repeated runs of the same test, for example under each of the
+     * limits of a {@link ContainerLimitSweep}, do not overwrite each other.
+     *
+     * @param qualifier the qualifier safe for use in file names or an empty
+     * string to remove the qualifier
+     */
+    void qualifyOutputs(final String qualifier) {
+        _outputQualifier = qualifier;
+    }
+
+    /**
+     * The current output qualifier; empty if outputs are not qualified.
+     *
+     * @return the current output qualifier
+     */
+    String getOutputQualifier() {
+        return _outputQualifier;
+    }
+
+    /**
+     * The file next to the results file to write the output of a test with
+     * an extension to. The directory of the results file is created if it
+     * does not exist.
+     *
+     * @param result the {@code Result} of the test
+     * @param extension the extension of the file
+     * @return the file to write the output to
+     * @throws IOException if the directory cannot be created
+     */
+    Path getOutputFile(final Result result, final String extension) throws IOException {
+        ensurePathExists();
+        return _path.toAbsolutePath().resolveSibling(getOutputName(result) + "." + extension);
+    }
+
+    private Map<String, Object> endCollection(final Result result) {
+        final Map<String, Object> augmentations = Maps.newLinkedHashMap();
+        for (final ResultCollector collector : _collectors) {
+            collector.end(result).ifPresent(data -> augmentations.put(collector.getName(), data));
+        }
+        return augmentations;
+    }
+
+    private void beginCollection() {
+        for (final ResultCollector collector : _collectors) {
+            collector.begin();
+        }
+    }
+
+    private AugmentedResult extractProfileData(
+            final int index,
+            final AugmentedResult augmentedResult,
+            final String outputName) throws IOException {
+        final Result result = augmentedResult.getResult();
+        final Optional<Path> profileDataFile = getProfileFile();
+        if (profileDataFile.isPresent() && index >= 0) {
+            LOGGER.info(String.format(
+                    "Filtering profile for %s.%s in %s at %d",
+                    result.getTestClassName(),
+                    result.getTestMethodName(),
+                    profileDataFile.get(),
+                    index));
+
+            ensurePathExists();
+            final Path extractedProfileDataFile = _path.toAbsolutePath().resolveSibling(
+                    outputName + "." + getProfileExtension());
+
+            filterProfileData(profileDataFile.get(), extractedProfileDataFile, index);
+
+            return new AugmentedResult(result, extractedProfileDataFile, augmentedResult.getAugmentations());
+        } else {
+            LOGGER.warn("Profile data file lost before filtering");
+            return augmentedResult;
+        }
+    }
+
+    private synchronized void stream(final ResultSupplier supplier) {
+        try {
+            final JsonGenerator generator = _generator == null ? openStream() : _generator;
+            OBJECT_MAPPER.writeValue(generator, supplier.get());
+            generator.writeRaw('\n');
+            generator.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(String.format("Unable to write result; file=%s", _path), e);
+        }
+    }
+
+    private synchronized void closeStream() throws IOException {
+        final JsonGenerator generator = _generator == null ? openStream() : _generator;
+        try {
+            generator.close();
+        } finally {
+            _outputStream.close();
+        }
+    }
+
+    private JsonGenerator openStream() throws IOException {
+        ensurePathExists();
+        _outputStream = new FileOutputStream(_path.toString(), _append);
+        _generator = OBJECT_MAPPER.getFactory().createGenerator(_outputStream, JsonEncoding.UTF8);
+        _generator.setRootValueSeparator(null);
+        return _generator;
+    }
+
+    private String getOutputName(final Result result) {
+        final String qualifier = _outputQualifier;
+        return com.google.common.io.Files.getNameWithoutExtension(_path.toString())
+                + "." + result.getTestMethodName()
+                + (qualifier.isEmpty() ? "" : "." + qualifier);
+    }
+
     private void ensurePathExists() throws IOException {
         final Path parent = _path.toAbsolutePath().getParent();
         if (parent != null && !Files.exists(parent)) {
             Files.createDirectories(parent);
         }
     }
+
+    @FunctionalInterface
+    private interface ResultSupplier {
+        AugmentedResult get() throws IOException;
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values, such as durations in nanoseconds, with
+ * logarithmic buckets held in a primitive array. Each power of two is split
+ * into {@code 32} linear sub-buckets so values are recorded with a relative
+ * error of at most about three percent regardless of magnitude, while the
+ * memory used is constant; values less than {@code 32} are recorded exactly.
+ * The minimum, maximum and sum are tracked exactly.
+ * <p>
+ * Percentiles are reported as the highest value in the bucket containing the
+ * percentile, capped at the maximum recorded value. This class is thread
+ * safe and recording takes no locks; the buckets are updated atomically and
+ * the count, sum, minimum and maximum are accumulated in striped cells.
+ * Values recorded while the histogram is read, copied or reset may be only
+ * partially reflected.
+ *
+ * @author agent (agent at local)
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder _count = new LongAdder();
+    private final LongAdder _sum = new LongAdder();
+    private final LongAccumulator _min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator _max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a value. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(final long value) {
+        final long clamped = Math.max(0, value);
+        _counts.incrementAndGet(getBucketIndex(clamped));
+        _count.increment();
+        _sum.add(clamped);
+        _min.accumulate(clamped);
+        _max.accumulate(clamped);
+    }
+
+    /**
+     * Create a copy of this histogram.
+     *
+     * @return new {@code LatencyHistogram}
+     */
+    public LatencyHistogram copy() {
+        final LatencyHistogram copy = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; ++i) {
+            final long count = _counts.get(i);
+            if (count > 0) {
+                copy._counts.set(i, count);
+            }
+        }
+        copy._count.add(_count.sum());
+        copy._sum.add(_sum.sum());
+        copy._min.accumulate(_min.get());
+        copy._max.accumulate(_max.get());
+        return copy;
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            _counts.set(i, 0);
+        }
+        _count.reset();
+        _sum.reset();
+        _min.reset();
+        _max.reset();
+    }
+
+    public long getCount() {
+        return _count.sum();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : _min.get();
+    }
+
+    public long getMax() {
+        return _max.get();
+    }
+
+    /**
+     * The mean of the recorded values.
+     *
+     * @return the mean or zero if nothing is recorded
+     */
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) _sum.sum() / count;
+    }
+
+    /**
+     * The p50, p90, p99 and p99.9 values and the maximum.
+     *
+     * @return the percentile values by name
+     */
+    public Map<String, Long> getPercentiles() {
+        final Map<String, Long> percentiles = Maps.newLinkedHashMap();
+        percentiles.put("p50", getValueAtPercentile(50));
+        percentiles.put("p90", getValueAtPercentile(90));
+        percentiles.put("p99", getValueAtPercentile(99));
+        percentiles.put("p99.9", getValueAtPercentile(99.9));
+        percentiles.put("max", getMax());
+        return percentiles;
+    }
+
+    /**
+     * The non-empty buckets in ascending order as triples of the lowest
+     * value, the highest value and the count.
+     *
+     * @return the non-empty buckets
+     */
+    public List<long[]> getBuckets() {
+        final List<long[]> buckets = Lists.newArrayList();
+        for (int i = 0; i < BUCKETS; ++i) {
+            final long count = _counts.get(i);
+            if (count > 0) {
+                buckets.add(new long[]{getLowestValue(i), getHighestValue(i), count});
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * The value below which the specified percentage of recorded values fall.
+     *
+     * @param percentile the percentile from {@code 0} to {@code 100}
+     * @return the value at the percentile or zero if nothing is recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        final long max = getMax();
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            cumulative += _counts.get(i);
+            if (cumulative >= rank) {
+                return Math.min(getHighestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long getLowestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        return ((long) SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    static long getHighestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        return getLowestValue(index) + (1L << shift) - 1;
+    }
+}
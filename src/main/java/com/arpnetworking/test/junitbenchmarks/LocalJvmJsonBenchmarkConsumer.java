@@ -0,0 +1,452 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+import com.sun.tools.attach.VirtualMachineDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+/**
+ * Specialization of {@link JsonBenchmarkConsumer} which profiles a Java
+ * application running on the same host in a separate JVM; for example, the
+ * service targeted by an integration test. The consumer attaches to the
+ * target JVM with the Attach API and runs diagnostic commands through its
+ * {@code DiagnosticCommand} MBean, the same commands available through
+ * {@code jcmd}. At each test boundary the consumer:
+ * <ul>
+ * <li>Stops and dumps the current Java Flight Recorder recording
+ * ({@code JFR.stop}) and starts a new one ({@code JFR.start}).</li>
+ * <li>Optionally captures a class histogram of the target heap
+ * ({@code GC.class_histogram}). Note that this forces a full collection in
+ * the target JVM.</li>
+ * </ul>
+ * Optionally, the consumer also samples thread dumps ({@code Thread.print})
+ * of the target JVM at a fixed interval during each test.
+ * <p>
+ * The target JVM is the first attachable JVM other than the current one whose
+ * process id or main class matches the specified pattern. The main class is
+ * the first token of the JVM's display name as reported by {@code jcmd -l}.
+ * The target JVM must be run by the same user and must be attachable; that
+ * is, it must not be started with {@code -XX:+DisableAttachMechanism}.
+ * <p>
+ * When the consumer is closed the recording of each test is moved next to
+ * the results file and summarized. Thread dumps and class histograms are
+ * written alongside the recording with the extensions {@code threads.txt}
+ * and {@code histogram.txt} respectively.
+ *
+ * @author agent (agent at local)
+ */
+public class LocalJvmJsonBenchmarkConsumer extends JsonBenchmarkConsumer {
+
+    private static final AtomicInteger NEXT_PROFILE_INDEX = new AtomicInteger(0);
+    private static final AtomicInteger NEXT_RECORDING_ID = new AtomicInteger(0);
+    private static final String DEFAULT_SETTINGS = "profile";
+    private static final String DIAGNOSTIC_COMMAND_NAME = "com.sun.management:type=DiagnosticCommand";
+    private static final String[] DIAGNOSTIC_COMMAND_SIGNATURE = {String[].class.getName()};
+    private static final String THREAD_DUMP_EXTENSION = "threads.txt";
+    private static final String HISTOGRAM_EXTENSION = "histogram.txt";
+    private static final Object LIST_LOCK = new Object();
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalJvmJsonBenchmarkConsumer.class);
+
+    private final Pattern _targetJvm;
+    private final Path _recordingDirectory;
+    private final String _settings;
+    private final Duration _threadDumpInterval;
+    private final boolean _classHistogram;
+    private final String _recordingName = "performance-test-" + NEXT_RECORDING_ID.getAndIncrement();
+    @Nullable
+    private final ScheduledExecutorService _sampler;
+    @Nullable
+    private JMXConnector _connector;
+    @Nullable
+    private ScheduledFuture<?> _sampling;
+    private int _samplingGeneration = 0;
+    private boolean _recording = false;
+
+    /**
+     * Public constructor. Overwrites the file by default, records with the
+     * {@code profile} settings to the temporary directory and neither samples
+     * thread dumps nor captures class histograms.
+     *
+     * @param path {@code Path} of the file to write
+     * @param targetJvm the {@code Pattern} for matching the process id or main class of the JVM being profiled
+     */
+    public LocalJvmJsonBenchmarkConsumer(
+            final Path path,
+            final Pattern targetJvm) {
+        this(
+                path,
+                false,
+                targetJvm,
+                Paths.get(System.getProperty("java.io.tmpdir")),
+                DEFAULT_SETTINGS,
+                Duration.ZERO,
+                false);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param path {@code Path} of the file to write
+     * @param append whether to append to the file or overwrite
+     * @param targetJvm the {@code Pattern} for matching the process id or main class of the JVM being profiled
+     * @param recordingDirectory the directory to dump recordings to
+     * @param settings the JFR settings to record with (e.g. {@code profile} or {@code default})
+     * @param threadDumpInterval the interval between thread dumps; zero disables thread dumps
+     * @param classHistogram whether to capture a class histogram at the end of each test
+     */
+    public LocalJvmJsonBenchmarkConsumer(
+            final Path path,
+            final boolean append,
+            final Pattern targetJvm,
+            final Path recordingDirectory,
+            final String settings,
+            final Duration threadDumpInterval,
+            final boolean classHistogram) {
+        super(path, append);
+        _targetJvm = targetJvm;
+        _recordingDirectory = recordingDirectory;
+        _settings = settings;
+        _threadDumpInterval = threadDumpInterval;
+        _classHistogram = classHistogram;
+        if (threadDumpInterval.isNegative() || threadDumpInterval.isZero()) {
+            _sampler = null;
+        } else {
+            _sampler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("local-jvm-thread-dump-%d")
+                            .build());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            shutdown();
+        }
+    }
+
+    @Override
+    protected Optional<Path> getProfileFile() {
+        return Optional.of(_recordingDirectory.resolve(_recordingName + ".jfr"));
+    }
+
+    @Override
+    protected String getProfileExtension() {
+        return "jfr";
+    }
+
+    @Override
+    protected void filterProfileData(final Path pathIn, final Path pathOut, final int index) throws IOException {
+        // Move the recording for the test next to the results
+        Files.move(getDumpFile(pathIn, index, "jfr"), pathOut, StandardCopyOption.REPLACE_EXISTING);
+        moveIfExists(getDumpFile(pathIn, index, THREAD_DUMP_EXTENSION), getSiblingFile(pathOut, THREAD_DUMP_EXTENSION));
+        moveIfExists(getDumpFile(pathIn, index, HISTOGRAM_EXTENSION), getSiblingFile(pathOut, HISTOGRAM_EXTENSION));
+
+        // Summarize the recording
+        new JfrFilter().run(pathOut, Optional.empty());
+    }
+
+    @Override
+    protected synchronized int dumpProfileData(final Path profileFile) {
+        stopSampling();
+        int index = -1;
+        try {
+            // Stop and dump the recording covering the previous test
+            final Path threadDumpFile = getThreadDumpFile(profileFile);
+            if (_recording) {
+                _recording = false;
+                index = NEXT_PROFILE_INDEX.getAndIncrement();
+                execute(
+                        "jfrStop",
+                        "name=" + _recordingName,
+                        "filename=" + getDumpFile(profileFile, index, "jfr").toAbsolutePath());
+                if (_classHistogram) {
+                    writeClassHistogram(getDumpFile(profileFile, index, HISTOGRAM_EXTENSION));
+                }
+                moveIfExists(threadDumpFile, getDumpFile(profileFile, index, THREAD_DUMP_EXTENSION));
+            } else {
+                Files.deleteIfExists(threadDumpFile);
+            }
+
+            // Start the recording for the next test
+            execute(
+                    "jfrStart",
+                    "name=" + _recordingName,
+                    "settings=" + _settings);
+            _recording = true;
+            startSampling(threadDumpFile);
+        } catch (final IOException e) {
+            LOGGER.error("Unable to dump profile data", e);
+            return -1;
+        }
+
+        LOGGER.info(String.format(
+                "Dumped profile data %d",
+                index));
+
+        return index;
+    }
+
+    /**
+     * Create a {@link UnifiedLogCollector} which slices the unified garbage
+     * collection and safepoint logs of the target JVM. A {@code %p} in the
+     * name of a log is replaced by the process id of the target JVM and
+     * relative names are resolved against its working directory. Add it to
+     * this consumer with {@link #addCollector(ResultCollector)}.
+     *
+     * @return the {@code UnifiedLogCollector} of the target JVM
+     */
+    public UnifiedLogCollector createUnifiedLogCollector() {
+        return new UnifiedLogCollector(this, this::getUnifiedLogFiles);
+    }
+
+    @Override
+    protected List<String> getJvmArguments() {
+        try {
+            return getRuntime().getInputArguments();
+        } catch (final IOException e) {
+            LOGGER.error("Cannot retrieve JVM arguments; target JVM not available", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Execute a diagnostic command in the target JVM.
+     *
+     * @param operation the {@code DiagnosticCommand} MBean operation (e.g. {@code threadPrint} for {@code Thread.print})
+     * @param arguments the arguments to the command
+     * @return the output of the command
+     * @throws IOException if the target JVM is not available or the command fails
+     */
+    protected String execute(final String operation, final String... arguments) throws IOException {
+        final MBeanServerConnection connection = connect();
+        try {
+            final Object output = connection.invoke(
+                    ObjectName.getInstance(DIAGNOSTIC_COMMAND_NAME),
+                    operation,
+                    new Object[]{arguments},
+                    DIAGNOSTIC_COMMAND_SIGNATURE);
+            LOGGER.debug(String.format("Executed %s; output=%s", operation, output));
+            return output == null ? "" : output.toString();
+        } catch (final JMException e) {
+            throw new IOException(String.format("Diagnostic command failed in target JVM: %s", operation), e);
+        } catch (final IOException e) {
+            disconnect();
+            throw e;
+        }
+    }
+
+    /**
+     * Find the target JVM among the attachable JVMs on this host.
+     *
+     * @return {@code Optional} descriptor of the target JVM
+     */
+    Optional<VirtualMachineDescriptor> findTargetJvm() {
+        final String currentProcessId = String.valueOf(ProcessHandle.current().pid());
+        final List<VirtualMachineDescriptor> descriptors;
+        synchronized (LIST_LOCK) {
+            // The JDK initializes the local monitored host lazily and not thread safely
+            descriptors = VirtualMachine.list();
+        }
+        for (final VirtualMachineDescriptor descriptor : descriptors) {
+            if (currentProcessId.equals(descriptor.id())) {
+                continue;
+            }
+            final String mainClass = descriptor.displayName().trim().split("\\s+", 2)[0];
+            if (_targetJvm.matcher(descriptor.id()).matches() || _targetJvm.matcher(mainClass).matches()) {
+                return Optional.of(descriptor);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Path> getUnifiedLogFiles() {
+        try {
+            final RuntimeMXBean runtime = getRuntime();
+            final long processId = Long.parseLong(runtime.getName().split("@")[0]);
+            final Path workingDirectory = Paths.get(runtime.getSystemProperties().get("user.dir"));
+            return UnifiedLogFilter.extractLogFiles(runtime.getInputArguments(), processId)
+                    .stream()
+                    .map(workingDirectory::resolve)
+                    .collect(Collectors.toList());
+        } catch (final IOException e) {
+            LOGGER.error("Cannot retrieve unified log files; target JVM not available", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private RuntimeMXBean getRuntime() throws IOException {
+        return ManagementFactory.newPlatformMXBeanProxy(connect(), ManagementFactory.RUNTIME_MXBEAN_NAME, RuntimeMXBean.class);
+    }
+
+    private synchronized MBeanServerConnection connect() throws IOException {
+        if (_connector == null) {
+            final Optional<VirtualMachineDescriptor> descriptor = findTargetJvm();
+            if (!descriptor.isPresent()) {
+                throw new IOException(String.format("No attachable JVM found matching %s", _targetJvm));
+            }
+            final String address;
+            try {
+                final VirtualMachine virtualMachine = VirtualMachine.attach(descriptor.get());
+                try {
+                    address = virtualMachine.startLocalManagementAgent();
+                } finally {
+                    virtualMachine.detach();
+                }
+            } catch (final AttachNotSupportedException e) {
+                throw new IOException(String.format("Unable to attach to JVM: %s", descriptor.get().id()), e);
+            }
+            _connector = JMXConnectorFactory.connect(new JMXServiceURL(address));
+            LOGGER.info(String.format(
+                    "Attached to JVM; pid=%s, name=%s",
+                    descriptor.get().id(),
+                    descriptor.get().displayName()));
+        }
+        return _connector.getMBeanServerConnection();
+    }
+
+    private synchronized void disconnect() {
+        if (_connector != null) {
+            try {
+                _connector.close();
+            } catch (final IOException e) {
+                LOGGER.debug("Unable to close connection to target JVM", e);
+            }
+            _connector = null;
+        }
+    }
+
+    private synchronized void shutdown() {
+        stopSampling();
+        if (_sampler != null) {
+            _sampler.shutdownNow();
+        }
+        if (_recording) {
+            // Discard the recording started after the last test
+            _recording = false;
+            try {
+                execute("jfrStop", "name=" + _recordingName);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to stop recording in target JVM", e);
+            }
+        }
+        final Path threadDumpFile = getThreadDumpFile(getProfileFile().get());
+        try {
+            Files.deleteIfExists(threadDumpFile);
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("Unable to delete thread dumps: %s", threadDumpFile), e);
+        }
+        disconnect();
+    }
+
+    private void writeClassHistogram(final Path file) {
+        try {
+            Files.writeString(file, execute("gcClassHistogram"), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("Unable to capture class histogram: %s", file), e);
+        }
+    }
+
+    private synchronized void startSampling(final Path file) {
+        if (_sampler != null) {
+            final int generation = ++_samplingGeneration;
+            _sampling = _sampler.scheduleAtFixedRate(
+                    () -> sampleThreads(file, generation),
+                    _threadDumpInterval.toNanos(),
+                    _threadDumpInterval.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void stopSampling() {
+        ++_samplingGeneration;
+        if (_sampling != null) {
+            _sampling.cancel(false);
+            _sampling = null;
+        }
+    }
+
+    private synchronized void sampleThreads(final Path file, final int generation) {
+        // Samples scheduled before the test boundary belong to the previous test
+        if (generation != _samplingGeneration) {
+            return;
+        }
+        try {
+            Files.writeString(
+                    file,
+                    execute("threadPrint") + System.lineSeparator(),
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to sample threads in target JVM", e);
+        }
+    }
+
+    private static Path getThreadDumpFile(final Path profileFile) {
+        return getSiblingFile(profileFile, THREAD_DUMP_EXTENSION);
+    }
+
+    private static Path getDumpFile(final Path profileFile, final int index, final String extension) {
+        return getSiblingFile(profileFile, index + "." + extension);
+    }
+
+    private static Path getSiblingFile(final Path file, final String extension) {
+        final String nameWithoutExtension = com.google.common.io.Files.getNameWithoutExtension(file.toString());
+        return file.resolveSibling(nameWithoutExtension + "." + extension);
+    }
+
+    private static void moveIfExists(final Path source, final Path target) throws IOException {
+        if (Files.exists(source)) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Summary of the Flight Recorder monitor enter, monitor wait and thread park
+ * events recorded on the threads running the measured rounds of a test. The
+ * contention stacks weighted by the time blocked are written to a text
+ * report and to a folded stacks file which are referenced by the summary.
+ *
+ * @author agent (agent at local)
+ */
+public final class LockProfile {
+
+    public double getThresholdMillis() {
+        return _thresholdMillis;
+    }
+
+    public Map<String, Long> getEvents() {
+        return _events;
+    }
+
+    public double getBlockedTimeMillis() {
+        return _blockedTimeMillis;
+    }
+
+    public int getStacks() {
+        return _stacks;
+    }
+
+    public Path getTextFile() {
+        return _textFile;
+    }
+
+    public Path getFoldedFile() {
+        return _foldedFile;
+    }
+
+    LockProfile(
+            final double thresholdMillis,
+            final Map<String, Long> events,
+            final double blockedTimeMillis,
+            final int stacks,
+            final Path textFile,
+            final Path foldedFile) {
+        _thresholdMillis = thresholdMillis;
+        _events = ImmutableSortedMap.copyOf(events);
+        _blockedTimeMillis = blockedTimeMillis;
+        _stacks = stacks;
+        _textFile = textFile;
+        _foldedFile = foldedFile;
+    }
+
+    private final double _thresholdMillis;
+    private final ImmutableSortedMap<String, Long> _events;
+    private final double _blockedTimeMillis;
+    private final int _stacks;
+    private final Path _textFile;
+    private final Path _foldedFile;
+}
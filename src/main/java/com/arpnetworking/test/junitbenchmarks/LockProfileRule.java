@@ -0,0 +1,404 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which profiles lock contention in the measured rounds of each test
+ * with Flight Recorder. The {@code jdk.JavaMonitorEnter},
+ * {@code jdk.JavaMonitorWait} and {@code jdk.ThreadPark} events longer than
+ * a threshold are streamed from an in-process recording for each test and
+ * the events of the threads running the measured rounds are aggregated by
+ * stack trace, weighted by the time blocked. The stacks are trimmed to the
+ * frames within the round, so threads waiting for their next round are
+ * excluded. For each test two files are written to the profile directory:
+ * <ul>
+ * <li>{@code <class>.<method>.locks.txt} a text report of the most
+ * contended stacks in the style of the filtered CPU profile.</li>
+ * <li>{@code <class>.<method>.locks.folded} all stacks in the folded
+ * format accepted by flame graph tools; the root frame is the event type,
+ * the leaf frame is the class of the contended object and the weight is
+ * in microseconds.</li>
+ * </ul>
+ * A summary referencing the files is written with each result by the
+ * {@link JsonBenchmarkConsumer} as {@code lockProfile}, next to the
+ * {@code profileFile} of the CPU profile.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule} so that it can
+ * observe where warmup ends and which threads run the rounds. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final LockProfileRule LOCK_PROFILE = new LockProfileRule(CONSUMER, Paths.get("target/perf"));
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(LOCK_PROFILE);
+ * </pre>
+ * Since the stream is flushed about once per second this adds up to a
+ * second to each test.
+ *
+ * @author agent (agent at local)
+ */
+public final class LockProfileRule extends AbstractRoundRule<LockProfileRule.Recording> {
+
+    private static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+    private static final String MONITOR_WAIT_EVENT = "jdk.JavaMonitorWait";
+    private static final String THREAD_PARK_EVENT = "jdk.ThreadPark";
+    private static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(10);
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_STACKS = 20;
+    private static final int MAX_FRAMES = 20;
+    private static final String ROUND_FRAME = LockProfileRule.class.getName() + ".evaluateRound";
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockProfileRule.class);
+
+    private final JsonBenchmarkConsumer _consumer;
+    private final Path _directory;
+    private final Duration _threshold;
+    private final boolean _flightRecorder;
+
+    /**
+     * Records events longer than {@code 10}
+     * milliseconds.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the summary with
+     * @param directory the directory to write the contention stacks to
+     */
+    public LockProfileRule(final JsonBenchmarkConsumer consumer, final Path directory) {
+        this(consumer, directory, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Records the events longer than a threshold.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the summary with
+     * @param directory the directory to write the contention stacks to
+     * @param threshold the minimum duration of the recorded events
+     */
+    public LockProfileRule(final JsonBenchmarkConsumer consumer, final Path directory, final Duration threshold) {
+        super(consumer, "lockProfile");
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException(String.format("Threshold must not be negative; threshold=%s", threshold));
+        }
+        _consumer = consumer;
+        _directory = directory;
+        _threshold = threshold;
+        _flightRecorder = FlightRecorder.isAvailable();
+        if (!_flightRecorder) {
+            LOGGER.warn("Flight Recorder is not available; lock contention will not be profiled");
+        }
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds, _flightRecorder ? startStream() : null);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        recording.beginRound(round);
+        base.evaluate();
+    }
+
+    @Override
+    Optional<LockProfile> end(final Recording recording, final Result result) {
+        return recording.end();
+    }
+
+    private RecordingStream startStream() {
+        final RecordingStream stream = new RecordingStream();
+        for (final String event : ImmutableList.of(MONITOR_ENTER_EVENT, MONITOR_WAIT_EVENT, THREAD_PARK_EVENT)) {
+            stream.enable(event).withThreshold(_threshold).withStackTrace();
+        }
+        return stream;
+    }
+
+    @Nullable
+    private static String getObjectClass(final RecordedEvent event) {
+        final String field = THREAD_PARK_EVENT.equals(event.getEventType().getName()) ? "parkedClass" : "monitorClass";
+        if (!event.hasField(field)) {
+            return null;
+        }
+        @Nullable final RecordedClass objectClass = event.getValue(field);
+        return objectClass == null ? null : objectClass.getName();
+    }
+
+    /**
+     * Contention stacks weighted by the time blocked. The frames of each
+     * stack are ordered from the innermost.
+     */
+    static final class Profile {
+
+        void add(final String eventType, final List<String> frames, @Nullable final String objectClass, final long nanos) {
+            final long[] event = _events.computeIfAbsent(eventType, type -> new long[2]);
+            ++event[0];
+            event[1] += nanos;
+            final List<String> key = Lists.newArrayListWithExpectedSize(frames.size() + 2);
+            key.add(eventType);
+            key.addAll(Lists.reverse(frames));
+            key.add(objectClass == null ? "<unknown>" : objectClass);
+            final long[] stack = _stacks.computeIfAbsent(ImmutableList.copyOf(key), k -> new long[2]);
+            ++stack[0];
+            stack[1] += nanos;
+        }
+
+        Map<String, Long> getEventCounts() {
+            return Maps.transformValues(_events, event -> event[0]);
+        }
+
+        long getNanos() {
+            return _events.values().stream().mapToLong(event -> event[1]).sum();
+        }
+
+        int getStacks() {
+            return _stacks.size();
+        }
+
+        void writeText(final BufferedWriter writer, final String name) throws IOException {
+            writer.write(String.format("LOCK PROFILE %s", name));
+            writer.newLine();
+            writer.write(String.format("EVENTS BEGIN (total = %d)", _events.values().stream().mapToLong(event -> event[0]).sum()));
+            writer.newLine();
+            writer.write("    count      millis event");
+            writer.newLine();
+            for (final Map.Entry<String, long[]> entry : _events.entrySet()) {
+                writer.write(String.format("%9d %11.3f %s", entry.getValue()[0], entry.getValue()[1] / 1000000.0, entry.getKey()));
+                writer.newLine();
+            }
+            writer.write("EVENTS END");
+            writer.newLine();
+            writeStacks(writer);
+        }
+
+        void writeFolded(final BufferedWriter writer) throws IOException {
+            for (final Map.Entry<List<String>, long[]> entry : sorted()) {
+                writer.write(String.join(";", entry.getKey()) + " " + Math.max(1, entry.getValue()[1] / 1000));
+                writer.newLine();
+            }
+        }
+
+        private void writeStacks(final BufferedWriter writer) throws IOException {
+            final long total = getNanos();
+            writer.write(String.format("STACKS BEGIN (total = %.3f ms)", total / 1000000.0));
+            writer.newLine();
+            writer.write("rank   self  accum      millis   count event object");
+            writer.newLine();
+            int rank = 1;
+            double accum = 0;
+            for (final Map.Entry<List<String>, long[]> entry : sorted()) {
+                if (rank > MAX_STACKS) {
+                    break;
+                }
+                final List<String> key = entry.getKey();
+                final double perc = (double) entry.getValue()[1] / total * 100;
+                accum += perc;
+                writer.write(String.format(
+                        "%4d %5.2f%% %5.2f%% %11.3f %7d %s %s",
+                        rank,
+                        perc,
+                        accum,
+                        entry.getValue()[1] / 1000000.0,
+                        entry.getValue()[0],
+                        key.get(0),
+                        key.get(key.size() - 1)));
+                writer.newLine();
+                final List<String> frames = Lists.reverse(key.subList(1, key.size() - 1));
+                for (final String frame : frames.subList(0, Math.min(MAX_FRAMES, frames.size()))) {
+                    writer.write("        " + frame);
+                    writer.newLine();
+                }
+                ++rank;
+            }
+            writer.write("STACKS END");
+            writer.newLine();
+        }
+
+        private List<Map.Entry<List<String>, long[]>> sorted() {
+            return _stacks.entrySet()
+                    .stream()
+                    .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                    .collect(Collectors.toList());
+        }
+
+        private final Map<String, long[]> _events = Maps.newTreeMap();
+        private final Map<List<String>, long[]> _stacks = Maps.newHashMap();
+    }
+
+    /**
+     * Records the contention events of one test.
+     */
+    final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds, @Nullable final RecordingStream stream) {
+            super(description, warmupRounds);
+            _stream = stream;
+            if (stream != null) {
+                stream.onEvent(MONITOR_ENTER_EVENT, this::onEvent);
+                stream.onEvent(MONITOR_WAIT_EVENT, this::onEvent);
+                stream.onEvent(THREAD_PARK_EVENT, this::onEvent);
+                stream.onFlush(this::onFlush);
+                stream.startAsync();
+            }
+        }
+
+        void beginRound(final long round) {
+            if (!isWarmup(round)) {
+                _threads.add(Thread.currentThread().getId());
+                if (_measurementStart == null) {
+                    synchronized (this) {
+                        if (_measurementStart == null) {
+                            _measurementStart = Instant.now();
+                        }
+                    }
+                }
+            }
+        }
+
+        Optional<LockProfile> end() {
+            if (_stream == null || _measurementStart == null) {
+                close();
+                return Optional.empty();
+            }
+            final boolean streamed = awaitFlush(Instant.now());
+            close();
+            if (!streamed) {
+                return Optional.empty();
+            }
+            final String qualifier = _consumer.getOutputQualifier();
+            final Description description = getDescription();
+            final Path textFile = _directory.resolve(getFileName(description, qualifier, "locks.txt"));
+            final Path foldedFile = _directory.resolve(getFileName(description, qualifier, "locks.folded"));
+            synchronized (this) {
+                try {
+                    Files.createDirectories(_directory);
+                    try (BufferedWriter writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+                        _profile.writeText(writer, description.getClassName() + "." + description.getMethodName());
+                    }
+                    try (BufferedWriter writer = Files.newBufferedWriter(foldedFile, StandardCharsets.UTF_8)) {
+                        _profile.writeFolded(writer);
+                    }
+                } catch (final IOException e) {
+                    LOGGER.error(String.format("Unable to write lock profile; file=%s", textFile), e);
+                    return Optional.empty();
+                }
+                return Optional.of(new LockProfile(
+                        _threshold.toNanos() / 1000000.0,
+                        _profile.getEventCounts(),
+                        _profile.getNanos() / 1000000.0,
+                        _profile.getStacks(),
+                        textFile,
+                        foldedFile));
+            }
+        }
+
+        @Override
+        void close() {
+            if (_stream != null) {
+                _stream.close();
+            }
+        }
+
+        private synchronized void onEvent(final RecordedEvent event) {
+            final Instant measurementStart = _measurementStart;
+            if (measurementStart == null || event.getStartTime().isBefore(measurementStart)) {
+                return;
+            }
+            @Nullable final RecordedThread thread = event.getThread("eventThread");
+            if (thread == null || !_threads.contains(thread.getJavaThreadId())) {
+                return;
+            }
+            // Keep the frames inside the round; threads waiting for their next round are not contending
+            @Nullable final RecordedStackTrace stackTrace = event.getStackTrace();
+            if (stackTrace == null) {
+                return;
+            }
+            final List<String> frames = Lists.newArrayList();
+            boolean inRound = stackTrace.isTruncated();
+            for (final RecordedFrame frame : stackTrace.getFrames()) {
+                final String method = JfrFilter.formatMethod(frame.getMethod());
+                if (ROUND_FRAME.equals(method)) {
+                    inRound = true;
+                    break;
+                }
+                frames.add(method);
+            }
+            if (!inRound) {
+                return;
+            }
+            _profile.add(event.getEventType().getName(), frames, getObjectClass(event), event.getDuration().toNanos());
+        }
+
+        private synchronized void onFlush() {
+            _lastFlush = Instant.now();
+            notifyAll();
+        }
+
+        private synchronized boolean awaitFlush(final Instant end) {
+            final long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+            while (_lastFlush == null || !_lastFlush.isAfter(end)) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    LOGGER.warn("Timed out waiting for Flight Recorder lock events");
+                    return false;
+                }
+                try {
+                    wait(Math.max(1, remaining / 1000000));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        private final RecordingStream _stream;
+        private final Set<Long> _threads = ConcurrentHashMap.newKeySet();
+        private final Profile _profile = new Profile();
+        @Nullable
+        private volatile Instant _measurementStart;
+        @Nullable
+        private Instant _lastFlush;
+    }
+}
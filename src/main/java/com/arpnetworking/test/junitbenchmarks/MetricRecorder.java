@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Maps;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records custom counters, gauges and timers from test code, such as cache
+ * hits, bytes serialized or queue depth. The values recorded during each
+ * test are written with its result by the {@link JsonBenchmarkConsumer} as
+ * {@code metrics} and then reset. Values are accumulated in striped cells
+ * so recording takes no locks and scales with the number of threads.
+ * <p>
+ * Metrics are created by name on first use and the returned instances
+ * remain valid across tests, so look them up once and keep them instead
+ * of looking them up on every operation. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final MetricRecorder METRICS = new MetricRecorder(CONSUMER);
+ * private static final MetricRecorder.Counter CACHE_HITS = METRICS.counter("cacheHits");
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(METRICS);
+ * </pre>
+ * Applying the recorder as a rule inside the {@code BenchmarkRule} is
+ * optional. If applied, values recorded during the warmup rounds are
+ * discarded when the first benchmark round starts; otherwise all values
+ * recorded since the previous result are included. With concurrent
+ * benchmarks warmup and benchmark rounds overlap, in which case values
+ * of warmup rounds still running are included.
+ *
+ * @author agent (agent at local)
+ */
+public final class MetricRecorder implements TestRule {
+
+    private final ConcurrentMap<String, Counter> _counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Gauge> _gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> _timers = new ConcurrentHashMap<>();
+
+    /**
+     * Public constructor.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the metrics with
+     */
+    @SuppressWarnings("this-escape")
+    public MetricRecorder(final JsonBenchmarkConsumer consumer) {
+        consumer.addCollector(new MetricCollector());
+    }
+
+    /**
+     * Get or create a counter.
+     *
+     * @param name the name of the counter
+     * @return the {@code Counter}
+     */
+    public Counter counter(final String name) {
+        return _counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Get or create a gauge.
+     *
+     * @param name the name of the gauge
+     * @return the {@code Gauge}
+     */
+    public Gauge gauge(final String name) {
+        return _gauges.computeIfAbsent(name, n -> new Gauge());
+    }
+
+    /**
+     * Get or create a timer.
+     *
+     * @param name the name of the timer
+     * @return the {@code Timer}
+     */
+    public Timer timer(final String name) {
+        return _timers.computeIfAbsent(name, n -> new Timer());
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new RoundStatement(base, description, WarmupRounds.resolve(description));
+    }
+
+    RecordedMetrics snapshot() {
+        final Map<String, Long> counters = Maps.newHashMap();
+        _counters.forEach((name, counter) -> counters.put(name, counter._value.sum()));
+        final Map<String, RecordedMetrics.Distribution> gauges = Maps.newHashMap();
+        _gauges.forEach((name, gauge) -> gauge._values.snapshot().ifPresent(value -> gauges.put(name, value)));
+        final Map<String, RecordedMetrics.Distribution> timers = Maps.newHashMap();
+        _timers.forEach((name, timer) -> timer._values.snapshot().ifPresent(value -> timers.put(name, value)));
+        return new RecordedMetrics(counters, gauges, timers);
+    }
+
+    void reset() {
+        _counters.values().forEach(counter -> counter._value.reset());
+        _gauges.values().forEach(gauge -> gauge._values.reset());
+        _timers.values().forEach(timer -> timer._values.reset());
+    }
+
+    /**
+     * A count of events, such as cache hits, or a sum, such as bytes
+     * serialized.
+     */
+    public static final class Counter {
+
+        /**
+         * Add one to the counter.
+         */
+        public void increment() {
+            _value.increment();
+        }
+
+        /**
+         * Add to the counter.
+         *
+         * @param delta the value to add
+         */
+        public void add(final long delta) {
+            _value.add(delta);
+        }
+
+        Counter() {}
+
+        private final LongAdder _value = new LongAdder();
+    }
+
+    /**
+     * Samples of a value, such as a queue depth. The count, minimum,
+     * maximum, mean and last sampled value are recorded.
+     */
+    public static final class Gauge {
+
+        /**
+         * Record a sample of the value.
+         *
+         * @param value the value
+         */
+        public void set(final long value) {
+            _values.record(value);
+        }
+
+        Gauge() {}
+
+        private final Values _values = new Values();
+    }
+
+    /**
+     * Durations, such as of an operation within a round. The count,
+     * minimum, maximum, mean and total duration are recorded.
+     */
+    public static final class Timer {
+
+        /**
+         * Record a duration.
+         *
+         * @param duration the duration
+         * @param unit the unit of the duration
+         */
+        public void record(final long duration, final TimeUnit unit) {
+            _values.record(unit.toNanos(duration));
+        }
+
+        /**
+         * Run and record the duration of a {@code Runnable}.
+         *
+         * @param runnable the {@code Runnable} to run
+         */
+        public void time(final Runnable runnable) {
+            final long start = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                _values.record(System.nanoTime() - start);
+            }
+        }
+
+        Timer() {}
+
+        private final Values _values = new Values();
+    }
+
+    /**
+     * Striped accumulation of recorded values.
+     */
+    private static final class Values {
+
+        void record(final long value) {
+            _count.increment();
+            _sum.add(value);
+            _min.accumulate(value);
+            _max.accumulate(value);
+            _last.lazySet(value);
+        }
+
+        Optional<RecordedMetrics.Distribution> snapshot() {
+            final long count = _count.sum();
+            if (count == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new RecordedMetrics.Distribution(count, _min.get(), _max.get(), _sum.sum(), _last.get()));
+        }
+
+        void reset() {
+            _count.reset();
+            _sum.reset();
+            _min.reset();
+            _max.reset();
+            _last.set(0);
+        }
+
+        private final LongAdder _count = new LongAdder();
+        private final LongAdder _sum = new LongAdder();
+        private final LongAccumulator _min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator _max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private final AtomicLong _last = new AtomicLong();
+    }
+
+    /**
+     * Discards the values recorded during warmup when the first benchmark
+     * round starts.
+     */
+    private final class RoundStatement extends Statement {
+
+        RoundStatement(final Statement base, final Description description, final int warmupRounds) {
+            _base = base;
+            _description = description;
+            _warmupRounds = warmupRounds;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            final long round = _rounds.getAndIncrement();
+            if (round == WarmupRounds.get(_description, _warmupRounds)) {
+                reset();
+            }
+            _base.evaluate();
+        }
+
+        private final Statement _base;
+        private final Description _description;
+        private final int _warmupRounds;
+        private final AtomicLong _rounds = new AtomicLong();
+    }
+
+    /**
+     * Writes the metrics recorded during the test with its result.
+     */
+    private final class MetricCollector implements ResultCollector {
+
+        @Override
+        public String getName() {
+            return "metrics";
+        }
+
+        @Override
+        public void begin() {
+            reset();
+        }
+
+        @Override
+        public Optional<RecordedMetrics> end(final Result result) {
+            if (_counters.isEmpty() && _gauges.isEmpty() && _timers.isEmpty()) {
+                return Optional.empty();
+            }
+            final RecordedMetrics metrics = snapshot();
+            reset();
+            return Optional.of(metrics);
+        }
+    }
+}
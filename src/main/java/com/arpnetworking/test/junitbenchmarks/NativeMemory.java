@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Off-heap memory of this JVM at the end of a test and its change across
+ * the test. The buffer pools, such as {@code direct} and {@code mapped},
+ * are always reported. The categories of native memory tracking, such as
+ * {@code Thread} and {@code Internal}, along with their {@code Total} are
+ * only reported if the JVM was started with native memory tracking enabled.
+ *
+ * @author agent (agent at local)
+ */
+public final class NativeMemory {
+
+    public Map<String, BufferPool> getBufferPools() {
+        return _bufferPools;
+    }
+
+    public Optional<Map<String, Category>> getNativeMemoryTracking() {
+        return _nativeMemoryTracking;
+    }
+
+    NativeMemory(
+            final Map<String, BufferPool> bufferPools,
+            final Optional<Map<String, Category>> nativeMemoryTracking) {
+        _bufferPools = ImmutableSortedMap.copyOf(bufferPools);
+        _nativeMemoryTracking = nativeMemoryTracking.map(ImmutableSortedMap::copyOf);
+    }
+
+    private final ImmutableSortedMap<String, BufferPool> _bufferPools;
+    private final Optional<Map<String, Category>> _nativeMemoryTracking;
+
+    /**
+     * The buffers of a buffer pool at the end of the test and their change
+     * across the test.
+     */
+    public static final class BufferPool {
+
+        public long getCount() {
+            return _count;
+        }
+
+        public long getCountDelta() {
+            return _countDelta;
+        }
+
+        public long getMemoryUsedBytes() {
+            return _memoryUsedBytes;
+        }
+
+        public long getMemoryUsedDeltaBytes() {
+            return _memoryUsedDeltaBytes;
+        }
+
+        public long getTotalCapacityBytes() {
+            return _totalCapacityBytes;
+        }
+
+        public long getTotalCapacityDeltaBytes() {
+            return _totalCapacityDeltaBytes;
+        }
+
+        // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+        BufferPool(
+                final long count,
+                final long countDelta,
+                final long memoryUsedBytes,
+                final long memoryUsedDeltaBytes,
+                final long totalCapacityBytes,
+                final long totalCapacityDeltaBytes) {
+            // CHECKSTYLE.ON: ParameterNumber
+            _count = count;
+            _countDelta = countDelta;
+            _memoryUsedBytes = memoryUsedBytes;
+            _memoryUsedDeltaBytes = memoryUsedDeltaBytes;
+            _totalCapacityBytes = totalCapacityBytes;
+            _totalCapacityDeltaBytes = totalCapacityDeltaBytes;
+        }
+
+        private final long _count;
+        private final long _countDelta;
+        private final long _memoryUsedBytes;
+        private final long _memoryUsedDeltaBytes;
+        private final long _totalCapacityBytes;
+        private final long _totalCapacityDeltaBytes;
+    }
+
+    /**
+     * The reserved and committed memory of a native memory tracking
+     * category at the end of the test and their change across the test.
+     */
+    public static final class Category {
+
+        public long getReservedBytes() {
+            return _reservedBytes;
+        }
+
+        public long getReservedDeltaBytes() {
+            return _reservedDeltaBytes;
+        }
+
+        public long getCommittedBytes() {
+            return _committedBytes;
+        }
+
+        public long getCommittedDeltaBytes() {
+            return _committedDeltaBytes;
+        }
+
+        Category(
+                final long reservedBytes,
+                final long reservedDeltaBytes,
+                final long committedBytes,
+                final long committedDeltaBytes) {
+            _reservedBytes = reservedBytes;
+            _reservedDeltaBytes = reservedDeltaBytes;
+            _committedBytes = committedBytes;
+            _committedDeltaBytes = committedDeltaBytes;
+        }
+
+        private final long _reservedBytes;
+        private final long _reservedDeltaBytes;
+        private final long _committedBytes;
+        private final long _committedDeltaBytes;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Samples the off-heap memory of this JVM at the test boundaries and
+ * produces a {@link NativeMemory} for each test. The buffer pools are read
+ * from the {@code BufferPoolMXBean}s. If the JVM was started with
+ * {@code -XX:NativeMemoryTracking=summary} (or {@code detail}) the
+ * {@code VM.native_memory summary} diagnostic command is also run through
+ * the {@code DiagnosticCommand} MBean and the reserved and committed memory
+ * of each category is reported. Add it to the consumer with
+ * {@link JsonBenchmarkConsumer#addCollector(ResultCollector)}; the data is
+ * written as {@code nativeMemory}.
+ * <p>
+ * Native memory tracking itself costs some performance and memory, so
+ * enable it only for memory focused runs.
+ *
+ * @author agent (agent at local)
+ */
+public final class NativeMemoryCollector implements ResultCollector {
+
+    private static final String DIAGNOSTIC_COMMAND_NAME = "com.sun.management:type=DiagnosticCommand";
+    private static final String[] DIAGNOSTIC_COMMAND_SIGNATURE = {String[].class.getName()};
+    private static final Pattern TOTAL_PATTERN = Pattern.compile("^Total: reserved=(\\d+)KB, committed=(\\d+)KB.*$");
+    private static final Pattern CATEGORY_PATTERN = Pattern.compile("^-\\s+(.+?) \\(reserved=(\\d+)KB, committed=(\\d+)KB\\).*$");
+    private static final Logger LOGGER = LoggerFactory.getLogger(NativeMemoryCollector.class);
+
+    @Nullable
+    private Snapshot _start;
+    private boolean _nativeMemoryTracking = true;
+
+    @Override
+    public String getName() {
+        return "nativeMemory";
+    }
+
+    @Override
+    public synchronized void begin() {
+        _start = snapshot();
+    }
+
+    @Override
+    public synchronized Optional<NativeMemory> end(final Result result) {
+        final Snapshot start = _start;
+        _start = null;
+        if (start == null) {
+            return Optional.empty();
+        }
+        return Optional.of(compare(start, snapshot()));
+    }
+
+    static NativeMemory compare(final Snapshot start, final Snapshot end) {
+        final Map<String, NativeMemory.BufferPool> bufferPools = Maps.newHashMap();
+        end._bufferPools.forEach((name, after) -> {
+            final long[] before = start._bufferPools.getOrDefault(name, new long[3]);
+            bufferPools.put(name, new NativeMemory.BufferPool(
+                    after[0],
+                    after[0] - before[0],
+                    after[1],
+                    after[1] - before[1],
+                    after[2],
+                    after[2] - before[2]));
+        });
+        Optional<Map<String, NativeMemory.Category>> nativeMemoryTracking = Optional.empty();
+        if (start._nativeMemoryTracking.isPresent() && end._nativeMemoryTracking.isPresent()) {
+            final Map<String, long[]> startCategories = start._nativeMemoryTracking.get();
+            final Map<String, NativeMemory.Category> categories = Maps.newHashMap();
+            end._nativeMemoryTracking.get().forEach((name, after) -> {
+                final long[] before = startCategories.getOrDefault(name, new long[2]);
+                categories.put(name, new NativeMemory.Category(after[0], after[0] - before[0], after[1], after[1] - before[1]));
+            });
+            nativeMemoryTracking = Optional.of(categories);
+        }
+        return new NativeMemory(bufferPools, nativeMemoryTracking);
+    }
+
+    /**
+     * Parse the output of the {@code VM.native_memory summary scale=KB}
+     * diagnostic command.
+     *
+     * @param summary the output of the command
+     * @return the reserved and committed bytes of each category and of the {@code Total}, if tracking is enabled
+     */
+    static Optional<Map<String, long[]>> parseSummary(final String summary) {
+        final Map<String, long[]> categories = Maps.newHashMap();
+        for (final String line : summary.split("\\R")) {
+            final Matcher total = TOTAL_PATTERN.matcher(line);
+            if (total.matches()) {
+                categories.put("Total", new long[]{kilobytes(total.group(1)), kilobytes(total.group(2))});
+                continue;
+            }
+            final Matcher category = CATEGORY_PATTERN.matcher(line);
+            if (category.matches()) {
+                categories.put(category.group(1).trim(), new long[]{kilobytes(category.group(2)), kilobytes(category.group(3))});
+            }
+        }
+        return categories.isEmpty() ? Optional.empty() : Optional.of(categories);
+    }
+
+    private static long kilobytes(final String value) {
+        return Long.parseLong(value) * 1024;
+    }
+
+    private Snapshot snapshot() {
+        final Map<String, long[]> bufferPools = Maps.newHashMap();
+        for (final BufferPoolMXBean bean : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            bufferPools.put(bean.getName(), new long[]{bean.getCount(), bean.getMemoryUsed(), bean.getTotalCapacity()});
+        }
+        return new Snapshot(bufferPools, _nativeMemoryTracking ? nativeMemoryTracking() : Optional.empty());
+    }
+
+    private Optional<Map<String, long[]>> nativeMemoryTracking() {
+        try {
+            final Object output = ManagementFactory.getPlatformMBeanServer().invoke(
+                    ObjectName.getInstance(DIAGNOSTIC_COMMAND_NAME),
+                    "vmNativeMemory",
+                    new Object[]{new String[]{"summary", "scale=KB"}},
+                    DIAGNOSTIC_COMMAND_SIGNATURE);
+            final Optional<Map<String, long[]>> categories = parseSummary(output == null ? "" : output.toString());
+            if (!categories.isPresent()) {
+                LOGGER.debug(String.format("Native memory tracking is not available; output=%s", output));
+                _nativeMemoryTracking = false;
+            }
+            return categories;
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to read native memory tracking summary", e);
+            _nativeMemoryTracking = false;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The buffer pools and the native memory tracking categories at a test
+     * boundary.
+     */
+    static final class Snapshot {
+
+        Snapshot(final Map<String, long[]> bufferPools, final Optional<Map<String, long[]>> nativeMemoryTracking) {
+            _bufferPools = bufferPools;
+            _nativeMemoryTracking = nativeMemoryTracking;
+        }
+
+        private final Map<String, long[]> _bufferPools;
+        private final Optional<Map<String, long[]>> _nativeMemoryTracking;
+    }
+}
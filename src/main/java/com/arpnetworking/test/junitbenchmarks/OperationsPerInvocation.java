@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the number of operations, and optionally the number of bytes,
+ * processed by each invocation of a test method; that is by each benchmark
+ * round. The {@link ThroughputCollector} uses it to report the time per
+ * operation and the throughput of the test. The annotation may be placed on
+ * the test method or on the test class, in which case it applies to every
+ * test method of the class and its subclasses which is not annotated.
+ *
+ * @author agent (agent at local)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface OperationsPerInvocation {
+
+    /**
+     * The number of operations per invocation.
+     *
+     * @return the number of operations per invocation
+     */
+    long value();
+
+    /**
+     * The number of bytes processed per invocation or zero if not applicable.
+     *
+     * @return the number of bytes per invocation
+     */
+    long bytes() default 0;
+}
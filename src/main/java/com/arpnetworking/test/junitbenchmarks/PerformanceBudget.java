@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the performance budget of a test method. The
+ * {@link PerformanceBudgetRule} fails a test which exceeds its budget once
+ * its result has been accepted. The annotation may be placed on the test
+ * method or on the test class, in which case it applies to every test
+ * method of the class and its subclasses which is not annotated. Limits
+ * which are negative, the default, are not checked.
+ * <p>
+ * For example, to require that a hot path never allocates:
+ * <pre>
+ * &#64;Test
+ * &#64;PerformanceBudget(maxMeanMillis = 0.5, maxAllocBytesPerOp = 0)
+ * public void test() { ... }
+ * </pre>
+ *
+ * @author agent (agent at local)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface PerformanceBudget {
+
+    /**
+     * The maximum average duration of a benchmark round in milliseconds.
+     *
+     * @return the maximum mean round time
+     */
+    double maxMeanMillis() default -1;
+
+    /**
+     * The maximum 99th percentile duration of a benchmark round in
+     * milliseconds.
+     *
+     * @return the maximum 99th percentile round time
+     */
+    double maxP99Millis() default -1;
+
+    /**
+     * The maximum bytes allocated by the thread executing a round per
+     * operation, where the operations per round are declared with
+     * {@link OperationsPerInvocation}. Zero asserts that the test does not
+     * allocate.
+     *
+     * @return the maximum bytes allocated per operation
+     */
+    double maxAllocBytesPerOp() default -1;
+
+    /**
+     * The maximum fraction of the benchmark time spent in garbage
+     * collection, between zero and one.
+     *
+     * @return the maximum garbage collection time ratio
+     */
+    double maxGcTimeRatio() default -1;
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The measurements of a test checked against its {@link PerformanceBudget}.
+ * Only the measurements with a limit in the budget are present. Each
+ * violation describes a measurement which exceeded its limit.
+ *
+ * @author agent (agent at local)
+ */
+public final class PerformanceBudgetReport {
+
+    public boolean isPassed() {
+        return _violations.isEmpty();
+    }
+
+    public Optional<Double> getMeanMillis() {
+        return _meanMillis;
+    }
+
+    public Optional<Double> getP99Millis() {
+        return _p99Millis;
+    }
+
+    public Optional<Double> getAllocBytesPerOp() {
+        return _allocBytesPerOp;
+    }
+
+    public Optional<Double> getGcTimeRatio() {
+        return _gcTimeRatio;
+    }
+
+    public List<String> getViolations() {
+        return _violations;
+    }
+
+    PerformanceBudgetReport(
+            final Optional<Double> meanMillis,
+            final Optional<Double> p99Millis,
+            final Optional<Double> allocBytesPerOp,
+            final Optional<Double> gcTimeRatio,
+            final List<String> violations) {
+        _meanMillis = meanMillis;
+        _p99Millis = p99Millis;
+        _allocBytesPerOp = allocBytesPerOp;
+        _gcTimeRatio = gcTimeRatio;
+        _violations = ImmutableList.copyOf(violations);
+    }
+
+    private final Optional<Double> _meanMillis;
+    private final Optional<Double> _p99Millis;
+    private final Optional<Double> _allocBytesPerOp;
+    private final Optional<Double> _gcTimeRatio;
+    private final ImmutableList<String> _violations;
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import com.sun.management.ThreadMXBean;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which fails tests that exceed their {@link PerformanceBudget}. The
+ * budget is checked when the result of the test is accepted by the
+ * {@link JsonBenchmarkConsumer}, where the outcome is also written with the
+ * result as {@code performanceBudget}, and the test fails once the
+ * benchmark completes with an {@code AssertionError} listing each limit
+ * that was exceeded. Tests without a budget are not affected.
+ * <p>
+ * The rule must be applied outside the {@code BenchmarkRule}, or the rule
+ * replacing it, so that it can fail the test after its result is accepted.
+ * The 99th percentile round time and the allocation per operation are
+ * measured by a {@link RoundLatencyRule} and a {@link ThreadResourceRule}
+ * for the tests with a budget, which are applied by the rule returned from
+ * {@link #rounds()} and so are written with their results as
+ * {@code roundLatency} and {@code threadResources}; it must be applied
+ * inside the benchmark rule. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final PerformanceBudgetRule BUDGET = new PerformanceBudgetRule(CONSUMER);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(BUDGET)
+ *         .around(new BenchmarkRule(CONSUMER))
+ *         .around(BUDGET.rounds());
+ * </pre>
+ * The mean round time and the garbage collection time are taken from the
+ * result. Allocation is measured on the thread executing each round; work
+ * handed off to other threads is not included, and neither is the
+ * allocation of JUnit invoking the test method, which is measured by
+ * invoking an empty method before the benchmark starts.
+ *
+ * @author agent (agent at local)
+ */
+public final class PerformanceBudgetRule implements TestRule {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final int CALIBRATION_INVOCATIONS = 10;
+
+    private final ThreadMXBean _threadMXBean;
+    private final RoundLatencyRule _roundLatency;
+    private final ThreadResourceRule _threadResources;
+    private final TestRule _rounds;
+    @Nullable
+    private Check _check;
+
+    /**
+     * @param consumer the {@code JsonBenchmarkConsumer} accepting the results to check
+     */
+    @SuppressWarnings("this-escape")
+    public PerformanceBudgetRule(final JsonBenchmarkConsumer consumer) {
+        _threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // The budget is checked before the rules measuring the rounds end their recordings
+        consumer.addCollector(new BudgetCollector());
+        _roundLatency = new RoundLatencyRule(consumer);
+        _threadResources = new ThreadResourceRule(consumer);
+        final TestRule measurement = RuleChain.outerRule(_roundLatency).around(_threadResources);
+        _rounds = (base, description) -> findBudget(description) == null ? base : measurement.apply(base, description);
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        final PerformanceBudget budget = findBudget(description);
+        if (budget == null) {
+            return base;
+        }
+        final Check check = new Check(description, budget);
+        synchronized (this) {
+            _check = check;
+        }
+        return new BudgetStatement(base, check);
+    }
+
+    /**
+     * The rule measuring each round for the budget. It must be applied
+     * inside the benchmark rule.
+     *
+     * @return the {@code TestRule} measuring each round
+     */
+    public TestRule rounds() {
+        return _rounds;
+    }
+
+    /**
+     * Check the measurements of a test against its budget.
+     *
+     * @param budget the budget of the test
+     * @param meanMillis the mean round time in milliseconds
+     * @param p99Millis the 99th percentile round time in milliseconds, if measured
+     * @param allocBytesPerOp the bytes allocated per operation, if measured
+     * @param gcTimeRatio the fraction of the benchmark time spent in garbage collection
+     * @return the {@code PerformanceBudgetReport}
+     */
+    static PerformanceBudgetReport check(
+            final PerformanceBudget budget,
+            final double meanMillis,
+            final Optional<Double> p99Millis,
+            final Optional<Double> allocBytesPerOp,
+            final double gcTimeRatio) {
+        final List<String> violations = Lists.newArrayList();
+        if (budget.maxMeanMillis() >= 0 && meanMillis > budget.maxMeanMillis()) {
+            violations.add(String.format("mean round time %.3f ms exceeds %.3f ms", meanMillis, budget.maxMeanMillis()));
+        }
+        if (budget.maxP99Millis() >= 0) {
+            if (!p99Millis.isPresent()) {
+                violations.add("99th percentile round time was not measured; apply rounds() inside the benchmark rule");
+            } else if (p99Millis.get() > budget.maxP99Millis()) {
+                violations.add(String.format(
+                        "99th percentile round time %.3f ms exceeds %.3f ms",
+                        p99Millis.get(),
+                        budget.maxP99Millis()));
+            }
+        }
+        if (budget.maxAllocBytesPerOp() >= 0) {
+            if (!allocBytesPerOp.isPresent()) {
+                violations.add("allocation was not measured; apply rounds() inside the benchmark rule on a JVM which supports it");
+            } else if (allocBytesPerOp.get() > budget.maxAllocBytesPerOp()) {
+                violations.add(budget.maxAllocBytesPerOp() == 0
+                        ? String.format("allocated %.1f bytes per operation but must not allocate", allocBytesPerOp.get())
+                        : String.format(
+                                "allocated %.1f bytes per operation which exceeds %.1f bytes",
+                                allocBytesPerOp.get(),
+                                budget.maxAllocBytesPerOp()));
+            }
+        }
+        if (budget.maxGcTimeRatio() >= 0 && gcTimeRatio > budget.maxGcTimeRatio()) {
+            violations.add(String.format(
+                    "garbage collection time ratio %.3f exceeds %.3f",
+                    gcTimeRatio,
+                    budget.maxGcTimeRatio()));
+        }
+        return new PerformanceBudgetReport(
+                budget.maxMeanMillis() >= 0 ? Optional.of(meanMillis) : Optional.empty(),
+                budget.maxP99Millis() >= 0 ? p99Millis : Optional.empty(),
+                budget.maxAllocBytesPerOp() >= 0 ? allocBytesPerOp : Optional.empty(),
+                budget.maxGcTimeRatio() >= 0 ? Optional.of(gcTimeRatio) : Optional.empty(),
+                violations);
+    }
+
+    @Nullable
+    static PerformanceBudget findBudget(final Description description) {
+        final PerformanceBudget methodBudget = description.getAnnotation(PerformanceBudget.class);
+        if (methodBudget != null) {
+            return methodBudget;
+        }
+        for (Class<?> clazz = description.getTestClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            final PerformanceBudget classBudget = clazz.getAnnotation(PerformanceBudget.class);
+            if (classBudget != null) {
+                return classBudget;
+            }
+        }
+        return null;
+    }
+
+    private Optional<PerformanceBudgetReport> end(final Check check, final Result result) {
+        final Description description = check._description;
+        @Nullable final RoundLatencyRule.Recording latency = _roundLatency.getRecording();
+        final Optional<Double> p99Millis = latency != null
+                && latency.getDescription().equals(description)
+                && latency.getHistogram().getCount() > 0
+                ? Optional.of(latency.getHistogram().getValueAtPercentile(99) / NANOS_PER_MILLI)
+                : Optional.empty();
+        @Nullable final ThreadResourceRule.Recording resources = _threadResources.getRecording();
+        Optional<Double> allocBytesPerOp = Optional.empty();
+        if (resources != null
+                && resources.getDescription().equals(description)
+                && resources.getRounds() > 0
+                && check._invocationBytes >= 0) {
+            final OperationsPerInvocation operations = ThroughputCollector.findAnnotation(
+                    result.getTestClass(),
+                    result.getTestMethodName());
+            final long operationsPerRound = operations == null ? 1 : Math.max(1, operations.value());
+            final long rounds = resources.getRounds();
+            final long allocatedBytes = Math.max(0, resources.getAllocatedBytes() - rounds * check._invocationBytes);
+            allocBytesPerOp = Optional.of((double) allocatedBytes / rounds / operationsPerRound);
+        }
+        final double gcTimeRatio = result.benchmarkTime > 0
+                ? (double) result.gcInfo.accumulatedTime() / result.benchmarkTime
+                : 0;
+        final PerformanceBudgetReport report = check(
+                check._budget,
+                result.roundAverage.avg * 1000,
+                p99Millis,
+                allocBytesPerOp,
+                gcTimeRatio);
+        check._report = report;
+        return Optional.of(report);
+    }
+
+    // CHECKSTYLE.OFF: IllegalThrows - Method invocation throws Throwable
+    /**
+     * Measure the allocation of JUnit invoking a test method reflectively by
+     * invoking an empty method so that it is not attributed to the test.
+     *
+     * @return the bytes allocated by one invocation or {@code -1} if allocation is not measured
+     * @throws Throwable if the empty method cannot be invoked
+     */
+    private long calibrate() throws Throwable {
+        final Method emptyMethod = EmptyTest.class.getMethod("test");
+        emptyMethod.setAccessible(true);
+        final FrameworkMethod method = new FrameworkMethod(emptyMethod);
+        final EmptyTest target = new EmptyTest();
+        long invocationBytes = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_INVOCATIONS; ++i) {
+            final long start = _threadMXBean.getCurrentThreadAllocatedBytes();
+            method.invokeExplosively(target);
+            final long end = _threadMXBean.getCurrentThreadAllocatedBytes();
+            // The bean returns -1 when measurement is unsupported or disabled
+            if (start < 0 || end < 0) {
+                return -1;
+            }
+            invocationBytes = Math.min(invocationBytes, end - start);
+        }
+        return Math.max(0, invocationBytes);
+    }
+    // CHECKSTYLE.ON: IllegalThrows
+
+    private synchronized Optional<Check> takeCheck() {
+        final Check check = _check;
+        _check = null;
+        return Optional.ofNullable(check);
+    }
+
+    /**
+     * The budget and the outcome of one test.
+     */
+    private static final class Check {
+
+        Check(final Description description, final PerformanceBudget budget) {
+            _description = description;
+            _budget = budget;
+        }
+
+        private final Description _description;
+        private final PerformanceBudget _budget;
+        private volatile long _invocationBytes = -1;
+        @Nullable
+        private volatile PerformanceBudgetReport _report;
+    }
+
+    /**
+     * Checks the budget of the test when its result is accepted.
+     */
+    private final class BudgetCollector implements ResultCollector {
+
+        @Override
+        public String getName() {
+            return "performanceBudget";
+        }
+
+        @Override
+        public void begin() {
+            // Checking begins when the rule is applied to the next test
+        }
+
+        @Override
+        public Optional<PerformanceBudgetReport> end(final Result result) {
+            return takeCheck().flatMap(check -> PerformanceBudgetRule.this.end(check, result));
+        }
+    }
+
+    /**
+     * Fails the test once the benchmark completes if the budget was exceeded.
+     */
+    private final class BudgetStatement extends Statement {
+
+        BudgetStatement(final Statement base, final Check check) {
+            _base = base;
+            _check = check;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            _check._invocationBytes = calibrate();
+            _base.evaluate();
+            final Description description = _check._description;
+            final String test = description.getClassName() + "." + description.getMethodName();
+            final PerformanceBudgetReport report = _check._report;
+            if (report == null) {
+                throw new IllegalStateException(String.format(
+                        "Performance budget of %s was not checked; the result was not accepted by the consumer of the rule",
+                        test));
+            }
+            if (!report.isPassed()) {
+                final StringBuilder message = new StringBuilder(String.format("Performance budget of %s exceeded:", test));
+                for (final String violation : report.getViolations()) {
+                    message.append(System.lineSeparator()).append("  - ").append(violation);
+                }
+                throw new AssertionError(message.toString());
+            }
+        }
+
+        private final Statement _base;
+        private final Check _check;
+    }
+
+    /**
+     * Test with an empty method to measure the allocation of its invocation.
+     */
+    private static final class EmptyTest {
+
+        public void test() {
+            // Intentionally empty
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.util.Optional;
+
+/**
+ * Operating system level activity of this process during a test as
+ * reported by the Linux {@code /proc} file system. Context switches and
+ * scheduler statistics are summed over the threads of the process; the
+ * activity of threads which exited during the test is not included. The
+ * scheduler statistics are only available if the kernel was built with
+ * scheduler statistics and the I/O statistics only if the kernel was built
+ * with task I/O accounting.
+ *
+ * @author agent (agent at local)
+ */
+public final class ProcStatistics {
+
+    public int getThreads() {
+        return _threads;
+    }
+
+    public long getVoluntaryContextSwitches() {
+        return _voluntaryContextSwitches;
+    }
+
+    public long getInvoluntaryContextSwitches() {
+        return _involuntaryContextSwitches;
+    }
+
+    public Optional<Scheduler> getScheduler() {
+        return _scheduler;
+    }
+
+    public Optional<Io> getIo() {
+        return _io;
+    }
+
+    public long getRssBytes() {
+        return _rssBytes;
+    }
+
+    public long getRssHighWaterMarkBytes() {
+        return _rssHighWaterMarkBytes;
+    }
+
+    public long getRssHighWaterMarkDeltaBytes() {
+        return _rssHighWaterMarkDeltaBytes;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    ProcStatistics(
+            final int threads,
+            final long voluntaryContextSwitches,
+            final long involuntaryContextSwitches,
+            final Optional<Scheduler> scheduler,
+            final Optional<Io> io,
+            final long rssBytes,
+            final long rssHighWaterMarkBytes,
+            final long rssHighWaterMarkDeltaBytes) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _threads = threads;
+        _voluntaryContextSwitches = voluntaryContextSwitches;
+        _involuntaryContextSwitches = involuntaryContextSwitches;
+        _scheduler = scheduler;
+        _io = io;
+        _rssBytes = rssBytes;
+        _rssHighWaterMarkBytes = rssHighWaterMarkBytes;
+        _rssHighWaterMarkDeltaBytes = rssHighWaterMarkDeltaBytes;
+    }
+
+    private final int _threads;
+    private final long _voluntaryContextSwitches;
+    private final long _involuntaryContextSwitches;
+    private final Optional<Scheduler> _scheduler;
+    private final Optional<Io> _io;
+    private final long _rssBytes;
+    private final long _rssHighWaterMarkBytes;
+    private final long _rssHighWaterMarkDeltaBytes;
+
+    /**
+     * Time the threads of the process spent running on a CPU and waiting on
+     * a run queue for a CPU, from {@code /proc/self/task/<tid>/schedstat}.
+     */
+    public static final class Scheduler {
+
+        public double getCpuTimeMillis() {
+            return _cpuTimeMillis;
+        }
+
+        public double getRunQueueWaitMillis() {
+            return _runQueueWaitMillis;
+        }
+
+        public long getTimeslices() {
+            return _timeslices;
+        }
+
+        Scheduler(final double cpuTimeMillis, final double runQueueWaitMillis, final long timeslices) {
+            _cpuTimeMillis = cpuTimeMillis;
+            _runQueueWaitMillis = runQueueWaitMillis;
+            _timeslices = timeslices;
+        }
+
+        private final double _cpuTimeMillis;
+        private final double _runQueueWaitMillis;
+        private final long _timeslices;
+    }
+
+    /**
+     * Bytes read and written by the process, from {@code /proc/self/io}.
+     * The characters include reads and writes served by the page cache and
+     * by other files such as sockets and pipes, while the bytes are those
+     * fetched from and sent to storage.
+     */
+    public static final class Io {
+
+        public long getReadChars() {
+            return _readChars;
+        }
+
+        public long getWrittenChars() {
+            return _writtenChars;
+        }
+
+        public long getReadBytes() {
+            return _readBytes;
+        }
+
+        public long getWrittenBytes() {
+            return _writtenBytes;
+        }
+
+        Io(final long readChars, final long writtenChars, final long readBytes, final long writtenBytes) {
+            _readChars = readChars;
+            _writtenChars = writtenChars;
+            _readBytes = readBytes;
+            _writtenBytes = writtenBytes;
+        }
+
+        private final long _readChars;
+        private final long _writtenChars;
+        private final long _readBytes;
+        private final long _writtenBytes;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the activity of this process from the Linux {@code /proc} file
+ * system at the test boundaries and produces a {@link ProcStatistics} for
+ * each test with the context switches, run queue wait time, I/O and
+ * resident set size of the process. Add it to the consumer with
+ * {@link JsonBenchmarkConsumer#addCollector(ResultCollector)}; the data is
+ * written as {@code procStatistics}. On other operating systems the
+ * collector logs a warning and adds nothing.
+ * <p>
+ * The files read are {@code status}, {@code io} and for each thread
+ * {@code task/<tid>/status} and {@code task/<tid>/schedstat}. Reading them
+ * takes a few microseconds per thread of the process.
+ *
+ * @author agent (agent at local)
+ */
+public final class ProcStatisticsCollector implements ResultCollector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcStatisticsCollector.class);
+
+    private final Path _procDirectory;
+    @Nullable
+    private Snapshot _start;
+
+    /**
+     * Public constructor.
+     */
+    public ProcStatisticsCollector() {
+        this(Paths.get("/proc/self"));
+    }
+
+    /**
+     * Package private constructor.
+     *
+     * @param procDirectory the {@code /proc} directory of the process
+     */
+    ProcStatisticsCollector(final Path procDirectory) {
+        _procDirectory = procDirectory;
+        if (!Files.isDirectory(procDirectory)) {
+            LOGGER.warn(String.format("Process statistics are not available; directory=%s", procDirectory));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "procStatistics";
+    }
+
+    @Override
+    public synchronized void begin() {
+        _start = snapshot().orElse(null);
+    }
+
+    @Override
+    public synchronized Optional<ProcStatistics> end(final Result result) {
+        final Snapshot start = _start;
+        _start = null;
+        if (start == null) {
+            return Optional.empty();
+        }
+        return snapshot().map(end -> compare(start, end));
+    }
+
+    static ProcStatistics compare(final Snapshot start, final Snapshot end) {
+        long voluntary = 0;
+        long involuntary = 0;
+        for (final Map.Entry<String, long[]> entry : end._contextSwitches.entrySet()) {
+            final long[] before = start._contextSwitches.getOrDefault(entry.getKey(), new long[2]);
+            voluntary += entry.getValue()[0] - before[0];
+            involuntary += entry.getValue()[1] - before[1];
+        }
+        Optional<ProcStatistics.Scheduler> scheduler = Optional.empty();
+        if (start._schedulers.isPresent() && end._schedulers.isPresent()) {
+            final long[] delta = new long[3];
+            for (final Map.Entry<String, long[]> entry : end._schedulers.get().entrySet()) {
+                final long[] before = start._schedulers.get().getOrDefault(entry.getKey(), new long[3]);
+                for (int i = 0; i < delta.length; ++i) {
+                    delta[i] += entry.getValue()[i] - before[i];
+                }
+            }
+            scheduler = Optional.of(new ProcStatistics.Scheduler(delta[0] / 1000000.0, delta[1] / 1000000.0, delta[2]));
+        }
+        Optional<ProcStatistics.Io> io = Optional.empty();
+        if (start._io.isPresent() && end._io.isPresent()) {
+            final Map<String, Long> before = start._io.get();
+            final Map<String, Long> after = end._io.get();
+            io = Optional.of(new ProcStatistics.Io(
+                    delta(before, after, "rchar"),
+                    delta(before, after, "wchar"),
+                    delta(before, after, "read_bytes"),
+                    delta(before, after, "write_bytes")));
+        }
+        return new ProcStatistics(
+                end._contextSwitches.size(),
+                voluntary,
+                involuntary,
+                scheduler,
+                io,
+                end._rssBytes,
+                end._rssHighWaterMarkBytes,
+                end._rssHighWaterMarkBytes - start._rssHighWaterMarkBytes);
+    }
+
+    /**
+     * Parse a {@code /proc} file of {@code name: value} lines. Values in
+     * kilobytes are converted to bytes.
+     *
+     * @param content the content of the file
+     * @return the numeric values by name
+     */
+    static Map<String, Long> parseFields(final String content) {
+        final Map<String, Long> fields = Maps.newHashMap();
+        for (final String line : content.split("\\R")) {
+            final int separator = line.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            final String[] value = line.substring(separator + 1).trim().split("\\s+");
+            try {
+                final long number = Long.parseLong(value[0]);
+                fields.put(line.substring(0, separator).trim(), value.length > 1 && "kB".equals(value[1]) ? number * 1024 : number);
+            } catch (final NumberFormatException e) {
+                // Not a numeric field
+            }
+        }
+        return fields;
+    }
+
+    private static long delta(final Map<String, Long> before, final Map<String, Long> after, final String name) {
+        return after.getOrDefault(name, 0L) - before.getOrDefault(name, 0L);
+    }
+
+    private Optional<Snapshot> snapshot() {
+        try {
+            final Map<String, Long> status = parseFields(read(_procDirectory.resolve("status")));
+            final Map<String, long[]> contextSwitches = Maps.newHashMap();
+            Map<String, long[]> schedulers = Maps.newHashMap();
+            try (DirectoryStream<Path> tasks = Files.newDirectoryStream(_procDirectory.resolve("task"))) {
+                for (final Path task : tasks) {
+                    final String tid = String.valueOf(task.getFileName());
+                    try {
+                        final Map<String, Long> taskStatus = parseFields(read(task.resolve("status")));
+                        contextSwitches.put(tid, new long[]{
+                                taskStatus.getOrDefault("voluntary_ctxt_switches", 0L),
+                                taskStatus.getOrDefault("nonvoluntary_ctxt_switches", 0L)});
+                        if (schedulers != null) {
+                            schedulers = readScheduler(task, tid, schedulers);
+                        }
+                    } catch (final NoSuchFileException e) {
+                        // The thread exited
+                    }
+                }
+            }
+            return Optional.of(new Snapshot(
+                    contextSwitches,
+                    Optional.ofNullable(schedulers),
+                    readIo(),
+                    status.getOrDefault("VmRSS", 0L),
+                    status.getOrDefault("VmHWM", 0L)));
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to read process statistics", e);
+            return Optional.empty();
+        }
+    }
+
+    @Nullable
+    private static Map<String, long[]> readScheduler(
+            final Path task,
+            final String tid,
+            final Map<String, long[]> schedulers) throws IOException {
+        final Path schedstat = task.resolve("schedstat");
+        if (!Files.exists(schedstat)) {
+            // Either the kernel does not report scheduler statistics or the thread exited
+            return Files.exists(task) ? null : schedulers;
+        }
+        final String[] values = read(schedstat).trim().split("\\s+");
+        if (values.length < 3) {
+            return null;
+        }
+        schedulers.put(tid, new long[]{Long.parseLong(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2])});
+        return schedulers;
+    }
+
+    private Optional<Map<String, Long>> readIo() {
+        try {
+            return Optional.of(parseFields(read(_procDirectory.resolve("io"))));
+        } catch (final IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String read(final Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The activity of the process at a test boundary.
+     */
+    static final class Snapshot {
+
+        Snapshot(
+                final Map<String, long[]> contextSwitches,
+                final Optional<Map<String, long[]>> schedulers,
+                final Optional<Map<String, Long>> io,
+                final long rssBytes,
+                final long rssHighWaterMarkBytes) {
+            _contextSwitches = contextSwitches;
+            _schedulers = schedulers;
+            _io = io;
+            _rssBytes = rssBytes;
+            _rssHighWaterMarkBytes = rssHighWaterMarkBytes;
+        }
+
+        private final Map<String, long[]> _contextSwitches;
+        private final Optional<Map<String, long[]>> _schedulers;
+        private final Optional<Map<String, Long>> _io;
+        private final long _rssBytes;
+        private final long _rssHighWaterMarkBytes;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Map;
+
+/**
+ * The custom metrics recorded by a test with a {@link MetricRecorder} by
+ * name. Gauges and timers are only present if they recorded a value during
+ * the test. Timer values are in nanoseconds.
+ *
+ * @author agent (agent at local)
+ */
+public final class RecordedMetrics {
+
+    public Map<String, Long> getCounters() {
+        return _counters;
+    }
+
+    public Map<String, Distribution> getGauges() {
+        return _gauges;
+    }
+
+    public Map<String, Distribution> getTimers() {
+        return _timers;
+    }
+
+    RecordedMetrics(
+            final Map<String, Long> counters,
+            final Map<String, Distribution> gauges,
+            final Map<String, Distribution> timers) {
+        _counters = ImmutableSortedMap.copyOf(counters);
+        _gauges = ImmutableSortedMap.copyOf(gauges);
+        _timers = ImmutableSortedMap.copyOf(timers);
+    }
+
+    private final ImmutableSortedMap<String, Long> _counters;
+    private final ImmutableSortedMap<String, Distribution> _gauges;
+    private final ImmutableSortedMap<String, Distribution> _timers;
+
+    /**
+     * Summary of the values recorded by a gauge or timer.
+     */
+    public static final class Distribution {
+
+        public long getCount() {
+            return _count;
+        }
+
+        public long getMin() {
+            return _min;
+        }
+
+        public long getMax() {
+            return _max;
+        }
+
+        public double getMean() {
+            return _count == 0 ? 0 : (double) _sum / _count;
+        }
+
+        public long getSum() {
+            return _sum;
+        }
+
+        public long getLast() {
+            return _last;
+        }
+
+        Distribution(final long count, final long min, final long max, final long sum, final long last) {
+            _count = count;
+            _min = min;
+            _max = max;
+            _sum = sum;
+            _last = last;
+        }
+
+        private final long _count;
+        private final long _min;
+        private final long _max;
+        private final long _sum;
+        private final long _last;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+
+import java.util.Optional;
+
+/**
+ * Collects additional data for each test accepted by a
+ * {@link JsonBenchmarkConsumer}. Collection for a test begins at the test
+ * boundary preceding it; that is either {@link JsonBenchmarkConsumer#prepareClass()}
+ * or the acceptance of the previous test's result. Collection ends when the
+ * test's result is accepted and the collected data is written next to the
+ * result in the JSON output under the collector's name.
+ *
+ * @author agent (agent at local)
+ */
+public interface ResultCollector {
+
+    /**
+     * The name of the collected data in the JSON output.
+     *
+     * @return the name of the collected data
+     */
+    String getName();
+
+    /**
+     * Begin collecting data for the next test.
+     */
+    void begin();
+
+    /**
+     * End collecting data for the test that produced the result.
+     *
+     * @param result the {@code Result} of the test
+     * @return {@code Optional} data collected during the test
+     */
+    Optional<?> end(Result result);
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Reads the results files written by the {@link JsonBenchmarkConsumer}.
+ * A results file written in append mode is a sequence of arrays with the
+ * results of each run in the order they were written and one written in
+ * streaming mode has one result per line.
+ *
+ * @author agent (agent at local)
+ */
+final class ResultsFiles {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createInstance();
+
+    private ResultsFiles() {}
+
+    /**
+     * Stream the results in a results file in the order they were written.
+     *
+     * @param path the results file
+     * @param consumer the consumer of each result
+     * @throws IOException if the file cannot be read
+     */
+    static void forEach(final Path path, final Consumer<JsonNode> consumer) throws IOException {
+        // The parser is not managed by the iterator so a leading array is not unwrapped
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(path.toFile());
+             MappingIterator<JsonNode> values = OBJECT_MAPPER.readerFor(JsonNode.class).readValues(parser)) {
+            while (values.hasNext()) {
+                final JsonNode value = values.next();
+                if (value.isArray()) {
+                    value.forEach(consumer);
+                } else {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * The name of the test of a result; the test class name and the test
+     * method name separated by a period.
+     *
+     * @param augmentedResult the result
+     * @return the name of the test
+     */
+    static String getTestName(final JsonNode augmentedResult) {
+        final JsonNode result = augmentedResult.path("result");
+        return result.path("testClassName").asText() + "." + result.path("testMethodName").asText();
+    }
+}
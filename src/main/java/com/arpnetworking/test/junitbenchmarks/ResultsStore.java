@@ -0,0 +1,593 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An append-only store of the results of many runs. Each run is appended
+ * to the data file as one segment in which the results are stored by
+ * column, such as the test names, the round averages and the round times,
+ * with each column compressed separately so that a query reads and
+ * decompresses only the columns it needs. The round times recorded by the
+ * {@link RoundStatisticsRule} are delta encoded. The runs and the tests
+ * of each run are recorded in a separate append-only index which is the
+ * only part of the store held in memory.
+ * <p>
+ * Queries return a lazy {@code Stream} which reads one segment at a time,
+ * so that for example the last hundred runs of a test are read without
+ * loading the history:
+ * <pre>
+ * final ResultsStore store = new ResultsStore(Paths.get("perf-history"));
+ * store.append(buildId, Paths.get("target/perf/sample-performance-test.json"));
+ * try (Stream&lt;StoredResult&gt; results = store.query("a.B.test", 100, false)) {
+ *     results.forEach(...);
+ * }
+ * </pre>
+ * The store may also be used from the command line:
+ * <pre>
+ * java com.arpnetworking.test.junitbenchmarks.ResultsStore &lt;directory&gt; append &lt;run id&gt; &lt;results file&gt;
+ * java com.arpnetworking.test.junitbenchmarks.ResultsStore &lt;directory&gt; runs
+ * java com.arpnetworking.test.junitbenchmarks.ResultsStore &lt;directory&gt; query &lt;test name&gt; [last runs] [--round-times]
+ * </pre>
+ * where a query writes one result per line as JSON. A segment is written
+ * and flushed to disk before its index record, and an incomplete index
+ * record left by an interrupted append is discarded when the store is
+ * opened. A store must only be appended to by one process at a time.
+ *
+ * @author agent (agent at local)
+ */
+public final class ResultsStore {
+
+    private static final String DATA_FILE = "results.dat";
+    private static final String INDEX_FILE = "results.idx";
+    private static final int MAGIC = 0x50525331;
+    private static final int VERSION = 1;
+    private static final int EXIT_INVALID = 2;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String TEST_NAME = "testName";
+    private static final String BENCHMARK_ROUNDS = "benchmarkRounds";
+    private static final String WARMUP_ROUNDS = "warmupRounds";
+    private static final String BENCHMARK_TIME = "benchmarkTime";
+    private static final String ROUND_AVERAGE = "roundAverage";
+    private static final String ROUND_STANDARD_DEVIATION = "roundStandardDeviation";
+    private static final String GC_TIME = "gcTime";
+    private static final String ROUND_TIMES = "roundTimes";
+    private static final ImmutableMap<String, ColumnType> COLUMNS = ImmutableMap.<String, ColumnType>builder()
+            .put(TEST_NAME, ColumnType.STRING)
+            .put(BENCHMARK_ROUNDS, ColumnType.VARINT)
+            .put(WARMUP_ROUNDS, ColumnType.VARINT)
+            .put(BENCHMARK_TIME, ColumnType.VARINT)
+            .put(ROUND_AVERAGE, ColumnType.DOUBLE)
+            .put(ROUND_STANDARD_DEVIATION, ColumnType.DOUBLE)
+            .put(GC_TIME, ColumnType.VARINT)
+            .put(ROUND_TIMES, ColumnType.DELTA_ARRAY)
+            .build();
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createInstance();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultsStore.class);
+
+    private final Path _dataFile;
+    private final Path _indexFile;
+    private final List<Run> _runs = Lists.newArrayList();
+    private final Map<String, List<Run>> _runsByTest = Maps.newHashMap();
+
+    /**
+     * Entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        final int status = run(args, System.out);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Public constructor. Opens the store in a directory, which is created
+     * if it does not exist.
+     *
+     * @param directory the directory of the store
+     * @throws IOException if the store cannot be opened
+     */
+    public ResultsStore(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        _dataFile = directory.resolve(DATA_FILE);
+        _indexFile = directory.resolve(INDEX_FILE);
+        load();
+    }
+
+    /**
+     * Append the results of a run written by the {@link JsonBenchmarkConsumer}.
+     * If the file contains more than one result of a test, such as when
+     * written in append mode, the last result of the test is stored.
+     *
+     * @param runId the unique identifier of the run
+     * @param results the results file of the run
+     * @throws IOException if the results cannot be read or appended
+     */
+    public void append(final String runId, final Path results) throws IOException {
+        final Map<String, JsonNode> latest = Maps.newLinkedHashMap();
+        ResultsFiles.forEach(results, result -> {
+            final String name = ResultsFiles.getTestName(result);
+            latest.remove(name);
+            latest.put(name, result);
+        });
+        append(runId, System.currentTimeMillis(), latest.values());
+    }
+
+    /**
+     * The identifiers of the runs in the order they were appended.
+     *
+     * @return the run identifiers
+     */
+    public synchronized List<String> getRunIds() {
+        final List<String> runIds = Lists.newArrayListWithCapacity(_runs.size());
+        for (final Run run : _runs) {
+            runIds.add(run._runId);
+        }
+        return runIds;
+    }
+
+    /**
+     * The names of the tests with results in the store.
+     *
+     * @return the test names
+     */
+    public synchronized Set<String> getTestNames() {
+        return ImmutableSortedSet.copyOf(_runsByTest.keySet());
+    }
+
+    /**
+     * Query the results of a test in the most recent runs. The results are
+     * read lazily as the {@code Stream} is consumed, most recent first.
+     *
+     * @param testName the name of the test
+     * @param lastRuns the maximum number of the most recent runs with the test to return
+     * @param withRoundTimes whether to read the round times
+     * @return the {@code Stream} of {@code StoredResult}
+     */
+    public Stream<StoredResult> query(final String testName, final int lastRuns, final boolean withRoundTimes) {
+        if (lastRuns < 0) {
+            throw new IllegalArgumentException(String.format("Last runs must not be negative; lastRuns=%d", lastRuns));
+        }
+        final List<Run> runs;
+        synchronized (this) {
+            runs = ImmutableList.copyOf(_runsByTest.getOrDefault(testName, ImmutableList.of()));
+        }
+        return Lists.reverse(runs).stream().limit(lastRuns).map(run -> {
+            try {
+                return read(run, testName, withRoundTimes);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Append the results of a run.
+     *
+     * @param runId the unique identifier of the run
+     * @param timestamp the time of the run in milliseconds since the epoch
+     * @param results the results of the run with one result per test
+     * @throws IOException if the results cannot be appended
+     */
+    synchronized void append(final String runId, final long timestamp, final Collection<JsonNode> results) throws IOException {
+        for (final Run run : _runs) {
+            if (run._runId.equals(runId)) {
+                throw new IllegalArgumentException(String.format("Run already stored; runId=%s", runId));
+            }
+        }
+        final byte[] segment = encodeSegment(results);
+        final long offset;
+        try (FileChannel data = FileChannel.open(_dataFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            // Any segment left without an index record by an interrupted append is skipped
+            offset = data.size();
+            writeFully(data, segment);
+            data.force(false);
+        }
+        final List<String> tests = Lists.newArrayListWithCapacity(results.size());
+        for (final JsonNode result : results) {
+            tests.add(ResultsFiles.getTestName(result));
+        }
+        final Run run = new Run(runId, timestamp, offset, segment.length, tests);
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(record)) {
+            run.write(out);
+        }
+        try (FileChannel index = FileChannel.open(_indexFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writeFully(index, record.toByteArray());
+            index.force(false);
+        }
+        add(run);
+    }
+
+    /**
+     * Run the store with command line arguments.
+     *
+     * @param args command line arguments
+     * @param out the stream to write the output to
+     * @return the exit status
+     */
+    static int run(final String[] args, final PrintStream out) {
+        try {
+            if (args.length == 4 && "append".equals(args[1])) {
+                new ResultsStore(Paths.get(args[0])).append(args[2], Paths.get(args[3]));
+            } else if (args.length == 2 && "runs".equals(args[1])) {
+                new ResultsStore(Paths.get(args[0])).getRunIds().forEach(out::println);
+            } else if (args.length >= 3 && args.length <= 5 && "query".equals(args[1])) {
+                final boolean withRoundTimes = "--round-times".equals(args[args.length - 1]);
+                final int arguments = withRoundTimes ? args.length - 1 : args.length;
+                final int lastRuns = arguments > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+                try (Stream<StoredResult> results = new ResultsStore(Paths.get(args[0])).query(args[2], lastRuns, withRoundTimes)) {
+                    for (final StoredResult result : (Iterable<StoredResult>) results::iterator) {
+                        out.println(OBJECT_MAPPER.writeValueAsString(result));
+                    }
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown command");
+            }
+            return 0;
+        } catch (final IllegalArgumentException | IOException | UncheckedIOException e) {
+            System.err.println("Invalid program arguments: " + e.getMessage());
+            System.err.println("- First argument must be the store directory");
+            System.err.println("- Second argument must be the command: append, runs or query");
+            System.err.println("- The append command requires the run id and the results path");
+            System.err.println("- The query command requires the test name, and optionally the number of runs and --round-times");
+            return EXIT_INVALID;
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(_indexFile)) {
+            return;
+        }
+        final long dataSize = Files.exists(_dataFile) ? Files.size(_dataFile) : 0;
+        long validLength = 0;
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(_indexFile)));
+             DataInputStream in = new DataInputStream(counting)) {
+            while (true) {
+                final Run run;
+                try {
+                    run = Run.read(in);
+                } catch (final EOFException e) {
+                    break;
+                }
+                validLength = counting.getCount();
+                if (run._offset + run._length > dataSize) {
+                    throw new IOException(String.format("Segment of run is missing from the data file; runId=%s", run._runId));
+                }
+                add(run);
+            }
+        }
+        if (validLength < Files.size(_indexFile)) {
+            LOGGER.warn(String.format("Discarding incomplete index record; file=%s, length=%d", _indexFile, validLength));
+            try (FileChannel index = FileChannel.open(_indexFile, StandardOpenOption.WRITE)) {
+                index.truncate(validLength);
+            }
+        }
+    }
+
+    private void add(final Run run) {
+        _runs.add(run);
+        for (final String test : run._rows.keySet()) {
+            _runsByTest.computeIfAbsent(test, key -> Lists.newArrayList()).add(run);
+        }
+    }
+
+    private StoredResult read(final Run run, final String testName, final boolean withRoundTimes) throws IOException {
+        final int row = run._rows.get(testName);
+        final Map<String, DataInputStream> columns = Maps.newHashMap();
+        try (FileChannel data = FileChannel.open(_dataFile, StandardOpenOption.READ)) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    ByteStreams.limit(Channels.newInputStream(data.position(run._offset)), run._length)));
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(String.format("Unsupported segment; runId=%s, offset=%d", run._runId, run._offset));
+            }
+            in.readInt();
+            final int columnCount = in.readInt();
+            final List<String> names = Lists.newArrayListWithCapacity(columnCount);
+            final int[][] lengths = new int[columnCount][];
+            for (int i = 0; i < columnCount; ++i) {
+                names.add(in.readUTF());
+                lengths[i] = new int[] {in.readInt(), in.readInt()};
+            }
+            for (int i = 0; i < columnCount; ++i) {
+                final ColumnType type = COLUMNS.get(names.get(i));
+                if (type == null || ROUND_TIMES.equals(names.get(i)) && !withRoundTimes) {
+                    ByteStreams.skipFully(in, lengths[i][1]);
+                } else {
+                    final byte[] compressed = new byte[lengths[i][1]];
+                    in.readFully(compressed);
+                    final DataInputStream column = new DataInputStream(new ByteArrayInputStream(inflate(compressed, lengths[i][0])));
+                    for (int j = 0; j < row; ++j) {
+                        type.skip(column);
+                    }
+                    columns.put(names.get(i), column);
+                }
+            }
+        }
+        return new StoredResult(
+                run._runId,
+                run._timestamp,
+                columns.get(TEST_NAME).readUTF(),
+                (int) readVarLong(columns.get(BENCHMARK_ROUNDS)),
+                (int) readVarLong(columns.get(WARMUP_ROUNDS)),
+                readVarLong(columns.get(BENCHMARK_TIME)),
+                columns.get(ROUND_AVERAGE).readDouble(),
+                columns.get(ROUND_STANDARD_DEVIATION).readDouble(),
+                readVarLong(columns.get(GC_TIME)),
+                withRoundTimes ? readDeltas(columns.get(ROUND_TIMES)) : ImmutableList.of());
+    }
+
+    /**
+     * Encode the results of a run as a segment.
+     *
+     * @param results the results with one result per test
+     * @return the segment
+     * @throws IOException if the segment cannot be encoded
+     */
+    static byte[] encodeSegment(final Collection<JsonNode> results) throws IOException {
+        final Map<String, ByteArrayOutputStream> buffers = Maps.newLinkedHashMap();
+        final Map<String, DataOutputStream> columns = Maps.newHashMap();
+        for (final String name : COLUMNS.keySet()) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            buffers.put(name, buffer);
+            columns.put(name, new DataOutputStream(buffer));
+        }
+        for (final JsonNode augmentedResult : results) {
+            final JsonNode result = augmentedResult.path("result");
+            columns.get(TEST_NAME).writeUTF(ResultsFiles.getTestName(augmentedResult));
+            writeVarLong(columns.get(BENCHMARK_ROUNDS), result.path("benchmarkRounds").asLong());
+            writeVarLong(columns.get(WARMUP_ROUNDS), result.path("warmupRounds").asLong());
+            writeVarLong(columns.get(BENCHMARK_TIME), result.path("benchmarkTime").asLong());
+            columns.get(ROUND_AVERAGE).writeDouble(result.path("roundAverage").path("avg").asDouble());
+            columns.get(ROUND_STANDARD_DEVIATION).writeDouble(result.path("roundAverage").path("stddev").asDouble());
+            writeVarLong(columns.get(GC_TIME), result.path("gcInfo").path("accumulatedTime").asLong());
+            writeDeltas(columns.get(ROUND_TIMES), augmentedResult.path("roundStatistics").path("roundTimes"));
+        }
+        final ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(segment)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(results.size());
+            out.writeInt(buffers.size());
+            final List<byte[]> compressed = Lists.newArrayListWithCapacity(buffers.size());
+            for (final Map.Entry<String, ByteArrayOutputStream> entry : buffers.entrySet()) {
+                final byte[] raw = entry.getValue().toByteArray();
+                compressed.add(deflate(raw));
+                out.writeUTF(entry.getKey());
+                out.writeInt(raw.length);
+                out.writeInt(compressed.get(compressed.size() - 1).length);
+            }
+            for (final byte[] column : compressed) {
+                out.write(column);
+            }
+        }
+        return segment.toByteArray();
+    }
+
+    private static void writeDeltas(final DataOutput out, final JsonNode values) throws IOException {
+        writeVarLong(out, values.size());
+        long previous = 0;
+        for (final JsonNode value : values) {
+            final long delta = value.asLong() - previous;
+            // Zig-zag encode the delta so that small negative deltas are short
+            writeVarLong(out, (delta << 1) ^ (delta >> 63));
+            previous = value.asLong();
+        }
+    }
+
+    private static List<Long> readDeltas(final DataInput in) throws IOException {
+        final int count = (int) readVarLong(in);
+        final List<Long> values = Lists.newArrayListWithCapacity(count);
+        long previous = 0;
+        for (int i = 0; i < count; ++i) {
+            final long encoded = readVarLong(in);
+            previous += (encoded >>> 1) ^ -(encoded & 1);
+            values.add(previous);
+        }
+        return values;
+    }
+
+    private static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    private static byte[] deflate(final byte[] raw) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] compressed, final int length) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final byte[] raw = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                final int inflated = inflater.inflate(raw, offset, length - offset);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated column");
+                }
+                offset += inflated;
+            }
+            return raw;
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupt column", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final byte[] bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * The encoding of the values of a column.
+     */
+    private enum ColumnType {
+        STRING {
+            @Override
+            void skip(final DataInput in) throws IOException {
+                in.readUTF();
+            }
+        },
+        VARINT {
+            @Override
+            void skip(final DataInput in) throws IOException {
+                readVarLong(in);
+            }
+        },
+        DOUBLE {
+            @Override
+            void skip(final DataInput in) throws IOException {
+                in.readDouble();
+            }
+        },
+        DELTA_ARRAY {
+            @Override
+            void skip(final DataInput in) throws IOException {
+                final long count = readVarLong(in);
+                for (long i = 0; i < count; ++i) {
+                    readVarLong(in);
+                }
+            }
+        };
+
+        abstract void skip(DataInput in) throws IOException;
+    }
+
+    /**
+     * The index record of a run.
+     */
+    private static final class Run {
+
+        Run(final String runId, final long timestamp, final long offset, final int length, final List<String> tests) {
+            _runId = runId;
+            _timestamp = timestamp;
+            _offset = offset;
+            _length = length;
+            final ImmutableMap.Builder<String, Integer> rows = ImmutableMap.builder();
+            for (int i = 0; i < tests.size(); ++i) {
+                rows.put(tests.get(i), i);
+            }
+            _rows = rows.build();
+        }
+
+        static Run read(final DataInput in) throws IOException {
+            final String runId = in.readUTF();
+            final long timestamp = in.readLong();
+            final long offset = in.readLong();
+            final int length = in.readInt();
+            final int count = in.readInt();
+            final List<String> tests = Lists.newArrayList();
+            for (int i = 0; i < count; ++i) {
+                tests.add(in.readUTF());
+            }
+            return new Run(runId, timestamp, offset, length, tests);
+        }
+
+        void write(final DataOutput out) throws IOException {
+            out.writeUTF(_runId);
+            out.writeLong(_timestamp);
+            out.writeLong(_offset);
+            out.writeInt(_length);
+            out.writeInt(_rows.size());
+            for (final String test : _rows.keySet()) {
+                out.writeUTF(test);
+            }
+        }
+
+        private final String _runId;
+        private final long _timestamp;
+        private final long _offset;
+        private final int _length;
+        private final ImmutableMap<String, Integer> _rows;
+    }
+}
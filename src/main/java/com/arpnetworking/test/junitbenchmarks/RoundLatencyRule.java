@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Rule which records the duration of every benchmark round of each test into
+ * a {@link LatencyHistogram}. The histogram is written with each result by
+ * the {@link JsonBenchmarkConsumer} as {@code roundLatency} with durations
+ * in nanoseconds. Warmup rounds are not recorded.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final RoundLatencyRule ROUND_LATENCY = new RoundLatencyRule(CONSUMER);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(ROUND_LATENCY);
+ * </pre>
+ *
+ * @author agent (agent at local)
+ */
+public final class RoundLatencyRule extends AbstractRoundRule<RoundLatencyRule.Recording> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoundLatencyRule.class);
+
+    /**
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the histograms with
+     */
+    public RoundLatencyRule(final JsonBenchmarkConsumer consumer) {
+        super(consumer, "roundLatency");
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        final long start = System.nanoTime();
+        base.evaluate();
+        final long duration = System.nanoTime() - start;
+        if (!recording.isWarmup(round)) {
+            recording._histogram.record(duration);
+        }
+    }
+
+    @Override
+    Optional<LatencyHistogram> end(final Recording recording, final Result result) {
+        if (recording._histogram.getCount() == 0) {
+            return Optional.empty();
+        }
+        if (recording._histogram.getCount() != result.benchmarkRounds) {
+            LOGGER.warn(String.format(
+                    "Recorded %d round latencies for %s.%s with %d benchmark rounds",
+                    recording._histogram.getCount(),
+                    result.getTestClassName(),
+                    result.getTestMethodName(),
+                    result.benchmarkRounds));
+        }
+        return Optional.of(recording._histogram.copy());
+    }
+
+    /**
+     * Records the rounds of one test.
+     */
+    static final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds) {
+            super(description, warmupRounds);
+        }
+
+        LatencyHistogram getHistogram() {
+            return _histogram;
+        }
+
+        private final LatencyHistogram _histogram = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Statistics of the raw round times of a test. The mean and median are
+ * reported with bootstrap 95% confidence intervals and the rounds are
+ * classified as outliers with Tukey fences. All times are in nanoseconds.
+ *
+ * @author agent (agent at local)
+ */
+public final class RoundStatistics {
+
+    public long getRounds() {
+        return _rounds;
+    }
+
+    public Estimate getMean() {
+        return _mean;
+    }
+
+    public Estimate getMedian() {
+        return _median;
+    }
+
+    public Outliers getOutliers() {
+        return _outliers;
+    }
+
+    /**
+     * The number of rounds during which a stop-the-world garbage collection
+     * completed. With concurrent benchmarks a collection counts against
+     * every round running at the time.
+     *
+     * @return the number of rounds overlapping a garbage collection pause
+     */
+    public long getGcOverlappingRounds() {
+        return _gcOverlappingRounds;
+    }
+
+    /**
+     * The time of each benchmark round in round order, if requested from
+     * the {@link RoundStatisticsRule}. With concurrent benchmarks the rounds
+     * are in the order they completed.
+     *
+     * @return {@code Optional} round times
+     */
+    public Optional<List<Long>> getRoundTimes() {
+        return _roundTimes;
+    }
+
+    RoundStatistics(
+            final long rounds,
+            final Estimate mean,
+            final Estimate median,
+            final Outliers outliers,
+            final long gcOverlappingRounds,
+            final Optional<List<Long>> roundTimes) {
+        _rounds = rounds;
+        _mean = mean;
+        _median = median;
+        _outliers = outliers;
+        _gcOverlappingRounds = gcOverlappingRounds;
+        _roundTimes = roundTimes.map(ImmutableList::copyOf);
+    }
+
+    private final long _rounds;
+    private final Estimate _mean;
+    private final Estimate _median;
+    private final Outliers _outliers;
+    private final long _gcOverlappingRounds;
+    private final Optional<List<Long>> _roundTimes;
+
+    /**
+     * A statistic with the bounds of its confidence interval.
+     */
+    public static final class Estimate {
+
+        public double getEstimate() {
+            return _estimate;
+        }
+
+        public double getLowerBound() {
+            return _lowerBound;
+        }
+
+        public double getUpperBound() {
+            return _upperBound;
+        }
+
+        Estimate(final double estimate, final double lowerBound, final double upperBound) {
+            _estimate = estimate;
+            _lowerBound = lowerBound;
+            _upperBound = upperBound;
+        }
+
+        private final double _estimate;
+        private final double _lowerBound;
+        private final double _upperBound;
+    }
+
+    /**
+     * The classification of rounds by Tukey fences. Mild outliers are more
+     * than 1.5 and severe outliers more than 3 interquartile ranges outside
+     * the quartiles. The outlier rounds are the zero based indices of the
+     * benchmark rounds classified as outliers, up to a limit.
+     */
+    public static final class Outliers {
+
+        public double getLowerFence() {
+            return _lowerFence;
+        }
+
+        public double getUpperFence() {
+            return _upperFence;
+        }
+
+        public long getLowSevere() {
+            return _lowSevere;
+        }
+
+        public long getLowMild() {
+            return _lowMild;
+        }
+
+        public long getHighMild() {
+            return _highMild;
+        }
+
+        public long getHighSevere() {
+            return _highSevere;
+        }
+
+        public List<Integer> getOutlierRounds() {
+            return _outlierRounds;
+        }
+
+        // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+        Outliers(
+                final double lowerFence,
+                final double upperFence,
+                final long lowSevere,
+                final long lowMild,
+                final long highMild,
+                final long highSevere,
+                final List<Integer> outlierRounds) {
+            // CHECKSTYLE.ON: ParameterNumber
+            _lowerFence = lowerFence;
+            _upperFence = upperFence;
+            _lowSevere = lowSevere;
+            _lowMild = lowMild;
+            _highMild = highMild;
+            _highSevere = highSevere;
+            _outlierRounds = ImmutableList.copyOf(outlierRounds);
+        }
+
+        private final double _lowerFence;
+        private final double _upperFence;
+        private final long _lowSevere;
+        private final long _lowMild;
+        private final long _highMild;
+        private final long _highSevere;
+        private final ImmutableList<Integer> _outlierRounds;
+    }
+}
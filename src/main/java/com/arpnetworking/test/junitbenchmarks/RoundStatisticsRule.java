@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Longs;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Rule which keeps the duration of every benchmark round of each test and
+ * derives {@link RoundStatistics} from them: bootstrap confidence intervals
+ * of the mean and median, the classification of rounds as outliers by Tukey
+ * fences and the number of rounds which overlapped a garbage collection
+ * pause. The statistics are written with each result by the
+ * {@link JsonBenchmarkConsumer} as {@code roundStatistics}. Optionally, the
+ * time of every round is written as well for the {@link BaselineComparator}
+ * and the {@link ResultsStore}; since the rule targets tests with millions
+ * of short rounds this is not the default. Warmup rounds are not recorded.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final RoundStatisticsRule ROUND_STATISTICS = new RoundStatisticsRule(CONSUMER);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(ROUND_STATISTICS);
+ * </pre>
+ * A round overlapped a pause if a collector other than a concurrent one
+ * completed a collection while it ran. The bootstrap resamples are drawn
+ * from a fixed seed so the intervals of identical round times are
+ * reproducible. Tests with more than {@code 4096} rounds are bootstrapped
+ * with resamples of {@code 4096} rounds whose intervals are scaled to the
+ * number of rounds, which bounds the cost of the intervals at the end of
+ * each test.
+ *
+ * @author agent (agent at local)
+ */
+public final class RoundStatisticsRule extends AbstractRoundRule<RoundStatisticsRule.Recording> {
+
+    private static final int DEFAULT_RESAMPLES = 1000;
+    private static final int MAX_OUTLIER_ROUNDS = 100;
+    private static final long SEED = 0x5DEECE66DL;
+    private static final double ALPHA = 0.05;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_BOOTSTRAP_SAMPLE = 4096;
+
+    private final int _resamples;
+    private final boolean _roundTimes;
+    private final List<GarbageCollectorMXBean> _pauseCollectors = Lists.newArrayList();
+
+    /**
+     * Bootstraps the confidence intervals with
+     * {@code 1000} resamples and does not write the round times.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the statistics with
+     */
+    public RoundStatisticsRule(final JsonBenchmarkConsumer consumer) {
+        this(consumer, DEFAULT_RESAMPLES, false);
+    }
+
+    /**
+     * Bootstraps the confidence intervals with a number of resamples and
+     * optionally writes the round times.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the statistics with
+     * @param resamples the number of bootstrap resamples
+     * @param roundTimes whether to write the time of every round
+     */
+    public RoundStatisticsRule(final JsonBenchmarkConsumer consumer, final int resamples, final boolean roundTimes) {
+        super(consumer, "roundStatistics");
+        if (resamples < 1) {
+            throw new IllegalArgumentException(String.format("Resamples must be positive; resamples=%d", resamples));
+        }
+        _resamples = resamples;
+        _roundTimes = roundTimes;
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!GarbageCollectionCollector.isConcurrent(bean.getName())) {
+                _pauseCollectors.add(bean);
+            }
+        }
+    }
+
+    /**
+     * Compute the statistics of the first {@code count} round times.
+     *
+     * @param times the round times
+     * @param count the number of round times
+     * @param gcOverlappingRounds the number of rounds overlapping a garbage collection pause
+     * @param resamples the number of bootstrap resamples
+     * @param roundTimes whether to include the round times
+     * @return the {@code RoundStatistics}
+     */
+    static RoundStatistics statistics(
+            final long[] times,
+            final int count,
+            final long gcOverlappingRounds,
+            final int resamples,
+            final boolean roundTimes) {
+        final long[] values = Arrays.copyOf(times, count);
+        final SplittableRandom random = new SplittableRandom(SEED);
+        return new RoundStatistics(
+                count,
+                bootstrap(values, RoundStatisticsRule::mean, resamples, MAX_BOOTSTRAP_SAMPLE, random),
+                bootstrap(values, RoundStatisticsRule::median, resamples, MAX_BOOTSTRAP_SAMPLE, random),
+                outliers(values),
+                gcOverlappingRounds,
+                roundTimes ? Optional.of(Longs.asList(values)) : Optional.empty());
+    }
+
+    /**
+     * The percentile bootstrap 95% confidence interval of a statistic. With
+     * more values than the maximum sample size each resample draws only that
+     * many values and the distances of the bounds from the estimate are
+     * scaled by the square root of the sample size over the number of
+     * values, as the interval of the mean or median narrows with the square
+     * root of the number of values.
+     *
+     * @param values the values
+     * @param statistic the statistic; it may reorder the values it is given
+     * @param resamples the number of resamples
+     * @param maxSampleSize the maximum number of values drawn by each resample
+     * @param random the source of randomness
+     * @return the {@code Estimate}
+     */
+    static RoundStatistics.Estimate bootstrap(
+            final long[] values,
+            final ToDoubleFunction<long[]> statistic,
+            final int resamples,
+            final int maxSampleSize,
+            final SplittableRandom random) {
+        final double estimate = statistic.applyAsDouble(values.clone());
+        final long[] resample = new long[Math.min(values.length, maxSampleSize)];
+        final double[] statistics = new double[resamples];
+        for (int i = 0; i < resamples; ++i) {
+            for (int j = 0; j < resample.length; ++j) {
+                resample[j] = values[random.nextInt(values.length)];
+            }
+            statistics[i] = statistic.applyAsDouble(resample);
+        }
+        Arrays.sort(statistics);
+        final double lowerBound = quantile(statistics, ALPHA / 2);
+        final double upperBound = quantile(statistics, 1 - ALPHA / 2);
+        if (resample.length == values.length) {
+            return new RoundStatistics.Estimate(estimate, lowerBound, upperBound);
+        }
+        final double scale = Math.sqrt((double) resample.length / values.length);
+        return new RoundStatistics.Estimate(
+                estimate,
+                estimate - (estimate - lowerBound) * scale,
+                estimate + (upperBound - estimate) * scale);
+    }
+
+    /**
+     * Classify the values as outliers by Tukey fences.
+     *
+     * @param values the values in round order
+     * @return the {@code Outliers}
+     */
+    static RoundStatistics.Outliers outliers(final long[] values) {
+        final double[] sorted = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            sorted[i] = values[i];
+        }
+        Arrays.sort(sorted);
+        final double lowerQuartile = quantile(sorted, 0.25);
+        final double upperQuartile = quantile(sorted, 0.75);
+        final double range = upperQuartile - lowerQuartile;
+        final double lowerFence = lowerQuartile - 1.5 * range;
+        final double upperFence = upperQuartile + 1.5 * range;
+        final double lowerSevereFence = lowerQuartile - 3 * range;
+        final double upperSevereFence = upperQuartile + 3 * range;
+        final long[] counts = new long[4];
+        final List<Integer> rounds = Lists.newArrayList();
+        for (int i = 0; i < values.length; ++i) {
+            final long value = values[i];
+            final int classification;
+            if (value < lowerSevereFence) {
+                classification = 0;
+            } else if (value < lowerFence) {
+                classification = 1;
+            } else if (value > upperSevereFence) {
+                classification = 3;
+            } else if (value > upperFence) {
+                classification = 2;
+            } else {
+                continue;
+            }
+            ++counts[classification];
+            if (rounds.size() < MAX_OUTLIER_ROUNDS) {
+                rounds.add(i);
+            }
+        }
+        return new RoundStatistics.Outliers(
+                lowerFence,
+                upperFence,
+                counts[0],
+                counts[1],
+                counts[2],
+                counts[3],
+                rounds);
+    }
+
+    /**
+     * The quantile of sorted values with linear interpolation between the
+     * closest ranks.
+     *
+     * @param sorted the sorted values
+     * @param quantile the quantile from {@code 0} to {@code 1}
+     * @return the quantile or {@code NaN} if there are no values
+     */
+    static double quantile(final double[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        final double position = quantile * (sorted.length - 1);
+        final int lower = (int) Math.floor(position);
+        final int upper = Math.min(sorted.length - 1, lower + 1);
+        return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    private static double mean(final long[] values) {
+        double sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double median(final long[] values) {
+        Arrays.sort(values);
+        final int middle = values.length / 2;
+        if (values.length % 2 == 0) {
+            return (values[middle - 1] + (double) values[middle]) / 2;
+        }
+        return values[middle];
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        final long pauses = pauseCount();
+        final long start = System.nanoTime();
+        base.evaluate();
+        final long duration = System.nanoTime() - start;
+        if (!recording.isWarmup(round)) {
+            recording.add(duration, pauseCount() != pauses);
+        }
+    }
+
+    @Override
+    Optional<RoundStatistics> end(final Recording recording, final Result result) {
+        return recording.statistics(_resamples, _roundTimes);
+    }
+
+    private long pauseCount() {
+        long count = 0;
+        for (final GarbageCollectorMXBean bean : _pauseCollectors) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Records the rounds of one test.
+     */
+    static final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds) {
+            super(description, warmupRounds);
+        }
+
+        synchronized void add(final long duration, final boolean gcOverlapping) {
+            if (_count == _times.length) {
+                _times = Arrays.copyOf(_times, 2 * _count);
+            }
+            _times[_count++] = duration;
+            if (gcOverlapping) {
+                ++_gcOverlappingRounds;
+            }
+        }
+
+        synchronized Optional<RoundStatistics> statistics(final int resamples, final boolean roundTimes) {
+            if (_count == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(RoundStatisticsRule.statistics(_times, _count, _gcOverlappingRounds, resamples, roundTimes));
+        }
+
+        private long[] _times = new long[INITIAL_CAPACITY];
+        private int _count;
+        private long _gcOverlappingRounds;
+    }
+}
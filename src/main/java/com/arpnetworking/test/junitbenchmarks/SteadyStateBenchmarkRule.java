@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.Clock;
+import com.carrotsearch.junitbenchmarks.IResultsConsumer;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which replaces the {@code BenchmarkRule} and ends the warmup of each
+ * test once the round times have converged instead of after a fixed number
+ * of rounds. Warmup ends when the coefficient of variation of the last
+ * window of round times falls to or below the threshold, but not before the
+ * minimum number of warmup rounds and not after the maximum. The benchmark
+ * rounds are then run by a {@code BenchmarkRule} exactly as configured with
+ * {@code BenchmarkOptions} except without warmup rounds.
+ * <p>
+ * The result accepted by the consumer reports the warmup rounds and time
+ * chosen by this rule, and the warmup is also written with each result by
+ * the {@link JsonBenchmarkConsumer} as {@code steadyState}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = new SteadyStateBenchmarkRule(CONSUMER, 3, 50, 5, 0.05);
+ * </pre>
+ * Rules which observe individual rounds, such as the {@link RoundLatencyRule},
+ * may be chained inside this rule and treat the chosen number of rounds as
+ * warmup. Warmup rounds are always run sequentially on the test thread even
+ * for concurrent benchmarks. Setting {@code jub.ignore.annotations} is not
+ * supported since the benchmark would then run its own warmup rounds after
+ * those of this rule.
+ *
+ * @author agent (agent at local)
+ */
+public final class SteadyStateBenchmarkRule implements TestRule {
+
+    private static final int DEFAULT_MIN_WARMUP_ROUNDS = 3;
+    private static final int DEFAULT_MAX_WARMUP_ROUNDS = 50;
+    private static final int DEFAULT_WINDOW = 5;
+    private static final double DEFAULT_MAX_COEFFICIENT_OF_VARIATION = 0.05;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SteadyStateBenchmarkRule.class);
+
+    private final JsonBenchmarkConsumer _consumer;
+    private final int _minWarmupRounds;
+    private final int _maxWarmupRounds;
+    private final int _window;
+    private final double _maxCoefficientOfVariation;
+    @Nullable
+    private volatile SteadyStateWarmup _warmup;
+
+    /**
+     * Public constructor. Warms up for between {@code 3} and {@code 50}
+     * rounds until the coefficient of variation of the last {@code 5} rounds
+     * is at most {@code 0.05}.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the results with
+     */
+    public SteadyStateBenchmarkRule(final JsonBenchmarkConsumer consumer) {
+        this(
+                consumer,
+                DEFAULT_MIN_WARMUP_ROUNDS,
+                DEFAULT_MAX_WARMUP_ROUNDS,
+                DEFAULT_WINDOW,
+                DEFAULT_MAX_COEFFICIENT_OF_VARIATION);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the results with
+     * @param minWarmupRounds the minimum number of warmup rounds
+     * @param maxWarmupRounds the maximum number of warmup rounds
+     * @param window the number of most recent rounds to compute the coefficient of variation over
+     * @param maxCoefficientOfVariation the coefficient of variation at which the round times have converged
+     */
+    @SuppressWarnings("this-escape")
+    public SteadyStateBenchmarkRule(
+            final JsonBenchmarkConsumer consumer,
+            final int minWarmupRounds,
+            final int maxWarmupRounds,
+            final int window,
+            final double maxCoefficientOfVariation) {
+        if (window < 2) {
+            throw new IllegalArgumentException(String.format("Window must be at least two rounds; window=%d", window));
+        }
+        if (minWarmupRounds < 0 || maxWarmupRounds < minWarmupRounds) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid warmup round bounds; min=%d, max=%d",
+                    minWarmupRounds,
+                    maxWarmupRounds));
+        }
+        _consumer = consumer;
+        _minWarmupRounds = minWarmupRounds;
+        _maxWarmupRounds = maxWarmupRounds;
+        _window = window;
+        _maxCoefficientOfVariation = maxCoefficientOfVariation;
+        _consumer.addCollector(new SteadyStateCollector());
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new SteadyStateStatement(base, description);
+    }
+
+    /**
+     * The coefficient of variation of the last {@code window} values.
+     *
+     * @param values the values
+     * @param window the number of most recent values to consider
+     * @return the coefficient of variation or {@code NaN} if there are too few values
+     */
+    static double coefficientOfVariation(final List<Long> values, final int window) {
+        if (values.size() < window || window < 2) {
+            return Double.NaN;
+        }
+        final List<Long> recent = values.subList(values.size() - window, values.size());
+        double sum = 0;
+        for (final long value : recent) {
+            sum += value;
+        }
+        final double mean = sum / window;
+        if (mean <= 0) {
+            return 0;
+        }
+        double squares = 0;
+        for (final long value : recent) {
+            squares += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(squares / (window - 1)) / mean;
+    }
+
+    static Description withoutWarmup(final Description description) {
+        final BenchmarkOptions original = Optional.ofNullable(WarmupRounds.findOptions(description))
+                .orElse(Defaults.class.getAnnotation(BenchmarkOptions.class));
+        final List<Annotation> annotations = Lists.newArrayList();
+        for (final Annotation annotation : description.getAnnotations()) {
+            if (!(annotation instanceof BenchmarkOptions)) {
+                annotations.add(annotation);
+            }
+        }
+        annotations.add(new MeasurementOptions(original));
+        final Annotation[] array = annotations.toArray(new Annotation[0]);
+        final Class<?> testClass = description.getTestClass();
+        return testClass != null
+                ? Description.createTestDescription(testClass, description.getMethodName(), array)
+                : Description.createTestDescription(description.getClassName(), description.getMethodName(), array);
+    }
+
+    /**
+     * Runs the warmup rounds followed by the benchmark.
+     */
+    private final class SteadyStateStatement extends Statement {
+
+        SteadyStateStatement(final Statement base, final Description description) {
+            _base = base;
+            _description = description;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            WarmupRounds.override(_description, WarmupRounds.UNDECIDED);
+            try {
+                final SteadyStateWarmup warmup = warmup();
+                WarmupRounds.override(_description, warmup.getWarmupRounds());
+                _warmup = warmup;
+                if (!warmup.isConverged()) {
+                    LOGGER.warn(String.format(
+                            "Round times of %s did not converge in %d warmup rounds; coefficientOfVariation=%f",
+                            _description.getDisplayName(),
+                            warmup.getWarmupRounds(),
+                            warmup.getCoefficientOfVariation()));
+                }
+                new BenchmarkRule(new WarmupConsumer(warmup, _description))
+                        .apply(_base, withoutWarmup(_description))
+                        .evaluate();
+            } finally {
+                WarmupRounds.clear(_description);
+            }
+        }
+
+        // CHECKSTYLE.OFF: IllegalThrows - Statement evaluation throws Throwable
+        private SteadyStateWarmup warmup() throws Throwable {
+            // CHECKSTYLE.ON: IllegalThrows
+            final long start = System.currentTimeMillis();
+            final List<Long> times = Lists.newArrayListWithCapacity(_maxWarmupRounds);
+            double coefficientOfVariation = Double.NaN;
+            while (times.size() < _maxWarmupRounds) {
+                final long roundStart = System.nanoTime();
+                _base.evaluate();
+                times.add(System.nanoTime() - roundStart);
+                coefficientOfVariation = coefficientOfVariation(times, _window);
+                // The coefficient of variation is NaN until the window is full
+                if (times.size() >= _minWarmupRounds && coefficientOfVariation <= _maxCoefficientOfVariation) {
+                    return new SteadyStateWarmup(times.size(), true, coefficientOfVariation, elapsed(start));
+                }
+            }
+            return new SteadyStateWarmup(times.size(), false, coefficientOfVariation, elapsed(start));
+        }
+
+        private long elapsed(final long start) {
+            return System.currentTimeMillis() - start;
+        }
+
+        private final Statement _base;
+        private final Description _description;
+    }
+
+    /**
+     * Passes results to the consumer with the warmup chosen by this rule.
+     */
+    private final class WarmupConsumer implements IResultsConsumer {
+
+        WarmupConsumer(final SteadyStateWarmup warmup, final Description description) {
+            _warmup = warmup;
+            _description = description;
+        }
+
+        @Override
+        public void accept(final Result result) {
+            _consumer.accept(new Result(
+                    _description,
+                    result.benchmarkRounds,
+                    _warmup.getWarmupRounds(),
+                    _warmup.getWarmupTimeMillis(),
+                    result.benchmarkTime,
+                    result.roundAverage,
+                    result.blockedAverage,
+                    result.gcAverage,
+                    result.gcInfo,
+                    result.getThreadCount()));
+        }
+
+        private final SteadyStateWarmup _warmup;
+        private final Description _description;
+    }
+
+    /**
+     * Writes the warmup chosen for the test with its result.
+     */
+    private final class SteadyStateCollector implements ResultCollector {
+
+        @Override
+        public String getName() {
+            return "steadyState";
+        }
+
+        @Override
+        public void begin() {
+            // The warmup is chosen when the next test runs
+        }
+
+        @Override
+        public Optional<SteadyStateWarmup> end(final Result result) {
+            final SteadyStateWarmup warmup = _warmup;
+            _warmup = null;
+            return Optional.ofNullable(warmup);
+        }
+    }
+
+    /**
+     * The options of the benchmark without warmup rounds.
+     */
+    private static final class MeasurementOptions implements BenchmarkOptions {
+
+        MeasurementOptions(final BenchmarkOptions options) {
+            _options = options;
+        }
+
+        @Override
+        public boolean callgc() {
+            return _options.callgc();
+        }
+
+        @Override
+        public int warmupRounds() {
+            return 0;
+        }
+
+        @Override
+        public int benchmarkRounds() {
+            return _options.benchmarkRounds();
+        }
+
+        @Override
+        public int concurrency() {
+            return _options.concurrency();
+        }
+
+        @Override
+        public Clock clock() {
+            return _options.clock();
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return BenchmarkOptions.class;
+        }
+
+        private final BenchmarkOptions _options;
+    }
+
+    /**
+     * Holds the default benchmark options.
+     */
+    @BenchmarkOptions
+    private static final class Defaults {}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+/**
+ * The warmup chosen for a test by the {@link SteadyStateBenchmarkRule}. The
+ * coefficient of variation is that of the last window of warmup rounds.
+ *
+ * @author agent (agent at local)
+ */
+public final class SteadyStateWarmup {
+
+    public int getWarmupRounds() {
+        return _warmupRounds;
+    }
+
+    public boolean isConverged() {
+        return _converged;
+    }
+
+    public double getCoefficientOfVariation() {
+        return _coefficientOfVariation;
+    }
+
+    public long getWarmupTimeMillis() {
+        return _warmupTimeMillis;
+    }
+
+    SteadyStateWarmup(
+            final int warmupRounds,
+            final boolean converged,
+            final double coefficientOfVariation,
+            final long warmupTimeMillis) {
+        _warmupRounds = warmupRounds;
+        _converged = converged;
+        _coefficientOfVariation = coefficientOfVariation;
+        _warmupTimeMillis = warmupTimeMillis;
+    }
+
+    private final int _warmupRounds;
+    private final boolean _converged;
+    private final double _coefficientOfVariation;
+    private final long _warmupTimeMillis;
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The result of a test in a run read from the {@link ResultsStore}. The
+ * timestamp is in milliseconds since the epoch, the benchmark and garbage
+ * collection times are in milliseconds, the round average and standard
+ * deviation are in seconds as in the result and the round times are in
+ * nanoseconds. The round times are only present if they were requested
+ * and recorded by the {@link RoundStatisticsRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class StoredResult {
+
+    public String getRunId() {
+        return _runId;
+    }
+
+    public long getTimestamp() {
+        return _timestamp;
+    }
+
+    public String getTestName() {
+        return _testName;
+    }
+
+    public int getBenchmarkRounds() {
+        return _benchmarkRounds;
+    }
+
+    public int getWarmupRounds() {
+        return _warmupRounds;
+    }
+
+    public long getBenchmarkTime() {
+        return _benchmarkTime;
+    }
+
+    public double getRoundAverage() {
+        return _roundAverage;
+    }
+
+    public double getRoundStandardDeviation() {
+        return _roundStandardDeviation;
+    }
+
+    public long getGcTime() {
+        return _gcTime;
+    }
+
+    public List<Long> getRoundTimes() {
+        return _roundTimes;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    StoredResult(
+            final String runId,
+            final long timestamp,
+            final String testName,
+            final int benchmarkRounds,
+            final int warmupRounds,
+            final long benchmarkTime,
+            final double roundAverage,
+            final double roundStandardDeviation,
+            final long gcTime,
+            final List<Long> roundTimes) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _runId = runId;
+        _timestamp = timestamp;
+        _testName = testName;
+        _benchmarkRounds = benchmarkRounds;
+        _warmupRounds = warmupRounds;
+        _benchmarkTime = benchmarkTime;
+        _roundAverage = roundAverage;
+        _roundStandardDeviation = roundStandardDeviation;
+        _gcTime = gcTime;
+        _roundTimes = ImmutableList.copyOf(roundTimes);
+    }
+
+    private final String _runId;
+    private final long _timestamp;
+    private final String _testName;
+    private final int _benchmarkRounds;
+    private final int _warmupRounds;
+    private final long _benchmarkTime;
+    private final double _roundAverage;
+    private final double _roundStandardDeviation;
+    private final long _gcTime;
+    private final ImmutableList<Long> _roundTimes;
+}
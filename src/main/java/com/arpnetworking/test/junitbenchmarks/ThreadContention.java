@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Where the threads running the benchmark rounds of a test spent their
+ * time. Blocked time is spent waiting to enter a monitor and waited time
+ * is spent in {@code Object.wait}, {@code LockSupport.park} or
+ * {@code Thread.sleep}; the remainder of the round time is runnable. The
+ * contended monitors are sampled periodically and ordered by the number of
+ * samples in which a benchmark thread was blocked on or waiting for them.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadContention {
+
+    public long getRounds() {
+        return _rounds;
+    }
+
+    public int getThreads() {
+        return _threads;
+    }
+
+    public long getRoundTimeMillis() {
+        return _roundTimeMillis;
+    }
+
+    public long getRunnableTimeMillis() {
+        return Math.max(0, _roundTimeMillis - _blockedTimeMillis - _waitedTimeMillis);
+    }
+
+    public long getBlockedCount() {
+        return _blockedCount;
+    }
+
+    public long getBlockedTimeMillis() {
+        return _blockedTimeMillis;
+    }
+
+    public long getWaitedCount() {
+        return _waitedCount;
+    }
+
+    public long getWaitedTimeMillis() {
+        return _waitedTimeMillis;
+    }
+
+    public long getSamples() {
+        return _samples;
+    }
+
+    public List<Monitor> getMonitors() {
+        return _monitors;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    ThreadContention(
+            final long rounds,
+            final int threads,
+            final long roundTimeMillis,
+            final long blockedCount,
+            final long blockedTimeMillis,
+            final long waitedCount,
+            final long waitedTimeMillis,
+            final long samples,
+            final List<Monitor> monitors) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _rounds = rounds;
+        _threads = threads;
+        _roundTimeMillis = roundTimeMillis;
+        _blockedCount = blockedCount;
+        _blockedTimeMillis = blockedTimeMillis;
+        _waitedCount = waitedCount;
+        _waitedTimeMillis = waitedTimeMillis;
+        _samples = samples;
+        _monitors = ImmutableList.copyOf(monitors);
+    }
+
+    private final long _rounds;
+    private final int _threads;
+    private final long _roundTimeMillis;
+    private final long _blockedCount;
+    private final long _blockedTimeMillis;
+    private final long _waitedCount;
+    private final long _waitedTimeMillis;
+    private final long _samples;
+    private final ImmutableList<Monitor> _monitors;
+
+    /**
+     * A monitor or lock the benchmark threads contended for. The name is
+     * the class name and identity hash code of the object.
+     */
+    public static final class Monitor {
+
+        public String getName() {
+            return _name;
+        }
+
+        public long getBlockedSamples() {
+            return _blockedSamples;
+        }
+
+        public long getWaitingSamples() {
+            return _waitingSamples;
+        }
+
+        Monitor(final String name, final long blockedSamples, final long waitingSamples) {
+            _name = name;
+            _blockedSamples = blockedSamples;
+            _waitingSamples = waitingSamples;
+        }
+
+        private final String _name;
+        private final long _blockedSamples;
+        private final long _waitingSamples;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which accounts for where the threads running the benchmark rounds of
+ * each test spent their time using the {@code ThreadMXBean}. Thread
+ * contention monitoring is enabled while each test runs and the blocked
+ * and waited counts and times of each benchmark round are accumulated into
+ * a {@link ThreadContention}. A background thread also samples the state of
+ * the benchmark threads to find the most contended monitors and locks. The
+ * accounting is written with each result by the {@link JsonBenchmarkConsumer}
+ * as {@code threadContention}. Warmup rounds are not accounted for.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final ThreadContentionRule THREAD_CONTENTION = new ThreadContentionRule(CONSUMER);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(THREAD_CONTENTION);
+ * </pre>
+ * Reading the thread state costs a few microseconds per round, so the rule
+ * is best suited to rounds of at least a millisecond.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadContentionRule extends AbstractRoundRule<ThreadContentionRule.Recording> {
+
+    private static final Duration DEFAULT_SAMPLING_INTERVAL = Duration.ofMillis(10);
+    private static final int MAX_MONITORS = 10;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadContentionRule.class);
+
+    private final ThreadMXBean _threadMXBean = ManagementFactory.getThreadMXBean();
+    private final Duration _samplingInterval;
+
+    /**
+     * Samples the benchmark threads every {@code 10}
+     * milliseconds.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the accounting with
+     */
+    public ThreadContentionRule(final JsonBenchmarkConsumer consumer) {
+        this(consumer, DEFAULT_SAMPLING_INTERVAL);
+    }
+
+    /**
+     * Samples the benchmark threads at an interval.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the accounting with
+     * @param samplingInterval the interval at which to sample the benchmark threads for contended monitors
+     */
+    public ThreadContentionRule(final JsonBenchmarkConsumer consumer, final Duration samplingInterval) {
+        super(consumer, "threadContention");
+        if (samplingInterval.isNegative() || samplingInterval.isZero()) {
+            throw new IllegalArgumentException(String.format(
+                    "Sampling interval must be positive; samplingInterval=%s",
+                    samplingInterval));
+        }
+        _samplingInterval = samplingInterval;
+        if (!_threadMXBean.isThreadContentionMonitoringSupported()) {
+            LOGGER.warn("Thread contention monitoring is not supported");
+        }
+    }
+
+    /**
+     * Order monitors by their total samples and keep the most contended.
+     *
+     * @param monitors the monitors
+     * @param limit the maximum number of monitors to keep
+     * @return the most contended monitors
+     */
+    static List<ThreadContention.Monitor> mostContended(
+            final Iterable<ThreadContention.Monitor> monitors,
+            final int limit) {
+        final List<ThreadContention.Monitor> sorted = Lists.newArrayList(monitors);
+        sorted.sort(Comparator.comparingLong((ThreadContention.Monitor monitor) ->
+                monitor.getBlockedSamples() + monitor.getWaitingSamples())
+                .reversed()
+                .thenComparing(ThreadContention.Monitor::getName));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        if (recording.isWarmup(round)) {
+            base.evaluate();
+            return;
+        }
+        final long threadId = Thread.currentThread().getId();
+        if (recording._threads.putIfAbsent(threadId, Boolean.TRUE) == null) {
+            recording.startSampling();
+        }
+        final ThreadInfo start = _threadMXBean.getThreadInfo(threadId);
+        final long startTime = System.nanoTime();
+        try {
+            base.evaluate();
+        } finally {
+            final long roundTime = System.nanoTime() - startTime;
+            recording.record(roundTime, start, _threadMXBean.getThreadInfo(threadId));
+        }
+    }
+
+    @Override
+    Optional<ThreadContention> end(final Recording recording, final Result result) {
+        recording.close();
+        if (recording._rounds.sum() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(recording.toThreadContention());
+    }
+
+    /**
+     * Accumulates the accounting of one test.
+     */
+    final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds) {
+            super(description, warmupRounds);
+            _contentionMonitoringEnabled = _threadMXBean.isThreadContentionMonitoringSupported()
+                    && _threadMXBean.isThreadContentionMonitoringEnabled();
+            if (_threadMXBean.isThreadContentionMonitoringSupported()) {
+                _threadMXBean.setThreadContentionMonitoringEnabled(true);
+            }
+        }
+
+        synchronized void startSampling() {
+            if (_sampler == null && !_stopped) {
+                _sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "thread-contention-sampler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                final long interval = _samplingInterval.toNanos();
+                _sampler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        synchronized void close() {
+            if (_stopped) {
+                return;
+            }
+            _stopped = true;
+            if (_sampler != null) {
+                _sampler.shutdownNow();
+            }
+            if (_threadMXBean.isThreadContentionMonitoringSupported()) {
+                _threadMXBean.setThreadContentionMonitoringEnabled(_contentionMonitoringEnabled);
+            }
+        }
+
+        void record(final long roundTimeNanos, @Nullable final ThreadInfo start, @Nullable final ThreadInfo end) {
+            _rounds.increment();
+            _roundTime.add(roundTimeNanos);
+            if (start != null && end != null) {
+                _blockedCount.add(end.getBlockedCount() - start.getBlockedCount());
+                _waitedCount.add(end.getWaitedCount() - start.getWaitedCount());
+                // The times are -1 if contention monitoring is disabled
+                if (start.getBlockedTime() >= 0 && end.getBlockedTime() >= 0) {
+                    _blockedTime.add(end.getBlockedTime() - start.getBlockedTime());
+                    _waitedTime.add(end.getWaitedTime() - start.getWaitedTime());
+                }
+            }
+        }
+
+        ThreadContention toThreadContention() {
+            final List<ThreadContention.Monitor> monitors = Lists.newArrayList();
+            _monitors.forEach((name, samples) ->
+                    monitors.add(new ThreadContention.Monitor(name, samples[0].sum(), samples[1].sum())));
+            return new ThreadContention(
+                    _rounds.sum(),
+                    _threads.size(),
+                    TimeUnit.NANOSECONDS.toMillis(_roundTime.sum()),
+                    _blockedCount.sum(),
+                    _blockedTime.sum(),
+                    _waitedCount.sum(),
+                    _waitedTime.sum(),
+                    _samples.sum(),
+                    mostContended(monitors, MAX_MONITORS));
+        }
+
+        private void sample() {
+            final long[] threadIds = _threads.keySet().stream().mapToLong(Long::longValue).toArray();
+            if (threadIds.length == 0) {
+                return;
+            }
+            _samples.increment();
+            for (final ThreadInfo info : _threadMXBean.getThreadInfo(threadIds)) {
+                if (info == null || info.getLockName() == null) {
+                    continue;
+                }
+                final int index;
+                switch (info.getThreadState()) {
+                    case BLOCKED:
+                        index = 0;
+                        break;
+                    case WAITING:
+                    case TIMED_WAITING:
+                        index = 1;
+                        break;
+                    default:
+                        continue;
+                }
+                _monitors.computeIfAbsent(info.getLockName(), name -> new LongAdder[] {new LongAdder(), new LongAdder()})
+                        [index].increment();
+            }
+        }
+
+        private final boolean _contentionMonitoringEnabled;
+        private final Map<Long, Boolean> _threads = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder[]> _monitors = new ConcurrentHashMap<>();
+        private final LongAdder _rounds = new LongAdder();
+        private final LongAdder _roundTime = new LongAdder();
+        private final LongAdder _blockedCount = new LongAdder();
+        private final LongAdder _blockedTime = new LongAdder();
+        private final LongAdder _waitedCount = new LongAdder();
+        private final LongAdder _waitedTime = new LongAdder();
+        private final LongAdder _samples = new LongAdder();
+        @Nullable
+        private ScheduledExecutorService _sampler;
+        private boolean _stopped;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+import com.sun.management.ThreadMXBean;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rule which measures the CPU time and the heap allocation of the thread
+ * executing each benchmark round of each test with the platform
+ * {@code ThreadMXBean}. The totals are written with each result by the
+ * {@link JsonBenchmarkConsumer} as {@code threadResources} together with the
+ * CPU time and bytes allocated per round and per operation. The operations
+ * per round are read from the {@link OperationsPerInvocation} annotation of
+ * the test as by the {@link ThroughputCollector}; tests without one perform
+ * one operation per round. Warmup rounds are not measured.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final ThreadResourceRule THREAD_RESOURCES = new ThreadResourceRule(CONSUMER);
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(THREAD_RESOURCES);
+ * </pre>
+ * Work a round hands off to other threads is not included. If the JVM does
+ * not support measuring thread CPU time or allocation the corresponding
+ * values are zero.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadResourceRule extends AbstractRoundRule<ThreadResourceRule.Recording> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadResourceRule.class);
+
+    private final ThreadMXBean _threadMXBean;
+
+    /**
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the measurements with
+     */
+    public ThreadResourceRule(final JsonBenchmarkConsumer consumer) {
+        super(consumer, "threadResources");
+        _threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        enableMeasurement(_threadMXBean);
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        if (recording.isWarmup(round)) {
+            base.evaluate();
+            return;
+        }
+        final long startCpuTime = _threadMXBean.getCurrentThreadCpuTime();
+        final long startUserTime = _threadMXBean.getCurrentThreadUserTime();
+        final long startAllocatedBytes = _threadMXBean.getCurrentThreadAllocatedBytes();
+        base.evaluate();
+        final long endAllocatedBytes = _threadMXBean.getCurrentThreadAllocatedBytes();
+        final long endUserTime = _threadMXBean.getCurrentThreadUserTime();
+        final long endCpuTime = _threadMXBean.getCurrentThreadCpuTime();
+
+        recording._rounds.increment();
+        // The beans return -1 when measurement is unsupported or disabled
+        if (startCpuTime >= 0 && endCpuTime >= 0) {
+            recording._cpuTime.add(endCpuTime - startCpuTime);
+        }
+        if (startUserTime >= 0 && endUserTime >= 0) {
+            recording._userTime.add(endUserTime - startUserTime);
+        }
+        if (startAllocatedBytes >= 0 && endAllocatedBytes >= 0) {
+            recording._allocatedBytes.add(endAllocatedBytes - startAllocatedBytes);
+        }
+    }
+
+    @Override
+    Optional<ThreadResources> end(final Recording recording, final Result result) {
+        if (recording._rounds.sum() == 0) {
+            return Optional.empty();
+        }
+        final OperationsPerInvocation operations = ThroughputCollector.findAnnotation(
+                result.getTestClass(),
+                result.getTestMethodName());
+        return Optional.of(new ThreadResources(
+                recording._rounds.sum(),
+                operations == null ? 1 : Math.max(1, operations.value()),
+                recording._cpuTime.sum(),
+                recording._userTime.sum(),
+                recording._allocatedBytes.sum()));
+    }
+
+    private static void enableMeasurement(final ThreadMXBean threadMXBean) {
+        if (threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            if (!threadMXBean.isThreadCpuTimeEnabled()) {
+                threadMXBean.setThreadCpuTimeEnabled(true);
+            }
+        } else {
+            LOGGER.warn("Thread CPU time measurement is not supported");
+        }
+        if (threadMXBean.isThreadAllocatedMemorySupported()) {
+            if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        } else {
+            LOGGER.warn("Thread allocated memory measurement is not supported");
+        }
+    }
+
+    /**
+     * Accumulates the measurements of one test.
+     */
+    static final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds) {
+            super(description, warmupRounds);
+        }
+
+        long getRounds() {
+            return _rounds.sum();
+        }
+
+        long getAllocatedBytes() {
+            return _allocatedBytes.sum();
+        }
+
+        private final LongAdder _rounds = new LongAdder();
+        private final LongAdder _cpuTime = new LongAdder();
+        private final LongAdder _userTime = new LongAdder();
+        private final LongAdder _allocatedBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+/**
+ * CPU time and heap allocation of the threads executing the measured rounds
+ * of a test. Values are the sum over all measured rounds on whichever thread
+ * executed each round; warmup rounds are excluded.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadResources {
+
+    public long getRounds() {
+        return _rounds;
+    }
+
+    public long getOperationsPerRound() {
+        return _operationsPerRound;
+    }
+
+    public long getCpuTimeNanos() {
+        return _cpuTimeNanos;
+    }
+
+    public double getCpuTimeNanosPerRound() {
+        return _rounds > 0 ? (double) _cpuTimeNanos / _rounds : 0;
+    }
+
+    public long getUserTimeNanos() {
+        return _userTimeNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return _allocatedBytes;
+    }
+
+    public double getAllocatedBytesPerRound() {
+        return _rounds > 0 ? (double) _allocatedBytes / _rounds : 0;
+    }
+
+    public double getAllocatedBytesPerOperation() {
+        return _rounds > 0 ? (double) _allocatedBytes / (_rounds * _operationsPerRound) : 0;
+    }
+
+    ThreadResources(
+            final long rounds,
+            final long operationsPerRound,
+            final long cpuTimeNanos,
+            final long userTimeNanos,
+            final long allocatedBytes) {
+        _rounds = rounds;
+        _operationsPerRound = operationsPerRound;
+        _cpuTimeNanos = cpuTimeNanos;
+        _userTimeNanos = userTimeNanos;
+        _allocatedBytes = allocatedBytes;
+    }
+
+    private final long _rounds;
+    private final long _operationsPerRound;
+    private final long _cpuTimeNanos;
+    private final long _userTimeNanos;
+    private final long _allocatedBytes;
+}
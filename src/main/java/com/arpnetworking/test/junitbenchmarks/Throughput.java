@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.util.Optional;
+
+/**
+ * The time per operation and throughput of a test derived from its average
+ * round time and the operations and bytes per invocation. A megabyte is
+ * {@code 1000000} bytes. The byte throughput is only present if the bytes
+ * per invocation are known.
+ *
+ * @author agent (agent at local)
+ */
+public final class Throughput {
+
+    public long getOperationsPerInvocation() {
+        return _operationsPerInvocation;
+    }
+
+    public long getBytesPerInvocation() {
+        return _bytesPerInvocation;
+    }
+
+    public double getNanosPerOperation() {
+        return _nanosPerOperation;
+    }
+
+    public double getOperationsPerSecond() {
+        return _operationsPerSecond;
+    }
+
+    public Optional<Double> getMegabytesPerSecond() {
+        return _megabytesPerSecond;
+    }
+
+    Throughput(
+            final long operationsPerInvocation,
+            final long bytesPerInvocation,
+            final double nanosPerOperation,
+            final double operationsPerSecond,
+            final Optional<Double> megabytesPerSecond) {
+        _operationsPerInvocation = operationsPerInvocation;
+        _bytesPerInvocation = bytesPerInvocation;
+        _nanosPerOperation = nanosPerOperation;
+        _operationsPerSecond = operationsPerSecond;
+        _megabytesPerSecond = megabytesPerSecond;
+    }
+
+    private final long _operationsPerInvocation;
+    private final long _bytesPerInvocation;
+    private final double _nanosPerOperation;
+    private final double _operationsPerSecond;
+    private final Optional<Double> _megabytesPerSecond;
+}
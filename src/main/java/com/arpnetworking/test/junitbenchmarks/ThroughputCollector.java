@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.Result;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Produces the {@link Throughput} of each test from the average round time
+ * of its result. The operations and bytes per invocation are taken from the
+ * {@link OperationsPerInvocation} annotation of the test method or class and
+ * otherwise from the defaults given to this collector. Add it to the
+ * consumer with {@link JsonBenchmarkConsumer#addCollector(ResultCollector)};
+ * the data is written as {@code throughput}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...)
+ *         .addCollector(new ThroughputCollector());
+ *
+ * &#64;Test
+ * &#64;OperationsPerInvocation(value = 10000, bytes = 10000 * 64)
+ * public void test() { ... }
+ * </pre>
+ * The throughput is that of a single thread; with concurrent benchmarks
+ * the total throughput is proportional to the concurrency.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThroughputCollector implements ResultCollector {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MEGABYTE = 1e6;
+
+    private final long _operationsPerInvocation;
+    private final long _bytesPerInvocation;
+
+    /**
+     * Public constructor. Tests without an {@link OperationsPerInvocation}
+     * annotation perform one operation per invocation.
+     */
+    public ThroughputCollector() {
+        this(1, 0);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param operationsPerInvocation the operations per invocation of tests without an annotation
+     * @param bytesPerInvocation the bytes per invocation of tests without an annotation or zero if not applicable
+     */
+    public ThroughputCollector(final long operationsPerInvocation, final long bytesPerInvocation) {
+        validate(operationsPerInvocation, bytesPerInvocation);
+        _operationsPerInvocation = operationsPerInvocation;
+        _bytesPerInvocation = bytesPerInvocation;
+    }
+
+    @Override
+    public String getName() {
+        return "throughput";
+    }
+
+    @Override
+    public void begin() {
+        // The throughput is derived from the result
+    }
+
+    @Override
+    public Optional<Throughput> end(final Result result) {
+        final double roundSeconds = result.roundAverage.avg;
+        if (!(roundSeconds > 0)) {
+            return Optional.empty();
+        }
+        long operations = _operationsPerInvocation;
+        long bytes = _bytesPerInvocation;
+        final OperationsPerInvocation annotation = findAnnotation(result.getTestClass(), result.getTestMethodName());
+        if (annotation != null) {
+            validate(annotation.value(), annotation.bytes());
+            operations = annotation.value();
+            bytes = annotation.bytes();
+        }
+        return Optional.of(new Throughput(
+                operations,
+                bytes,
+                roundSeconds * NANOS_PER_SECOND / operations,
+                operations / roundSeconds,
+                bytes > 0 ? Optional.of(bytes / roundSeconds / BYTES_PER_MEGABYTE) : Optional.empty()));
+    }
+
+    /**
+     * Find the annotation of a test method or otherwise of its class or the
+     * closest superclass. Any parameters appended to the method name by the
+     * {@code Parameterized} runner are ignored.
+     *
+     * @param testClass the test class
+     * @param methodName the test method name
+     * @return the {@code OperationsPerInvocation} or {@code null} if none
+     */
+    @Nullable
+    static OperationsPerInvocation findAnnotation(@Nullable final Class<?> testClass, final String methodName) {
+        if (testClass == null) {
+            return null;
+        }
+        final int parameters = methodName.indexOf('[');
+        final String name = parameters >= 0 ? methodName.substring(0, parameters) : methodName;
+        for (final Method method : testClass.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 0) {
+                final OperationsPerInvocation annotation = method.getAnnotation(OperationsPerInvocation.class);
+                if (annotation != null) {
+                    return annotation;
+                }
+            }
+        }
+        for (Class<?> clazz = testClass; clazz != null; clazz = clazz.getSuperclass()) {
+            final OperationsPerInvocation annotation = clazz.getAnnotation(OperationsPerInvocation.class);
+            if (annotation != null) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static void validate(final long operationsPerInvocation, final long bytesPerInvocation) {
+        if (operationsPerInvocation < 1 || bytesPerInvocation < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid operations per invocation; operations=%d, bytes=%d",
+                    operationsPerInvocation,
+                    bytesPerInvocation));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of the timeline of a test written in the Chrome trace event
+ * format. The trace file holds the rounds of each benchmark thread and,
+ * when Flight Recorder events were recorded, the garbage collection pauses,
+ * safepoints and just-in-time compilations during the test.
+ *
+ * @author agent (agent at local)
+ */
+public final class Timeline {
+
+    public Path getTraceFile() {
+        return _traceFile;
+    }
+
+    public long getRounds() {
+        return _rounds;
+    }
+
+    public long getDroppedRounds() {
+        return _droppedRounds;
+    }
+
+    public boolean isJvmEventsRecorded() {
+        return _jvmEventsRecorded;
+    }
+
+    public long getGcPauses() {
+        return _gcPauses;
+    }
+
+    public long getSafepoints() {
+        return _safepoints;
+    }
+
+    public long getCompilations() {
+        return _compilations;
+    }
+
+    Timeline(
+            final Path traceFile,
+            final long rounds,
+            final long droppedRounds,
+            final boolean jvmEventsRecorded,
+            final long gcPauses,
+            final long safepoints,
+            final long compilations) {
+        _traceFile = traceFile;
+        _rounds = rounds;
+        _droppedRounds = droppedRounds;
+        _jvmEventsRecorded = jvmEventsRecorded;
+        _gcPauses = gcPauses;
+        _safepoints = safepoints;
+        _compilations = compilations;
+    }
+
+    private final Path _traceFile;
+    private final long _rounds;
+    private final long _droppedRounds;
+    private final boolean _jvmEventsRecorded;
+    private final long _gcPauses;
+    private final long _safepoints;
+    private final long _compilations;
+}
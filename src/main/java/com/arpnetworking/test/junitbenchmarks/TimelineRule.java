@@ -0,0 +1,512 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Rule which writes a timeline of each test in the Chrome trace event
+ * format, which can be opened in {@code chrome://tracing} or
+ * <a href="https://ui.perfetto.dev">Perfetto</a>. The timeline of a test
+ * has one track per benchmark thread with a span for each round, a track
+ * with a span for the test which ends when its result is accepted by the
+ * {@link JsonBenchmarkConsumer}, and, streamed from an
+ * in-process Flight Recorder recording, tracks with the garbage collection
+ * pauses, the safepoints and the just-in-time compilations of each
+ * compiler thread. The timeline is written to
+ * {@code <class>.<method>.trace.json} in the trace directory and a summary
+ * referencing it is written with each result as {@code timeline}.
+ * <p>
+ * The rule must be applied inside the {@code BenchmarkRule}. For example:
+ * <pre>
+ * private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(...);
+ * private static final TimelineRule TIMELINE = new TimelineRule(CONSUMER, Paths.get("target/perf"));
+ *
+ * &#64;Rule
+ * public final TestRule benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(TIMELINE);
+ * </pre>
+ * At most {@code 100000} rounds are written per test; later rounds are
+ * counted as dropped. Since the stream is flushed about once per second
+ * this adds up to a second to each test.
+ *
+ * @author agent (agent at local)
+ */
+public final class TimelineRule extends AbstractRoundRule<TimelineRule.Recording> {
+
+    private static final String GC_PAUSE_EVENT = "jdk.GCPhasePause";
+    private static final String GARBAGE_COLLECTION_EVENT = "jdk.GarbageCollection";
+    private static final String SAFEPOINT_BEGIN_EVENT = "jdk.SafepointBegin";
+    private static final String SAFEPOINT_END_EVENT = "jdk.SafepointEnd";
+    private static final String COMPILATION_EVENT = "jdk.Compilation";
+    private static final long TEST_TRACK = -1;
+    private static final long GC_TRACK = -2;
+    private static final long SAFEPOINT_TRACK = -3;
+    private static final int MAX_ROUNDS = 100000;
+    private static final String END_MARKER_EVENT = "com.arpnetworking.test.junitbenchmarks.TimelineRule.EndMarker";
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(5);
+    private static final AtomicLong RECORDING_IDS = new AtomicLong();
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createInstance();
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimelineRule.class);
+
+    private final JsonBenchmarkConsumer _consumer;
+    private final Path _directory;
+    private final boolean _flightRecorder;
+
+    /**
+     * @param consumer the {@code JsonBenchmarkConsumer} to write the summary with
+     * @param directory the directory to write the trace files to
+     */
+    public TimelineRule(final JsonBenchmarkConsumer consumer, final Path directory) {
+        super(consumer, "timeline");
+        _consumer = consumer;
+        _directory = directory;
+        _flightRecorder = FlightRecorder.isAvailable();
+        if (!_flightRecorder) {
+            LOGGER.warn("Flight Recorder is not available; the timeline will only contain rounds");
+        }
+    }
+
+    /**
+     * Write trace events in the Chrome trace event format.
+     *
+     * @param writer the {@code Writer} to write to
+     * @param processName the name of the process track
+     * @param tracks the names of the tracks by identifier in display order
+     * @param events the trace events
+     * @throws IOException if the events cannot be written
+     */
+    static void writeTrace(
+            final Writer writer,
+            final String processName,
+            final Map<Long, String> tracks,
+            final List<TraceEvent> events) throws IOException {
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringField("displayTimeUnit", "ms");
+            generator.writeArrayFieldStart("traceEvents");
+            writeMetadata(generator, "process_name", TEST_TRACK, ImmutableMap.of("name", processName));
+            int index = 0;
+            for (final Map.Entry<Long, String> track : tracks.entrySet()) {
+                writeMetadata(generator, "thread_name", track.getKey(), ImmutableMap.of("name", track.getValue()));
+                writeMetadata(generator, "thread_sort_index", track.getKey(), ImmutableMap.of("sort_index", index++));
+            }
+            for (final TraceEvent event : events) {
+                event.write(generator);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeMetadata(
+            final JsonGenerator generator,
+            final String name,
+            final long track,
+            final Map<String, ?> args) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", name);
+        generator.writeStringField("ph", "M");
+        generator.writeNumberField("pid", 0);
+        generator.writeNumberField("tid", track);
+        generator.writeObjectField("args", args);
+        generator.writeEndObject();
+    }
+
+    @Override
+    Recording createRecording(final Description description, final int warmupRounds) {
+        return new Recording(description, warmupRounds, _flightRecorder ? startStream() : null);
+    }
+
+    @Override
+    void evaluateRound(final Statement base, final Recording recording, final long round) throws Throwable {
+        recording.beginRound();
+        final long start = System.nanoTime();
+        try {
+            base.evaluate();
+        } finally {
+            recording.endRound(round, start, System.nanoTime());
+        }
+    }
+
+    @Override
+    Optional<Timeline> end(final Recording recording, final Result result) {
+        return recording.end(result);
+    }
+
+    private static RecordingStream startStream() {
+        final RecordingStream stream = new RecordingStream();
+        for (final String event : ImmutableList.of(
+                GC_PAUSE_EVENT,
+                GARBAGE_COLLECTION_EVENT,
+                SAFEPOINT_BEGIN_EVENT,
+                SAFEPOINT_END_EVENT,
+                COMPILATION_EVENT)) {
+            stream.enable(event).withThreshold(Duration.ZERO);
+        }
+        stream.enable(EndMarker.class);
+        return stream;
+    }
+
+    private static long getTrack(final RecordedThread thread) {
+        return thread.getJavaThreadId() >= 0 ? thread.getJavaThreadId() : thread.getOSThreadId();
+    }
+
+    /**
+     * A complete ({@code X}) or global instant ({@code i}) event on a track.
+     * Times are in microseconds from the start of the test.
+     */
+    static final class TraceEvent {
+
+        TraceEvent(
+                final String name,
+                final String category,
+                final long track,
+                final double timestamp,
+                final double duration,
+                final Map<String, ?> args) {
+            _name = name;
+            _category = category;
+            _track = track;
+            _timestamp = timestamp;
+            _duration = duration;
+            _args.putAll(args);
+        }
+
+        void write(final JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("name", _name);
+            generator.writeStringField("cat", _category);
+            if (_duration < 0) {
+                generator.writeStringField("ph", "i");
+                generator.writeStringField("s", "g");
+            } else {
+                generator.writeStringField("ph", "X");
+                generator.writeNumberField("dur", _duration);
+            }
+            generator.writeNumberField("ts", _timestamp);
+            generator.writeNumberField("pid", 0);
+            generator.writeNumberField("tid", _track);
+            if (!_args.isEmpty()) {
+                generator.writeObjectField("args", _args);
+            }
+            generator.writeEndObject();
+        }
+
+        private final String _name;
+        private final String _category;
+        private final long _track;
+        private final double _timestamp;
+        private final double _duration;
+        private final Map<String, Object> _args = Maps.newLinkedHashMap();
+    }
+
+    /**
+     * Records the timeline of one test.
+     */
+    final class Recording extends AbstractRoundRule.Recording {
+
+        Recording(final Description description, final int warmupRounds, @Nullable final RecordingStream stream) {
+            super(description, warmupRounds);
+            _stream = stream;
+            if (stream != null) {
+                stream.onEvent(GC_PAUSE_EVENT, this::onGcPause);
+                stream.onEvent(GARBAGE_COLLECTION_EVENT, this::onGarbageCollection);
+                stream.onEvent(SAFEPOINT_BEGIN_EVENT, this::onSafepointBegin);
+                stream.onEvent(SAFEPOINT_END_EVENT, this::onSafepointEnd);
+                stream.onEvent(COMPILATION_EVENT, this::onCompilation);
+                stream.onEvent(END_MARKER_EVENT, this::onEndMarker);
+                stream.onFlush(this::onFlush);
+                stream.startAsync();
+            }
+        }
+
+        void beginRound() {
+            final Thread thread = Thread.currentThread();
+            _benchmarkThreads.putIfAbsent(thread.getId(), thread.getName());
+        }
+
+        void endRound(final long round, final long start, final long end) {
+            if (_recordedRounds.incrementAndGet() > MAX_ROUNDS) {
+                return;
+            }
+            final boolean warmup = isWarmup(round);
+            _roundEvents.add(new TraceEvent(
+                    warmup ? "warmup round" : "round",
+                    "round",
+                    Thread.currentThread().getId(),
+                    toMicros(start),
+                    (end - start) / 1000.0,
+                    ImmutableMap.of("round", round)));
+        }
+
+        Optional<Timeline> end(final Result result) {
+            final long end = System.nanoTime();
+            final boolean streamed = _stream != null && awaitFlush();
+            close();
+            final Description description = getDescription();
+            final Path traceFile = _directory.resolve(
+                    getFileName(description, _consumer.getOutputQualifier(), "trace.json"));
+            synchronized (this) {
+                final List<TraceEvent> events = Lists.newArrayList(_roundEvents);
+                events.add(new TraceEvent(
+                        description.getMethodName(),
+                        "test",
+                        TEST_TRACK,
+                        0,
+                        toMicros(end),
+                        ImmutableMap.of("benchmarkRounds", result.benchmarkRounds, "warmupRounds", result.warmupRounds)));
+                events.add(new TraceEvent("accept", "test", TEST_TRACK, toMicros(end), -1, ImmutableMap.of()));
+                if (streamed) {
+                    events.addAll(_jvmEvents);
+                }
+                try {
+                    Files.createDirectories(_directory);
+                    try (Writer writer = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8)) {
+                        writeTrace(writer, description.getClassName() + "." + description.getMethodName(), getTracks(), events);
+                    }
+                } catch (final IOException e) {
+                    LOGGER.error(String.format("Unable to write timeline; file=%s", traceFile), e);
+                    return Optional.empty();
+                }
+                final long rounds = _recordedRounds.get();
+                return Optional.of(new Timeline(
+                        traceFile,
+                        Math.min(rounds, MAX_ROUNDS),
+                        Math.max(0, rounds - MAX_ROUNDS),
+                        streamed,
+                        streamed ? _gcPauses : 0,
+                        streamed ? _safepoints : 0,
+                        streamed ? _compilations : 0));
+            }
+        }
+
+        @Override
+        void close() {
+            if (_stream != null) {
+                _stream.close();
+            }
+        }
+
+        private Map<Long, String> getTracks() {
+            final Map<Long, String> tracks = Maps.newLinkedHashMap();
+            tracks.put(TEST_TRACK, "Test");
+            _benchmarkThreads.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(thread -> tracks.put(thread.getKey(), thread.getValue()));
+            tracks.put(GC_TRACK, "GC Pauses");
+            tracks.put(SAFEPOINT_TRACK, "Safepoints");
+            _compilerThreads.forEach(tracks::putIfAbsent);
+            return tracks;
+        }
+
+        private double toMicros(final long nanoTime) {
+            return (nanoTime - _startNanos) / 1000.0;
+        }
+
+        private double toMicros(final Instant instant) {
+            return Duration.between(_start, instant).toNanos() / 1000.0;
+        }
+
+        private boolean isDuringTest(final RecordedEvent event) {
+            return !event.getEndTime().isBefore(_start);
+        }
+
+        private synchronized void onGcPause(final RecordedEvent event) {
+            if (!isDuringTest(event)) {
+                return;
+            }
+            ++_gcPauses;
+            final Map<String, Object> args = Maps.newLinkedHashMap();
+            if (event.hasField("gcId")) {
+                args.put("gcId", event.getInt("gcId"));
+            }
+            _jvmEvents.add(new TraceEvent(
+                    event.hasField("name") ? event.getString("name") : "GC Pause",
+                    "gc",
+                    GC_TRACK,
+                    toMicros(event.getStartTime()),
+                    event.getDuration().toNanos() / 1000.0,
+                    args));
+        }
+
+        private synchronized void onGarbageCollection(final RecordedEvent event) {
+            if (!isDuringTest(event) || !event.hasField("gcId")) {
+                return;
+            }
+            // Name the pauses of the collection by collector and cause
+            final Integer gcId = event.getInt("gcId");
+            for (final TraceEvent pause : _jvmEvents) {
+                if (GC_TRACK == pause._track && gcId.equals(pause._args.get("gcId"))) {
+                    pause._args.put("collector", event.getString("name"));
+                    pause._args.put("cause", event.getString("cause"));
+                }
+            }
+        }
+
+        private synchronized void onSafepointBegin(final RecordedEvent event) {
+            if (isDuringTest(event) && event.hasField("safepointId")) {
+                _safepointBegins.put(event.getLong("safepointId"), event);
+            }
+        }
+
+        private synchronized void onSafepointEnd(final RecordedEvent event) {
+            if (!event.hasField("safepointId")) {
+                return;
+            }
+            @Nullable final RecordedEvent begin = _safepointBegins.remove(event.getLong("safepointId"));
+            if (begin == null) {
+                return;
+            }
+            ++_safepoints;
+            _jvmEvents.add(new TraceEvent(
+                    "safepoint",
+                    "safepoint",
+                    SAFEPOINT_TRACK,
+                    toMicros(begin.getStartTime()),
+                    Duration.between(begin.getStartTime(), event.getEndTime()).toNanos() / 1000.0,
+                    ImmutableMap.of(
+                            "safepointId", event.getLong("safepointId"),
+                            "timeToSafepointMicros", begin.getDuration().toNanos() / 1000.0)));
+        }
+
+        private synchronized void onCompilation(final RecordedEvent event) {
+            @Nullable final RecordedThread thread = event.getThread("eventThread");
+            if (!isDuringTest(event) || thread == null) {
+                return;
+            }
+            ++_compilations;
+            final long track = getTrack(thread);
+            _compilerThreads.putIfAbsent(track, thread.getJavaName() != null ? thread.getJavaName() : thread.getOSName());
+            @Nullable final RecordedMethod method = event.hasField("method") ? event.getValue("method") : null;
+            final Map<String, Object> args = Maps.newLinkedHashMap();
+            for (final String field : ImmutableList.of("compileId", "compileLevel", "isOsr", "codeSize", "inlinedBytes")) {
+                if (event.hasField(field)) {
+                    args.put(field, event.getValue(field));
+                }
+            }
+            _jvmEvents.add(new TraceEvent(
+                    method == null ? "compilation" : method.getType().getName() + "." + method.getName(),
+                    "jit",
+                    track,
+                    toMicros(event.getStartTime()),
+                    event.getDuration().toNanos() / 1000.0,
+                    args));
+        }
+
+        private synchronized void onEndMarker(final RecordedEvent event) {
+            if (event.getLong("recording") == _id) {
+                _endMarked = true;
+            }
+        }
+
+        private synchronized void onFlush() {
+            if (_endMarked) {
+                _flushed = true;
+                notifyAll();
+            }
+        }
+
+        private synchronized boolean awaitFlush() {
+            // The events of the test were dispatched once the flush with the end marker was
+            final EndMarker marker = new EndMarker();
+            marker._recording = _id;
+            marker.commit();
+            final long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+            while (!_flushed) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    LOGGER.warn("Timed out waiting for Flight Recorder timeline events");
+                    return false;
+                }
+                try {
+                    wait(Math.max(1, remaining / 1000000));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        private final RecordingStream _stream;
+        private final Instant _start = Instant.now();
+        private final long _startNanos = System.nanoTime();
+        private final AtomicLong _recordedRounds = new AtomicLong();
+        private final Map<Long, String> _benchmarkThreads = new ConcurrentHashMap<>();
+        private final Queue<TraceEvent> _roundEvents = new ConcurrentLinkedQueue<>();
+        private final List<TraceEvent> _jvmEvents = Lists.newArrayList();
+        private final Map<Long, RecordedEvent> _safepointBegins = Maps.newHashMap();
+        private final Map<Long, String> _compilerThreads = Maps.newTreeMap();
+        private long _gcPauses;
+        private long _safepoints;
+        private long _compilations;
+        private final long _id = RECORDING_IDS.incrementAndGet();
+        private boolean _endMarked;
+        private boolean _flushed;
+    }
+
+    /**
+     * Committed when a test ends so that its recording can wait until the
+     * events of the test were dispatched.
+     */
+    @Name(END_MARKER_EVENT)
+    @Label("Timeline End Marker")
+    @StackTrace(false)
+    static final class EndMarker extends Event {
+
+        @Name("recording")
+        @Label("Recording")
+        private long _recording;
+    }
+}
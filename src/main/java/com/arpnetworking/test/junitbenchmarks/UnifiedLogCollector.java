@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.java.util.function.SingletonSupplier;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Slices the unified JVM logs with garbage collection or safepoint tags
+ * (e.g. {@code -Xlog:gc*,safepoint:file=gc.log}) per test. The size of each
+ * log is recorded at the test boundaries and the part of the log written
+ * during a test is copied next to the results file of the consumer and
+ * summarized in a {@link UnifiedLogExcerpt}. Add it to the consumer with
+ * {@link JsonBenchmarkConsumer#addCollector(ResultCollector)}; the data is
+ * written as {@code unifiedLogs}.
+ * <p>
+ * The logs are those of this JVM. To slice the logs of a JVM profiled by a
+ * {@link LocalJvmJsonBenchmarkConsumer} use the collector created by
+ * {@link LocalJvmJsonBenchmarkConsumer#createUnifiedLogCollector()}
+ * instead. Logs written inside a Docker container cannot be sliced.
+ *
+ * @author agent (agent at local)
+ */
+public final class UnifiedLogCollector implements ResultCollector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnifiedLogCollector.class);
+
+    private final JsonBenchmarkConsumer _consumer;
+    private final Supplier<List<Path>> _logFiles;
+    private final Map<Path, Long> _offsets = Maps.newLinkedHashMap();
+
+    /**
+     * Public constructor.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} next to whose results file the log excerpts are written
+     */
+    public UnifiedLogCollector(final JsonBenchmarkConsumer consumer) {
+        this(consumer, () -> {
+            final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+            return UnifiedLogFilter.extractLogFiles(runtime.getInputArguments(), runtime.getPid());
+        });
+    }
+
+    /**
+     * Package private constructor.
+     *
+     * @param consumer the {@code JsonBenchmarkConsumer} next to whose results file the log excerpts are written
+     * @param logFiles the {@code Supplier} of the log files to slice; it is invoked once
+     */
+    UnifiedLogCollector(final JsonBenchmarkConsumer consumer, final Supplier<List<Path>> logFiles) {
+        _consumer = consumer;
+        _logFiles = new SingletonSupplier<>(logFiles);
+    }
+
+    @Override
+    public String getName() {
+        return "unifiedLogs";
+    }
+
+    @Override
+    public synchronized void begin() {
+        _offsets.clear();
+        for (final Path logFile : _logFiles.get()) {
+            try {
+                _offsets.put(logFile, Files.size(logFile));
+            } catch (final IOException e) {
+                LOGGER.debug(String.format("Unified log not available; file=%s", logFile), e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Optional<List<UnifiedLogExcerpt>> end(final Result result) {
+        final List<UnifiedLogExcerpt> excerpts = Lists.newArrayList();
+        for (final Map.Entry<Path, Long> entry : _offsets.entrySet()) {
+            final Path logFile = entry.getKey();
+            final long start = entry.getValue();
+            try {
+                final Path excerptFile = _consumer.getOutputFile(result, String.valueOf(logFile.getFileName()));
+                final long end = Files.size(logFile);
+                if (end < start) {
+                    LOGGER.warn(String.format("Unified log rotated during test; file=%s", logFile));
+                }
+                excerpts.add(UnifiedLogFilter.filter(logFile, end < start ? 0 : start, end, excerptFile));
+            } catch (final IOException e) {
+                LOGGER.error(String.format("Unable to slice unified log; file=%s", logFile), e);
+            }
+        }
+        _offsets.clear();
+        return excerpts.isEmpty() ? Optional.empty() : Optional.of(excerpts);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import java.nio.file.Path;
+
+/**
+ * The part of a unified JVM log, such as a garbage collection or safepoint
+ * log, written while a test ran along with a summary of the pauses in it.
+ * Garbage collection pauses are read from the {@code gc} tag and safepoints
+ * from the {@code safepoint} tag; the time to safepoint is the time taken
+ * to stop the application threads.
+ *
+ * @author agent (agent at local)
+ */
+public final class UnifiedLogExcerpt {
+
+    public Path getLogFile() {
+        return _logFile;
+    }
+
+    public Path getExcerptFile() {
+        return _excerptFile;
+    }
+
+    public long getBytes() {
+        return _bytes;
+    }
+
+    public long getGcPauses() {
+        return _gcPauses;
+    }
+
+    public double getGcPauseTotalMillis() {
+        return _gcPauseTotalMillis;
+    }
+
+    public double getGcPauseMaxMillis() {
+        return _gcPauseMaxMillis;
+    }
+
+    public long getSafepoints() {
+        return _safepoints;
+    }
+
+    public double getTimeToSafepointTotalMillis() {
+        return _timeToSafepointTotalMillis;
+    }
+
+    public double getTimeToSafepointMaxMillis() {
+        return _timeToSafepointMaxMillis;
+    }
+
+    public double getSafepointTotalMillis() {
+        return _safepointTotalMillis;
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Simple value class
+    UnifiedLogExcerpt(
+            final Path logFile,
+            final Path excerptFile,
+            final long bytes,
+            final long gcPauses,
+            final double gcPauseTotalMillis,
+            final double gcPauseMaxMillis,
+            final long safepoints,
+            final double timeToSafepointTotalMillis,
+            final double timeToSafepointMaxMillis,
+            final double safepointTotalMillis) {
+        // CHECKSTYLE.ON: ParameterNumber
+        _logFile = logFile;
+        _excerptFile = excerptFile;
+        _bytes = bytes;
+        _gcPauses = gcPauses;
+        _gcPauseTotalMillis = gcPauseTotalMillis;
+        _gcPauseMaxMillis = gcPauseMaxMillis;
+        _safepoints = safepoints;
+        _timeToSafepointTotalMillis = timeToSafepointTotalMillis;
+        _timeToSafepointMaxMillis = timeToSafepointMaxMillis;
+        _safepointTotalMillis = safepointTotalMillis;
+    }
+
+    private final Path _logFile;
+    private final Path _excerptFile;
+    private final long _bytes;
+    private final long _gcPauses;
+    private final double _gcPauseTotalMillis;
+    private final double _gcPauseMaxMillis;
+    private final long _safepoints;
+    private final double _timeToSafepointTotalMillis;
+    private final double _timeToSafepointMaxMillis;
+    private final double _safepointTotalMillis;
+}
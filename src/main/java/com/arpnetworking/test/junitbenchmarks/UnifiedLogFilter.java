@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the part of a unified JVM log (e.g. {@code -Xlog:gc*,safepoint:file=gc.log})
+ * written between two offsets and summarizes the garbage collection pauses
+ * and safepoints in it.
+ *
+ * @author agent (agent at local)
+ */
+final class UnifiedLogFilter {
+
+    private static final String XLOG_PREFIX = "-Xlog:";
+    private static final Set<String> LOGGED_TAGS = ImmutableSet.of("gc", "safepoint", "all");
+    private static final Pattern GC_PAUSE_PATTERN = Pattern.compile(".*\\[gc\\s*\\].* Pause .* (\\d+(?:\\.\\d+)?)ms\\s*$");
+    private static final Pattern SAFEPOINT_PATTERN = Pattern.compile(
+            ".* Safepoint \".*\", .*Reaching safepoint: (\\d+) ns, .*Total: (\\d+) ns.*");
+    private static final Pattern LEGACY_SAFEPOINT_PATTERN = Pattern.compile(
+            ".*Total time for which application threads were stopped: (\\d+(?:\\.\\d+)?) seconds, "
+                    + "Stopping threads took: (\\d+(?:\\.\\d+)?) seconds.*");
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnifiedLogFilter.class);
+
+    private UnifiedLogFilter() {}
+
+    /**
+     * Extract the files of unified logs with garbage collection or
+     * safepoint tags from a {@code List} of JVM arguments.
+     *
+     * @param arguments the arguments to search for unified log files
+     * @param processId the process id of the JVM to substitute for {@code %p}
+     * @return the unified log files
+     */
+    static List<Path> extractLogFiles(final List<String> arguments, final long processId) {
+        final List<Path> files = Lists.newArrayList();
+        for (final String argument : arguments) {
+            if (!argument.startsWith(XLOG_PREFIX)) {
+                continue;
+            }
+            final String[] parts = argument.substring(XLOG_PREFIX.length()).split(":");
+            if (parts.length < 2 || !isLogged(parts[0])) {
+                continue;
+            }
+            String output = parts[1].startsWith("file=") ? parts[1].substring("file=".length()) : parts[1];
+            output = output.replace("\"", "");
+            if (output.isEmpty() || "stdout".equals(output) || "stderr".equals(output)) {
+                continue;
+            }
+            if (output.contains("%t")) {
+                LOGGER.warn(String.format("Cannot slice unified log with start time in its name; file=%s", output));
+                continue;
+            }
+            final Path path = Paths.get(output.replace("%p", String.valueOf(processId)));
+            if (!files.contains(path)) {
+                LOGGER.info(String.format("Found unified log file path: %s", path));
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Copy the part of a log between two offsets to a file and summarize it.
+     *
+     * @param logFile the log file
+     * @param start the offset at which the part begins
+     * @param end the offset at which the part ends
+     * @param excerptFile the file to copy the part to
+     * @return the {@code UnifiedLogExcerpt}
+     * @throws IOException if the log cannot be read or the excerpt cannot be written
+     */
+    static UnifiedLogExcerpt filter(final Path logFile, final long start, final long end, final Path excerptFile) throws IOException {
+        try (FileChannel in = FileChannel.open(logFile, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(
+                     excerptFile,
+                     StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = start;
+            while (position < end) {
+                final long transferred = in.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+        try (BufferedReader reader = Files.newBufferedReader(excerptFile, StandardCharsets.UTF_8)) {
+            return summarize(logFile, excerptFile, Math.max(0, end - start), reader);
+        }
+    }
+
+    static UnifiedLogExcerpt summarize(
+            final Path logFile,
+            final Path excerptFile,
+            final long bytes,
+            final BufferedReader reader) throws IOException {
+        long gcPauses = 0;
+        double gcPauseTotal = 0;
+        double gcPauseMax = 0;
+        long safepoints = 0;
+        double timeToSafepointTotal = 0;
+        double timeToSafepointMax = 0;
+        double safepointTotal = 0;
+        String line = reader.readLine();
+        while (line != null) {
+            final Optional<double[]> parsed = parseSafepoint(line);
+            if (parsed.isPresent()) {
+                final double[] safepoint = parsed.get();
+                ++safepoints;
+                timeToSafepointTotal += safepoint[0];
+                timeToSafepointMax = Math.max(timeToSafepointMax, safepoint[0]);
+                safepointTotal += safepoint[1];
+            } else {
+                final Matcher pause = GC_PAUSE_PATTERN.matcher(line);
+                if (pause.matches()) {
+                    final double millis = Double.parseDouble(pause.group(1));
+                    ++gcPauses;
+                    gcPauseTotal += millis;
+                    gcPauseMax = Math.max(gcPauseMax, millis);
+                }
+            }
+            line = reader.readLine();
+        }
+        return new UnifiedLogExcerpt(
+                logFile,
+                excerptFile,
+                bytes,
+                gcPauses,
+                gcPauseTotal,
+                gcPauseMax,
+                safepoints,
+                timeToSafepointTotal,
+                timeToSafepointMax,
+                safepointTotal);
+    }
+
+    private static Optional<double[]> parseSafepoint(final String line) {
+        final Matcher safepoint = SAFEPOINT_PATTERN.matcher(line);
+        if (safepoint.matches()) {
+            return Optional.of(new double[]{
+                    Long.parseLong(safepoint.group(1)) / 1000000.0,
+                    Long.parseLong(safepoint.group(2)) / 1000000.0});
+        }
+        final Matcher legacy = LEGACY_SAFEPOINT_PATTERN.matcher(line);
+        if (legacy.matches()) {
+            return Optional.of(new double[]{Double.parseDouble(legacy.group(2)) * 1000, Double.parseDouble(legacy.group(1)) * 1000});
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isLogged(final String selections) {
+        for (final String selection : selections.split(",")) {
+            for (final String tag : selection.split("[+*=]")) {
+                if (LOGGED_TAGS.contains(tag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
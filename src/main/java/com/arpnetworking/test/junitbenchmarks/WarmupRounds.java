@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptionsSystemProperties;
+import org.junit.runner.Description;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Determines the number of warmup rounds of a test for the rules which
+ * observe individual benchmark rounds. By default the number is resolved
+ * from the {@code BenchmarkOptions} annotation and the {@code jub.*} system
+ * properties in the same way as the benchmark itself, unless a rule which
+ * decides the warmup while the test runs, such as the
+ * {@link SteadyStateBenchmarkRule}, has overridden it.
+ *
+ * @author agent (agent at local)
+ */
+final class WarmupRounds {
+
+    /**
+     * The number of warmup rounds while it is still being decided.
+     */
+    static final int UNDECIDED = Integer.MAX_VALUE;
+
+    private static final int DEFAULT_WARMUP_ROUNDS = 5;
+    private static final Map<Description, Integer> OVERRIDES = new ConcurrentHashMap<>();
+
+    private WarmupRounds() {}
+
+    /**
+     * The number of warmup rounds of a test. The override, if any, is
+     * checked on every call since it may change while the test runs.
+     *
+     * @param description the {@code Description} of the test
+     * @param resolved the number of warmup rounds resolved with {@link #resolve(Description)}
+     * @return the number of warmup rounds
+     */
+    static int get(final Description description, final int resolved) {
+        final Integer override = OVERRIDES.get(description);
+        return override == null ? resolved : override;
+    }
+
+    static void override(final Description description, final int warmupRounds) {
+        OVERRIDES.put(description, warmupRounds);
+    }
+
+    static void clear(final Description description) {
+        OVERRIDES.remove(description);
+    }
+
+    static int resolve(final Description description) {
+        return resolve(
+                description,
+                System.getProperty(BenchmarkOptionsSystemProperties.WARMUP_ROUNDS_PROPERTY),
+                Boolean.getBoolean(BenchmarkOptionsSystemProperties.IGNORE_ANNOTATION_OPTIONS_PROPERTY));
+    }
+
+    static int resolve(final Description description, @Nullable final String property, final boolean ignoreAnnotations) {
+        int warmupRounds = DEFAULT_WARMUP_ROUNDS;
+        if (property != null && !property.trim().isEmpty()) {
+            warmupRounds = Integer.parseInt(property.trim());
+        }
+        if (!ignoreAnnotations) {
+            final BenchmarkOptions options = findOptions(description);
+            if (options != null && options.warmupRounds() >= 0) {
+                warmupRounds = options.warmupRounds();
+            }
+        }
+        return warmupRounds;
+    }
+
+    @Nullable
+    static BenchmarkOptions findOptions(final Description description) {
+        final BenchmarkOptions methodOptions = description.getAnnotation(BenchmarkOptions.class);
+        if (methodOptions != null) {
+            return methodOptions;
+        }
+        for (Class<?> clazz = description.getTestClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            final BenchmarkOptions classOptions = clazz.getAnnotation(BenchmarkOptions.class);
+            if (classOptions != null) {
+                return classOptions;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link AdaptiveBenchmarkRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class AdaptiveBenchmarkRuleTest {
+
+    @Test
+    public void testConverged() throws IOException {
+        Files.deleteIfExists(ConvergingBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(ConvergingBenchmark.class)).wasSuccessful());
+        ConvergingBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(ConvergingBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode result = results.get(0);
+        Assert.assertEquals(2, result.get("result").get("warmupRounds").asInt());
+        Assert.assertEquals(3, result.get("result").get("benchmarkRounds").asInt());
+        Assert.assertTrue(result.get("result").get("roundAverage").get("avg").asDouble() > 0);
+        // Garbage collection is not called between rounds
+        Assert.assertEquals(0.0, result.get("result").get("gcAverage").get("avg").asDouble(), 0.0);
+        final JsonNode measurement = result.get("adaptiveMeasurement");
+        Assert.assertEquals("mean", measurement.get("statistic").asText());
+        Assert.assertEquals(3, measurement.get("rounds").asInt());
+        Assert.assertTrue(measurement.get("converged").asBoolean());
+        Assert.assertTrue(measurement.get("lowerBound").asDouble() <= measurement.get("estimate").asDouble());
+        Assert.assertTrue(measurement.get("upperBound").asDouble() >= measurement.get("estimate").asDouble());
+        Assert.assertEquals(3, result.get("roundLatency").get("count").asLong());
+    }
+
+    @Test
+    public void testMaxRounds() throws IOException {
+        Files.deleteIfExists(DivergingBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(DivergingBenchmark.class)).wasSuccessful());
+        DivergingBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(DivergingBenchmark.PATH.toFile());
+        final JsonNode result = results.get(0);
+        Assert.assertEquals(0, result.get("result").get("warmupRounds").asInt());
+        Assert.assertEquals(8, result.get("result").get("benchmarkRounds").asInt());
+        final JsonNode measurement = result.get("adaptiveMeasurement");
+        Assert.assertEquals("p90", measurement.get("statistic").asText());
+        Assert.assertEquals(8, measurement.get("rounds").asInt());
+        Assert.assertFalse(measurement.get("converged").asBoolean());
+    }
+
+    @Test
+    public void testBudget() throws IOException {
+        Files.deleteIfExists(BudgetBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(BudgetBenchmark.class)).wasSuccessful());
+        BudgetBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(BudgetBenchmark.PATH.toFile());
+        final JsonNode measurement = results.get(0).get("adaptiveMeasurement");
+        Assert.assertEquals(2, measurement.get("rounds").asInt());
+        Assert.assertFalse(measurement.get("converged").asBoolean());
+    }
+
+    @Test
+    public void testWarmupGarbageCollectionExcluded() throws IOException {
+        Files.deleteIfExists(WarmupGarbageCollectionBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(WarmupGarbageCollectionBenchmark.class)).wasSuccessful());
+        WarmupGarbageCollectionBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(WarmupGarbageCollectionBenchmark.PATH.toFile());
+        final JsonNode result = results.get(0).get("result");
+        Assert.assertEquals(3, result.get("warmupRounds").asInt());
+        Assert.assertEquals(2, result.get("benchmarkRounds").asInt());
+        Assert.assertEquals(0, result.get("gcInfo").get("accumulatedInvocations").asInt());
+    }
+
+    @Test
+    public void testMeanInterval() {
+        Assert.assertTrue(Double.isNaN(AdaptiveBenchmarkRule.meanInterval(new long[] {1}, 1).getEstimate()));
+        final AdaptiveBenchmarkRule.Interval constant = AdaptiveBenchmarkRule.meanInterval(new long[] {5, 5, 5, 7}, 3);
+        Assert.assertEquals(5.0, constant.getEstimate(), 0.0);
+        Assert.assertEquals(0.0, constant.getRelativeError(), 0.0);
+
+        // Sample variance of 400 / 3 so the half width is 1.96 * sqrt(400 / 3 / 4)
+        final AdaptiveBenchmarkRule.Interval interval = AdaptiveBenchmarkRule.meanInterval(
+                new long[] {90, 110, 90, 110},
+                4);
+        Assert.assertEquals(100.0, interval.getEstimate(), 0.0);
+        Assert.assertEquals(100.0 - 11.31585, interval.getLowerBound(), 0.0001);
+        Assert.assertEquals(100.0 + 11.31585, interval.getUpperBound(), 0.0001);
+        Assert.assertEquals(0.1131585, interval.getRelativeError(), 0.000001);
+    }
+
+    @Test
+    public void testPercentileInterval() {
+        final long[] values = new long[100];
+        for (int i = 0; i < values.length; ++i) {
+            values[values.length - i - 1] = i + 1;
+        }
+        // The median rank is bounded by 50 -/+ 1.96 * 5
+        final AdaptiveBenchmarkRule.Interval median = AdaptiveBenchmarkRule.percentileInterval(values, 100, 50);
+        Assert.assertEquals(50.0, median.getEstimate(), 0.0);
+        Assert.assertEquals(40.0, median.getLowerBound(), 0.0);
+        Assert.assertEquals(60.0, median.getUpperBound(), 0.0);
+        Assert.assertEquals(0.2, median.getRelativeError(), 0.0);
+
+        final AdaptiveBenchmarkRule.Interval unbounded = AdaptiveBenchmarkRule.percentileInterval(values, 100, 99);
+        Assert.assertEquals(99.0, unbounded.getEstimate(), 0.0);
+        Assert.assertTrue(Double.isNaN(unbounded.getUpperBound()));
+        Assert.assertEquals(Double.POSITIVE_INFINITY, unbounded.getRelativeError(), 0.0);
+    }
+
+    @Test
+    public void testStatisticName() {
+        Assert.assertEquals("mean", AdaptiveBenchmarkRule.statisticName(null));
+        Assert.assertEquals("p99", AdaptiveBenchmarkRule.statisticName(99.0));
+        Assert.assertEquals("p99.9", AdaptiveBenchmarkRule.statisticName(99.9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new AdaptiveBenchmarkRule(
+                new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")),
+                100,
+                0.1,
+                2,
+                10,
+                Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTarget() {
+        new AdaptiveBenchmarkRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 0, 2, 10, Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        new AdaptiveBenchmarkRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 0.1, 1, 10, Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBudget() {
+        new AdaptiveBenchmarkRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 0.1, 2, 10, Duration.ZERO);
+    }
+
+    /**
+     * Benchmark whose round times are within the target immediately.
+     */
+    @BenchmarkOptions(benchmarkRounds = 100, warmupRounds = 2)
+    public static final class ConvergingBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain
+                .outerRule(new AdaptiveBenchmarkRule(CONSUMER, Double.MAX_VALUE, 3, 20, Duration.ofMinutes(1)))
+                .around(ROUND_LATENCY);
+
+        private static final Path PATH = Paths.get("target/tmp/test/AdaptiveBenchmarkRuleTest.ConvergingBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final RoundLatencyRule ROUND_LATENCY = new RoundLatencyRule(CONSUMER);
+
+        @Test
+        public void testConverged() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Benchmark whose percentile cannot be bounded in the maximum rounds.
+     */
+    @BenchmarkOptions(warmupRounds = 0)
+    public static final class DivergingBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = new AdaptiveBenchmarkRule(CONSUMER, 90, 0.5, 4, 8, Duration.ofMinutes(1));
+
+        private static final Path PATH = Paths.get("target/tmp/test/AdaptiveBenchmarkRuleTest.DivergingBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+
+        @Test
+        public void testMaxRounds() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Benchmark which exhausts its time budget.
+     */
+    @BenchmarkOptions(warmupRounds = 0)
+    public static final class BudgetBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = new AdaptiveBenchmarkRule(CONSUMER, 1e-9, 100, 1000, Duration.ofMillis(1));
+
+        private static final Path PATH = Paths.get("target/tmp/test/AdaptiveBenchmarkRuleTest.BudgetBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+
+        @Test
+        public void testBudget() throws InterruptedException {
+            Thread.sleep(2);
+        }
+    }
+
+    /**
+     * Benchmark which allocates and collects garbage only during warmup.
+     */
+    @BenchmarkOptions(warmupRounds = 3)
+    public static final class WarmupGarbageCollectionBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = new AdaptiveBenchmarkRule(CONSUMER, Double.MAX_VALUE, 2, 2, Duration.ofMinutes(1));
+
+        private static final Path PATH = Paths.get("target/tmp/test/AdaptiveBenchmarkRuleTest.WarmupGarbageCollectionBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final AtomicInteger ROUNDS = new AtomicInteger();
+
+        @Test
+        public void testWarmupGarbageCollectionExcluded() {
+            if (ROUNDS.getAndIncrement() < 3) {
+                final List<byte[]> garbage = new ArrayList<>();
+                for (int i = 0; i < 64; ++i) {
+                    garbage.add(new byte[1024 * 1024]);
+                }
+                Assert.assertEquals(64, garbage.size());
+                System.gc();
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.arpnetworking.test.junitbenchmarks;
 
 import com.carrotsearch.junitbenchmarks.DataCreator;
 import com.carrotsearch.junitbenchmarks.Result;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -48,5 +49,19 @@ public final class AugmentedResultTest {
 
         Assert.assertFalse(augmentedResult.getProfileFile().isPresent());
         Assert.assertEquals(result, augmentedResult.getResult());
+        Assert.assertTrue(augmentedResult.getAugmentations().isEmpty());
+    }
+
+    @Test
+    public void testWithAugmentations() {
+        final Result result = DataCreator.createResult();
+        final Path path = Paths.get("./target");
+        final AugmentedResult augmentedResult = new AugmentedResult(result, path, ImmutableMap.of("foo", "bar"));
+
+        Assert.assertEquals(path, augmentedResult.getProfileFile().get());
+        Assert.assertEquals(ImmutableMap.of("foo", "bar"), augmentedResult.getAugmentations());
+        Assert.assertEquals(
+                ImmutableMap.of("foo", "bar"),
+                new AugmentedResult(result, ImmutableMap.of("foo", "bar")).getAugmentations());
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Tests for {@link BaselineComparator}.
+ *
+ * @author agent (agent at local)
+ */
+public final class BaselineComparatorTest {
+
+    @Test
+    public void testCompare() throws IOException {
+        final Path baseline = DIRECTORY.resolve("BaselineComparatorTest.testCompare.baseline.json");
+        final Path current = DIRECTORY.resolve("BaselineComparatorTest.testCompare.current.json");
+        // The baseline is written in append mode with a stale result of the first test
+        writeResults(baseline, ImmutableMap.of("a.B.testRegressed", rounds(1, 2000, 1.0)));
+        appendResults(baseline, ImmutableMap.of(
+                "a.B.testRegressed", rounds(2, 100, 1.0),
+                "a.B.testImproved", rounds(3, 100, 1.0),
+                "a.B.testSmallChange", rounds(4, 1000, 1.0),
+                "a.B.testUnchanged", rounds(5, 100, 1.0),
+                "a.B.testRemoved", rounds(6, 100, 1.0),
+                "a.B.testNoRoundTimes", new long[0]));
+        writeResults(current, ImmutableMap.of(
+                "a.B.testRegressed", rounds(7, 100, 1.2),
+                "a.B.testImproved", rounds(8, 100, 0.8),
+                "a.B.testSmallChange", rounds(9, 1000, 1.02),
+                "a.B.testUnchanged", rounds(10, 100, 1.0),
+                "a.B.testAdded", rounds(11, 100, 1.0),
+                "a.B.testNoRoundTimes", rounds(12, 100, 1.0)));
+
+        for (final BaselineComparator.StatisticalTest statisticalTest : BaselineComparator.StatisticalTest.values()) {
+            final BaselineComparison comparison = new BaselineComparator(statisticalTest, 0.01, 0.05).compare(baseline, current);
+            Assert.assertEquals(statisticalTest, comparison.getStatisticalTest());
+            Assert.assertEquals(BaselineComparison.Verdict.REGRESSED, comparison.getVerdict());
+            Assert.assertEquals(ImmutableList.of("a.B.testRemoved", "a.B.testAdded"), comparison.getUnmatched());
+            Assert.assertEquals(ImmutableList.of("a.B.testNoRoundTimes"), comparison.getMissingRoundTimes());
+            Assert.assertEquals(4, comparison.getTests().size());
+
+            final BaselineComparison.TestComparison regressed = comparison.getTests().get(0);
+            Assert.assertEquals("a.B.testRegressed", regressed.getName());
+            Assert.assertEquals(BaselineComparison.Verdict.REGRESSED, regressed.getVerdict());
+            Assert.assertEquals(100, regressed.getBaselineRounds());
+            Assert.assertEquals(0.2, regressed.getChange(), 0.05);
+            Assert.assertTrue(regressed.getPValue() < 0.01);
+            Assert.assertEquals(BaselineComparison.Verdict.IMPROVED, comparison.getTests().get(1).getVerdict());
+            final BaselineComparison.TestComparison smallChange = comparison.getTests().get(2);
+            Assert.assertTrue(smallChange.getPValue() < 0.01);
+            Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, smallChange.getVerdict());
+            Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, comparison.getTests().get(3).getVerdict());
+        }
+        Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, new BaselineComparator().compare(current, current).getVerdict());
+        final BaselineComparison reversed = new BaselineComparator().compare(current, baseline);
+        Assert.assertEquals(BaselineComparison.Verdict.IMPROVED, reversed.getTests().get(0).getVerdict());
+        Assert.assertEquals(BaselineComparison.Verdict.REGRESSED, reversed.getTests().get(1).getVerdict());
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        final Path baseline = DIRECTORY.resolve("BaselineComparatorTest.testRun.baseline.json");
+        final Path current = DIRECTORY.resolve("BaselineComparatorTest.testRun.current.json");
+        final Path verdict = DIRECTORY.resolve("BaselineComparatorTest.testRun.verdict.json");
+        final Path other = DIRECTORY.resolve("BaselineComparatorTest.testRun.other.json");
+        final Path noRoundTimes = DIRECTORY.resolve("BaselineComparatorTest.testRun.noRoundTimes.json");
+        writeResults(baseline, ImmutableMap.of("a.B.test", rounds(1, 100, 1.0)));
+        writeResults(current, ImmutableMap.of("a.B.test", rounds(2, 100, 1.5)));
+        writeResults(other, ImmutableMap.of("a.B.otherTest", rounds(3, 100, 1.0)));
+        writeResults(noRoundTimes, ImmutableMap.of("a.B.test", new long[0]));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream stream = new PrintStream(out, true, "UTF-8")) {
+            Assert.assertEquals(1, BaselineComparator.run(
+                    new String[] {"--test=WELCH_T", "--alpha=0.05", "--min-effect=0.1", baseline.toString(), current.toString(),
+                            verdict.toString()},
+                    stream));
+            Assert.assertEquals(0, BaselineComparator.run(new String[] {baseline.toString(), baseline.toString()}, stream));
+            Assert.assertEquals(2, BaselineComparator.run(new String[] {baseline.toString()}, stream));
+            Assert.assertEquals(2, BaselineComparator.run(new String[] {"--test=NONE", baseline.toString(), current.toString()}, stream));
+            Assert.assertEquals(3, BaselineComparator.run(
+                    new String[] {DIRECTORY.resolve("BaselineComparatorTest.testRun.missing.json").toString(), current.toString()},
+                    stream));
+            Assert.assertEquals(4, BaselineComparator.run(new String[] {baseline.toString(), other.toString()}, stream));
+            Assert.assertEquals(4, BaselineComparator.run(new String[] {noRoundTimes.toString(), current.toString()}, stream));
+        }
+        Assert.assertTrue(out.toString("UTF-8").startsWith("REGRESSED a.B.test +"));
+
+        final JsonNode comparison = ObjectMapperFactory.getInstance().readTree(verdict.toFile());
+        Assert.assertEquals("REGRESSED", comparison.get("verdict").asText());
+        Assert.assertEquals("WELCH_T", comparison.get("statisticalTest").asText());
+        Assert.assertEquals(0.1, comparison.get("minEffectSize").asDouble(), 0.0);
+        final JsonNode test = comparison.get("tests").get(0);
+        Assert.assertEquals("a.B.test", test.get("name").asText());
+        Assert.assertEquals("REGRESSED", test.get("verdict").asText());
+        Assert.assertEquals(0.5, test.get("change").asDouble(), 0.05);
+    }
+
+    @Test
+    public void testWelchTTest() {
+        Assert.assertEquals(
+                0.0010528,
+                BaselineComparator.welchTTest(new long[] {1, 2, 3, 4, 5}, new long[] {6, 7, 8, 9, 10}),
+                1e-6);
+        Assert.assertEquals(1.0, BaselineComparator.welchTTest(new long[] {1, 2, 3}, new long[] {3, 2, 1}), 1e-9);
+        Assert.assertEquals(1.0, BaselineComparator.welchTTest(new long[] {1, 1}, new long[] {1, 1}), 0.0);
+        Assert.assertEquals(0.0, BaselineComparator.welchTTest(new long[] {1, 1}, new long[] {2, 2}), 0.0);
+        Assert.assertEquals(1.0, BaselineComparator.welchTTest(new long[] {1}, new long[] {2, 3}), 0.0);
+    }
+
+    @Test
+    public void testMannWhitneyUTest() {
+        Assert.assertEquals(
+                0.0121858,
+                BaselineComparator.mannWhitneyUTest(new long[] {1, 2, 3, 4, 5}, new long[] {6, 7, 8, 9, 10}),
+                1e-6);
+        Assert.assertEquals(1.0, BaselineComparator.mannWhitneyUTest(new long[] {1, 2, 3}, new long[] {3, 2, 1}), 1e-6);
+        Assert.assertEquals(1.0, BaselineComparator.mannWhitneyUTest(new long[] {4, 4}, new long[] {4, 4}), 0.0);
+    }
+
+    @Test
+    public void testSpecialFunctions() {
+        Assert.assertEquals(Math.log(24), BaselineComparator.logGamma(5), 1e-10);
+        Assert.assertEquals(Math.log(Math.sqrt(Math.PI)), BaselineComparator.logGamma(0.5), 1e-10);
+        Assert.assertEquals(0.3, BaselineComparator.regularizedIncompleteBeta(1, 1, 0.3), 1e-12);
+        // The two-sided p-value of the t distribution with one degree of freedom at sqrt(3)
+        Assert.assertEquals(1.0 / 3, BaselineComparator.regularizedIncompleteBeta(0.5, 0.5, 0.25), 1e-10);
+        Assert.assertEquals(0.0, BaselineComparator.regularizedIncompleteBeta(2, 3, 0), 0.0);
+        Assert.assertEquals(1.0, BaselineComparator.regularizedIncompleteBeta(2, 3, 1), 0.0);
+        Assert.assertEquals(1.0, BaselineComparator.complementaryErrorFunction(0), 1e-7);
+        Assert.assertEquals(0.157299207, BaselineComparator.complementaryErrorFunction(1), 1e-7);
+        Assert.assertEquals(1.842700793, BaselineComparator.complementaryErrorFunction(-1), 1e-7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAlpha() {
+        new BaselineComparator(BaselineComparator.StatisticalTest.WELCH_T, 1, 0.05);
+    }
+
+    private static long[] rounds(final long seed, final int count, final double scale) {
+        // Skewed round times around one millisecond
+        final SplittableRandom random = new SplittableRandom(seed);
+        final long[] rounds = new long[count];
+        for (int i = 0; i < count; ++i) {
+            rounds[i] = Math.round(scale * (1000000 + 50000 * random.nextDouble() + 50000 * Math.pow(random.nextDouble(), 8)));
+        }
+        return rounds;
+    }
+
+    private static void writeResults(final Path path, final Map<String, long[]> rounds) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        Files.write(path, toJson(rounds));
+    }
+
+    private static void appendResults(final Path path, final Map<String, long[]> rounds) throws IOException {
+        final byte[] existing = Files.readAllBytes(path);
+        final byte[] appended = toJson(rounds);
+        final byte[] combined = new byte[existing.length + appended.length];
+        System.arraycopy(existing, 0, combined, 0, existing.length);
+        System.arraycopy(appended, 0, combined, existing.length, appended.length);
+        Files.write(path, combined);
+    }
+
+    private static byte[] toJson(final Map<String, long[]> rounds) throws IOException {
+        final ArrayNode results = JsonNodeFactory.instance.arrayNode();
+        for (final Map.Entry<String, long[]> entry : rounds.entrySet()) {
+            final int separator = entry.getKey().lastIndexOf('.');
+            final ObjectNode result = results.addObject();
+            result.putObject("result")
+                    .put("testClassName", entry.getKey().substring(0, separator))
+                    .put("testMethodName", entry.getKey().substring(separator + 1));
+            final ArrayNode roundTimes = result.putObject("roundStatistics").putArray("roundTimes");
+            for (final long round : entry.getValue()) {
+                roundTimes.add(round);
+            }
+        }
+        return ObjectMapperFactory.getInstance().writerWithDefaultPrettyPrinter().writeValueAsBytes(results);
+    }
+
+    private static final Path DIRECTORY = Paths.get("target/tmp/test/baseline");
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runners.model.Statement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for {@link CompilationRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class CompilationRuleTest {
+
+    @Test
+    public void testRecordsPhases() throws IOException {
+        Files.deleteIfExists(SampleBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(SampleBenchmark.class)).wasSuccessful());
+        SampleBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(SampleBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode compilation = results.get(0).get("compilation");
+        Assert.assertTrue(compilation.get("warmupCompilationTimeMillis").asLong() >= 0);
+        Assert.assertTrue(compilation.get("measurementCompilationTimeMillis").asLong() >= 0);
+        Assert.assertEquals(
+                compilation.get("warmupCompilationTimeMillis").asLong()
+                        + compilation.get("measurementCompilationTimeMillis").asLong(),
+                compilation.get("compilationTimeMillis").asLong());
+        Assert.assertTrue(compilation.has("compilingDuringMeasurement"));
+
+        final JsonNode warmup = compilation.get("warmup");
+        Assert.assertTrue(warmup.get("compilations").asLong() > 0);
+        Assert.assertTrue(warmup.get("compilationDurationMillis").asDouble() > 0);
+        Assert.assertTrue(warmup.get("methods").size() > 0);
+        Assert.assertTrue(warmup.get("methods").size() <= 20);
+        Assert.assertNotNull(compilation.get("measurement").get("deoptimizations"));
+    }
+
+    @Test
+    public void testWithoutFlightRecorder() throws IOException {
+        final Path path = Paths.get("target/tmp/test/CompilationRuleTest.testWithoutFlightRecorder.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final CompilationRule rule = new CompilationRule(consumer);
+        final Statement statement = rule.apply(
+                new NoOpStatement(),
+                Description.createTestDescription(SampleBenchmark.class, "test"));
+        for (int i = 0; i < 3; ++i) {
+            evaluate(statement);
+        }
+
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode compilation = ObjectMapperFactory.getInstance().readTree(path.toFile()).get(0).get("compilation");
+        Assert.assertTrue(compilation.get("compilationTimeMillis").asLong() >= 0);
+        Assert.assertTrue(compilation.get("warmup").isNull());
+        Assert.assertTrue(compilation.get("measurement").isNull());
+    }
+
+    @Test
+    public void testWithoutMeasuredRounds() throws IOException {
+        final Path path = Paths.get("target/tmp/test/CompilationRuleTest.testWithoutMeasuredRounds.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final CompilationRule rule = new CompilationRule(consumer, true);
+        rule.apply(new NoOpStatement(), Description.createTestDescription(SampleBenchmark.class, "test"));
+        rule.apply(new NoOpStatement(), Description.createTestDescription(SampleBenchmark.class, "test"));
+
+        consumer.accept(DataCreator.createResult());
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(2, results.size());
+        Assert.assertNull(results.get(0).get("compilation"));
+        Assert.assertNull(results.get(1).get("compilation"));
+    }
+
+    @Test
+    public void testCompilingDuringMeasurement() {
+        final CompilationStatistics.Phase quiet = new CompilationStatistics.Phase(0, 0, 0, 0, 0, ImmutableList.of());
+        final CompilationStatistics.Phase compiling = new CompilationStatistics.Phase(1, 0, 0.5, 0, 0, ImmutableList.of("a.b"));
+        final CompilationStatistics.Phase deoptimizing = new CompilationStatistics.Phase(0, 0, 0, 1, 0, ImmutableList.of());
+
+        Assert.assertFalse(new CompilationStatistics(5, 0, Optional.empty(), Optional.empty()).isCompilingDuringMeasurement());
+        Assert.assertTrue(new CompilationStatistics(5, 1, Optional.empty(), Optional.empty()).isCompilingDuringMeasurement());
+        Assert.assertFalse(new CompilationStatistics(5, 0, Optional.of(compiling), Optional.of(quiet))
+                .isCompilingDuringMeasurement());
+        Assert.assertTrue(new CompilationStatistics(5, 0, Optional.of(quiet), Optional.of(compiling))
+                .isCompilingDuringMeasurement());
+        Assert.assertTrue(new CompilationStatistics(5, 0, Optional.of(quiet), Optional.of(deoptimizing))
+                .isCompilingDuringMeasurement());
+        Assert.assertEquals(5, new CompilationStatistics(5, 0, Optional.empty(), Optional.empty()).getCompilationTimeMillis());
+    }
+
+    private static void evaluate(final Statement statement) {
+        try {
+            statement.evaluate();
+            // CHECKSTYLE.OFF: IllegalCatch - Statements may throw anything
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        // CHECKSTYLE.ON: IllegalCatch
+    }
+
+    /**
+     * Benchmark run by the tests.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 2)
+    public static final class SampleBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(COMPILATION);
+
+        private static final Path PATH = Paths.get("target/tmp/test/CompilationRuleTest.SampleBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final CompilationRule COMPILATION = new CompilationRule(CONSUMER, true);
+        private static final AtomicLong SINK = new AtomicLong();
+
+        @Test
+        public void test() {
+            long value = 0;
+            for (int i = 0; i < 100000; ++i) {
+                value += Long.toString(i).hashCode();
+            }
+            SINK.addAndGet(value);
+        }
+    }
+
+    /**
+     * Statement that does nothing.
+     */
+    private static final class NoOpStatement extends Statement {
+
+        @Override
+        public void evaluate() {
+            // Nothing to evaluate
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.ExecCreateCmd;
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.command.ExecStartCmd;
+import com.github.dockerjava.api.command.InspectExecCmd;
+import com.github.dockerjava.api.command.InspectExecResponse;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+/**
+ * Tests the {@link ContainerCommand} class.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerCommandTest {
+
+    @Mock
+    private DockerClient _dockerClient;
+    @Mock
+    private Container _container;
+    private AutoCloseable _mocks;
+
+    @Before
+    public void setUp() {
+        _mocks = MockitoAnnotations.openMocks(this);
+        Mockito.doReturn("123").when(_container).getId();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _mocks.close();
+    }
+
+    @Test
+    public void testExecute() throws IOException {
+        mockExecution(_dockerClient, "123", "exec-1", "output", true, 0L);
+
+        Assert.assertEquals(
+                "output",
+                ContainerCommand.execute(_dockerClient, _container, Duration.ofSeconds(1), "echo", "output"));
+    }
+
+    @Test
+    public void testExecuteNonZeroExit() {
+        mockExecution(_dockerClient, "123", "exec-1", "error", true, 1L);
+
+        try {
+            ContainerCommand.execute(_dockerClient, _container, Duration.ofSeconds(1), "false");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("exited with 1"));
+        }
+    }
+
+    @Test
+    public void testExecuteNoExitCode() {
+        mockExecution(_dockerClient, "123", "exec-1", "", true, null);
+
+        try {
+            ContainerCommand.execute(_dockerClient, _container, Duration.ofSeconds(1), "true");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("exited with null"));
+        }
+    }
+
+    @Test
+    public void testExecuteTimeout() {
+        mockExecution(_dockerClient, "123", "exec-1", "", false, 0L);
+
+        try {
+            ContainerCommand.execute(_dockerClient, _container, Duration.ofMillis(10), "sleep", "10");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("Timed out"));
+        }
+    }
+
+    @Test
+    public void testExecuteDockerFailure() {
+        Mockito.doThrow(new DockerException("Test", 500)).when(_dockerClient).execCreateCmd("123");
+
+        try {
+            ContainerCommand.execute(_dockerClient, _container, Duration.ofSeconds(1), "true");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertEquals(DockerException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void testExecuteInterrupted() {
+        mockExecution(_dockerClient, "123", "exec-1", "", false, 0L);
+
+        Thread.currentThread().interrupt();
+        try {
+            ContainerCommand.execute(_dockerClient, _container, Duration.ofSeconds(1), "true");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertEquals(InterruptedException.class, e.getCause().getClass());
+            Assert.assertTrue(Thread.interrupted());
+        }
+    }
+
+    /**
+     * Mock the execution of a command in a container.
+     *
+     * @param dockerClient the mock {@code DockerClient}
+     * @param containerId the container identifier
+     * @param execId the execution identifier
+     * @param output the output produced by the command
+     * @param complete whether the command completes
+     * @param exitCode the exit code of the command
+     * @return the mock {@code ExecCreateCmd} for verification
+     */
+    @SuppressWarnings("unchecked")
+    static ExecCreateCmd mockExecution(
+            final DockerClient dockerClient,
+            final String containerId,
+            final String execId,
+            final String output,
+            final boolean complete,
+            @Nullable final Long exitCode) {
+        final ExecCreateCmd execCreateCmd = Mockito.mock(ExecCreateCmd.class, Mockito.RETURNS_SELF);
+        final ExecCreateCmdResponse execCreateCmdResponse = Mockito.mock(ExecCreateCmdResponse.class);
+        Mockito.doReturn(execCreateCmd).when(dockerClient).execCreateCmd(containerId);
+        Mockito.doReturn(execCreateCmdResponse).when(execCreateCmd).exec();
+        Mockito.doReturn(execId).when(execCreateCmdResponse).getId();
+
+        final ExecStartCmd execStartCmd = Mockito.mock(ExecStartCmd.class);
+        Mockito.doReturn(execStartCmd).when(dockerClient).execStartCmd(execId);
+        Mockito.doAnswer(invocation -> {
+            final ResultCallback<Frame> callback = invocation.getArgument(0);
+            callback.onNext(new Frame(StreamType.STDOUT, output.getBytes(StandardCharsets.UTF_8)));
+            if (complete) {
+                callback.onComplete();
+            }
+            return callback;
+        }).when(execStartCmd).exec(Mockito.any());
+
+        final InspectExecCmd inspectExecCmd = Mockito.mock(InspectExecCmd.class);
+        final InspectExecResponse inspectExecResponse = Mockito.mock(InspectExecResponse.class);
+        Mockito.doReturn(inspectExecCmd).when(dockerClient).inspectExecCmd(execId);
+        Mockito.doReturn(inspectExecResponse).when(inspectExecCmd).exec();
+        Mockito.doReturn(exitCode).when(inspectExecResponse).getExitCodeLong();
+        return execCreateCmd;
+    }
+}
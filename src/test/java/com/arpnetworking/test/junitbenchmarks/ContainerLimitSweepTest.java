@@ -0,0 +1,451 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.github.dockerjava.api.command.UpdateContainerCmd;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.HostConfig;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the {@link ContainerLimitSweep} class.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerLimitSweepTest {
+
+    @Mock
+    private DockerClient _dockerClient;
+    @Mock
+    private Container _container;
+    @Mock
+    private InspectContainerResponse _containerInfo;
+    @Mock
+    private HostConfig _hostConfig;
+    private UpdateContainerCmd _updateContainerCmd;
+    private AutoCloseable _mocks;
+
+    @Before
+    public void setUp() {
+        _mocks = MockitoAnnotations.openMocks(this);
+        Mockito.doReturn("running").when(_container).getState();
+        Mockito.doReturn("foobar").when(_container).getImage();
+        Mockito.doReturn("my-id").when(_container).getId();
+        final ListContainersCmd listContainerMock = Mockito.mock(ListContainersCmd.class);
+        Mockito.doReturn(listContainerMock).when(_dockerClient).listContainersCmd();
+        Mockito.doReturn(Collections.singletonList(_container)).when(listContainerMock).exec();
+
+        final InspectContainerCmd inspectContainerMock = Mockito.mock(InspectContainerCmd.class);
+        Mockito.doReturn(inspectContainerMock).when(_dockerClient).inspectContainerCmd("my-id");
+        Mockito.doReturn(_containerInfo).when(inspectContainerMock).exec();
+        Mockito.doReturn(_hostConfig).when(_containerInfo).getHostConfig();
+        Mockito.doReturn(50000L).when(_hostConfig).getCpuQuota();
+        Mockito.doReturn(100000L).when(_hostConfig).getCpuPeriod();
+        Mockito.doReturn(0L).when(_hostConfig).getMemory();
+
+        _updateContainerCmd = Mockito.mock(UpdateContainerCmd.class, Mockito.RETURNS_SELF);
+        Mockito.doReturn(_updateContainerCmd).when(_dockerClient).updateContainerCmd("my-id");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _mocks.close();
+    }
+
+    @Test
+    public void testSweep() throws IOException {
+        final Path path = Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweep.json");
+        final Path curveFile = Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweep.curve.json");
+        Files.deleteIfExists(path);
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(path, _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                curveFile,
+                ImmutableList.of(
+                        ContainerLimits.cpus(1),
+                        ContainerLimits.cpus(2).withMemory(512 * 1024 * 1024),
+                        ContainerLimits.cpus(4)));
+
+        // Throughput doubles from one to two CPUs and then stops scaling
+        final double[] roundAverages = {0.4, 0.2, 0.2};
+        final AtomicInteger pass = new AtomicInteger();
+        final List<String> qualifiers = Lists.newArrayList();
+        evaluate(sweep.apply(new RunnableStatement(() -> {
+            qualifiers.add(consumer.getOutputQualifier());
+            consumer.prepareClass();
+            consumer.accept(createResult(roundAverages[pass.getAndIncrement()]));
+        }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+        consumer.close();
+
+        Assert.assertEquals(3, pass.get());
+        Assert.assertEquals(ImmutableList.of("cpus_1.0", "cpus_2.0_memory_512m", "cpus_4.0"), qualifiers);
+        Assert.assertEquals("", consumer.getOutputQualifier());
+        Mockito.verify(_updateContainerCmd, Mockito.times(4)).withCpuPeriod(100000L);
+        Mockito.verify(_updateContainerCmd).withCpuQuota(100000L);
+        Mockito.verify(_updateContainerCmd).withCpuQuota(200000L);
+        Mockito.verify(_updateContainerCmd).withCpuQuota(400000L);
+        Mockito.verify(_updateContainerCmd).withMemory(512L * 1024 * 1024);
+        Mockito.verify(_updateContainerCmd).withMemorySwap(512L * 1024 * 1024);
+
+        // Original limits are restored; the memory limit was not set so it cannot be removed
+        Mockito.verify(_updateContainerCmd).withCpuQuota(50000L);
+        Mockito.verify(_updateContainerCmd, Mockito.times(1)).withMemory(Mockito.anyLong());
+        Mockito.verify(_updateContainerCmd, Mockito.times(1)).withMemorySwap(Mockito.anyLong());
+        Mockito.verify(_updateContainerCmd, Mockito.times(4)).exec();
+
+        final Map<String, List<ContainerLimitSweep.ScalingPoint>> curves = sweep.getCurves();
+        Assert.assertEquals(1, curves.size());
+        final List<ContainerLimitSweep.ScalingPoint> curve = curves.get(
+                JsonBenchmarkConsumerTest.class.getName() + ".testNormalBenchmarkCase");
+        Assert.assertEquals(3, curve.size());
+        Assert.assertEquals(2.5, curve.get(0).getRoundsPerSecond(), 0.0001);
+        Assert.assertEquals(1.0, curve.get(0).getSpeedup(), 0.0001);
+        Assert.assertEquals(1.0, curve.get(0).getScalingEfficiency().get(), 0.0001);
+        Assert.assertEquals(2.0, curve.get(1).getSpeedup(), 0.0001);
+        Assert.assertEquals(1.0, curve.get(1).getScalingEfficiency().get(), 0.0001);
+        Assert.assertEquals(2.0, curve.get(2).getSpeedup(), 0.0001);
+        Assert.assertEquals(0.5, curve.get(2).getScalingEfficiency().get(), 0.0001);
+        Assert.assertEquals(0.2, curve.get(2).getRoundAverage(), 0.0001);
+        Assert.assertEquals(ContainerLimits.cpus(4), curve.get(2).getLimits());
+
+        final JsonNode curveJson = ObjectMapperFactory.getInstance().readTree(curveFile.toFile());
+        Assert.assertEquals(3, curveJson.elements().next().size());
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("cpus=2.0,memory=512m", results.get(1).get("containerLimits").get("label").asText());
+        Assert.assertEquals(512 * 1024 * 1024, results.get(1).get("containerLimits").get("memoryBytes").asLong());
+    }
+
+    @Test
+    public void testSweepFailureContinues() {
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepFailureContinues.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepFailureContinues.curve.json"),
+                ImmutableList.of(ContainerLimits.cpus(1), ContainerLimits.cpus(2)));
+        final AtomicInteger pass = new AtomicInteger();
+
+        // The failure under the first limits is reported after the remaining limits run
+        try {
+            evaluate(sweep.apply(new RunnableStatement(() -> {
+                if (pass.getAndIncrement() == 0) {
+                    throw new IllegalStateException("Test");
+                }
+                consumer.accept(createResult(0.5));
+            }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+            Assert.fail("Expected exception not thrown");
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("Test", e.getMessage());
+        }
+
+        Assert.assertEquals(2, pass.get());
+        Mockito.verify(_updateContainerCmd).withCpuQuota(100000L);
+        Mockito.verify(_updateContainerCmd).withCpuQuota(200000L);
+        Mockito.verify(_updateContainerCmd).withCpuQuota(50000L);
+        final List<ContainerLimitSweep.ScalingPoint> curve = sweep.getCurves().get(
+                JsonBenchmarkConsumerTest.class.getName() + ".testNormalBenchmarkCase");
+        Assert.assertEquals(1, curve.size());
+        Assert.assertEquals(ContainerLimits.cpus(2), curve.get(0).getLimits());
+    }
+
+    @Test
+    public void testSweepFailures() {
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepFailures.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepFailures.curve.json"),
+                ImmutableList.of(ContainerLimits.cpus(1), ContainerLimits.cpus(2)));
+
+        List<Throwable> failures = Collections.emptyList();
+        try {
+            sweep.apply(new RunnableStatement(() -> {
+                throw new IllegalStateException("Test");
+            }), Description.createSuiteDescription(ContainerLimitSweepTest.class)).evaluate();
+        } catch (final MultipleFailureException e) {
+            failures = e.getFailures();
+            // CHECKSTYLE.OFF: IllegalCatch - Statements may throw anything
+        } catch (final Throwable t) {
+            // CHECKSTYLE.ON: IllegalCatch
+            throw new AssertionError(t);
+        }
+        Assert.assertEquals(2, failures.size());
+        Mockito.verify(_updateContainerCmd).withCpuQuota(50000L);
+    }
+
+    @Test
+    public void testSweepRestoreFailure() {
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepRestoreFailure.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepRestoreFailure.curve.json"),
+                ImmutableList.of(ContainerLimits.memory(1024)));
+        Mockito.doReturn(null).doThrow(new DockerException("Test", 500)).when(_updateContainerCmd).exec();
+        final AtomicInteger pass = new AtomicInteger();
+
+        evaluate(sweep.apply(new RunnableStatement(() -> {
+            pass.incrementAndGet();
+        }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+
+        Assert.assertEquals(1, pass.get());
+        Mockito.verify(_updateContainerCmd).withMemory(1024L);
+    }
+
+    @Test
+    public void testSweepRestoresOriginalMemory() {
+        Mockito.doReturn(2048L).when(_hostConfig).getMemory();
+        Mockito.doReturn(4096L).when(_hostConfig).getMemorySwap();
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepRestoresOriginalMemory.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepRestoresOriginalMemory.curve.json"),
+                ImmutableList.of(ContainerLimits.memory(1024)));
+
+        evaluate(sweep.apply(new RunnableStatement(() -> {
+            // Nothing to run
+        }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+
+        Mockito.verify(_updateContainerCmd).withMemory(1024L);
+        Mockito.verify(_updateContainerCmd).withMemory(2048L);
+        Mockito.verify(_updateContainerCmd).withMemorySwap(4096L);
+        Mockito.verify(_updateContainerCmd, Mockito.times(2)).exec();
+    }
+
+    @Test
+    public void testSweepUpdateFailure() {
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepUpdateFailure.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepUpdateFailure.curve.json"),
+                ImmutableList.of(ContainerLimits.cpus(1), ContainerLimits.cpus(2)));
+        Mockito.doThrow(new DockerException("Test", 400)).doReturn(null).when(_updateContainerCmd).exec();
+        final AtomicInteger pass = new AtomicInteger();
+
+        // The limits which could not be applied fail without running and the sweep continues
+        try {
+            evaluate(sweep.apply(new RunnableStatement(() -> {
+                pass.incrementAndGet();
+                consumer.accept(createResult(0.5));
+            }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+            Assert.fail("Expected exception not thrown");
+        } catch (final DockerException e) {
+            Assert.assertEquals(400, e.getHttpStatus());
+        }
+
+        Assert.assertEquals(1, pass.get());
+        Mockito.verify(_updateContainerCmd).withCpuQuota(50000L);
+        final List<ContainerLimitSweep.ScalingPoint> curve = sweep.getCurves().get(
+                JsonBenchmarkConsumerTest.class.getName() + ".testNormalBenchmarkCase");
+        Assert.assertEquals(1, curve.size());
+        Assert.assertEquals(ContainerLimits.cpus(2), curve.get(0).getLimits());
+    }
+
+    @Test
+    public void testSweepCurveWriteFailure() throws IOException {
+        final Path blocker = Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepCurveWriteFailure");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.write(blocker, new byte[0]);
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepCurveWriteFailure.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                blocker.resolve("curve.json"),
+                ImmutableList.of(ContainerLimits.cpus(1)));
+
+        // The test failure is reported along with the failure to write the curves
+        List<Throwable> failures = Collections.emptyList();
+        try {
+            sweep.apply(new RunnableStatement(() -> {
+                throw new IllegalStateException("Test");
+            }), Description.createSuiteDescription(ContainerLimitSweepTest.class)).evaluate();
+        } catch (final MultipleFailureException e) {
+            failures = e.getFailures();
+            // CHECKSTYLE.OFF: IllegalCatch - Statements may throw anything
+        } catch (final Throwable t) {
+            // CHECKSTYLE.ON: IllegalCatch
+            throw new AssertionError(t);
+        }
+        Assert.assertEquals(2, failures.size());
+        Assert.assertEquals(IllegalStateException.class, failures.get(0).getClass());
+        Assert.assertEquals(FileAlreadyExistsException.class, failures.get(1).getClass());
+    }
+
+    @Test
+    public void testSweepOriginalUnknown() {
+        Mockito.doReturn(null).when(_containerInfo).getHostConfig();
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepOriginalUnknown.json"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepOriginalUnknown.curve.json"),
+                ImmutableList.of(ContainerLimits.cpuQuota(25000, 50000)));
+
+        evaluate(sweep.apply(new RunnableStatement(() -> {
+            // Nothing to run
+        }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+
+        Mockito.verify(_updateContainerCmd).withCpuQuota(25000L);
+        Mockito.verify(_updateContainerCmd).withCpuPeriod(50000L);
+        Mockito.verify(_updateContainerCmd, Mockito.times(1)).exec();
+    }
+
+    @Test
+    public void testSweepNoContainer() {
+        final DockerJsonBenchmarkConsumer consumer = new DockerJsonBenchmarkConsumer(
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepNoContainer.json"),
+                Pattern.compile("dne.*"),
+                _dockerClient);
+        final ContainerLimitSweep sweep = new ContainerLimitSweep(
+                consumer,
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testSweepNoContainer.curve.json"),
+                ImmutableList.of(ContainerLimits.cpus(1), ContainerLimits.cpus(2)));
+        final AtomicInteger pass = new AtomicInteger();
+
+        evaluate(sweep.apply(new RunnableStatement(() -> {
+            pass.incrementAndGet();
+        }), Description.createSuiteDescription(ContainerLimitSweepTest.class)));
+
+        Assert.assertEquals(1, pass.get());
+        Mockito.verify(_dockerClient, Mockito.never()).updateContainerCmd(Mockito.anyString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoLimits() {
+        new ContainerLimitSweep(
+                new UnprofiledConsumer(Paths.get("target/tmp/test/ContainerLimitSweepTest.testNoLimits.json"), _dockerClient),
+                Paths.get("target/tmp/test/ContainerLimitSweepTest.testNoLimits.curve.json"),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testScalingPointWithoutCpus() {
+        final ContainerLimitSweep.ScalingPoint baseline = new ContainerLimitSweep.ScalingPoint(
+                ContainerLimits.memory(1024),
+                0.5,
+                2.0,
+                null);
+        final ContainerLimitSweep.ScalingPoint point = new ContainerLimitSweep.ScalingPoint(
+                ContainerLimits.memory(2048),
+                0.25,
+                4.0,
+                baseline);
+        final ContainerLimitSweep.ScalingPoint stalled = new ContainerLimitSweep.ScalingPoint(
+                ContainerLimits.memory(4096),
+                0,
+                0,
+                new ContainerLimitSweep.ScalingPoint(ContainerLimits.memory(1024), 0, 0, null));
+
+        Assert.assertFalse(baseline.getScalingEfficiency().isPresent());
+        Assert.assertEquals(2.0, point.getSpeedup(), 0.0001);
+        Assert.assertFalse(point.getScalingEfficiency().isPresent());
+        Assert.assertEquals(0.0, stalled.getSpeedup(), 0.0001);
+    }
+
+    private static void evaluate(final Statement statement) {
+        try {
+            statement.evaluate();
+            // CHECKSTYLE.OFF: IllegalCatch - Statements may throw anything
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        // CHECKSTYLE.ON: IllegalCatch
+    }
+
+    private static Result createResult(final double roundAverage) {
+        final Result result = DataCreator.createResult();
+        return new Result(
+                Description.createTestDescription(JsonBenchmarkConsumerTest.class, "testNormalBenchmarkCase"),
+                result.benchmarkRounds,
+                result.warmupRounds,
+                result.warmupTime,
+                result.benchmarkTime,
+                DataCreator.createAverage(roundAverage, 0),
+                result.blockedAverage,
+                result.gcAverage,
+                result.gcInfo,
+                1);
+    }
+
+    private static final class RunnableStatement extends Statement {
+        RunnableStatement(final Runnable runnable) {
+            _runnable = runnable;
+        }
+
+        @Override
+        public void evaluate() {
+            _runnable.run();
+        }
+
+        private final Runnable _runnable;
+    }
+
+    private static final class UnprofiledConsumer extends DockerJsonBenchmarkConsumer {
+        UnprofiledConsumer(final Path path, final DockerClient dockerClient) {
+            super(path, Pattern.compile("foo.*"), dockerClient);
+        }
+
+        @Override
+        protected Optional<Path> getProfileFile() {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ContainerLimits} class.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerLimitsTest {
+
+    @Test
+    public void testCpus() {
+        final ContainerLimits limits = ContainerLimits.cpus(1.5);
+
+        Assert.assertEquals(150000L, limits.getCpuQuota().get().longValue());
+        Assert.assertEquals(100000L, limits.getCpuPeriod().get().longValue());
+        Assert.assertEquals(1.5, limits.getCpus().get(), 0.0001);
+        Assert.assertFalse(limits.getMemoryBytes().isPresent());
+        Assert.assertEquals("cpus=1.5", limits.getLabel());
+    }
+
+    @Test
+    public void testCpuQuota() {
+        final ContainerLimits limits = ContainerLimits.cpuQuota(25000, 50000);
+
+        Assert.assertEquals(0.5, limits.getCpus().get(), 0.0001);
+        Assert.assertEquals("cpus=0.5", limits.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCpusNotPositive() {
+        ContainerLimits.cpus(0);
+    }
+
+    @Test
+    public void testMemory() {
+        final ContainerLimits limits = ContainerLimits.memory(256 * 1024 * 1024);
+
+        Assert.assertFalse(limits.getCpus().isPresent());
+        Assert.assertFalse(limits.getCpuQuota().isPresent());
+        Assert.assertEquals(256L * 1024 * 1024, limits.getMemoryBytes().get().longValue());
+        Assert.assertEquals("memory=256m", limits.getLabel());
+        Assert.assertEquals("memory=1000", ContainerLimits.memory(1000).getLabel());
+    }
+
+    @Test
+    public void testCombined() {
+        final ContainerLimits limits = ContainerLimits.cpus(2).withMemory(1024 * 1024);
+
+        Assert.assertEquals("cpus=2.0,memory=1m", limits.getLabel());
+        Assert.assertEquals(limits, ContainerLimits.memory(1024 * 1024).withCpus(2));
+        Assert.assertEquals(limits.hashCode(), ContainerLimits.memory(1024 * 1024).withCpus(2).hashCode());
+    }
+
+    @Test
+    public void testEquals() {
+        final ContainerLimits limits = ContainerLimits.cpus(1);
+
+        Assert.assertEquals(limits, limits);
+        Assert.assertNotEquals(limits, ContainerLimits.cpus(2));
+        Assert.assertNotEquals(limits, ContainerLimits.cpuQuota(100000, 200000));
+        Assert.assertNotEquals(limits, limits.withMemory(1));
+        Assert.assertNotEquals(limits, "cpus=1.0");
+    }
+}
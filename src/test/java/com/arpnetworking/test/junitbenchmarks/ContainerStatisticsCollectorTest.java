@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.github.dockerjava.api.command.StatsCmd;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the {@link ContainerStatisticsCollector} class.
+ *
+ * @author agent (agent at local)
+ */
+public final class ContainerStatisticsCollectorTest {
+
+    @Mock
+    private DockerClient _dockerClient;
+    @Mock
+    private Container _container;
+    @Mock
+    private StatsCmd _statsCmd;
+    private AutoCloseable _mocks;
+
+    @Before
+    public void setUp() {
+        _mocks = MockitoAnnotations.openMocks(this);
+        Mockito.doReturn("running").when(_container).getState();
+        Mockito.doReturn("foobar").when(_container).getImage();
+        Mockito.doReturn("my-id").when(_container).getId();
+        final ListContainersCmd listContainerMock = Mockito.mock(ListContainersCmd.class);
+        Mockito.doReturn(listContainerMock).when(_dockerClient).listContainersCmd();
+        Mockito.doReturn(Collections.singletonList(_container)).when(listContainerMock).exec();
+        Mockito.doReturn(_statsCmd).when(_dockerClient).statsCmd("my-id");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _mocks.close();
+    }
+
+    @Test
+    public void testCollect() throws IOException {
+        mockStatistics(Arrays.asList(
+                createStatistics(1000, 1, 10, 100, 10, 20, 5, 6),
+                createStatistics(5000, 3, 50, 300, 110, 220, 15, 26),
+                createStatistics(9000, 4, 70, 200, 210, 420, 25, 46)));
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+        final Result result = DataCreator.createResult();
+
+        Assert.assertEquals("containerStatistics", collector.getName());
+        collector.begin();
+        final Optional<ContainerStatistics> statistics = collector.end(result);
+
+        Assert.assertTrue(statistics.isPresent());
+        Assert.assertEquals(3, statistics.get().getSamples());
+        Assert.assertEquals(8000, statistics.get().getCpuTimeNanos());
+        Assert.assertEquals(8000 / (result.benchmarkRounds + result.warmupRounds), statistics.get().getCpuTimeNanosPerRound());
+        Assert.assertEquals(3, statistics.get().getThrottledPeriods());
+        Assert.assertEquals(60, statistics.get().getThrottledTimeNanos());
+        Assert.assertEquals(300, statistics.get().getPeakMemoryBytes());
+        Assert.assertEquals(200, statistics.get().getAverageMemoryBytes());
+        Assert.assertEquals(200, statistics.get().getNetworkReceivedBytes());
+        Assert.assertEquals(400, statistics.get().getNetworkTransmittedBytes());
+        Assert.assertEquals(20, statistics.get().getBlockReadBytes());
+        Assert.assertEquals(40, statistics.get().getBlockWrittenBytes());
+    }
+
+    @Test
+    public void testCollectMissingStatistics() throws IOException {
+        mockStatistics(Collections.singletonList(
+                ObjectMapperFactory.getInstance().readValue("{}", Statistics.class)));
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+        final Result source = DataCreator.createResult();
+        final Result result = new Result(
+                Description.createTestDescription(ContainerStatisticsCollectorTest.class, "testCollectMissingStatistics"),
+                0,
+                0,
+                0,
+                0,
+                source.roundAverage,
+                source.blockedAverage,
+                source.gcAverage,
+                source.gcInfo,
+                1);
+
+        collector.begin();
+        final Optional<ContainerStatistics> statistics = collector.end(result);
+
+        Assert.assertTrue(statistics.isPresent());
+        Assert.assertEquals(1, statistics.get().getSamples());
+        Assert.assertEquals(0, statistics.get().getCpuTimeNanos());
+        Assert.assertEquals(0, statistics.get().getCpuTimeNanosPerRound());
+        Assert.assertEquals(0, statistics.get().getAverageMemoryBytes());
+        Assert.assertEquals(0, statistics.get().getBlockReadBytes());
+    }
+
+    @Test
+    public void testCollectNoSamples() {
+        mockStatistics(Collections.emptyList());
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+
+        collector.begin();
+        Assert.assertFalse(collector.end(DataCreator.createResult()).isPresent());
+    }
+
+    @Test
+    public void testCollectNotBegun() {
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+
+        Assert.assertFalse(collector.end(DataCreator.createResult()).isPresent());
+        Mockito.verifyNoInteractions(_statsCmd);
+    }
+
+    @Test
+    public void testCollectNoContainer() {
+        final ContainerStatisticsCollector collector = createCollector("dne.*");
+
+        collector.begin();
+        Assert.assertFalse(collector.end(DataCreator.createResult()).isPresent());
+        Mockito.verify(_dockerClient, Mockito.never()).statsCmd(Mockito.anyString());
+    }
+
+    @Test
+    public void testCollectDockerFailure() {
+        Mockito.doThrow(new DockerException("Test", 500)).when(_statsCmd).exec(Mockito.any());
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+
+        collector.begin();
+        Assert.assertFalse(collector.end(DataCreator.createResult()).isPresent());
+    }
+
+    @Test
+    public void testBeginRestartsSampling() throws IOException {
+        mockStatistics(Collections.singletonList(createStatistics(1000, 1, 10, 100, 10, 20, 5, 6)));
+        final ContainerStatisticsCollector collector = createCollector("foo.*");
+
+        collector.begin();
+        collector.begin();
+        Assert.assertEquals(1, collector.end(DataCreator.createResult()).get().getSamples());
+        Mockito.verify(_statsCmd, Mockito.times(2)).exec(Mockito.any());
+    }
+
+    @Test
+    public void testConsumer() throws IOException {
+        mockStatistics(Arrays.asList(
+                createStatistics(1000, 1, 10, 100, 10, 20, 5, 6),
+                createStatistics(5000, 3, 50, 300, 110, 220, 15, 26)));
+        final Path path = Paths.get("target/tmp/test/ContainerStatisticsCollectorTest.testConsumer.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.deleteIfExists(path);
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(path, _dockerClient);
+        consumer.addCollector(new ContainerStatisticsCollector(consumer));
+
+        consumer.prepareClass();
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode statistics = results.get(0).get("containerStatistics");
+        Assert.assertEquals(2, statistics.get("samples").asLong());
+        Assert.assertEquals(4000, statistics.get("cpuTimeNanos").asLong());
+        Assert.assertEquals(300, statistics.get("peakMemoryBytes").asLong());
+    }
+
+    @Test
+    public void testConsumerWithoutCollector() throws IOException {
+        final Path path = Paths.get("target/tmp/test/ContainerStatisticsCollectorTest.testConsumerWithoutCollector.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.deleteIfExists(path);
+        final DockerJsonBenchmarkConsumer consumer = new UnprofiledConsumer(path, _dockerClient);
+
+        consumer.prepareClass();
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, results.size());
+        Assert.assertFalse(results.get(0).has("containerStatistics"));
+        Mockito.verify(_dockerClient, Mockito.never()).statsCmd(Mockito.anyString());
+    }
+
+    @Test
+    public void testValueOf() {
+        Assert.assertEquals(0, ContainerStatisticsCollector.valueOf(null));
+        Assert.assertEquals(7, ContainerStatisticsCollector.valueOf(7L));
+    }
+
+    private ContainerStatisticsCollector createCollector(final String pattern) {
+        return new ContainerStatisticsCollector(_dockerClient, Pattern.compile(pattern));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockStatistics(final List<Statistics> samples) {
+        Mockito.doAnswer(invocation -> {
+            final ResultCallback<Statistics> callback = invocation.getArgument(0);
+            for (final Statistics sample : samples) {
+                callback.onNext(sample);
+            }
+            return callback;
+        }).when(_statsCmd).exec(Mockito.any());
+    }
+
+    // CHECKSTYLE.OFF: ParameterNumber - Mirrors the sampled counters
+    private static Statistics createStatistics(
+            final long cpu,
+            final long throttledPeriods,
+            final long throttledTime,
+            final long memory,
+            final long received,
+            final long transmitted,
+            final long read,
+            final long written) throws IOException {
+        // CHECKSTYLE.ON: ParameterNumber
+        final String json = String.format(
+                "{\"cpu_stats\":{\"cpu_usage\":{\"total_usage\":%d},"
+                        + "\"throttling_data\":{\"throttled_periods\":%d,\"throttled_time\":%d}},"
+                        + "\"memory_stats\":{\"usage\":%d},"
+                        + "\"networks\":{\"eth0\":{\"rx_bytes\":%d,\"tx_bytes\":%d},\"eth1\":{\"rx_bytes\":%d,\"tx_bytes\":%d}},"
+                        + "\"blkio_stats\":{\"io_service_bytes_recursive\":["
+                        + "{\"op\":\"Read\",\"value\":%d},{\"op\":\"Write\",\"value\":%d},{\"op\":\"Total\",\"value\":1}]}}",
+                cpu,
+                throttledPeriods,
+                throttledTime,
+                memory,
+                received / 2,
+                transmitted / 2,
+                received / 2,
+                transmitted / 2,
+                read,
+                written);
+        return ObjectMapperFactory.getInstance().readValue(json, Statistics.class);
+    }
+
+    private static final class UnprofiledConsumer extends DockerJsonBenchmarkConsumer {
+        UnprofiledConsumer(final Path path, final DockerClient dockerClient) {
+            super(path, Pattern.compile("foo.*"), dockerClient);
+        }
+
+        @Override
+        protected Optional<Path> getProfileFile() {
+            return Optional.empty();
+        }
+    }
+}
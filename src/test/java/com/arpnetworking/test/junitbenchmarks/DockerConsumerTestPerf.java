@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Resources;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Performance test of the per-test overhead of the Docker consumers against a
+ * {@link FakeDockerDaemon}. Each parameterization varies the number of
+ * containers on the daemon, which every consumer operation lists to find the
+ * target container, and the size of the profile in the target container,
+ * which the hprof consumer reads through the archive endpoint. This produces
+ * a performance series for each consumer operation as a function of container
+ * count and profile size.
+ *
+ * @author agent (agent at local)
+ */
+@SuppressFBWarnings("DMI_HARDCODED_ABSOLUTE_FILENAME")
+@RunWith(Parameterized.class)
+@BenchmarkOptions(callgc = true, benchmarkRounds = 20, warmupRounds = 5)
+public final class DockerConsumerTestPerf {
+
+    @Rule
+    public final TestRule _benchMarkRule = new BenchmarkRule(JSON_BENCHMARK_CONSUMER);
+
+    private static final JsonBenchmarkConsumer JSON_BENCHMARK_CONSUMER = new JsonBenchmarkConsumer(
+            Paths.get("target/perf/docker-consumer-performance-test.json"));
+
+    private static final Path PROFILE_FILE = Paths.get("/tmp/profile.hprof.txt");
+    private static final byte[] RECORDING = "FLR".getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, Fixture> FIXTURES = Maps.newHashMap();
+
+    private final Fixture _fixture;
+
+    public DockerConsumerTestPerf(final String name, final Integer containers, final Integer profileDumps) throws IOException {
+        synchronized (FIXTURES) {
+            Fixture fixture = FIXTURES.get(name);
+            if (fixture == null) {
+                fixture = new Fixture(name, containers, profileDumps);
+                FIXTURES.put(name, fixture);
+            }
+            _fixture = fixture;
+        }
+    }
+
+    @BeforeClass
+    public static void setUp() {
+        JSON_BENCHMARK_CONSUMER.prepareClass();
+    }
+
+    @AfterClass
+    public static void tearDown() throws IOException {
+        synchronized (FIXTURES) {
+            for (final Fixture fixture : FIXTURES.values()) {
+                fixture.close();
+            }
+            FIXTURES.clear();
+        }
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> createParameters() {
+        final List<Object[]> parameters = Lists.newArrayList();
+        for (final int containers : new int[]{1, 16, 128}) {
+            for (final int profileDumps : new int[]{1, 4, 16}) {
+                parameters.add(new Object[]{
+                        String.format("containers_%d-profile_dumps_%d", containers, profileDumps),
+                        containers,
+                        profileDumps});
+            }
+        }
+        return parameters;
+    }
+
+    @Test
+    public void testGetJvmArguments() {
+        Assert.assertFalse(_fixture._hprofConsumer.getJvmArguments().isEmpty());
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        Assert.assertTrue(_fixture._hprofConsumer.getFileSize(PROFILE_FILE) > 0);
+    }
+
+    @Test
+    public void testFilterProfileData() throws IOException {
+        _fixture._hprofConsumer.filterProfileData(PROFILE_FILE, _fixture._filteredFile, _fixture._profileDumps - 1);
+    }
+
+    @Test
+    public void testJfrDumpProfileData() throws IOException {
+        final DockerJfrJsonBenchmarkConsumer consumer = _fixture._jfrConsumer;
+        final Path profileFile = consumer.getProfileFile().get();
+        final int index = consumer.dumpProfileData(profileFile);
+        Assert.assertTrue(index >= 0);
+        final String recording = String.format(
+                "tmp/%s.%d.jfr",
+                com.google.common.io.Files.getNameWithoutExtension(profileFile.toString()),
+                index);
+        Assert.assertTrue(Files.size(_fixture._container.resolve(recording)) > 0);
+    }
+
+    private static final class Fixture implements AutoCloseable {
+
+        Fixture(final String name, final int containers, final int profileDumps) throws IOException {
+            _daemon = new FakeDockerDaemon(Files.createTempDirectory("fake-docker"));
+            _profileDumps = profileDumps;
+            for (int i = 1; i < containers; ++i) {
+                _daemon.addContainer("other-" + i, "other:1.0", Collections.emptyList(), Collections.emptyList());
+            }
+            _container = _daemon.addContainer(
+                    "target",
+                    "target:1.0",
+                    ImmutableList.of("-agentlib:hprof=cpu=samples,file=" + PROFILE_FILE),
+                    ImmutableList.of("JAVA_HOME=/opt/java"));
+            Files.createDirectories(_container.resolve("tmp"));
+            writeProfile(_container.resolve("tmp/profile.hprof.txt"), profileDumps);
+            _daemon.setExecHandler((directory, command) -> {
+                // Write the recording dumped by stopping Flight Recorder
+                if ("JFR.stop".equals(command.get(2)) && command.size() > 4) {
+                    final String file = command.get(4).substring("filename=".length());
+                    Files.write(directory.resolve(file.substring(1)), RECORDING);
+                }
+                return new FakeDockerDaemon.ExecResult(0, "");
+            });
+
+            final Path tmp = Paths.get("target/tmp");
+            Files.createDirectories(tmp);
+            _filteredFile = tmp.resolve("DockerConsumerTestPerf." + name + ".hprof.txt");
+            _hprofConsumer = new DockerJsonBenchmarkConsumer(
+                    Paths.get("target/tmp/DockerConsumerTestPerf.hprof.json"),
+                    false,
+                    Pattern.compile("target:.*"),
+                    _daemon.getAddress());
+            _jfrConsumer = new DockerJfrJsonBenchmarkConsumer(
+                    Paths.get("target/tmp/DockerConsumerTestPerf.jfr.json"),
+                    false,
+                    Pattern.compile("target:.*"),
+                    _daemon.getAddress(),
+                    "1",
+                    Paths.get("/tmp"),
+                    "profile");
+            // Start the first recording so that each dump stops a recording
+            _jfrConsumer.dumpProfileData(_jfrConsumer.getProfileFile().get());
+        }
+
+        @Override
+        public void close() throws IOException {
+            _daemon.close();
+        }
+
+        private static void writeProfile(final Path file, final int dumps) throws IOException {
+            // Repeat the last trace and the samples as hprof does for each subsequent dump
+            final List<String> lines = Resources.readLines(Resources.getResource("profile.hprof.txt"), StandardCharsets.UTF_8);
+            int samplesBegin = 0;
+            int lastTrace = 0;
+            while (!lines.get(samplesBegin).startsWith("CPU SAMPLES BEGIN")) {
+                if (lines.get(samplesBegin).startsWith("TRACE")) {
+                    lastTrace = samplesBegin;
+                }
+                ++samplesBegin;
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                write(writer, lines.subList(0, lastTrace));
+                for (int i = 0; i < dumps; ++i) {
+                    write(writer, lines.subList(lastTrace, lines.size()));
+                }
+            }
+        }
+
+        private static void write(final BufferedWriter writer, final List<String> lines) throws IOException {
+            for (final String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+
+        private final FakeDockerDaemon _daemon;
+        private final Path _container;
+        private final int _profileDumps;
+        private final Path _filteredFile;
+        private final DockerJsonBenchmarkConsumer _hprofConsumer;
+        private final DockerJfrJsonBenchmarkConsumer _jfrConsumer;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CopyArchiveFromContainerCmd;
+import com.github.dockerjava.api.command.ExecCreateCmd;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.github.dockerjava.api.model.Container;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.tools.tar.TarEntry;
+import org.apache.tools.tar.TarOutputStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+/**
+ * Tests a {@link DockerJfrJsonBenchmarkConsumer}.
+ *
+ * @author agent (agent at local)
+ */
+@SuppressFBWarnings("DMI_HARDCODED_ABSOLUTE_FILENAME")
+public final class DockerJfrJsonBenchmarkConsumerTest {
+
+    @Mock
+    private DockerClient _dockerClient;
+    @Mock
+    private Container _container;
+    private AutoCloseable _mocks;
+
+    @Before
+    public void setUp() {
+        _mocks = MockitoAnnotations.openMocks(this);
+        Mockito.doReturn("running").when(_container).getState();
+        Mockito.doReturn("foobar").when(_container).getImage();
+        Mockito.doReturn("my-id").when(_container).getId();
+        final ListContainersCmd listContainerMock = Mockito.mock(ListContainersCmd.class);
+        Mockito.doReturn(listContainerMock).when(_dockerClient).listContainersCmd();
+        Mockito.doReturn(Collections.singletonList(_container)).when(listContainerMock).exec();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _mocks.close();
+    }
+
+    @Test
+    public void testGetProfileFile() {
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testGetProfileFile", "foo.*");
+
+        Assert.assertTrue(consumer.getProfileFile().isPresent());
+        Assert.assertEquals(Paths.get("/tmp"), consumer.getProfileFile().get().getParent());
+        Assert.assertTrue(consumer.getProfileFile().get().toString().endsWith(".jfr"));
+        Assert.assertEquals("jfr", consumer.getProfileExtension());
+    }
+
+    @Test
+    public void testDumpProfileData() {
+        final ExecCreateCmd execCreateCmd = ContainerCommandTest.mockExecution(_dockerClient, "my-id", "exec-1", "", true, 0L);
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testDumpProfileData", "foo.*");
+        final Path profileFile = consumer.getProfileFile().get();
+        final String name = com.google.common.io.Files.getNameWithoutExtension(profileFile.toString());
+
+        // Nothing is recorded before the first boundary
+        Assert.assertEquals(-1, consumer.dumpProfileData(profileFile));
+        Mockito.verify(execCreateCmd).withCmd("jcmd", "42", "JFR.start", "name=" + name, "settings=profile");
+
+        // The recording is dumped at the next boundary
+        final int index = consumer.dumpProfileData(profileFile);
+        Assert.assertTrue(index >= 0);
+        Mockito.verify(execCreateCmd).withCmd(
+                "jcmd",
+                "42",
+                "JFR.stop",
+                "name=" + name,
+                "filename=/tmp/" + name + "." + index + ".jfr");
+        Mockito.verify(execCreateCmd, Mockito.times(2)).withCmd("jcmd", "42", "JFR.start", "name=" + name, "settings=profile");
+    }
+
+    @Test
+    public void testDumpProfileDataNoContainer() {
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testDumpProfileDataNoContainer", "dne.*");
+
+        Assert.assertEquals(-1, consumer.dumpProfileData(consumer.getProfileFile().get()));
+        Mockito.verify(_dockerClient, Mockito.never()).execCreateCmd(Mockito.anyString());
+    }
+
+    @Test
+    public void testDumpProfileDataFailure() {
+        ContainerCommandTest.mockExecution(_dockerClient, "my-id", "exec-1", "no such process", true, 1L);
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testDumpProfileDataFailure", "foo.*");
+
+        Assert.assertEquals(-1, consumer.dumpProfileData(consumer.getProfileFile().get()));
+    }
+
+    @Test
+    public void testFilterProfileData() throws IOException {
+        final ExecCreateCmd execCreateCmd = ContainerCommandTest.mockExecution(_dockerClient, "my-id", "exec-1", "", true, 0L);
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testFilterProfileData", "foo.*");
+        final Path profileFile = consumer.getProfileFile().get();
+        final String name = com.google.common.io.Files.getNameWithoutExtension(profileFile.toString());
+        mockRecording("/tmp/" + name + ".7.jfr", "testFilterProfileData");
+
+        final Path output = Paths.get("target/tmp/DockerJfrJsonBenchmarkConsumerTest.testFilterProfileData.jfr");
+        Files.deleteIfExists(output);
+        consumer.filterProfileData(profileFile, output, 7);
+
+        Assert.assertTrue(Files.size(output) > 0);
+        Assert.assertTrue(Files.exists(Paths.get(output + ".txt")));
+        Mockito.verify(execCreateCmd).withCmd("rm", "-f", "/tmp/" + name + ".7.jfr");
+    }
+
+    @Test
+    public void testFilterProfileDataRemoveFailure() throws IOException {
+        ContainerCommandTest.mockExecution(_dockerClient, "my-id", "exec-1", "", true, 1L);
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testFilterProfileDataRemoveFailure", "foo.*");
+        final Path profileFile = consumer.getProfileFile().get();
+        final String name = com.google.common.io.Files.getNameWithoutExtension(profileFile.toString());
+        mockRecording("/tmp/" + name + ".3.jfr", "testFilterProfileDataRemoveFailure");
+
+        final Path output = Paths.get("target/tmp/DockerJfrJsonBenchmarkConsumerTest.testFilterProfileDataRemoveFailure.jfr");
+        consumer.filterProfileData(profileFile, output, 3);
+
+        Assert.assertTrue(Files.exists(Paths.get(output + ".txt")));
+    }
+
+    @Test
+    public void testFilterProfileDataNoContainer() throws IOException {
+        final DockerJfrJsonBenchmarkConsumer consumer = createConsumer("testFilterProfileDataNoContainer", "dne.*");
+
+        final Path output = Paths.get("target/tmp/DockerJfrJsonBenchmarkConsumerTest.testFilterProfileDataNoContainer.jfr");
+        Files.deleteIfExists(output);
+        consumer.filterProfileData(consumer.getProfileFile().get(), output, 0);
+
+        Assert.assertFalse(Files.exists(output));
+    }
+
+    @Test
+    public void testAcceptAndClose() throws IOException {
+        ContainerCommandTest.mockExecution(_dockerClient, "my-id", "exec-1", "", true, 0L);
+        final Path path = Paths.get("target/tmp/test/DockerJfrJsonBenchmarkConsumerTest.testAcceptAndClose.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.deleteIfExists(path);
+        final DockerJfrJsonBenchmarkConsumer consumer = new DockerJfrJsonBenchmarkConsumer(
+                path,
+                Pattern.compile("foo.*"),
+                _dockerClient,
+                "42",
+                Paths.get("/tmp"));
+        final Path profileFile = consumer.getProfileFile().get();
+        final String name = com.google.common.io.Files.getNameWithoutExtension(profileFile.toString());
+
+        consumer.prepareClass();
+        final Path recording = Paths.get("target/tmp/DockerJfrJsonBenchmarkConsumerTest.testAcceptAndClose.source.jfr");
+        JfrFilterTest.createRecording(recording);
+        final CopyArchiveFromContainerCmd copyArchiveMock = Mockito.mock(CopyArchiveFromContainerCmd.class);
+        Mockito.doReturn(copyArchiveMock).when(_dockerClient).copyArchiveFromContainerCmd(
+                Mockito.eq("my-id"),
+                Mockito.startsWith("/tmp/" + name + "."));
+        Mockito.doAnswer(invocation -> createArchive(Files.readAllBytes(recording))).when(copyArchiveMock).exec();
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, results.size());
+        final Path extracted = Paths.get(URI.create(results.get(0).get("profileFile").asText()));
+        Assert.assertTrue(extracted.toString().endsWith(".testNormalBenchmarkCase.jfr"));
+        Assert.assertTrue(Files.exists(Paths.get(extracted + ".txt")));
+    }
+
+    private DockerJfrJsonBenchmarkConsumer createConsumer(final String name, final String pattern) {
+        return new DockerJfrJsonBenchmarkConsumer(
+                Paths.get("./target/tmp/DockerJfrJsonBenchmarkConsumerTest." + name + ".json"),
+                Pattern.compile(pattern),
+                _dockerClient,
+                "42",
+                Paths.get("/tmp"));
+    }
+
+    private void mockRecording(final String containerPath, final String name) throws IOException {
+        final Path recording = Paths.get("target/tmp/DockerJfrJsonBenchmarkConsumerTest." + name + ".source.jfr");
+        Files.createDirectories(Paths.get("target/tmp"));
+        JfrFilterTest.createRecording(recording);
+        final CopyArchiveFromContainerCmd copyArchiveMock = Mockito.mock(CopyArchiveFromContainerCmd.class);
+        Mockito.doReturn(copyArchiveMock).when(_dockerClient).copyArchiveFromContainerCmd("my-id", containerPath);
+        Mockito.doReturn(createArchive(Files.readAllBytes(recording))).when(copyArchiveMock).exec();
+    }
+
+    private static ByteArrayInputStream createArchive(final byte[] contents) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final TarOutputStream outputStream = new TarOutputStream(byteArrayOutputStream);
+        final TarEntry tarEntry = new TarEntry("recording.jfr");
+        tarEntry.setSize(contents.length);
+        outputStream.putNextEntry(tarEntry);
+        outputStream.write(contents);
+        outputStream.closeEntry();
+        outputStream.close();
+        return new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
+    }
+}
@@ -0,0 +1,582 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.URLDecoder;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Stand-in for the Docker daemon which serves the subset of the Docker Engine
+ * API used by the Docker consumers over a local unix socket. Each container is
+ * backed by a directory under the root directory which serves as the
+ * container's file system for archive and exec requests. The supported
+ * requests are:
+ * <ul>
+ * <li>{@code GET /containers/json}</li>
+ * <li>{@code GET /containers/{id}/json}</li>
+ * <li>{@code POST /containers/{id}/kill}</li>
+ * <li>{@code GET /containers/{id}/archive}</li>
+ * <li>{@code GET /containers/{id}/stats}</li>
+ * <li>{@code POST /containers/{id}/update}</li>
+ * <li>{@code POST /containers/{id}/exec}</li>
+ * <li>{@code POST /exec/{id}/start}</li>
+ * <li>{@code GET /exec/{id}/json}</li>
+ * </ul>
+ * <p>
+ * Commands are not executed. Instead {@code rm -f} removes the file from the
+ * container directory and any other command is passed to the
+ * {@link ExecHandler} which by default succeeds without output.
+ *
+ * @author agent (agent at local)
+ */
+final class FakeDockerDaemon implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getInstance();
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeDockerDaemon.class);
+    private static final Pattern VERSION_PREFIX = Pattern.compile("^/v[0-9.]+(/.*)$");
+    private static final Pattern CONTAINER_PATH = Pattern.compile("^/containers/([^/]+)/([a-z]+)$");
+    private static final Pattern EXEC_PATH = Pattern.compile("^/exec/([^/]+)/([a-z]+)$");
+    private static final byte STDOUT_STREAM = 1;
+
+    private final Path _root;
+    private final Path _socket;
+    private final ServerSocketChannel _serverChannel;
+    private final ExecutorService _executor = Executors.newCachedThreadPool();
+    private final Map<String, FakeContainer> _containers = Maps.newConcurrentMap();
+    private final Map<String, FakeExecution> _executions = new ConcurrentHashMap<>();
+    private final AtomicInteger _nextExecutionId = new AtomicInteger();
+    private final AtomicInteger _requests = new AtomicInteger();
+    private volatile ExecHandler _execHandler = (container, command) -> new ExecResult(0, "");
+    private volatile KillHandler _killHandler = (container, signal) -> { };
+
+    /**
+     * Start a daemon listening on {@code docker.sock} in the root directory.
+     *
+     * @param root the root directory backing the containers
+     * @throws IOException if the socket cannot be bound
+     */
+    FakeDockerDaemon(final Path root) throws IOException {
+        _root = root;
+        _socket = root.resolve("docker.sock");
+        Files.createDirectories(root);
+        Files.deleteIfExists(_socket);
+        _serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        _serverChannel.bind(UnixDomainSocketAddress.of(_socket));
+        _executor.execute(this::acceptConnections);
+    }
+
+    /**
+     * The address of the daemon for the Docker client.
+     *
+     * @return the address of the daemon
+     */
+    String getAddress() {
+        return "unix://" + _socket.toAbsolutePath();
+    }
+
+    /**
+     * Add a running container.
+     *
+     * @param id the container identifier
+     * @param image the image name of the container
+     * @param args the arguments of the container
+     * @param env the environment of the container
+     * @return the directory backing the container file system
+     * @throws IOException if the container directory cannot be created
+     */
+    Path addContainer(final String id, final String image, final List<String> args, final List<String> env) throws IOException {
+        final Path directory = _root.resolve("containers").resolve(id);
+        Files.createDirectories(directory);
+        _containers.put(id, new FakeContainer(id, image, args, env, directory));
+        return directory;
+    }
+
+    /**
+     * Set the handler for commands executed in containers.
+     *
+     * @param execHandler the {@code ExecHandler}
+     */
+    void setExecHandler(final ExecHandler execHandler) {
+        _execHandler = execHandler;
+    }
+
+    /**
+     * Set the handler for signals sent to containers.
+     *
+     * @param killHandler the {@code KillHandler}
+     */
+    void setKillHandler(final KillHandler killHandler) {
+        _killHandler = killHandler;
+    }
+
+    /**
+     * The number of requests served.
+     *
+     * @return the number of requests served
+     */
+    int getRequestCount() {
+        return _requests.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _serverChannel.close();
+        _executor.shutdownNow();
+        try {
+            _executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Files.deleteIfExists(_socket);
+    }
+
+    private void acceptConnections() {
+        while (_serverChannel.isOpen()) {
+            try {
+                final SocketChannel channel = _serverChannel.accept();
+                _executor.execute(() -> serveConnection(channel));
+            } catch (final ClosedChannelException e) {
+                return;
+            } catch (final IOException e) {
+                LOGGER.warn("Fake Docker daemon failed to accept connection", e);
+            }
+        }
+    }
+
+    private void serveConnection(final SocketChannel channel) {
+        try (channel) {
+            final InputStream input = Channels.newInputStream(channel);
+            final OutputStream output = Channels.newOutputStream(channel);
+            while (channel.isOpen()) {
+                final Request request = Request.read(input);
+                if (request == null) {
+                    return;
+                }
+                _requests.incrementAndGet();
+                final Response response = handle(request);
+                response.write(output);
+                if ("close".equalsIgnoreCase(request._headers.get("connection"))) {
+                    return;
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.debug("Fake Docker daemon connection closed", e);
+        }
+    }
+
+    private Response handle(final Request request) throws IOException {
+        String path = request._path;
+        final Matcher versionMatcher = VERSION_PREFIX.matcher(path);
+        if (versionMatcher.matches()) {
+            path = versionMatcher.group(1);
+        }
+        if ("GET".equals(request._method) && "/containers/json".equals(path)) {
+            return listContainers();
+        }
+        final Matcher containerMatcher = CONTAINER_PATH.matcher(path);
+        if (containerMatcher.matches()) {
+            final FakeContainer container = _containers.get(containerMatcher.group(1));
+            if (container == null) {
+                return Response.error(404, "No such container: " + containerMatcher.group(1));
+            }
+            return handleContainer(request, container, containerMatcher.group(2));
+        }
+        final Matcher execMatcher = EXEC_PATH.matcher(path);
+        if (execMatcher.matches()) {
+            final FakeExecution execution = _executions.get(execMatcher.group(1));
+            if (execution == null) {
+                return Response.error(404, "No such exec instance: " + execMatcher.group(1));
+            }
+            return handleExecution(request, execution, execMatcher.group(2));
+        }
+        return Response.error(404, "Unsupported request: " + request._method + " " + request._path);
+    }
+
+    private Response handleContainer(
+            final Request request,
+            final FakeContainer container,
+            final String action) throws IOException {
+        switch (request._method + " " + action) {
+            case "GET json":
+                return inspectContainer(container);
+            case "POST kill":
+                _killHandler.kill(container._directory, request.getParameter("signal"));
+                return new Response(204, "application/json", new byte[0]);
+            case "GET archive":
+                return archive(container, request.getParameter("path"));
+            case "GET stats":
+                return Response.json(createStatistics());
+            case "POST update":
+                return Response.json(OBJECT_MAPPER.createObjectNode().set("Warnings", OBJECT_MAPPER.createArrayNode()));
+            case "POST exec":
+                final JsonNode body = OBJECT_MAPPER.readTree(request._body);
+                final List<String> command = Lists.newArrayList();
+                body.get("Cmd").forEach(node -> command.add(node.asText()));
+                final String id = "exec-" + _nextExecutionId.getAndIncrement();
+                _executions.put(id, new FakeExecution(id, container, command));
+                final Response response = Response.json(OBJECT_MAPPER.createObjectNode().put("Id", id));
+                return new Response(201, response._contentType, response._body);
+            default:
+                return Response.error(404, "Unsupported container request: " + request._method + " " + action);
+        }
+    }
+
+    private Response handleExecution(final Request request, final FakeExecution execution, final String action) throws IOException {
+        if ("POST".equals(request._method) && "start".equals(action)) {
+            final ExecResult result = execute(execution._container, execution._command);
+            execution._exitCode = result._exitCode;
+            final byte[] payload = result._output.getBytes(StandardCharsets.UTF_8);
+            final ByteBuffer frame = ByteBuffer.allocate(8 + payload.length);
+            frame.put(STDOUT_STREAM).put((byte) 0).put((byte) 0).put((byte) 0).putInt(payload.length).put(payload);
+            return new Response(200, "application/vnd.docker.raw-stream", payload.length > 0 ? frame.array() : new byte[0]);
+        } else if ("GET".equals(request._method) && "json".equals(action)) {
+            final ObjectNode inspection = OBJECT_MAPPER.createObjectNode()
+                    .put("ID", execution._id)
+                    .put("Running", execution._exitCode == null);
+            if (execution._exitCode != null) {
+                inspection.put("ExitCode", execution._exitCode);
+            }
+            return Response.json(inspection);
+        }
+        return Response.error(404, "Unsupported exec request: " + request._method + " " + action);
+    }
+
+    private ExecResult execute(final FakeContainer container, final List<String> command) throws IOException {
+        if (command.size() == 3 && "rm".equals(command.get(0)) && "-f".equals(command.get(1))) {
+            Files.deleteIfExists(container.resolve(command.get(2)));
+            return new ExecResult(0, "");
+        }
+        return _execHandler.execute(container._directory, command);
+    }
+
+    private Response listContainers() {
+        final ArrayNode containers = OBJECT_MAPPER.createArrayNode();
+        for (final FakeContainer container : _containers.values()) {
+            containers.addObject()
+                    .put("Id", container._id)
+                    .put("Image", container._image)
+                    .put("State", "running")
+                    .put("Status", "Up")
+                    .set("Names", OBJECT_MAPPER.createArrayNode().add("/" + container._id));
+        }
+        return Response.json(containers);
+    }
+
+    private Response inspectContainer(final FakeContainer container) {
+        final ObjectNode inspection = OBJECT_MAPPER.createObjectNode()
+                .put("Id", container._id)
+                .put("Image", container._image);
+        final ArrayNode args = inspection.putArray("Args");
+        container._args.forEach(args::add);
+        final ArrayNode env = inspection.putObject("Config").put("Image", container._image).putArray("Env");
+        container._env.forEach(env::add);
+        inspection.putObject("HostConfig").put("CpuQuota", 0).put("CpuPeriod", 0).put("Memory", 0);
+        inspection.putObject("State").put("Status", "running").put("Running", true);
+        return Response.json(inspection);
+    }
+
+    private Response archive(final FakeContainer container, final String path) throws IOException {
+        final Path file = container.resolve(path);
+        if (!Files.isRegularFile(file)) {
+            return Response.error(404, "Could not find the file " + path + " in container " + container._id);
+        }
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(buffer)) {
+            final TarArchiveEntry entry = new TarArchiveEntry(String.valueOf(file.getFileName()));
+            entry.setSize(Files.size(file));
+            tar.putArchiveEntry(entry);
+            Files.copy(file, tar);
+            tar.closeArchiveEntry();
+        }
+        return new Response(200, "application/x-tar", buffer.toByteArray());
+    }
+
+    private static ObjectNode createStatistics() {
+        final ObjectNode statistics = OBJECT_MAPPER.createObjectNode();
+        statistics.putObject("cpu_stats").putObject("cpu_usage").put("total_usage", 0);
+        statistics.putObject("memory_stats").put("usage", 0);
+        return statistics;
+    }
+
+    /**
+     * Handles commands executed in containers.
+     */
+    @FunctionalInterface
+    interface ExecHandler {
+
+        /**
+         * Execute a command.
+         *
+         * @param directory the directory backing the container file system
+         * @param command the command and its arguments
+         * @return the {@code ExecResult}
+         * @throws IOException if the command fails to execute
+         */
+        ExecResult execute(Path directory, List<String> command) throws IOException;
+    }
+
+    /**
+     * Handles signals sent to containers.
+     */
+    @FunctionalInterface
+    interface KillHandler {
+
+        /**
+         * Signal a container.
+         *
+         * @param directory the directory backing the container file system
+         * @param signal the signal name
+         * @throws IOException if the signal fails to be delivered
+         */
+        void kill(Path directory, String signal) throws IOException;
+    }
+
+    /**
+     * The result of a command executed in a container.
+     */
+    static final class ExecResult {
+
+        ExecResult(final int exitCode, final String output) {
+            _exitCode = exitCode;
+            _output = output;
+        }
+
+        private final int _exitCode;
+        private final String _output;
+    }
+
+    private static final class FakeContainer {
+
+        FakeContainer(
+                final String id,
+                final String image,
+                final List<String> args,
+                final List<String> env,
+                final Path directory) {
+            _id = id;
+            _image = image;
+            _args = ImmutableList.copyOf(args);
+            _env = ImmutableList.copyOf(env);
+            _directory = directory;
+        }
+
+        Path resolve(final String path) {
+            return _directory.resolve(path.startsWith("/") ? path.substring(1) : path);
+        }
+
+        private final String _id;
+        private final String _image;
+        private final List<String> _args;
+        private final List<String> _env;
+        private final Path _directory;
+    }
+
+    private static final class FakeExecution {
+
+        FakeExecution(final String id, final FakeContainer container, final List<String> command) {
+            _id = id;
+            _container = container;
+            _command = ImmutableList.copyOf(command);
+        }
+
+        private final String _id;
+        private final FakeContainer _container;
+        private final List<String> _command;
+        private volatile Integer _exitCode;
+    }
+
+    private static final class Request {
+
+        private static final int HEAD_TERMINATOR = ('\r' << 24) | ('\n' << 16) | ('\r' << 8) | '\n';
+
+        @Nullable
+        static Request read(final InputStream input) throws IOException {
+            final String head = readHead(input);
+            if (head == null) {
+                return null;
+            }
+            final String[] lines = head.split("\r\n");
+            final String[] requestLine = lines[0].split(" ");
+            final Map<String, String> headers = Maps.newHashMap();
+            for (int i = 1; i < lines.length; ++i) {
+                final int separator = lines[i].indexOf(':');
+                if (separator > 0) {
+                    headers.put(
+                            lines[i].substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                            lines[i].substring(separator + 1).trim());
+                }
+            }
+            final byte[] body;
+            if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                body = readChunked(input);
+            } else if (headers.containsKey("content-length")) {
+                body = input.readNBytes(Integer.parseInt(headers.get("content-length")));
+            } else {
+                body = new byte[0];
+            }
+            return new Request(requestLine[0], requestLine[1], headers, body);
+        }
+
+        String getParameter(final String name) {
+            final String value = _parameters.get(name);
+            return value == null ? "" : value;
+        }
+
+        @Nullable
+        private static String readHead(final InputStream input) throws IOException {
+            final ByteArrayOutputStream head = new ByteArrayOutputStream();
+            int last = 0;
+            while (last != HEAD_TERMINATOR) {
+                final int next = input.read();
+                if (next < 0) {
+                    if (head.size() == 0) {
+                        return null;
+                    }
+                    throw new EOFException("Truncated request head");
+                }
+                head.write(next);
+                last = (last << 8) | next;
+            }
+            return head.toString(StandardCharsets.US_ASCII);
+        }
+
+        private static byte[] readChunked(final InputStream input) throws IOException {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                final String sizeLine = readLine(input);
+                final int size = Integer.parseInt(sizeLine.split(";")[0].trim(), 16);
+                if (size == 0) {
+                    readLine(input);
+                    return body.toByteArray();
+                }
+                body.write(input.readNBytes(size));
+                readLine(input);
+            }
+        }
+
+        private static String readLine(final InputStream input) throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int next = input.read();
+            while (next >= 0 && next != '\n') {
+                if (next != '\r') {
+                    line.write(next);
+                }
+                next = input.read();
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+
+        private Request(final String method, final String target, final Map<String, String> headers, final byte[] body) {
+            _method = method;
+            _headers = headers;
+            _body = body;
+            final int query = target.indexOf('?');
+            _path = query < 0 ? target : target.substring(0, query);
+            _parameters = Maps.newHashMap();
+            if (query >= 0) {
+                for (final String parameter : target.substring(query + 1).split("&")) {
+                    final int separator = parameter.indexOf('=');
+                    if (separator > 0) {
+                        _parameters.put(
+                                parameter.substring(0, separator),
+                                URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+
+        private final String _method;
+        private final String _path;
+        private final Map<String, String> _parameters;
+        private final Map<String, String> _headers;
+        private final byte[] _body;
+    }
+
+    private static final class Response {
+
+        static Response json(final JsonNode node) {
+            try {
+                return new Response(200, "application/json", OBJECT_MAPPER.writeValueAsBytes(node));
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        static Response error(final int status, final String message) {
+            final Response response = json(OBJECT_MAPPER.createObjectNode().put("message", message));
+            return new Response(status, response._contentType, response._body);
+        }
+
+        Response(final int status, final String contentType, final byte[] body) {
+            _status = status;
+            _contentType = contentType;
+            _body = body;
+        }
+
+        void write(final OutputStream output) throws IOException {
+            final String head = "HTTP/1.1 " + _status + (_status < 300 ? " OK" : " Error") + "\r\n"
+                    + "Content-Type: " + _contentType + "\r\n"
+                    + "Content-Length: " + _body.length + "\r\n"
+                    + "Api-Version: 1.41\r\n"
+                    + "\r\n";
+            output.write(head.getBytes(StandardCharsets.US_ASCII));
+            output.write(_body);
+            output.flush();
+        }
+
+        private final int _status;
+        private final String _contentType;
+        private final byte[] _body;
+    }
+}
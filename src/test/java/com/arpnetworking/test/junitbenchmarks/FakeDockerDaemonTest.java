@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the Docker consumers with a real Docker client against a
+ * {@link FakeDockerDaemon}.
+ *
+ * @author agent (agent at local)
+ */
+@SuppressFBWarnings("DMI_HARDCODED_ABSOLUTE_FILENAME")
+public final class FakeDockerDaemonTest {
+
+    private FakeDockerDaemon _daemon;
+    private Path _container;
+
+    @Before
+    public void setUp() throws IOException {
+        _daemon = new FakeDockerDaemon(Files.createTempDirectory("fake-docker"));
+        _daemon.addContainer("other-id", "other:1.0", Collections.emptyList(), Collections.emptyList());
+        _container = _daemon.addContainer(
+                "my-id",
+                "foobar:1.0",
+                ImmutableList.of("-agentlib:hprof=cpu=samples,file=/tmp/profile.hprof.txt"),
+                ImmutableList.of("JAVA_HOME=/opt/java"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        _daemon.close();
+    }
+
+    @Test
+    public void testListAndInspect() {
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testListAndInspect");
+
+        Assert.assertEquals("my-id", consumer.getTargetContainer().get().getId());
+        Assert.assertEquals(
+                ImmutableList.of("-agentlib:hprof=cpu=samples,file=/tmp/profile.hprof.txt", "JAVA_HOME=/opt/java"),
+                consumer.getJvmArguments());
+        Assert.assertEquals(Paths.get("/tmp/profile.hprof.txt"), consumer.getProfileFile().get());
+        Assert.assertTrue(_daemon.getRequestCount() > 0);
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testGetFileSize");
+        Files.createDirectories(_container.resolve("tmp"));
+        Files.write(_container.resolve("tmp/data.txt"), "file contents".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals("file contents".length(), consumer.getFileSize(Paths.get("/tmp/data.txt")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testGetFileSizeMissing() throws IOException {
+        createConsumer("testGetFileSizeMissing").getFileSize(Paths.get("/tmp/dne.txt"));
+    }
+
+    @Test
+    public void testFilterProfileData() throws IOException {
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testFilterProfileData");
+        Files.createDirectories(_container.resolve("tmp"));
+        try (OutputStream outputStream = Files.newOutputStream(_container.resolve("tmp/profile.hprof.txt"))) {
+            Resources.copy(Resources.getResource("profile.hprof.txt"), outputStream);
+        }
+
+        final Path output = Paths.get("target/tmp/FakeDockerDaemonTest.testFilterProfileData.hprof.txt");
+        Files.createDirectories(Paths.get("target/tmp"));
+        consumer.filterProfileData(Paths.get("/tmp/profile.hprof.txt"), output, 0);
+
+        Assert.assertEquals(
+                Resources.readLines(Resources.getResource("profile.hprof.filtered.txt"), StandardCharsets.UTF_8),
+                Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testKill() throws IOException {
+        final List<String> signals = Collections.synchronizedList(Lists.newArrayList());
+        _daemon.setKillHandler((directory, signal) -> signals.add(signal));
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testKill");
+
+        consumer.getDockerClient().killContainerCmd("my-id").withSignal("QUIT").exec();
+
+        Assert.assertEquals(ImmutableList.of("QUIT"), signals);
+    }
+
+    @Test
+    public void testExecute() throws IOException {
+        _daemon.setExecHandler((directory, command) -> new FakeDockerDaemon.ExecResult(0, String.join(" ", command)));
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testExecute");
+
+        Assert.assertEquals(
+                "echo hello",
+                ContainerCommand.execute(
+                        consumer.getDockerClient(),
+                        consumer.getTargetContainer().get(),
+                        Duration.ofSeconds(5),
+                        "echo",
+                        "hello"));
+    }
+
+    @Test
+    public void testExecuteFailure() {
+        _daemon.setExecHandler((directory, command) -> new FakeDockerDaemon.ExecResult(3, "failed"));
+        final DockerJsonBenchmarkConsumer consumer = createConsumer("testExecuteFailure");
+
+        try {
+            ContainerCommand.execute(
+                    consumer.getDockerClient(),
+                    consumer.getTargetContainer().get(),
+                    Duration.ofSeconds(5),
+                    "false");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("exited with 3"));
+            Assert.assertTrue(e.getMessage().contains("failed"));
+        }
+    }
+
+    @Test
+    public void testJfrRecordingLifecycle() throws IOException {
+        final Path source = Paths.get("target/tmp/FakeDockerDaemonTest.testJfrRecordingLifecycle.source.jfr");
+        Files.createDirectories(Paths.get("target/tmp"));
+        JfrFilterTest.createRecording(source);
+        final List<String> commands = Collections.synchronizedList(Lists.newArrayList());
+        _daemon.setExecHandler((directory, command) -> {
+            commands.add(command.get(2));
+            if ("JFR.stop".equals(command.get(2)) && command.size() > 4) {
+                final String file = command.get(4).substring("filename=".length());
+                Files.createDirectories(directory.resolve("tmp"));
+                Files.copy(source, directory.resolve(file.substring(1)));
+            }
+            return new FakeDockerDaemon.ExecResult(0, "");
+        });
+        final DockerJfrJsonBenchmarkConsumer consumer = new DockerJfrJsonBenchmarkConsumer(
+                Paths.get("target/tmp/FakeDockerDaemonTest.testJfrRecordingLifecycle.json"),
+                false,
+                Pattern.compile("foo.*"),
+                _daemon.getAddress(),
+                "1",
+                Paths.get("/tmp"),
+                "profile");
+        final Path profileFile = consumer.getProfileFile().get();
+
+        Assert.assertEquals(-1, consumer.dumpProfileData(profileFile));
+        final int index = consumer.dumpProfileData(profileFile);
+        Assert.assertEquals(ImmutableList.of("JFR.start", "JFR.stop", "JFR.start"), commands);
+
+        final Path output = Paths.get("target/tmp/FakeDockerDaemonTest.testJfrRecordingLifecycle.jfr");
+        consumer.filterProfileData(profileFile, output, index);
+        Assert.assertEquals(Files.size(source), Files.size(output));
+        Assert.assertTrue(Files.exists(Paths.get(output + ".txt")));
+        try (java.util.stream.Stream<Path> files = Files.list(_container.resolve("tmp"))) {
+            Assert.assertEquals(0, files.count());
+        }
+
+        // The recording started after the last test is discarded on close
+        consumer.close();
+        Assert.assertEquals(ImmutableList.of("JFR.start", "JFR.stop", "JFR.start", "JFR.stop"), commands);
+    }
+
+    private DockerJsonBenchmarkConsumer createConsumer(final String name) {
+        return new DockerJsonBenchmarkConsumer(
+                Paths.get("target/tmp/FakeDockerDaemonTest." + name + ".json"),
+                false,
+                Pattern.compile("foo.*"),
+                _daemon.getAddress());
+    }
+}
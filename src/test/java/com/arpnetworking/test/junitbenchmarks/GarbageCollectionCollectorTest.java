@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Tests for {@link GarbageCollectionCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class GarbageCollectionCollectorTest {
+
+    @Test
+    public void testCollections() throws IOException {
+        final Path path = Paths.get("target/tmp/test/GarbageCollectionCollectorTest.testCollections.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        consumer.addCollector(new GarbageCollectionCollector());
+        consumer.prepareClass();
+
+        System.gc();
+
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        final JsonNode garbageCollection = results.get(0).get("garbageCollection");
+        Assert.assertNotNull(garbageCollection);
+        Assert.assertTrue(garbageCollection.get("oldCount").asLong() >= 1);
+        Assert.assertTrue(garbageCollection.get("pauseMillis").get("count").asLong() >= 1);
+        Assert.assertTrue(garbageCollection.get("collectors").size() >= 1);
+
+        final JsonNode event = garbageCollection.get("events").get(0);
+        Assert.assertNotNull(event.get("collector").asText());
+        Assert.assertEquals("System.gc()", findExplicitEvent(garbageCollection).get("cause").asText());
+        Assert.assertTrue(event.get("heapBeforeBytes").asLong() > 0);
+        Assert.assertTrue(event.get("startTimeMillis").asLong() > 0);
+        Assert.assertEquals(0, garbageCollection.get("droppedEvents").asLong());
+    }
+
+    @Test
+    public void testDroppedEvents() {
+        final GarbageCollectionCollector collector = new GarbageCollectionCollector(0);
+        collector.begin();
+        System.gc();
+        final Optional<GarbageCollectionStatistics> statistics = collector.end(DataCreator.createResult());
+
+        Assert.assertTrue(statistics.isPresent());
+        Assert.assertTrue(statistics.get().getEvents().isEmpty());
+        Assert.assertTrue(statistics.get().getDroppedEvents() >= 1);
+        Assert.assertTrue(statistics.get().getOldCount() >= 1);
+    }
+
+    @Test
+    public void testEndWithoutBegin() {
+        final GarbageCollectionCollector collector = new GarbageCollectionCollector();
+        Assert.assertEquals("garbageCollection", collector.getName());
+        Assert.assertFalse(collector.end(DataCreator.createResult()).isPresent());
+    }
+
+    @Test
+    public void testClassification() {
+        Assert.assertTrue(GarbageCollectionCollector.isConcurrent("ZGC Cycles"));
+        Assert.assertTrue(GarbageCollectionCollector.isConcurrent("G1 Concurrent GC"));
+        Assert.assertFalse(GarbageCollectionCollector.isConcurrent("G1 Young Generation"));
+        Assert.assertTrue(GarbageCollectionCollector.isOldPool("G1 Old Gen"));
+        Assert.assertTrue(GarbageCollectionCollector.isOldPool("Tenured Gen"));
+        Assert.assertFalse(GarbageCollectionCollector.isOldPool("G1 Eden Space"));
+    }
+
+    private static JsonNode findExplicitEvent(final JsonNode garbageCollection) {
+        for (final JsonNode event : garbageCollection.get("events")) {
+            if ("System.gc()".equals(event.get("cause").asText())) {
+                return event;
+            }
+        }
+        throw new AssertionError("No explicit collection recorded");
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tests for {@link HeapFootprintCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class HeapFootprintCollectorTest {
+
+    @Test
+    public void testRetainedObjects() throws IOException {
+        final Path path = Paths.get("target/tmp/test/HeapFootprintCollectorTest.testRetainedObjects.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path)
+                .addCollector(new HeapFootprintCollector());
+        consumer.prepareClass();
+        final List<Retained> retained = Lists.newArrayList();
+        for (int i = 0; i < 10000; ++i) {
+            retained.add(new Retained(i));
+        }
+        consumer.accept(DataCreator.createResult());
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+        Assert.assertEquals(10000, retained.size());
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(2, results.size());
+        final JsonNode growing = results.get(0).get("heapFootprint");
+        Assert.assertTrue(growing.get("fullGc").asBoolean());
+        Assert.assertTrue(growing.get("heapUsedBytes").asLong() > 0);
+        // Other tests run concurrently so only the growth of the retained class is deterministic
+        final Optional<JsonNode> retainedClass = findClass(growing.get("topClassesByInstances"), Retained.class.getName());
+        Assert.assertTrue(retainedClass.isPresent());
+        Assert.assertEquals(10000, retainedClass.get().get("instancesDelta").asLong());
+        final JsonNode steady = results.get(1).get("heapFootprint");
+        Assert.assertFalse(findClass(steady.get("topClassesByInstances"), Retained.class.getName()).isPresent());
+    }
+
+    @Test
+    public void testParseHistogram() {
+        final Map<String, long[]> classes = HeapFootprintCollector.parseHistogram(String.join(
+                "\n",
+                "12345:",
+                " num     #instances         #bytes  class name (module)",
+                "-------------------------------------------------------",
+                "   1:          1000          64000  [B (java.base@21.0.1)",
+                "   2:            10            240  com.example.Foo",
+                "   3:             5            120  com.example.Foo",
+                "Total          1015          64360"));
+        Assert.assertEquals(2, classes.size());
+        Assert.assertArrayEquals(new long[]{1000, 64000}, classes.get("[B"));
+        Assert.assertArrayEquals(new long[]{15, 360}, classes.get("com.example.Foo"));
+    }
+
+    @Test
+    public void testCompare() {
+        final HeapFootprintCollector collector = new HeapFootprintCollector(false, 2);
+        final HeapFootprint footprint = collector.compare(
+                new HeapFootprintCollector.Snapshot(
+                        ImmutableMap.of("a", new long[]{10, 100}, "b", new long[]{5, 500}, "c", new long[]{1, 10}),
+                        1000),
+                new HeapFootprintCollector.Snapshot(
+                        ImmutableMap.of("a", new long[]{30, 300}, "b", new long[]{1, 100}, "d", new long[]{2, 20}),
+                        900));
+        Assert.assertFalse(footprint.isFullGc());
+        Assert.assertEquals(900, footprint.getHeapUsedBytes());
+        Assert.assertEquals(-100, footprint.getHeapGrowthBytes());
+        Assert.assertEquals(420, footprint.getHistogramBytes());
+        Assert.assertEquals(-190, footprint.getHistogramGrowthBytes());
+        Assert.assertEquals(17, footprint.getHistogramGrowthInstances());
+
+        final List<HeapFootprint.ClassDelta> byBytes = footprint.getTopClassesByBytes();
+        Assert.assertEquals(2, byBytes.size());
+        Assert.assertEquals("b", byBytes.get(0).getName());
+        Assert.assertEquals(-400, byBytes.get(0).getBytesDelta());
+        Assert.assertEquals("a", byBytes.get(1).getName());
+        Assert.assertEquals(200, byBytes.get(1).getBytesDelta());
+        Assert.assertEquals(300, byBytes.get(1).getBytes());
+
+        final List<HeapFootprint.ClassDelta> byInstances = footprint.getTopClassesByInstances();
+        Assert.assertEquals("a", byInstances.get(0).getName());
+        Assert.assertEquals(20, byInstances.get(0).getInstancesDelta());
+        Assert.assertEquals("b", byInstances.get(1).getName());
+    }
+
+    private static Optional<JsonNode> findClass(final JsonNode classes, final String name) {
+        for (final JsonNode node : classes) {
+            if (name.equals(node.get("name").asText())) {
+                return Optional.of(node);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static final class Retained {
+
+        Retained(final int value) {
+            _value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "Retained{" + _value + "}";
+        }
+
+        private final int _value;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import jdk.jfr.Recording;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tests the summarization of JFR recordings.
+ *
+ * @author agent (agent at local)
+ */
+public final class JfrFilterTest {
+
+    @Test
+    public void testSummary() throws IOException {
+        final Path tmp = Paths.get("target/tmp");
+        Files.createDirectories(tmp);
+        final Path recording = tmp.resolve("JfrFilterTest.testSummary.jfr");
+        createRecording(recording);
+
+        new JfrFilter().run(recording, Optional.empty());
+
+        final Path summary = tmp.resolve("JfrFilterTest.testSummary.jfr.txt");
+        final List<String> lines = Files.readAllLines(summary, StandardCharsets.UTF_8);
+        Assert.assertEquals("JFR RECORDING JfrFilterTest.testSummary.jfr", lines.get(0));
+        Assert.assertTrue(lines.get(1).startsWith("EVENTS BEGIN (total = "));
+        Assert.assertTrue(lines.contains("EVENTS END"));
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.startsWith("CPU SAMPLES BEGIN (total = ")));
+        Assert.assertTrue(lines.contains("rank   self  accum   count method"));
+        Assert.assertTrue(lines.contains("CPU SAMPLES END"));
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.startsWith("CPU TOTAL SAMPLES BEGIN (total = ")));
+        Assert.assertTrue(lines.contains("rank  total   count method"));
+        Assert.assertEquals("CPU TOTAL SAMPLES END", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    public void testSummaryExplicitResult() throws IOException {
+        final Path tmp = Paths.get("target/tmp");
+        Files.createDirectories(tmp);
+        final Path recording = tmp.resolve("JfrFilterTest.testSummaryExplicitResult.jfr");
+        final Path summary = tmp.resolve("JfrFilterTest.testSummaryExplicitResult.summary.txt");
+        createRecording(recording);
+
+        new JfrFilter().run(recording, Optional.of(summary));
+
+        Assert.assertTrue(Files.exists(summary));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingRecording() throws IOException {
+        new JfrFilter().run(Paths.get("target/tmp/JfrFilterTest.doesnotexist.jfr"), Optional.empty());
+    }
+
+    @Test
+    public void testFormatUnknownMethod() {
+        Assert.assertEquals("<unknown>", JfrFilter.formatMethod(null));
+    }
+
+    /**
+     * Create a short recording with execution samples.
+     *
+     * @param path the path to write the recording to
+     * @throws IOException if the recording cannot be written
+     */
+    static void createRecording(final Path path) throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(1));
+            recording.start();
+            final long end = System.nanoTime() + Duration.ofMillis(200).toNanos();
+            double value = 0;
+            while (System.nanoTime() < end) {
+                value += Math.sqrt(value + 1);
+            }
+            recording.stop();
+            recording.dump(path);
+            Assert.assertTrue(value > 0);
+        }
+    }
+}
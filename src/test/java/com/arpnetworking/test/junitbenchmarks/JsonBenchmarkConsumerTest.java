@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -33,6 +34,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -99,6 +101,41 @@ public final class JsonBenchmarkConsumerTest {
         Assert.assertEquals(result.getThreadCount(), resultNode.get("threadCount").asInt());
     }
 
+    @Test
+    public void testCollectors() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testCollectors.json");
+        Files.deleteIfExists(path);
+        final CountingCollector collector = new CountingCollector();
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path).addCollector(collector);
+
+        consumer.prepareClass();
+        consumer.accept(DataCreator.createResult());
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+        Assert.assertEquals(3, collector._begins);
+
+        final JsonNode resultsArray = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(2, resultsArray.size());
+        Assert.assertEquals(1, resultsArray.get(0).get("counting").asInt());
+        Assert.assertTrue(resultsArray.get(0).get("result").isObject());
+        Assert.assertEquals(2, resultsArray.get(1).get("counting").asInt());
+    }
+
+    @Test
+    public void testCollectorWithoutData() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testCollectorWithoutData.json");
+        Files.deleteIfExists(path);
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path).addCollector(new CountingCollector());
+
+        // Collection never began so there is no data
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode resultsArray = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, resultsArray.size());
+        Assert.assertFalse(resultsArray.get(0).has("counting"));
+    }
+
     @Test
     public void testMultipleClose() throws IOException {
         final Path path = Paths.get("target/tmp/test/testConsumerMultiClose.json");
@@ -157,6 +194,116 @@ public final class JsonBenchmarkConsumerTest {
         consumer.close();
     }
 
+    @Test
+    public void testStreaming() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testStreaming.json");
+        Files.deleteIfExists(path);
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path).enableStreaming();
+
+        // Each result is written as a line when it is accepted
+        consumer.accept(DataCreator.createResult());
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Assert.assertEquals(1, lines.size());
+        Assert.assertEquals("testNormalBenchmarkCase", readResult(lines.get(0)).get("testMethodName").asText());
+        consumer.accept(DataCreator.createResult());
+        Assert.assertEquals(2, Files.readAllLines(path, StandardCharsets.UTF_8).size());
+        consumer.close();
+
+        lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Assert.assertEquals(2, lines.size());
+        for (final String line : lines) {
+            Assert.assertEquals("testNormalBenchmarkCase", readResult(line).get("testMethodName").asText());
+        }
+    }
+
+    @Test
+    public void testStreamingAppend() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testStreamingAppend.json");
+        Files.deleteIfExists(path);
+        final JsonBenchmarkConsumer buffered = new JsonBenchmarkConsumer(path, true);
+        buffered.accept(DataCreator.createResult());
+        buffered.close();
+        for (int run = 0; run < 2; ++run) {
+            final JsonBenchmarkConsumer streaming = new JsonBenchmarkConsumer(path, true).enableStreaming();
+            streaming.accept(DataCreator.createResult());
+            streaming.accept(DataCreator.createResult());
+            streaming.close();
+        }
+
+        final List<JsonNode> results = new ArrayList<>();
+        ResultsFiles.forEach(path, results::add);
+        Assert.assertEquals(5, results.size());
+        for (final JsonNode result : results) {
+            Assert.assertEquals(
+                    "com.arpnetworking.test.junitbenchmarks.JsonBenchmarkConsumerTest.testNormalBenchmarkCase",
+                    ResultsFiles.getTestName(result));
+        }
+    }
+
+    @Test
+    public void testStreamingWithoutResults() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testStreamingWithoutResults.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.write(path, "stale".getBytes(StandardCharsets.UTF_8));
+        new JsonBenchmarkConsumer(path).enableStreaming().close();
+        Assert.assertEquals(0, Files.size(path));
+    }
+
+    @Test
+    public void testStreamingProfiled() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testStreamingProfiled.json");
+        Files.deleteIfExists(path);
+        final ProfiledBenchmarkConsumer consumer = new ProfiledBenchmarkConsumer(path);
+        consumer.enableStreaming();
+
+        // The profile data is extracted before the result is written
+        consumer.accept(DataCreator.createResult());
+        Assert.assertEquals(1, consumer._filtered);
+        final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Assert.assertEquals(1, lines.size());
+        final Path extracted = Paths.get(URI.create(ObjectMapperFactory.getInstance().readTree(lines.get(0)).get("profileFile").asText()));
+        Assert.assertEquals("testStreamingProfiled.testNormalBenchmarkCase.hprof", extracted.getFileName().toString());
+        Assert.assertTrue(Files.exists(extracted));
+        consumer.close();
+        Assert.assertEquals(1, consumer._filtered);
+    }
+
+    @Test
+    public void testQualifiedOutputs() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testQualifiedOutputs.json");
+        Files.deleteIfExists(path);
+        final ProfiledBenchmarkConsumer consumer = new ProfiledBenchmarkConsumer(path);
+
+        // Profile data is extracted on close under the names at accept
+        consumer.qualifyOutputs("cpus_1.0");
+        consumer.accept(DataCreator.createResult());
+        consumer.qualifyOutputs("cpus_2.0");
+        consumer.accept(DataCreator.createResult());
+        consumer.qualifyOutputs("");
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(2, results.size());
+        final List<String> names = new ArrayList<>();
+        for (final JsonNode result : results) {
+            names.add(new File(URI.create(result.get("profileFile").asText())).getName());
+        }
+        names.sort(Comparator.naturalOrder());
+        Assert.assertEquals(
+                Arrays.asList(
+                        "testQualifiedOutputs.testNormalBenchmarkCase.cpus_1.0.hprof",
+                        "testQualifiedOutputs.testNormalBenchmarkCase.cpus_2.0.hprof"),
+                names);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnableStreamingAfterAccept() throws IOException {
+        final Path path = Paths.get("target/tmp/test/testEnableStreamingAfterAccept.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        consumer.accept(DataCreator.createResult());
+        consumer.enableStreaming();
+    }
+
     @Test
     public void testGetProfileFileFirst() {
         final Optional<Path> profileFile = new CustomBenchmarkConsumer(
@@ -278,6 +425,31 @@ public final class JsonBenchmarkConsumerTest {
         executorService.awaitTermination(500, TimeUnit.MILLISECONDS);
     }
 
+    private static JsonNode readResult(final String line) throws IOException {
+        final JsonNode augmentedResult = ObjectMapperFactory.getInstance().readTree(line);
+        Assert.assertTrue(augmentedResult.isObject());
+        return augmentedResult.get("result");
+    }
+
+    private static final class CountingCollector implements ResultCollector {
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public void begin() {
+            ++_begins;
+        }
+
+        @Override
+        public Optional<Integer> end(final Result result) {
+            return _begins > 0 ? Optional.of(_begins) : Optional.empty();
+        }
+
+        private int _begins;
+    }
+
     private static class CustomBenchmarkConsumer extends JsonBenchmarkConsumer {
         CustomBenchmarkConsumer(final String argument) {
             super(Paths.get("./target"));
@@ -290,4 +462,29 @@ public final class JsonBenchmarkConsumerTest {
 
         private final String _argument;
     }
+
+    private static final class ProfiledBenchmarkConsumer extends JsonBenchmarkConsumer {
+        ProfiledBenchmarkConsumer(final Path path) {
+            super(path);
+        }
+
+        @Override
+        protected Optional<Path> getProfileFile() {
+            return Optional.of(Paths.get("target/tmp/test/testStreamingProfiled.hprof.txt"));
+        }
+
+        @Override
+        protected int dumpProfileData(final Path profileFile) {
+            return _dumped++;
+        }
+
+        @Override
+        protected void filterProfileData(final Path pathIn, final Path pathOut, final int index) throws IOException {
+            ++_filtered;
+            Files.write(pathOut, "profile".getBytes(StandardCharsets.UTF_8));
+        }
+
+        private int _dumped;
+        private int _filtered;
+    }
 }
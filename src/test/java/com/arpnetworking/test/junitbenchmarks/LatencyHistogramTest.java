@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ *
+ * @author agent (agent at local)
+ */
+public final class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getMean(), 0.0);
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+        Assert.assertTrue(histogram.getBuckets().isEmpty());
+    }
+
+    @Test
+    public void testSmallValuesExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; ++i) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+
+        Assert.assertEquals(11, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(10, histogram.getMax());
+        Assert.assertEquals(5.0, histogram.getMean(), 0.0);
+        Assert.assertEquals(5, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(10, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(0, histogram.getValueAtPercentile(0));
+        Assert.assertEquals(11, histogram.getBuckets().size());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        long previousHighest = -1;
+        for (int i = 0; i < 1888; ++i) {
+            final long lowest = LatencyHistogram.getLowestValue(i);
+            final long highest = LatencyHistogram.getHighestValue(i);
+            Assert.assertEquals(previousHighest + 1, lowest);
+            Assert.assertTrue(highest >= lowest);
+            Assert.assertEquals(i, LatencyHistogram.getBucketIndex(lowest));
+            Assert.assertEquals(i, LatencyHistogram.getBucketIndex(highest));
+            previousHighest = highest;
+        }
+        Assert.assertEquals(Long.MAX_VALUE, previousHighest);
+    }
+
+    @Test
+    public void testRelativeError() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000000; ++i) {
+            histogram.record(i * 1000);
+        }
+
+        Assert.assertEquals(1000000, histogram.getCount());
+        Assert.assertEquals(1000, histogram.getMin());
+        Assert.assertEquals(1000000000, histogram.getMax());
+        Assert.assertEquals(500000500.0, histogram.getMean(), 0.001);
+        assertWithin(500000000, histogram.getValueAtPercentile(50));
+        assertWithin(900000000, histogram.getValueAtPercentile(90));
+        assertWithin(990000000, histogram.getValueAtPercentile(99));
+        assertWithin(999000000, histogram.getValueAtPercentile(99.9));
+        Assert.assertEquals(1000000000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 1999; ++i) {
+            histogram.record(1000);
+        }
+        histogram.record(5000000);
+
+        final Map<String, Long> percentiles = histogram.getPercentiles();
+        assertWithin(1000, percentiles.get("p50"));
+        assertWithin(1000, percentiles.get("p99"));
+        assertWithin(1000, percentiles.get("p99.9"));
+        Assert.assertEquals(5000000L, percentiles.get("max").longValue());
+    }
+
+    @Test
+    public void testCopyAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(200);
+
+        final LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(2, copy.getCount());
+        Assert.assertEquals(100, copy.getMin());
+        Assert.assertEquals(200, copy.getMax());
+
+        final List<long[]> buckets = copy.getBuckets();
+        Assert.assertEquals(2, buckets.size());
+        Assert.assertEquals(100, buckets.get(0)[0]);
+        Assert.assertEquals(1, buckets.get(0)[2]);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException, ExecutionException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = Lists.newArrayList();
+            for (int thread = 0; thread < 4; ++thread) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= 10000; ++i) {
+                        histogram.record(i % 10);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(40000, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(9, histogram.getMax());
+        Assert.assertEquals(4.5, histogram.getMean(), 0.0);
+        Assert.assertEquals(10, histogram.getBuckets().size());
+        for (final long[] bucket : histogram.getBuckets()) {
+            Assert.assertEquals(4000, bucket[2]);
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IOException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(100);
+
+        final JsonNode node = ObjectMapperFactory.getInstance().valueToTree(histogram);
+        Assert.assertEquals(2, node.get("count").asLong());
+        Assert.assertEquals(100, node.get("min").asLong());
+        Assert.assertEquals(100, node.get("percentiles").get("p99.9").asLong());
+        Assert.assertEquals(2, node.get("buckets").get(0).get(2).asLong());
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        Assert.assertEquals(expected, actual, expected * 0.04);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Tests for {@link LocalJvmJsonBenchmarkConsumer} against a JVM started by
+ * the test.
+ *
+ * @author agent (agent at local)
+ */
+public final class LocalJvmJsonBenchmarkConsumerTest {
+
+    private static Process gTarget;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        gTarget = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp",
+                System.getProperty("java.class.path"),
+                "-Dperformance.test.target=true",
+                TargetMain.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(gTarget.getInputStream(), StandardCharsets.UTF_8))) {
+            Assert.assertEquals("ready", reader.readLine());
+        }
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws InterruptedException {
+        gTarget.destroy();
+        gTarget.waitFor(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testProfileLifecycle() throws IOException, InterruptedException {
+        final Path path = Paths.get("target/tmp/test/LocalJvmJsonBenchmarkConsumerTest.testProfileLifecycle.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        final Path recordingDirectory = Files.createTempDirectory("local-jvm");
+        final LocalJvmJsonBenchmarkConsumer consumer = new LocalJvmJsonBenchmarkConsumer(
+                path,
+                false,
+                Pattern.compile(String.valueOf(gTarget.pid())),
+                recordingDirectory,
+                "default",
+                Duration.ofMillis(50),
+                true);
+
+        consumer.prepareClass();
+        Thread.sleep(500);
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode resultsArray = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, resultsArray.size());
+        final Path recording = Paths.get(URI.create(resultsArray.get(0).get("profileFile").asText()));
+        Assert.assertTrue(recording.toString().endsWith(".jfr"));
+        Assert.assertTrue(Files.size(recording) > 0);
+        Assert.assertTrue(Files.exists(Paths.get(recording + ".txt")));
+        final String nameWithoutExtension = com.google.common.io.Files.getNameWithoutExtension(recording.toString());
+        final Path threadDumps = recording.resolveSibling(nameWithoutExtension + ".threads.txt");
+        Assert.assertTrue(Files.readString(threadDumps).contains("Full thread dump"));
+        final Path histogram = recording.resolveSibling(nameWithoutExtension + ".histogram.txt");
+        Assert.assertTrue(Files.readString(histogram).contains("java.lang.String"));
+        try (java.util.stream.Stream<Path> files = Files.list(recordingDirectory)) {
+            Assert.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testGetJvmArguments() throws IOException {
+        final LocalJvmJsonBenchmarkConsumer consumer = new LocalJvmJsonBenchmarkConsumer(
+                Paths.get("target/tmp/test/LocalJvmJsonBenchmarkConsumerTest.testGetJvmArguments.json"),
+                Pattern.compile(".*\\$TargetMain"));
+
+        Assert.assertTrue(consumer.getJvmArguments().contains("-Dperformance.test.target=true"));
+        Assert.assertEquals(String.valueOf(gTarget.pid()), consumer.findTargetJvm().get().id());
+        Assert.assertTrue(consumer.execute("threadPrint").contains("Full thread dump"));
+        consumer.close();
+    }
+
+    @Test
+    public void testExecuteFailure() throws IOException {
+        final LocalJvmJsonBenchmarkConsumer consumer = new LocalJvmJsonBenchmarkConsumer(
+                Paths.get("target/tmp/test/LocalJvmJsonBenchmarkConsumerTest.testExecuteFailure.json"),
+                Pattern.compile(String.valueOf(gTarget.pid())));
+        try {
+            consumer.execute("doesNotExist");
+            Assert.fail("Expected exception not thrown");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("doesNotExist"));
+        } finally {
+            consumer.close();
+        }
+    }
+
+    @Test
+    public void testTargetNotFound() throws IOException {
+        final LocalJvmJsonBenchmarkConsumer consumer = new LocalJvmJsonBenchmarkConsumer(
+                Paths.get("target/tmp/test/LocalJvmJsonBenchmarkConsumerTest.testTargetNotFound.json"),
+                Pattern.compile("com\\.example\\.DoesNotExist"));
+
+        Assert.assertFalse(consumer.findTargetJvm().isPresent());
+        Assert.assertTrue(consumer.getJvmArguments().isEmpty());
+        Assert.assertEquals(-1, consumer.dumpProfileData(consumer.getProfileFile().get()));
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+    }
+
+    /**
+     * JVM targeted by the tests.
+     */
+    static final class TargetMain {
+
+        public static void main(final String[] args) throws InterruptedException {
+            System.out.println("ready");
+            System.out.flush();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(10));
+        }
+
+        private TargetMain() {}
+    }
+}
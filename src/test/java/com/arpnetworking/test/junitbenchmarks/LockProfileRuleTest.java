@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tests for {@link LockProfileRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class LockProfileRuleTest {
+
+    @Test
+    public void testContendedBenchmark() throws IOException {
+        Files.deleteIfExists(ContendedBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(ContendedBenchmark.class)).wasSuccessful());
+        ContendedBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(ContendedBenchmark.PATH.toFile());
+        Assert.assertEquals(2, results.size());
+        for (final JsonNode result : results) {
+            final String method = result.get("result").get("testMethodName").asText();
+            final String event = "testMonitor".equals(method) ? "jdk.JavaMonitorEnter" : "jdk.ThreadPark";
+            final JsonNode profile = result.get("lockProfile");
+            Assert.assertEquals(1.0, profile.get("thresholdMillis").asDouble(), 0.0001);
+            Assert.assertTrue(profile.get("events").get(event).asLong() > 0);
+            Assert.assertTrue(profile.get("blockedTimeMillis").asDouble() > 0);
+            Assert.assertTrue(profile.get("stacks").asInt() > 0);
+
+            final List<String> text = Files.readAllLines(
+                    Paths.get(URI.create(profile.get("textFile").asText())), StandardCharsets.UTF_8);
+            Assert.assertTrue(text.get(0).endsWith("LockProfileRuleTest$ContendedBenchmark." + method));
+            Assert.assertTrue(text.stream().anyMatch(line -> line.contains("ContendedBenchmark." + method)));
+
+            final List<String> folded = Files.readAllLines(
+                    Paths.get(URI.create(profile.get("foldedFile").asText())), StandardCharsets.UTF_8);
+            Assert.assertTrue(folded.stream().anyMatch(line -> line.startsWith(event + ";") && line.contains(method)));
+        }
+    }
+
+    @Test
+    public void testProfile() throws IOException {
+        final LockProfileRule.Profile profile = new LockProfileRule.Profile();
+        profile.add("jdk.JavaMonitorEnter", ImmutableList.of("a.B.inner", "a.B.outer"), "java.lang.Object", 3000000);
+        profile.add("jdk.ThreadPark", ImmutableList.of("a.C.park"), null, 1000000);
+        profile.add("jdk.JavaMonitorEnter", ImmutableList.of("a.B.inner", "a.B.outer"), "java.lang.Object", 4000000);
+        Assert.assertEquals(2, profile.getStacks());
+        Assert.assertEquals(8000000, profile.getNanos());
+        Assert.assertEquals(Long.valueOf(2), profile.getEventCounts().get("jdk.JavaMonitorEnter"));
+        Assert.assertEquals(Long.valueOf(1), profile.getEventCounts().get("jdk.ThreadPark"));
+
+        final StringWriter folded = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(folded)) {
+            profile.writeFolded(writer);
+        }
+        Assert.assertEquals(
+                ImmutableList.of(
+                        "jdk.JavaMonitorEnter;a.B.outer;a.B.inner;java.lang.Object 7000",
+                        "jdk.ThreadPark;a.C.park;<unknown> 1000"),
+                ImmutableList.copyOf(folded.toString().split(System.lineSeparator())));
+
+        final StringWriter text = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(text)) {
+            profile.writeText(writer, "a.B.test");
+        }
+        final List<String> lines = ImmutableList.copyOf(text.toString().split(System.lineSeparator()));
+        Assert.assertEquals("LOCK PROFILE a.B.test", lines.get(0));
+        Assert.assertEquals("STACKS BEGIN (total = 8.000 ms)", lines.get(6));
+        Assert.assertEquals("   1 87.50% 87.50%       7.000       2 jdk.JavaMonitorEnter java.lang.Object", lines.get(8));
+        Assert.assertEquals("        a.B.inner", lines.get(9));
+        Assert.assertEquals("        a.B.outer", lines.get(10));
+        Assert.assertEquals("STACKS END", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    public void testFileName() {
+        Assert.assertEquals(
+                "a.B.test_0__x_y_.locks.txt",
+                AbstractRoundRule.getFileName(Description.createTestDescription("a.B", "test[0: x/y]"), "", "locks.txt"));
+        Assert.assertEquals(
+                "a.B.test.cpus_2.0.locks.txt",
+                AbstractRoundRule.getFileName(Description.createTestDescription("a.B", "test"), "cpus_2.0", "locks.txt"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        new LockProfileRule(
+                new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")),
+                Paths.get("target/tmp/test"),
+                Duration.ofMillis(-1));
+    }
+
+    /**
+     * Benchmark whose rounds contend for a monitor and for a lock.
+     */
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = 2)
+    public static final class ContendedBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(LOCK_PROFILE);
+
+        private static final Object MONITOR = new Object();
+        private static final ReentrantLock LOCK = new ReentrantLock();
+        private static final Path PATH = Paths.get("target/tmp/test/LockProfileRuleTest.ContendedBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final LockProfileRule LOCK_PROFILE = new LockProfileRule(
+                CONSUMER,
+                Paths.get("target/tmp/test/locks"),
+                Duration.ofMillis(1));
+
+        @Test
+        @SuppressFBWarnings(value = "SWL_SLEEP_WITH_LOCK_HELD", justification = "The lock is held to cause contention")
+        public void testMonitor() throws InterruptedException {
+            synchronized (MONITOR) {
+                Thread.sleep(5);
+            }
+        }
+
+        @Test
+        public void testPark() throws InterruptedException {
+            LOCK.lock();
+            try {
+                Thread.sleep(5);
+            } finally {
+                LOCK.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link MetricRecorder}.
+ *
+ * @author agent (agent at local)
+ */
+public final class MetricRecorderTest {
+
+    @Test
+    public void testRecordsBenchmarkRounds() throws IOException {
+        Files.deleteIfExists(SampleBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(SampleBenchmark.class)).wasSuccessful());
+        SampleBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(SampleBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode metrics = results.get(0).get("metrics");
+        Assert.assertEquals(5, metrics.get("counters").get("rounds").asLong());
+        Assert.assertEquals(5, metrics.get("gauges").get("depth").get("count").asLong());
+        Assert.assertEquals(3, metrics.get("gauges").get("depth").get("min").asLong());
+        Assert.assertEquals(7, metrics.get("gauges").get("depth").get("max").asLong());
+        Assert.assertEquals(7, metrics.get("gauges").get("depth").get("last").asLong());
+        Assert.assertEquals(5, metrics.get("timers").get("sleep").get("count").asLong());
+        Assert.assertTrue(metrics.get("timers").get("sleep").get("min").asLong() >= 1000000);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final MetricRecorder recorder = new MetricRecorder(
+                new JsonBenchmarkConsumer(Paths.get("target/tmp/test/MetricRecorderTest.testConcurrentRecording.json")));
+        final MetricRecorder.Counter counter = recorder.counter("counter");
+        final MetricRecorder.Timer timer = recorder.timer("timer");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; ++i) {
+            executor.execute(() -> {
+                for (int j = 1; j <= 1000; ++j) {
+                    counter.add(2);
+                    timer.record(j, TimeUnit.MICROSECONDS);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        final RecordedMetrics metrics = recorder.snapshot();
+        Assert.assertEquals(Long.valueOf(8000), metrics.getCounters().get("counter"));
+        final RecordedMetrics.Distribution timerValues = metrics.getTimers().get("timer");
+        Assert.assertEquals(4000, timerValues.getCount());
+        Assert.assertEquals(1000, timerValues.getMin());
+        Assert.assertEquals(1000000, timerValues.getMax());
+        Assert.assertEquals(500500.0, timerValues.getMean(), 0.0001);
+        Assert.assertSame(counter, recorder.counter("counter"));
+    }
+
+    @Test
+    public void testResetAfterResult() throws IOException {
+        final Path path = Paths.get("target/tmp/test/MetricRecorderTest.testResetAfterResult.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final MetricRecorder recorder = new MetricRecorder(consumer);
+        consumer.accept(DataCreator.createResult());
+        recorder.counter("counter").increment();
+        recorder.gauge("gauge").set(3);
+        consumer.accept(DataCreator.createResult());
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(3, results.size());
+        Assert.assertNull(results.get(0).get("metrics"));
+        Assert.assertEquals(1, results.get(1).get("metrics").get("counters").get("counter").asLong());
+        Assert.assertEquals(3, results.get(1).get("metrics").get("gauges").get("gauge").get("max").asLong());
+        Assert.assertEquals(0, results.get(2).get("metrics").get("counters").get("counter").asLong());
+        Assert.assertNull(results.get(2).get("metrics").get("gauges").get("gauge"));
+    }
+
+    /**
+     * Benchmark run by the tests.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 3)
+    public static final class SampleBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(METRICS);
+
+        private int _depth;
+
+        private static final Path PATH = Paths.get("target/tmp/test/MetricRecorderTest.SampleBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final MetricRecorder METRICS = new MetricRecorder(CONSUMER);
+        private static final MetricRecorder.Counter ROUNDS = METRICS.counter("rounds");
+        private static final MetricRecorder.Gauge DEPTH = METRICS.gauge("depth");
+        private static final MetricRecorder.Timer SLEEP = METRICS.timer("sleep");
+
+        @Test
+        public void test() {
+            ROUNDS.increment();
+            DEPTH.set(_depth++);
+            SLEEP.time(() -> {
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tests for {@link NativeMemoryCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class NativeMemoryCollectorTest {
+
+    @Test
+    public void testDirectBuffer() throws IOException {
+        final Path path = Paths.get("target/tmp/test/NativeMemoryCollectorTest.testDirectBuffer.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path)
+                .addCollector(new NativeMemoryCollector());
+        consumer.prepareClass();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+        Assert.assertEquals(1024 * 1024, buffer.capacity());
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        final JsonNode direct = results.get(0).get("nativeMemory").get("bufferPools").get("direct");
+        Assert.assertTrue(direct.get("count").asLong() >= 1);
+        Assert.assertTrue(direct.get("countDelta").asLong() >= 1);
+        Assert.assertTrue(direct.get("totalCapacityDeltaBytes").asLong() >= 1024 * 1024);
+        Assert.assertTrue(direct.get("memoryUsedDeltaBytes").asLong() >= 1024 * 1024);
+    }
+
+    @Test
+    public void testParseSummary() {
+        final Optional<Map<String, long[]>> categories = NativeMemoryCollector.parseSummary(String.join(
+                "\n",
+                "12345:",
+                "",
+                "Native Memory Tracking:",
+                "",
+                "(Omitting categories weighting less than 1KB)",
+                "",
+                "Total: reserved=2944036KB, committed=141436KB",
+                "       malloc: 10460KB #51995",
+                "       mmap:   reserved=2933576KB, committed=130976KB",
+                "",
+                "-                 Java Heap (reserved=1538048KB, committed=96256KB)",
+                "                            (mmap: reserved=1538048KB, committed=96256KB) ",
+                " ",
+                "-                    Thread (reserved=12325KB, committed=697KB)",
+                "                            (thread #12)",
+                "                            (stack: reserved=12288KB, committed=660KB)"));
+        Assert.assertTrue(categories.isPresent());
+        Assert.assertEquals(3, categories.get().size());
+        Assert.assertArrayEquals(new long[]{2944036L * 1024, 141436L * 1024}, categories.get().get("Total"));
+        Assert.assertArrayEquals(new long[]{1538048L * 1024, 96256L * 1024}, categories.get().get("Java Heap"));
+        Assert.assertArrayEquals(new long[]{12325L * 1024, 697L * 1024}, categories.get().get("Thread"));
+    }
+
+    @Test
+    public void testParseSummaryNotEnabled() {
+        Assert.assertFalse(NativeMemoryCollector.parseSummary("12345:\nNative memory tracking is not enabled\n").isPresent());
+    }
+
+    @Test
+    public void testCompare() {
+        final NativeMemory memory = NativeMemoryCollector.compare(
+                new NativeMemoryCollector.Snapshot(
+                        ImmutableMap.of("direct", new long[]{1, 10, 10}),
+                        Optional.of(ImmutableMap.of("Thread", new long[]{100, 50}))),
+                new NativeMemoryCollector.Snapshot(
+                        ImmutableMap.of("direct", new long[]{3, 30, 40}, "mapped", new long[]{1, 5, 5}),
+                        Optional.of(ImmutableMap.of("Thread", new long[]{120, 40}, "Internal", new long[]{8, 8}))));
+        final NativeMemory.BufferPool direct = memory.getBufferPools().get("direct");
+        Assert.assertEquals(3, direct.getCount());
+        Assert.assertEquals(2, direct.getCountDelta());
+        Assert.assertEquals(30, direct.getMemoryUsedBytes());
+        Assert.assertEquals(20, direct.getMemoryUsedDeltaBytes());
+        Assert.assertEquals(40, direct.getTotalCapacityBytes());
+        Assert.assertEquals(30, direct.getTotalCapacityDeltaBytes());
+        Assert.assertEquals(5, memory.getBufferPools().get("mapped").getMemoryUsedDeltaBytes());
+
+        final Map<String, NativeMemory.Category> categories = memory.getNativeMemoryTracking().get();
+        Assert.assertEquals(20, categories.get("Thread").getReservedDeltaBytes());
+        Assert.assertEquals(-10, categories.get("Thread").getCommittedDeltaBytes());
+        Assert.assertEquals(8, categories.get("Internal").getCommittedDeltaBytes());
+    }
+
+    @Test
+    public void testCompareWithoutTracking() {
+        final NativeMemory memory = NativeMemoryCollector.compare(
+                new NativeMemoryCollector.Snapshot(ImmutableMap.of(), Optional.empty()),
+                new NativeMemoryCollector.Snapshot(ImmutableMap.of(), Optional.empty()));
+        Assert.assertFalse(memory.getNativeMemoryTracking().isPresent());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.notification.Failure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tests for {@link PerformanceBudgetRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class PerformanceBudgetRuleTest {
+
+    @Test
+    public void testBudgetedBenchmark() throws IOException {
+        Files.deleteIfExists(BudgetedBenchmark.PATH);
+        final List<Failure> failures = new JUnitCore().run(Request.aClass(BudgetedBenchmark.class)).getFailures();
+        BudgetedBenchmark.CONSUMER.close();
+
+        Assert.assertEquals(String.valueOf(failures), 2, failures.size());
+        final Failure slow = find(failures, "testSlow");
+        Assert.assertEquals(AssertionError.class, slow.getException().getClass());
+        Assert.assertTrue(slow.getMessage(), slow.getMessage().startsWith(
+                "Performance budget of " + BudgetedBenchmark.class.getName() + ".testSlow exceeded:"));
+        Assert.assertTrue(slow.getMessage(), slow.getMessage().contains("mean round time"));
+        final Failure allocating = find(failures, "testAllocating");
+        Assert.assertTrue(allocating.getMessage(), allocating.getMessage().contains("but must not allocate"));
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(BudgetedBenchmark.PATH.toFile());
+        Assert.assertEquals(4, results.size());
+        final JsonNode allocationFree = findResult(results, "testAllocationFree").get("performanceBudget");
+        Assert.assertTrue(allocationFree.get("passed").asBoolean());
+        Assert.assertEquals(0, allocationFree.get("allocBytesPerOp").asDouble(), 0.0);
+        Assert.assertTrue(allocationFree.get("p99Millis").asDouble() < 100);
+        Assert.assertEquals(0, allocationFree.get("violations").size());
+        final JsonNode allocatingBudget = findResult(results, "testAllocating").get("performanceBudget");
+        Assert.assertFalse(allocatingBudget.get("passed").asBoolean());
+        Assert.assertTrue(allocatingBudget.get("allocBytesPerOp").asDouble() >= 1024);
+        final JsonNode slowBudget = findResult(results, "testSlow").get("performanceBudget");
+        Assert.assertTrue(slowBudget.get("meanMillis").asDouble() >= 5);
+        Assert.assertTrue(slowBudget.get("allocBytesPerOp").isNull());
+        Assert.assertEquals(20, findResult(results, "testAllocationFree").get("roundLatency").get("count").asLong());
+        Assert.assertEquals(20, findResult(results, "testAllocating").get("threadResources").get("rounds").asLong());
+        Assert.assertFalse(findResult(results, "testUnbudgeted").has("performanceBudget"));
+        Assert.assertFalse(findResult(results, "testUnbudgeted").has("roundLatency"));
+    }
+
+    @Test
+    public void testCheck() {
+        final PerformanceBudget budget = Budgets.class.getAnnotation(PerformanceBudget.class);
+        final PerformanceBudgetReport passed = PerformanceBudgetRule.check(budget, 1, Optional.of(2.0), Optional.of(0.0), 0.1);
+        Assert.assertTrue(passed.isPassed());
+        Assert.assertEquals(Optional.of(1.0), passed.getMeanMillis());
+        Assert.assertEquals(Optional.of(0.1), passed.getGcTimeRatio());
+
+        final PerformanceBudgetReport failed = PerformanceBudgetRule.check(budget, 1.5, Optional.empty(), Optional.of(8.0), 0.5);
+        Assert.assertFalse(failed.isPassed());
+        Assert.assertEquals(4, failed.getViolations().size());
+        Assert.assertEquals("mean round time 1.500 ms exceeds 1.000 ms", failed.getViolations().get(0));
+        Assert.assertTrue(failed.getViolations().get(1).startsWith("99th percentile round time was not measured"));
+        Assert.assertEquals("allocated 8.0 bytes per operation but must not allocate", failed.getViolations().get(2));
+        Assert.assertEquals("garbage collection time ratio 0.500 exceeds 0.250", failed.getViolations().get(3));
+        Assert.assertFalse(failed.getP99Millis().isPresent());
+    }
+
+    @Test
+    public void testFindBudget() throws NoSuchMethodException {
+        Assert.assertEquals(
+                5,
+                PerformanceBudgetRule.findBudget(description(BudgetedBenchmark.class, "testSlow")).maxMeanMillis(),
+                0.0);
+        Assert.assertEquals(
+                1,
+                PerformanceBudgetRule.findBudget(description(InheritedBudgets.class, "toString")).maxMeanMillis(),
+                0.0);
+        Assert.assertNull(PerformanceBudgetRule.findBudget(description(BudgetedBenchmark.class, "testUnbudgeted")));
+    }
+
+    private static Description description(final Class<?> clazz, final String method)
+            throws NoSuchMethodException {
+        return Description.createTestDescription(
+                clazz,
+                method,
+                clazz.getMethod(method).getAnnotations());
+    }
+
+    private static Failure find(final List<Failure> failures, final String method) {
+        return failures.stream()
+                .filter(failure -> method.equals(failure.getDescription().getMethodName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No failure of " + method));
+    }
+
+    private static JsonNode findResult(final JsonNode results, final String method) {
+        for (final JsonNode result : results) {
+            if (method.equals(result.get("result").get("testMethodName").asText())) {
+                return result;
+            }
+        }
+        throw new AssertionError("No result of " + method);
+    }
+
+    /**
+     * Holder of a budget with every limit.
+     */
+    @PerformanceBudget(maxMeanMillis = 1, maxP99Millis = 2, maxAllocBytesPerOp = 0, maxGcTimeRatio = 0.25)
+    private static class Budgets {
+    }
+
+    /**
+     * Inherits the budget of its superclass.
+     */
+    private static final class InheritedBudgets extends Budgets {
+    }
+
+    /**
+     * Benchmark with tests within and exceeding their budgets.
+     */
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 5)
+    public static final class BudgetedBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(BUDGET)
+                .around(new BenchmarkRule(CONSUMER))
+                .around(BUDGET.rounds());
+
+        @Test
+        @PerformanceBudget(maxMeanMillis = 100, maxP99Millis = 100, maxAllocBytesPerOp = 0)
+        public void testAllocationFree() {
+            _counter++;
+        }
+
+        @Test
+        @PerformanceBudget(maxAllocBytesPerOp = 0)
+        public void testAllocating() {
+            _sink = new byte[1024];
+        }
+
+        @Test
+        @PerformanceBudget(maxMeanMillis = 5)
+        public void testSlow() throws InterruptedException {
+            Thread.sleep(10);
+        }
+
+        @Test
+        public void testUnbudgeted() {
+            _counter++;
+        }
+
+        private long _counter;
+        private byte[] _sink;
+
+        private static final Path PATH = Paths.get("target/tmp/test/PerformanceBudgetRuleTest.BudgetedBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final PerformanceBudgetRule BUDGET = new PerformanceBudgetRule(CONSUMER);
+    }
+}
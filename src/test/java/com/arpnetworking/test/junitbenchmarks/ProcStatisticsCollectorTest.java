@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Tests for {@link ProcStatisticsCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class ProcStatisticsCollectorTest {
+
+    @Test
+    public void testCollect() throws IOException {
+        final Path proc = createProc("testCollect");
+        writeStatus(proc, 1000, 800, 2, 1);
+        writeIo(proc, 100, 200, 0, 4096);
+        writeTask(proc, "1", 10, 5, "1000000 2000000 7");
+        writeTask(proc, "2", 3, 0, "500000 0 2");
+        final ProcStatisticsCollector collector = new ProcStatisticsCollector(proc);
+        collector.begin();
+
+        writeStatus(proc, 1200, 1100, 2, 1);
+        writeIo(proc, 1100, 700, 8192, 4096);
+        writeTask(proc, "1", 15, 9, "4000000 5000000 10");
+        Files.delete(proc.resolve("task/2/status"));
+        Files.delete(proc.resolve("task/2/schedstat"));
+        Files.delete(proc.resolve("task/2"));
+        writeTask(proc, "3", 2, 1, "1500000 500000 1");
+        final ProcStatistics statistics = collector.end(DataCreator.createResult()).get();
+
+        Assert.assertEquals(2, statistics.getThreads());
+        Assert.assertEquals(7, statistics.getVoluntaryContextSwitches());
+        Assert.assertEquals(5, statistics.getInvoluntaryContextSwitches());
+        Assert.assertEquals(4.5, statistics.getScheduler().get().getCpuTimeMillis(), 0.0001);
+        Assert.assertEquals(3.5, statistics.getScheduler().get().getRunQueueWaitMillis(), 0.0001);
+        Assert.assertEquals(4, statistics.getScheduler().get().getTimeslices());
+        Assert.assertEquals(1000, statistics.getIo().get().getReadChars());
+        Assert.assertEquals(500, statistics.getIo().get().getWrittenChars());
+        Assert.assertEquals(8192, statistics.getIo().get().getReadBytes());
+        Assert.assertEquals(0, statistics.getIo().get().getWrittenBytes());
+        Assert.assertEquals(1100 * 1024, statistics.getRssBytes());
+        Assert.assertEquals(1200 * 1024, statistics.getRssHighWaterMarkBytes());
+        Assert.assertEquals(200 * 1024, statistics.getRssHighWaterMarkDeltaBytes());
+    }
+
+    @Test
+    public void testWithoutSchedulerAndIo() throws IOException {
+        final Path proc = createProc("testWithoutSchedulerAndIo");
+        writeStatus(proc, 1000, 800, 2, 1);
+        Files.createDirectories(proc.resolve("task/1"));
+        Files.write(proc.resolve("task/1/status"), status(1000, 800, 2, 1).getBytes(StandardCharsets.UTF_8));
+        final ProcStatisticsCollector collector = new ProcStatisticsCollector(proc);
+        collector.begin();
+        final ProcStatistics statistics = collector.end(DataCreator.createResult()).get();
+        Assert.assertEquals(1, statistics.getThreads());
+        Assert.assertFalse(statistics.getScheduler().isPresent());
+        Assert.assertFalse(statistics.getIo().isPresent());
+    }
+
+    @Test
+    public void testNotAvailable() {
+        final ProcStatisticsCollector collector = new ProcStatisticsCollector(
+                Paths.get("target/tmp/test/ProcStatisticsCollectorTest.testNotAvailable"));
+        collector.begin();
+        Assert.assertEquals(Optional.empty(), collector.end(DataCreator.createResult()));
+    }
+
+    @Test
+    public void testThisProcess() throws IOException {
+        Assume.assumeTrue(Files.isReadable(Paths.get("/proc/self/status")));
+        final Path path = Paths.get("target/tmp/test/ProcStatisticsCollectorTest.testThisProcess.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path)
+                .addCollector(new ProcStatisticsCollector());
+        consumer.prepareClass();
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode statistics = ObjectMapperFactory.getInstance().readTree(path.toFile()).get(0).get("procStatistics");
+        Assert.assertTrue(statistics.get("threads").asInt() > 0);
+        Assert.assertTrue(statistics.get("rssBytes").asLong() > 0);
+        Assert.assertTrue(statistics.get("rssHighWaterMarkBytes").asLong() >= statistics.get("rssBytes").asLong());
+    }
+
+    @Test
+    public void testParseFields() {
+        final Map<String, Long> fields = ProcStatisticsCollector.parseFields(String.join(
+                "\n",
+                "Name:\tjava",
+                "VmRSS:\t    1384 kB",
+                "voluntary_ctxt_switches:\t12",
+                "Cpus_allowed_list:\t0-3",
+                "rchar: 3980"));
+        Assert.assertEquals(3, fields.size());
+        Assert.assertEquals(Long.valueOf(1384 * 1024), fields.get("VmRSS"));
+        Assert.assertEquals(Long.valueOf(12), fields.get("voluntary_ctxt_switches"));
+        Assert.assertEquals(Long.valueOf(3980), fields.get("rchar"));
+    }
+
+    private static Path createProc(final String name) throws IOException {
+        final Path proc = Paths.get("target/tmp/test/ProcStatisticsCollectorTest." + name);
+        if (Files.exists(proc)) {
+            try (Stream<Path> files = Files.walk(proc)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+        return proc;
+    }
+
+    private static void writeStatus(
+            final Path proc,
+            final long highWaterMark,
+            final long rss,
+            final long voluntary,
+            final long involuntary) throws IOException {
+        Files.createDirectories(proc);
+        Files.write(proc.resolve("status"), status(highWaterMark, rss, voluntary, involuntary).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeIo(
+            final Path proc,
+            final long readChars,
+            final long writtenChars,
+            final long readBytes,
+            final long writtenBytes) throws IOException {
+        Files.write(
+                proc.resolve("io"),
+                String.format(
+                        "rchar: %d%nwchar: %d%nsyscr: 1%nsyscw: 1%nread_bytes: %d%nwrite_bytes: %d%ncancelled_write_bytes: 0%n",
+                        readChars,
+                        writtenChars,
+                        readBytes,
+                        writtenBytes).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeTask(
+            final Path proc,
+            final String tid,
+            final long voluntary,
+            final long involuntary,
+            final String schedstat) throws IOException {
+        final Path task = proc.resolve("task").resolve(tid);
+        Files.createDirectories(task);
+        Files.write(task.resolve("status"), status(0, 0, voluntary, involuntary).getBytes(StandardCharsets.UTF_8));
+        Files.write(task.resolve("schedstat"), (schedstat + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String status(final long highWaterMark, final long rss, final long voluntary, final long involuntary) {
+        return String.format(
+                "Name:\tjava%nVmHWM:\t%d kB%nVmRSS:\t%d kB%nvoluntary_ctxt_switches:\t%d%nnonvoluntary_ctxt_switches:\t%d%n",
+                highWaterMark,
+                rss,
+                voluntary,
+                involuntary);
+    }
+}
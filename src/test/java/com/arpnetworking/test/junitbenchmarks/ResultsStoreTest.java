@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for {@link ResultsStore}.
+ *
+ * @author agent (agent at local)
+ */
+public final class ResultsStoreTest {
+
+    @Test
+    public void testAppendAndQuery() throws IOException {
+        final Path directory = createDirectory("testAppendAndQuery");
+        final ResultsStore store = new ResultsStore(directory);
+        for (int run = 0; run < 5; ++run) {
+            final ArrayNode results = JsonNodeFactory.instance.arrayNode();
+            results.add(result("a.B.testFirst", run, roundTimes(1000, 1000000 + run)));
+            if (run % 2 == 0) {
+                results.add(result("a.B.testSecond", run, roundTimes(10, 2000000)));
+            }
+            store.append("run-" + run, write(directory.resolve("results-" + run + ".json"), results));
+        }
+        Assert.assertEquals(ImmutableList.of("run-0", "run-1", "run-2", "run-3", "run-4"), store.getRunIds());
+        Assert.assertEquals(ImmutableSet.of("a.B.testFirst", "a.B.testSecond"), store.getTestNames());
+
+        final List<StoredResult> first = query(store, "a.B.testFirst", 2, false);
+        Assert.assertEquals(2, first.size());
+        Assert.assertEquals("run-4", first.get(0).getRunId());
+        Assert.assertEquals("run-3", first.get(1).getRunId());
+        Assert.assertEquals("a.B.testFirst", first.get(0).getTestName());
+        Assert.assertEquals(14, first.get(0).getBenchmarkRounds());
+        Assert.assertEquals(5, first.get(0).getWarmupRounds());
+        Assert.assertEquals(40, first.get(0).getBenchmarkTime());
+        Assert.assertEquals(0.004, first.get(0).getRoundAverage(), 0.0);
+        Assert.assertEquals(0.0004, first.get(0).getRoundStandardDeviation(), 0.0);
+        Assert.assertEquals(4, first.get(0).getGcTime());
+        Assert.assertTrue(first.get(0).getRoundTimes().isEmpty());
+        Assert.assertTrue(first.get(0).getTimestamp() > 0);
+
+        final List<StoredResult> second = query(store, "a.B.testSecond", 100, true);
+        Assert.assertEquals(
+                ImmutableList.of("run-4", "run-2", "run-0"),
+                second.stream().map(StoredResult::getRunId).collect(Collectors.toList()));
+        Assert.assertEquals(roundTimes(10, 2000000), second.get(1).getRoundTimes());
+        Assert.assertTrue(query(store, "a.B.testMissing", 10, true).isEmpty());
+        Assert.assertTrue(query(store, "a.B.testFirst", 0, true).isEmpty());
+
+        // The store is read back from its index
+        final StoredResult reopened = query(new ResultsStore(directory), "a.B.testFirst", 1, true).get(0);
+        Assert.assertEquals("run-4", reopened.getRunId());
+        Assert.assertEquals(roundTimes(1000, 1000004), reopened.getRoundTimes());
+        // All five runs are smaller than the last run as JSON
+        Assert.assertTrue(Files.size(directory.resolve("results.dat")) < Files.size(directory.resolve("results-4.json")));
+    }
+
+    @Test
+    public void testAppendModeResults() throws IOException {
+        final Path directory = createDirectory("testAppendModeResults");
+        final Path results = write(
+                directory.resolve("results.json"),
+                JsonNodeFactory.instance.arrayNode().add(result("a.B.test", 1, ImmutableList.of(1L, 2L))));
+        Files.write(
+                results,
+                ObjectMapperFactory.getInstance().writeValueAsBytes(
+                        JsonNodeFactory.instance.arrayNode().add(result("a.B.test", 2, ImmutableList.of(5L, 3L, 4L)))),
+                StandardOpenOption.APPEND);
+        final ResultsStore store = new ResultsStore(directory);
+        store.append("run", results);
+        final List<StoredResult> stored = query(store, "a.B.test", 10, true);
+        Assert.assertEquals(1, stored.size());
+        Assert.assertEquals(12, stored.get(0).getBenchmarkRounds());
+        Assert.assertEquals(ImmutableList.of(5L, 3L, 4L), stored.get(0).getRoundTimes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateRunId() throws IOException {
+        final Path directory = createDirectory("testDuplicateRunId");
+        final Path results = write(
+                directory.resolve("results.json"),
+                JsonNodeFactory.instance.arrayNode().add(result("a.B.test", 1, ImmutableList.of())));
+        final ResultsStore store = new ResultsStore(directory);
+        store.append("run", results);
+        store.append("run", results);
+    }
+
+    @Test
+    public void testIncompleteIndexRecord() throws IOException {
+        final Path directory = createDirectory("testIncompleteIndexRecord");
+        final Path results = write(
+                directory.resolve("results.json"),
+                JsonNodeFactory.instance.arrayNode().add(result("a.B.test", 1, ImmutableList.of(7L))));
+        new ResultsStore(directory).append("first", results);
+        final Path index = directory.resolve("results.idx");
+        final byte[] record = Files.readAllBytes(index);
+        new ResultsStore(directory).append("second", results);
+        // Leave only part of the second record as if the append was interrupted
+        final byte[] interrupted = new byte[record.length + 10];
+        System.arraycopy(Files.readAllBytes(index), 0, interrupted, 0, interrupted.length);
+        Files.write(index, interrupted);
+
+        final ResultsStore store = new ResultsStore(directory);
+        Assert.assertEquals(ImmutableList.of("first"), store.getRunIds());
+        Assert.assertEquals(record.length, Files.size(index));
+        store.append("third", results);
+        Assert.assertEquals(ImmutableList.of("first", "third"), new ResultsStore(directory).getRunIds());
+        Assert.assertEquals(ImmutableList.of(7L), query(store, "a.B.test", 1, true).get(0).getRoundTimes());
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        final Path directory = createDirectory("testRun");
+        final Path results = write(
+                directory.resolve("results.json"),
+                JsonNodeFactory.instance.arrayNode().add(result("a.B.test", 1, ImmutableList.of(3L, 1L))));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream stream = new PrintStream(out, true, "UTF-8")) {
+            Assert.assertEquals(0, ResultsStore.run(new String[] {directory.toString(), "append", "first", results.toString()}, stream));
+            Assert.assertEquals(0, ResultsStore.run(new String[] {directory.toString(), "append", "second", results.toString()}, stream));
+            Assert.assertEquals(0, ResultsStore.run(new String[] {directory.toString(), "runs"}, stream));
+            Assert.assertEquals(
+                    0,
+                    ResultsStore.run(new String[] {directory.toString(), "query", "a.B.test", "1", "--round-times"}, stream));
+            Assert.assertEquals(2, ResultsStore.run(new String[] {directory.toString(), "append", "second", results.toString()}, stream));
+            Assert.assertEquals(2, ResultsStore.run(new String[] {directory.toString(), "delete"}, stream));
+        }
+        final String[] lines = out.toString("UTF-8").split(System.lineSeparator());
+        Assert.assertEquals(3, lines.length);
+        Assert.assertEquals("first", lines[0]);
+        Assert.assertEquals("second", lines[1]);
+        final JsonNode result = ObjectMapperFactory.getInstance().readTree(lines[2]);
+        Assert.assertEquals("second", result.get("runId").asText());
+        Assert.assertEquals("a.B.test", result.get("testName").asText());
+        Assert.assertEquals(2, result.get("roundTimes").size());
+    }
+
+    private static List<StoredResult> query(
+            final ResultsStore store,
+            final String testName,
+            final int lastRuns,
+            final boolean withRoundTimes) {
+        try (Stream<StoredResult> results = store.query(testName, lastRuns, withRoundTimes)) {
+            return results.collect(Collectors.toList());
+        }
+    }
+
+    private static Path createDirectory(final String name) throws IOException {
+        final Path directory = Paths.get("target/tmp/test/store/ResultsStoreTest." + name);
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve("results.dat"));
+        Files.deleteIfExists(directory.resolve("results.idx"));
+        return directory;
+    }
+
+    private static Path write(final Path path, final ArrayNode results) throws IOException {
+        Files.write(path, ObjectMapperFactory.getInstance().writerWithDefaultPrettyPrinter().writeValueAsBytes(results));
+        return path;
+    }
+
+    private static List<Long> roundTimes(final int count, final long base) {
+        final ImmutableList.Builder<Long> roundTimes = ImmutableList.builder();
+        for (int i = 0; i < count; ++i) {
+            roundTimes.add(base + (i * 7919L) % 5000);
+        }
+        return roundTimes.build();
+    }
+
+    private static ObjectNode result(final String name, final int run, final List<Long> roundTimes) {
+        final int separator = name.lastIndexOf('.');
+        final ObjectNode augmentedResult = JsonNodeFactory.instance.objectNode();
+        final ObjectNode result = augmentedResult.putObject("result")
+                .put("testClassName", name.substring(0, separator))
+                .put("testMethodName", name.substring(separator + 1))
+                .put("benchmarkRounds", 10 + run)
+                .put("warmupRounds", 5)
+                .put("benchmarkTime", 10L * run);
+        result.putObject("roundAverage").put("avg", 0.001 * run).put("stddev", 0.0001 * run);
+        result.putObject("gcInfo").put("accumulatedInvocations", run).put("accumulatedTime", run);
+        final ArrayNode times = augmentedResult.putObject("roundStatistics").putArray("roundTimes");
+        roundTimes.forEach(times::add);
+        return augmentedResult;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Tests for {@link RoundLatencyRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class RoundLatencyRuleTest {
+
+    @Test
+    public void testRecordsBenchmarkRounds() throws IOException {
+        Files.deleteIfExists(SampleBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(SampleBenchmark.class)).wasSuccessful());
+        SampleBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(SampleBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode roundLatency = results.get(0).get("roundLatency");
+        Assert.assertEquals(5, roundLatency.get("count").asLong());
+        Assert.assertTrue(roundLatency.get("min").asLong() >= 1000000);
+        Assert.assertTrue(roundLatency.get("percentiles").get("p50").asLong() >= roundLatency.get("min").asLong());
+        Assert.assertEquals(roundLatency.get("max").asLong(), roundLatency.get("percentiles").get("max").asLong());
+        Assert.assertTrue(roundLatency.get("buckets").size() > 0);
+    }
+
+    @Test
+    public void testWithoutRounds() throws IOException {
+        final Path path = Paths.get("target/tmp/test/RoundLatencyRuleTest.testWithoutRounds.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final RoundLatencyRule rule = new RoundLatencyRule(consumer);
+        rule.apply(new NoOpStatement(), Description.createTestDescription(RoundLatencyRuleTest.class, "testWithoutRounds"));
+
+        consumer.accept(DataCreator.createResult());
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(2, results.size());
+        Assert.assertNull(results.get(0).get("roundLatency"));
+        Assert.assertNull(results.get(1).get("roundLatency"));
+    }
+
+    /**
+     * Benchmark run by the tests.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 3)
+    public static final class SampleBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(ROUND_LATENCY);
+
+        private static final Path PATH = Paths.get("target/tmp/test/RoundLatencyRuleTest.SampleBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final RoundLatencyRule ROUND_LATENCY = new RoundLatencyRule(CONSUMER);
+
+        @Test
+        public void test() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Statement that does nothing.
+     */
+    private static final class NoOpStatement extends org.junit.runners.model.Statement {
+
+        @Override
+        public void evaluate() {
+            // Nothing to evaluate
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Tests for {@link RoundStatisticsRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class RoundStatisticsRuleTest {
+
+    @Test
+    public void testRecordsBenchmarkRounds() throws IOException {
+        Files.deleteIfExists(SampleBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(SampleBenchmark.class)).wasSuccessful());
+        SampleBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(SampleBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode statistics = results.get(0).get("roundStatistics");
+        Assert.assertEquals(5, statistics.get("rounds").asLong());
+        Assert.assertEquals(5, statistics.get("gcOverlappingRounds").asLong());
+        final JsonNode mean = statistics.get("mean");
+        Assert.assertTrue(mean.get("estimate").asDouble() >= 1000000);
+        Assert.assertTrue(mean.get("lowerBound").asDouble() <= mean.get("estimate").asDouble());
+        Assert.assertTrue(mean.get("upperBound").asDouble() >= mean.get("estimate").asDouble());
+        Assert.assertTrue(statistics.get("median").get("estimate").asDouble() >= 1000000);
+        Assert.assertTrue(statistics.get("outliers").get("outlierRounds").isArray());
+        Assert.assertEquals(5, statistics.get("roundTimes").size());
+        Assert.assertTrue(statistics.get("roundTimes").get(0).asLong() >= 1000000);
+    }
+
+    @Test
+    public void testRoundTimesNotWrittenByDefault() throws IOException {
+        Files.deleteIfExists(DefaultBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(DefaultBenchmark.class)).wasSuccessful());
+        DefaultBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(DefaultBenchmark.PATH.toFile());
+        final JsonNode statistics = results.get(0).get("roundStatistics");
+        Assert.assertEquals(2, statistics.get("rounds").asLong());
+        Assert.assertTrue(statistics.get("roundTimes").isNull());
+    }
+
+    @Test
+    public void testOutliers() {
+        final RoundStatistics.Outliers outliers = RoundStatisticsRule.outliers(
+                new long[] {100, 10, 11, 12, 13, 14, 15, 16, 17, 18, 27, 0});
+        Assert.assertEquals(3.5, outliers.getLowerFence(), 0.0001);
+        Assert.assertEquals(25.5, outliers.getUpperFence(), 0.0001);
+        Assert.assertEquals(0, outliers.getLowSevere());
+        Assert.assertEquals(1, outliers.getLowMild());
+        Assert.assertEquals(1, outliers.getHighMild());
+        Assert.assertEquals(1, outliers.getHighSevere());
+        Assert.assertEquals(ImmutableList.of(0, 10, 11), outliers.getOutlierRounds());
+    }
+
+    @Test
+    public void testBootstrap() {
+        final RoundStatistics constant = RoundStatisticsRule.statistics(new long[] {7, 7, 7, 7, 9}, 4, 1, 100, true);
+        Assert.assertEquals(4, constant.getRounds());
+        Assert.assertEquals(1, constant.getGcOverlappingRounds());
+        Assert.assertEquals(Optional.of(ImmutableList.of(7L, 7L, 7L, 7L)), constant.getRoundTimes());
+        Assert.assertEquals(7.0, constant.getMean().getEstimate(), 0.0);
+        Assert.assertEquals(7.0, constant.getMean().getLowerBound(), 0.0);
+        Assert.assertEquals(7.0, constant.getMean().getUpperBound(), 0.0);
+        Assert.assertEquals(7.0, constant.getMedian().getEstimate(), 0.0);
+
+        final long[] values = new long[101];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = i * i;
+        }
+        final RoundStatistics statistics = RoundStatisticsRule.statistics(values, values.length, 0, 1000, false);
+        Assert.assertFalse(statistics.getRoundTimes().isPresent());
+        Assert.assertEquals(3350.0, statistics.getMean().getEstimate(), 0.0001);
+        Assert.assertEquals(2500.0, statistics.getMedian().getEstimate(), 0.0);
+        Assert.assertTrue(statistics.getMean().getLowerBound() < 3350.0);
+        Assert.assertTrue(statistics.getMean().getUpperBound() > 3350.0);
+        Assert.assertTrue(statistics.getMedian().getLowerBound() < 2500.0);
+        Assert.assertTrue(statistics.getMedian().getUpperBound() > 2500.0);
+        Assert.assertEquals(
+                statistics.getMean().getLowerBound(),
+                RoundStatisticsRule.statistics(values, values.length, 0, 1000, false).getMean().getLowerBound(),
+                0.0);
+    }
+
+    @Test
+    public void testBootstrapSampleSizeCapped() {
+        final long[] values = new long[100000];
+        final SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = 1000 + random.nextInt(1000);
+        }
+        final RoundStatistics.Estimate full = RoundStatisticsRule.bootstrap(
+                values,
+                RoundStatisticsRuleTest::mean,
+                200,
+                values.length,
+                new SplittableRandom(2));
+        final RoundStatistics.Estimate capped = RoundStatisticsRule.bootstrap(
+                values,
+                RoundStatisticsRuleTest::mean,
+                200,
+                1000,
+                new SplittableRandom(2));
+
+        // The scaled interval of the smaller resamples approximates the full interval
+        Assert.assertEquals(full.getEstimate(), capped.getEstimate(), 0.0);
+        final double fullWidth = full.getUpperBound() - full.getLowerBound();
+        final double cappedWidth = capped.getUpperBound() - capped.getLowerBound();
+        Assert.assertTrue(capped.getLowerBound() < capped.getEstimate());
+        Assert.assertTrue(capped.getUpperBound() > capped.getEstimate());
+        Assert.assertEquals(fullWidth, cappedWidth, 0.25 * fullWidth);
+    }
+
+    @Test
+    public void testQuantile() {
+        Assert.assertTrue(Double.isNaN(RoundStatisticsRule.quantile(new double[0], 0.5)));
+        Assert.assertEquals(3.0, RoundStatisticsRule.quantile(new double[] {3}, 0.5), 0.0);
+        Assert.assertEquals(1.75, RoundStatisticsRule.quantile(new double[] {1, 2, 3, 4}, 0.25), 0.0);
+        Assert.assertEquals(4.0, RoundStatisticsRule.quantile(new double[] {1, 2, 3, 4}, 1), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidResamples() {
+        new RoundStatisticsRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 0, false);
+    }
+
+    private static double mean(final long[] values) {
+        double sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * Benchmark run by the tests; every round collects garbage.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 3)
+    public static final class SampleBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(ROUND_STATISTICS);
+
+        private static final Path PATH = Paths.get("target/tmp/test/RoundStatisticsRuleTest.SampleBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final RoundStatisticsRule ROUND_STATISTICS = new RoundStatisticsRule(CONSUMER, 1000, true);
+
+        @Test
+        public void test() throws InterruptedException {
+            System.gc();
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Benchmark run with the default rule.
+     */
+    @BenchmarkOptions(benchmarkRounds = 2, warmupRounds = 0)
+    public static final class DefaultBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(ROUND_STATISTICS);
+
+        private static final Path PATH = Paths.get("target/tmp/test/RoundStatisticsRuleTest.DefaultBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final RoundStatisticsRule ROUND_STATISTICS = new RoundStatisticsRule(CONSUMER);
+
+        @Test
+        public void test() {
+            // Nothing to measure
+        }
+    }
+}
@@ -52,7 +52,8 @@ public final class SampleParameterizedTestPerf {
     public final TestRule _benchMarkRule = new BenchmarkRule(JSON_BENCHMARK_CONSUMER);
 
     private static final JsonBenchmarkConsumer JSON_BENCHMARK_CONSUMER = new JsonBenchmarkConsumer(
-            Paths.get("target/perf/sample-parameterized-performance-test.json"));
+            Paths.get("target/perf/sample-parameterized-performance-test.json"))
+            .addCollector(new ThroughputCollector());
 
     private static final long ITERATIONS = 10000L;
 
@@ -106,6 +107,7 @@ public final class SampleParameterizedTestPerf {
     }
 
     @Test
+    @OperationsPerInvocation(ITERATIONS)
     public void test() {
         for (long i = 0; i < _repetitions; ++i) {
             _method.apply(null);
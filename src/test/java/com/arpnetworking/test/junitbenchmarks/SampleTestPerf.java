@@ -50,7 +50,8 @@ public final class SampleTestPerf {
     public final TestRule _benchMarkRule = new BenchmarkRule(JSON_BENCHMARK_CONSUMER);
 
     private static final JsonBenchmarkConsumer JSON_BENCHMARK_CONSUMER = new JsonBenchmarkConsumer(
-            Paths.get("target/perf/sample-performance-test.json"));
+            Paths.get("target/perf/sample-performance-test.json"))
+            .addCollector(new ThroughputCollector());
 
     private static final long ITERATIONS = 10000L;
 
@@ -60,6 +61,7 @@ public final class SampleTestPerf {
     }
 
     @Test
+    @OperationsPerInvocation(ITERATIONS)
     public void testConstructor() {
         test(
                 "constructor",
@@ -77,6 +79,7 @@ public final class SampleTestPerf {
     }
 
     @Test
+    @OperationsPerInvocation(ITERATIONS)
     public void testNewInstance() {
         test(
                 "new_instance",
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.Clock;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Tests for {@link SteadyStateBenchmarkRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class SteadyStateBenchmarkRuleTest {
+
+    @Test
+    public void testConverged() throws IOException {
+        Files.deleteIfExists(ConvergingBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(ConvergingBenchmark.class)).wasSuccessful());
+        ConvergingBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(ConvergingBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode result = results.get(0);
+        Assert.assertEquals(3, result.get("result").get("warmupRounds").asInt());
+        Assert.assertEquals(4, result.get("result").get("benchmarkRounds").asInt());
+        Assert.assertEquals("testConverged", result.get("result").get("testMethodName").asText());
+        Assert.assertEquals(3, result.get("steadyState").get("warmupRounds").asInt());
+        Assert.assertTrue(result.get("steadyState").get("converged").asBoolean());
+        Assert.assertEquals(4, result.get("roundLatency").get("count").asLong());
+    }
+
+    @Test
+    public void testNotConverged() throws IOException {
+        Files.deleteIfExists(DivergingBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(DivergingBenchmark.class)).wasSuccessful());
+        DivergingBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(DivergingBenchmark.PATH.toFile());
+        final JsonNode result = results.get(0);
+        Assert.assertEquals(6, result.get("result").get("warmupRounds").asInt());
+        Assert.assertEquals(2, result.get("result").get("benchmarkRounds").asInt());
+        Assert.assertEquals(6, result.get("steadyState").get("warmupRounds").asInt());
+        Assert.assertFalse(result.get("steadyState").get("converged").asBoolean());
+    }
+
+    @Test
+    public void testCoefficientOfVariation() {
+        Assert.assertTrue(Double.isNaN(SteadyStateBenchmarkRule.coefficientOfVariation(ImmutableList.of(1L, 2L), 3)));
+        Assert.assertEquals(
+                0.0,
+                SteadyStateBenchmarkRule.coefficientOfVariation(ImmutableList.of(100L, 5L, 5L, 5L), 3),
+                0.0);
+        Assert.assertEquals(
+                0.5,
+                SteadyStateBenchmarkRule.coefficientOfVariation(ImmutableList.of(1000L, 10L, 20L, 30L), 3),
+                0.0001);
+        Assert.assertEquals(0.0, SteadyStateBenchmarkRule.coefficientOfVariation(ImmutableList.of(0L, 0L), 2), 0.0);
+    }
+
+    @Test
+    public void testWithoutWarmup() {
+        final Description annotated = SteadyStateBenchmarkRule.withoutWarmup(
+                Description.createTestDescription(ConvergingBenchmark.class, "testConverged"));
+        final BenchmarkOptions options = annotated.getAnnotation(BenchmarkOptions.class);
+        Assert.assertEquals(0, options.warmupRounds());
+        Assert.assertEquals(4, options.benchmarkRounds());
+        Assert.assertEquals(BenchmarkOptions.class, options.annotationType());
+        Assert.assertEquals("testConverged(" + ConvergingBenchmark.class.getName() + ")", annotated.getDisplayName());
+
+        final Description unannotated = SteadyStateBenchmarkRule.withoutWarmup(
+                Description.createTestDescription(SteadyStateBenchmarkRuleTest.class.getName(), "test"));
+        final BenchmarkOptions defaults = unannotated.getAnnotation(BenchmarkOptions.class);
+        Assert.assertEquals(0, defaults.warmupRounds());
+        Assert.assertEquals(-1, defaults.benchmarkRounds());
+        Assert.assertEquals(-1, defaults.concurrency());
+        Assert.assertFalse(defaults.callgc());
+        Assert.assertEquals(Clock.REAL_TIME, defaults.clock());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() {
+        new SteadyStateBenchmarkRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 1, 10, 1, 0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        new SteadyStateBenchmarkRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), 10, 1, 3, 0.1);
+    }
+
+    /**
+     * Benchmark whose round times converge immediately.
+     */
+    @BenchmarkOptions(benchmarkRounds = 4, warmupRounds = 7)
+    public static final class ConvergingBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain
+                .outerRule(new SteadyStateBenchmarkRule(CONSUMER, 2, 20, 3, Double.MAX_VALUE))
+                .around(ROUND_LATENCY);
+
+        private static final Path PATH = Paths.get("target/tmp/test/SteadyStateBenchmarkRuleTest.ConvergingBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final RoundLatencyRule ROUND_LATENCY = new RoundLatencyRule(CONSUMER);
+
+        @Test
+        public void testConverged() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Benchmark whose round times never converge.
+     */
+    @BenchmarkOptions(benchmarkRounds = 2)
+    public static final class DivergingBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = new SteadyStateBenchmarkRule(CONSUMER, 0, 6, 3, -1);
+
+        private static final Path PATH = Paths.get("target/tmp/test/SteadyStateBenchmarkRuleTest.DivergingBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+
+        @Test
+        public void testNotConverged() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+}
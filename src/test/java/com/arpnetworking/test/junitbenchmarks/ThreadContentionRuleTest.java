@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests for {@link ThreadContentionRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadContentionRuleTest {
+
+    @Test
+    public void testContendedBenchmark() throws IOException {
+        final boolean enabled = ManagementFactory.getThreadMXBean().isThreadContentionMonitoringEnabled();
+        Files.deleteIfExists(ContendedBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(ContendedBenchmark.class)).wasSuccessful());
+        ContendedBenchmark.CONSUMER.close();
+        Assert.assertEquals(enabled, ManagementFactory.getThreadMXBean().isThreadContentionMonitoringEnabled());
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(ContendedBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode contention = results.get(0).get("threadContention");
+        Assert.assertEquals(10, contention.get("rounds").asLong());
+        Assert.assertEquals(2, contention.get("threads").asInt());
+        Assert.assertTrue(contention.get("blockedCount").asLong() > 0);
+        Assert.assertTrue(contention.get("blockedTimeMillis").asLong() > 0);
+        Assert.assertTrue(contention.get("roundTimeMillis").asLong() >= 50);
+        Assert.assertTrue(contention.get("runnableTimeMillis").asLong() >= 0);
+        Assert.assertTrue(contention.get("samples").asLong() > 0);
+        final JsonNode monitor = contention.get("monitors").get(0);
+        Assert.assertTrue(monitor.get("name").asText().startsWith("java.lang.Object@"));
+        Assert.assertTrue(monitor.get("blockedSamples").asLong() > 0);
+    }
+
+    @Test
+    public void testMostContended() {
+        final List<ThreadContention.Monitor> monitors = ThreadContentionRule.mostContended(
+                ImmutableList.of(
+                        new ThreadContention.Monitor("a", 1, 1),
+                        new ThreadContention.Monitor("b", 5, 0),
+                        new ThreadContention.Monitor("c", 0, 2),
+                        new ThreadContention.Monitor("d", 0, 1)),
+                3);
+        Assert.assertEquals(3, monitors.size());
+        Assert.assertEquals("b", monitors.get(0).getName());
+        Assert.assertEquals("a", monitors.get(1).getName());
+        Assert.assertEquals("c", monitors.get(2).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingInterval() {
+        new ThreadContentionRule(new JsonBenchmarkConsumer(Paths.get("target/tmp/test/unused.json")), Duration.ZERO);
+    }
+
+    /**
+     * Benchmark whose rounds contend for a monitor.
+     */
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = 2)
+    public static final class ContendedBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(THREAD_CONTENTION);
+
+        private static final Object LOCK = new Object();
+        private static final Path PATH = Paths.get("target/tmp/test/ThreadContentionRuleTest.ContendedBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final ThreadContentionRule THREAD_CONTENTION = new ThreadContentionRule(CONSUMER, Duration.ofMillis(1));
+
+        @Test
+        @SuppressFBWarnings(value = "SWL_SLEEP_WITH_LOCK_HELD", justification = "The lock is held to cause contention")
+        public void test() throws InterruptedException {
+            synchronized (LOCK) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runners.model.Statement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for {@link ThreadResourceRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThreadResourceRuleTest {
+
+    @Test
+    public void testMeasuresBenchmarkRounds() throws IOException {
+        Files.deleteIfExists(SampleBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(SampleBenchmark.class)).wasSuccessful());
+        SampleBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(SampleBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode threadResources = results.get(0).get("threadResources");
+        Assert.assertEquals(5, threadResources.get("rounds").asLong());
+        Assert.assertEquals(4, threadResources.get("operationsPerRound").asLong());
+        Assert.assertTrue(threadResources.get("cpuTimeNanos").asLong() > 0);
+        Assert.assertEquals(
+                threadResources.get("cpuTimeNanos").asDouble() / 5,
+                threadResources.get("cpuTimeNanosPerRound").asDouble(),
+                0.001);
+        Assert.assertTrue(threadResources.get("allocatedBytesPerRound").asDouble() >= 4 * ALLOCATION_SIZE);
+        Assert.assertTrue(threadResources.get("allocatedBytesPerOperation").asDouble() >= ALLOCATION_SIZE);
+        Assert.assertTrue(threadResources.get("allocatedBytesPerOperation").asDouble() < 4 * ALLOCATION_SIZE);
+    }
+
+    @Test
+    public void testWithoutRounds() throws IOException {
+        final Path path = Paths.get("target/tmp/test/ThreadResourceRuleTest.testWithoutRounds.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final ThreadResourceRule rule = new ThreadResourceRule(consumer);
+        rule.apply(new NoOpStatement(), Description.createTestDescription(ThreadResourceRuleTest.class, "testWithoutRounds"));
+
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(1, results.size());
+        Assert.assertNull(results.get(0).get("threadResources"));
+    }
+
+    // CHECKSTYLE.OFF: IllegalThrows - Statement evaluation throws Throwable
+    @Test
+    public void testSkipsWarmupRounds() throws Throwable {
+        // CHECKSTYLE.ON: IllegalThrows
+        final Path path = Paths.get("target/tmp/test/ThreadResourceRuleTest.testSkipsWarmupRounds.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        final ThreadResourceRule rule = new ThreadResourceRule(consumer);
+        final Statement statement = rule.apply(
+                new NoOpStatement(),
+                Description.createTestDescription(SampleBenchmark.class, "test"));
+        for (int i = 0; i < 10; ++i) {
+            statement.evaluate();
+        }
+
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(path.toFile());
+        Assert.assertEquals(7, results.get(0).get("threadResources").get("rounds").asLong());
+    }
+
+    private static final int ALLOCATION_SIZE = 1024 * 1024;
+
+    /**
+     * Benchmark run by the tests.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 3)
+    @OperationsPerInvocation(4)
+    public static final class SampleBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(THREAD_RESOURCES);
+
+        private static final Path PATH = Paths.get("target/tmp/test/ThreadResourceRuleTest.SampleBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final ThreadResourceRule THREAD_RESOURCES = new ThreadResourceRule(CONSUMER);
+
+        private static final AtomicReference<byte[]> SINK = new AtomicReference<>();
+
+        @Test
+        public void test() {
+            for (int i = 0; i < 4; ++i) {
+                SINK.set(new byte[ALLOCATION_SIZE]);
+            }
+        }
+    }
+
+    /**
+     * Statement that does nothing.
+     */
+    private static final class NoOpStatement extends Statement {
+
+        @Override
+        public void evaluate() {
+            // Nothing to evaluate
+        }
+    }
+}
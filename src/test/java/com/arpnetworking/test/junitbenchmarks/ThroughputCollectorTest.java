@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.carrotsearch.junitbenchmarks.Result;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Tests for {@link ThroughputCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class ThroughputCollectorTest {
+
+    @Test
+    public void testMethodAnnotation() {
+        final Throughput throughput = new ThroughputCollector()
+                .end(createResult(Annotated.class, "testMethod", 0.002))
+                .get();
+        Assert.assertEquals(1000, throughput.getOperationsPerInvocation());
+        Assert.assertEquals(4000000, throughput.getBytesPerInvocation());
+        Assert.assertEquals(2000.0, throughput.getNanosPerOperation(), 0.0001);
+        Assert.assertEquals(500000.0, throughput.getOperationsPerSecond(), 0.0001);
+        Assert.assertEquals(Optional.of(2000.0), throughput.getMegabytesPerSecond());
+    }
+
+    @Test
+    public void testClassAnnotation() {
+        final Throughput throughput = new ThroughputCollector(7, 7)
+                .end(createResult(Inherited.class, "test[parameter]", 0.5))
+                .get();
+        Assert.assertEquals(10, throughput.getOperationsPerInvocation());
+        Assert.assertEquals(0, throughput.getBytesPerInvocation());
+        Assert.assertEquals(50000000.0, throughput.getNanosPerOperation(), 0.0001);
+        Assert.assertEquals(20.0, throughput.getOperationsPerSecond(), 0.0001);
+        Assert.assertFalse(throughput.getMegabytesPerSecond().isPresent());
+    }
+
+    @Test
+    public void testDefaults() {
+        final Throughput throughput = new ThroughputCollector(4, 1000000)
+                .end(createResult(ThroughputCollectorTest.class, "testDefaults", 2))
+                .get();
+        Assert.assertEquals(4, throughput.getOperationsPerInvocation());
+        Assert.assertEquals(2.0, throughput.getOperationsPerSecond(), 0.0001);
+        Assert.assertEquals(0.5, throughput.getMegabytesPerSecond().get(), 0.0001);
+        Assert.assertEquals(
+                1.0,
+                new ThroughputCollector().end(createResult(ThroughputCollectorTest.class, "testDefaults", 1)).get()
+                        .getOperationsPerSecond(),
+                0.0001);
+    }
+
+    @Test
+    public void testWithoutRoundTime() {
+        Assert.assertFalse(new ThroughputCollector().end(createResult(Annotated.class, "testMethod", 0)).isPresent());
+    }
+
+    @Test
+    public void testWrittenWithResult() throws IOException {
+        final Path path = Paths.get("target/tmp/test/ThroughputCollectorTest.testWrittenWithResult.json");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path).addCollector(new ThroughputCollector());
+        consumer.accept(createResult(Annotated.class, "testMethod", 0.002));
+        consumer.close();
+
+        final JsonNode throughput = ObjectMapperFactory.getInstance().readTree(path.toFile()).get(0).get("throughput");
+        Assert.assertEquals(1000, throughput.get("operationsPerInvocation").asLong());
+        Assert.assertEquals(2000.0, throughput.get("nanosPerOperation").asDouble(), 0.0001);
+        Assert.assertEquals(500000.0, throughput.get("operationsPerSecond").asDouble(), 0.0001);
+        Assert.assertEquals(2000.0, throughput.get("megabytesPerSecond").asDouble(), 0.0001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOperations() {
+        new ThroughputCollector(0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBytes() {
+        new ThroughputCollector(1, -1);
+    }
+
+    private static Result createResult(final Class<?> testClass, final String methodName, final double roundSeconds) {
+        return new Result(
+                Description.createTestDescription(testClass, methodName),
+                10,
+                1,
+                100,
+                1000,
+                DataCreator.createAverage(roundSeconds, 0),
+                DataCreator.createAverage(0, 0),
+                DataCreator.createAverage(0, 0),
+                DataCreator.createGCSnapshot(),
+                1);
+    }
+
+    /**
+     * Class with annotated test methods.
+     */
+    @OperationsPerInvocation(10)
+    public static class Annotated {
+
+        @OperationsPerInvocation(value = 1000, bytes = 4000000)
+        public void testMethod() {
+            // Only the annotation is used
+        }
+
+        public void test() {
+            // Only the annotation is used
+        }
+    }
+
+    /**
+     * Class inheriting the class annotation.
+     */
+    public static final class Inherited extends Annotated {}
+}
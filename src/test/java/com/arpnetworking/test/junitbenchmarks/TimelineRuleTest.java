@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for {@link TimelineRule}.
+ *
+ * @author agent (agent at local)
+ */
+public final class TimelineRuleTest {
+
+    @Test
+    public void testCollectingBenchmark() throws IOException {
+        Files.deleteIfExists(CollectingBenchmark.PATH);
+        Assert.assertTrue(new JUnitCore().run(Request.aClass(CollectingBenchmark.class)).wasSuccessful());
+        CollectingBenchmark.CONSUMER.close();
+
+        final JsonNode results = ObjectMapperFactory.getInstance().readTree(CollectingBenchmark.PATH.toFile());
+        Assert.assertEquals(1, results.size());
+        final JsonNode timeline = results.get(0).get("timeline");
+        Assert.assertEquals(6, timeline.get("rounds").asLong());
+        Assert.assertEquals(0, timeline.get("droppedRounds").asLong());
+        Assert.assertTrue(timeline.get("jvmEventsRecorded").asBoolean());
+        Assert.assertTrue(timeline.get("gcPauses").asLong() > 0);
+        Assert.assertTrue(timeline.get("safepoints").asLong() > 0);
+
+        final Path traceFile = Paths.get(URI.create(timeline.get("traceFile").asText()));
+        Assert.assertTrue(String.valueOf(traceFile.getFileName()).endsWith("TimelineRuleTest$CollectingBenchmark.testGc.trace.json"));
+        final JsonNode events = ObjectMapperFactory.getInstance().readTree(traceFile.toFile()).get("traceEvents");
+        final List<JsonNode> rounds = select(events, "round");
+        Assert.assertEquals(6, rounds.size());
+        Assert.assertEquals(2, rounds.stream().filter(round -> "warmup round".equals(round.get("name").asText())).count());
+        final Set<Long> threads = rounds.stream().map(round -> round.get("tid").asLong()).collect(Collectors.toSet());
+        Assert.assertEquals(2, threads.size());
+        for (final Long thread : threads) {
+            Assert.assertTrue(Lists.newArrayList(events).stream().anyMatch(
+                    event -> "thread_name".equals(event.get("name").asText()) && thread == event.get("tid").asLong()));
+        }
+        Assert.assertEquals(2, select(events, "test").size());
+        Assert.assertEquals(timeline.get("gcPauses").asLong(), select(events, "gc").size());
+        Assert.assertEquals(timeline.get("safepoints").asLong(), select(events, "safepoint").size());
+        for (final JsonNode round : rounds) {
+            Assert.assertTrue(round.get("ts").asDouble() >= 0);
+            Assert.assertTrue(round.get("dur").asDouble() > 0);
+        }
+    }
+
+    @Test
+    public void testWriteTrace() throws IOException {
+        final StringWriter writer = new StringWriter();
+        TimelineRule.writeTrace(
+                writer,
+                "a.B.test",
+                ImmutableMap.of(-1L, "Test", 7L, "main"),
+                ImmutableList.of(
+                        new TimelineRule.TraceEvent("round", "round", 7, 1.5, 2.25, ImmutableMap.of("round", 0L)),
+                        new TimelineRule.TraceEvent("accept", "test", -1, 4, -1, ImmutableMap.of())));
+        final JsonNode trace = ObjectMapperFactory.getInstance().readTree(writer.toString());
+        Assert.assertEquals("ms", trace.get("displayTimeUnit").asText());
+        final JsonNode events = trace.get("traceEvents");
+        Assert.assertEquals(7, events.size());
+        Assert.assertEquals("process_name", events.get(0).get("name").asText());
+        Assert.assertEquals("a.B.test", events.get(0).get("args").get("name").asText());
+        Assert.assertEquals("thread_name", events.get(3).get("name").asText());
+        Assert.assertEquals(7, events.get(3).get("tid").asLong());
+        Assert.assertEquals(1, events.get(4).get("args").get("sort_index").asInt());
+
+        final JsonNode round = events.get(5);
+        Assert.assertEquals("X", round.get("ph").asText());
+        Assert.assertEquals(1.5, round.get("ts").asDouble(), 0.0001);
+        Assert.assertEquals(2.25, round.get("dur").asDouble(), 0.0001);
+        Assert.assertEquals(0, round.get("args").get("round").asLong());
+
+        final JsonNode accept = events.get(6);
+        Assert.assertEquals("i", accept.get("ph").asText());
+        Assert.assertEquals("g", accept.get("s").asText());
+        Assert.assertNull(accept.get("dur"));
+        Assert.assertNull(accept.get("args"));
+    }
+
+    private static List<JsonNode> select(final JsonNode events, final String category) {
+        final List<JsonNode> selected = Lists.newArrayList();
+        for (final JsonNode event : events) {
+            if (event.has("cat") && category.equals(event.get("cat").asText())) {
+                selected.add(event);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Benchmark whose rounds collect garbage.
+     */
+    @BenchmarkOptions(benchmarkRounds = 4, warmupRounds = 2, concurrency = 2)
+    public static final class CollectingBenchmark {
+
+        @Rule
+        public final TestRule _benchmarkRule = RuleChain.outerRule(new BenchmarkRule(CONSUMER)).around(TIMELINE);
+
+        private static final Path PATH = Paths.get("target/tmp/test/TimelineRuleTest.CollectingBenchmark.json");
+        private static final JsonBenchmarkConsumer CONSUMER = new JsonBenchmarkConsumer(PATH);
+        private static final TimelineRule TIMELINE = new TimelineRule(CONSUMER, Paths.get("target/tmp/test/timeline"));
+
+        @Test
+        public void testGc() {
+            System.gc();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.arpnetworking.commons.jackson.databind.ObjectMapperFactory;
+import com.carrotsearch.junitbenchmarks.DataCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+/**
+ * Tests for {@link UnifiedLogCollector}.
+ *
+ * @author agent (agent at local)
+ */
+public final class UnifiedLogCollectorTest {
+
+    @Test
+    public void testSliceLog() throws IOException {
+        final Path log = Paths.get("target/tmp/test/UnifiedLogCollectorTest.testSliceLog.gc.log");
+        final Path path = Paths.get("target/tmp/test/UnifiedLogCollectorTest.json");
+        Files.createDirectories(Paths.get("target/tmp/test"));
+        Files.deleteIfExists(log);
+        write(log, "[0.100s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 20M->5M(90M) 7.000ms");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        consumer.addCollector(new UnifiedLogCollector(consumer, () -> Collections.singletonList(log)));
+        consumer.prepareClass();
+
+        final String pause = "[0.200s][info][gc] GC(1) Pause Young (Normal) (G1 Evacuation Pause) 20M->5M(90M) 2.500ms";
+        write(log, pause);
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        final JsonNode excerpts = ObjectMapperFactory.getInstance().readTree(path.toFile()).get(0).get("unifiedLogs");
+        Assert.assertEquals(1, excerpts.size());
+        Assert.assertEquals(1, excerpts.get(0).get("gcPauses").asInt());
+        Assert.assertEquals(2.5, excerpts.get(0).get("gcPauseMaxMillis").asDouble(), 0.0001);
+        Assert.assertEquals(0, excerpts.get(0).get("safepoints").asInt());
+        final Path excerptFile = path.resolveSibling("UnifiedLogCollectorTest.testNormalBenchmarkCase." + log.getFileName());
+        Assert.assertEquals(pause + "\n", Files.readString(excerptFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMissingLog() throws IOException {
+        final Path path = Paths.get("target/tmp/test/UnifiedLogCollectorTest.testMissingLog.json");
+        final Path log = Paths.get("target/tmp/test/UnifiedLogCollectorTest.testMissingLog.gc.log");
+        final JsonBenchmarkConsumer consumer = new JsonBenchmarkConsumer(path);
+        consumer.addCollector(new UnifiedLogCollector(consumer, () -> Collections.singletonList(log)));
+        consumer.prepareClass();
+        consumer.accept(DataCreator.createResult());
+        consumer.close();
+
+        Assert.assertNull(ObjectMapperFactory.getInstance().readTree(path.toFile()).get(0).get("unifiedLogs"));
+    }
+
+    private static void write(final Path log, final String line) throws IOException {
+        Files.write(
+                log,
+                (line + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+}
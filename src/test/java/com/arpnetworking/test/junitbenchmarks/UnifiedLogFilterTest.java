@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link UnifiedLogFilter}.
+ *
+ * @author agent (agent at local)
+ */
+public final class UnifiedLogFilterTest {
+
+    @Test
+    public void testExtractLogFiles() {
+        final List<Path> files = UnifiedLogFilter.extractLogFiles(
+                Arrays.asList(
+                        "-Xmx1g",
+                        "-Xlog:gc*,safepoint:file=\"target/gc-%p.log\":uptime",
+                        "-Xlog:safepoint:file=target/gc-%p.log",
+                        "-Xlog:gc:stdout",
+                        "-Xlog:class+load:file=target/class.log",
+                        "-Xlog:gc:file=target/gc-%t.log",
+                        "-Xlog:all=info:target/all.log",
+                        "-Xlog:gc"),
+                1234);
+        Assert.assertEquals(Arrays.asList(Paths.get("target/gc-1234.log"), Paths.get("target/all.log")), files);
+    }
+
+    @Test
+    public void testSummarize() throws IOException {
+        final UnifiedLogExcerpt excerpt = UnifiedLogFilter.summarize(
+                Paths.get("gc.log"),
+                Paths.get("excerpt.log"),
+                100,
+                new BufferedReader(new StringReader(String.join(
+                        "\n",
+                        "[1.342s][info][gc             ] GC(0) Pause Full (System.gc()) 17M->3M(90M) 21.967ms",
+                        "[1.343s][info][safepoint      ] Safepoint \"GenCollectFull\", Time since last: 121079124 ns, "
+                                + "Reaching safepoint: 4725 ns, Cleanup: 33284 ns, At safepoint: 23336729 ns, Total: 23374738 ns",
+                        "[1.400s][info][gc,heap        ] GC(1) Eden regions: 10->0(12)",
+                        "[1.401s][info][gc             ] GC(1) Pause Young (Normal) (G1 Evacuation Pause) 20M->5M(90M) 3.033ms",
+                        "[1.402s][info][safepoint      ] Safepoint \"G1CollectForAllocation\", Time since last: 5000 ns, "
+                                + "Reaching safepoint: 1000000 ns, Cleanup: 1 ns, At safepoint: 3000000 ns, Total: 4000000 ns",
+                        "[1.500s][info][safepoint] Total time for which application threads were stopped: 0.0020000 seconds, "
+                                + "Stopping threads took: 0.0005000 seconds"))));
+        Assert.assertEquals(2, excerpt.getGcPauses());
+        Assert.assertEquals(25.0, excerpt.getGcPauseTotalMillis(), 0.0001);
+        Assert.assertEquals(21.967, excerpt.getGcPauseMaxMillis(), 0.0001);
+        Assert.assertEquals(3, excerpt.getSafepoints());
+        Assert.assertEquals(1.504725, excerpt.getTimeToSafepointTotalMillis(), 0.0001);
+        Assert.assertEquals(1.0, excerpt.getTimeToSafepointMaxMillis(), 0.0001);
+        Assert.assertEquals(29.374738, excerpt.getSafepointTotalMillis(), 0.0001);
+        Assert.assertEquals(100, excerpt.getBytes());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.test.junitbenchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+/**
+ * Tests for {@link WarmupRounds}.
+ *
+ * @author agent (agent at local)
+ */
+public final class WarmupRoundsTest {
+
+    @Test
+    public void testResolve() throws NoSuchMethodException {
+        Assert.assertEquals(3, WarmupRounds.resolve(Description.createTestDescription(Annotated.class, "test")));
+        Assert.assertEquals(
+                7,
+                WarmupRounds.resolve(Description.createTestDescription(
+                        Annotated.class,
+                        "testOverride",
+                        Annotated.class.getMethod("testOverride").getAnnotations())));
+        Assert.assertEquals(3, WarmupRounds.resolve(Description.createTestDescription(Inherited.class, "test")));
+        Assert.assertEquals(5, WarmupRounds.resolve(Description.createTestDescription(WarmupRoundsTest.class, "test")));
+    }
+
+    @Test
+    public void testResolveWithProperties() {
+        Assert.assertEquals(
+                11,
+                WarmupRounds.resolve(Description.createTestDescription(WarmupRoundsTest.class, "test"), "11", false));
+        Assert.assertEquals(
+                3,
+                WarmupRounds.resolve(Description.createTestDescription(Annotated.class, "test"), "11", false));
+        Assert.assertEquals(
+                11,
+                WarmupRounds.resolve(Description.createTestDescription(Annotated.class, "test"), " 11 ", true));
+        Assert.assertEquals(
+                5,
+                WarmupRounds.resolve(Description.createTestDescription(Annotated.class, "test"), null, true));
+    }
+
+    @Test
+    public void testOverride() {
+        final Description description = Description.createTestDescription(WarmupRoundsTest.class, "testOverride");
+        Assert.assertEquals(4, WarmupRounds.get(description, 4));
+        WarmupRounds.override(Description.createTestDescription(WarmupRoundsTest.class, "testOverride"), 9);
+        try {
+            Assert.assertEquals(9, WarmupRounds.get(description, 4));
+        } finally {
+            WarmupRounds.clear(description);
+        }
+        Assert.assertEquals(4, WarmupRounds.get(description, 4));
+    }
+
+    /**
+     * Class with benchmark options.
+     */
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 3)
+    public static class Annotated {
+
+        @BenchmarkOptions(benchmarkRounds = 1, warmupRounds = 7)
+        public void testOverride() {
+            // Only the annotation is used
+        }
+    }
+
+    /**
+     * Class inheriting benchmark options.
+     */
+    public static final class Inherited extends Annotated {}
+}